@@ -4,6 +4,7 @@ import com.demo.finance.starter.logging.EnableLogging;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The {@code TaskMain} class serves as the entry point for the Personal Finance Tracker Application.
@@ -12,6 +13,7 @@ import org.springframework.cache.annotation.EnableCaching;
 @SpringBootApplication(scanBasePackages = "com.demo.finance")
 @EnableLogging
 @EnableCaching
+@EnableScheduling
 public class TaskMain {
 
     /**
@@ -0,0 +1,283 @@
+package com.demo.finance.app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The {@code BroadcastingCacheManager} class decorates the application's {@link CacheManager} so that every
+ * eviction and clear of a local cache, including those triggered by {@code @CacheEvict}, is published on the
+ * {@link CacheInvalidationBus} and applied to the same cache on all other instances.
+ * <p>
+ * Keys of type {@code Long} and {@code String} are transmitted as they are. Evicting a key of any other type, or a
+ * key that cannot be transmitted, clears the whole cache on the other instances instead. When a received batch
+ * evicts more than the configured number of keys from one cache, that cache is cleared instead of evicting the keys
+ * one by one. Preserved caches, which hold entries that must not be lost such as revoked tokens, are never cleared
+ * wholesale by received invalidations or by a resynchronization.
+ */
+@Slf4j
+public class BroadcastingCacheManager implements CacheManager, SmartInitializingSingleton {
+
+    static final String TOPIC = "cache";
+    private static final char LONG_KEY = 'L';
+    private static final char STRING_KEY = 'S';
+
+    private final CacheManager targetCacheManager;
+    private final ObjectProvider<CacheInvalidationBus> busProvider;
+    private final int maxKeysPerCache;
+    private final Set<String> preservedCaches;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+    private volatile CacheInvalidationBus bus;
+
+    /**
+     * Constructs a {@code BroadcastingCacheManager} decorating the given cache manager.
+     *
+     * @param targetCacheManager the cache manager holding the local caches
+     * @param busProvider        provides the bus to publish and receive invalidations on
+     * @param maxKeysPerCache    the number of keys per cache in a received batch above which the cache is cleared
+     * @param preservedCaches    the names of the caches that are never cleared wholesale by received invalidations
+     */
+    public BroadcastingCacheManager(CacheManager targetCacheManager, ObjectProvider<CacheInvalidationBus> busProvider,
+                                    int maxKeysPerCache, Set<String> preservedCaches) {
+        this.targetCacheManager = targetCacheManager;
+        this.busProvider = busProvider;
+        this.maxKeysPerCache = maxKeysPerCache;
+        this.preservedCaches = Set.copyOf(preservedCaches);
+    }
+
+    /**
+     * Subscribes to the cache invalidations of other instances once all singletons are created.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        CacheInvalidationBus invalidationBus = busProvider.getIfAvailable();
+        if (invalidationBus != null) {
+            invalidationBus.subscribe(TOPIC, this::applyInvalidations, this::resync);
+            bus = invalidationBus;
+        }
+    }
+
+    /**
+     * Returns the broadcasting decorator of the local cache with the given name.
+     *
+     * @param name the name of the cache
+     * @return the decorated cache, or {@code null} if no such cache exists
+     */
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache targetCache = targetCacheManager.getCache(name);
+        if (targetCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new BroadcastingCache(targetCache));
+    }
+
+    /**
+     * Returns the names of the local caches.
+     *
+     * @return the names of all caches known to the decorated cache manager
+     */
+    @Override
+    public Collection<String> getCacheNames() {
+        return targetCacheManager.getCacheNames();
+    }
+
+    /**
+     * Applies a batch of invalidations received from other instances to the local caches without publishing them
+     * again.
+     *
+     * @param payloads the received invalidation payloads
+     */
+    void applyInvalidations(Collection<String> payloads) {
+        Map<String, Set<Object>> keysByCache = new HashMap<>();
+        Set<String> clearedCaches = new HashSet<>();
+        for (String payload : payloads) {
+            int separator = payload.indexOf('\t');
+            if (separator < 0) {
+                clearedCaches.add(payload);
+            } else {
+                Object key = decodeKey(payload.substring(separator + 1));
+                String cacheName = payload.substring(0, separator);
+                if (key != null) {
+                    keysByCache.computeIfAbsent(cacheName, n -> new LinkedHashSet<>()).add(key);
+                }
+            }
+        }
+        keysByCache.forEach((cacheName, keys) -> {
+            if (!preservedCaches.contains(cacheName) && keys.size() > maxKeysPerCache) {
+                clearedCaches.add(cacheName);
+            } else if (!clearedCaches.contains(cacheName) || preservedCaches.contains(cacheName)) {
+                Cache cache = targetCacheManager.getCache(cacheName);
+                if (cache != null) {
+                    keys.forEach(cache::evict);
+                }
+            }
+        });
+        for (String cacheName : clearedCaches) {
+            Cache cache = targetCacheManager.getCache(cacheName);
+            if (cache != null && !preservedCaches.contains(cacheName)) {
+                cache.clear();
+            }
+        }
+        log.debug("Applied {} cache invalidations from other instances", payloads.size());
+    }
+
+    /**
+     * Clears every local cache except the preserved ones, after invalidations may have been missed.
+     */
+    void resync() {
+        for (String cacheName : targetCacheManager.getCacheNames()) {
+            Cache cache = targetCacheManager.getCache(cacheName);
+            if (cache != null && !preservedCaches.contains(cacheName)) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void publishEvict(String cacheName, Object key) {
+        CacheInvalidationBus invalidationBus = bus;
+        if (invalidationBus == null) {
+            return;
+        }
+        String encodedKey = encodeKey(key);
+        if (encodedKey != null) {
+            invalidationBus.publish(TOPIC, cacheName + '\t' + encodedKey);
+        } else {
+            publishClear(cacheName);
+        }
+    }
+
+    private void publishClear(String cacheName) {
+        CacheInvalidationBus invalidationBus = bus;
+        if (invalidationBus != null) {
+            invalidationBus.publish(TOPIC, cacheName);
+        }
+    }
+
+    private static String encodeKey(Object key) {
+        if (key instanceof Long longKey) {
+            return LONG_KEY + longKey.toString();
+        }
+        if (key instanceof String stringKey && stringKey.indexOf('\n') < 0 && stringKey.length() < 1024) {
+            return STRING_KEY + stringKey;
+        }
+        return null;
+    }
+
+    private static Object decodeKey(String encodedKey) {
+        if (encodedKey.isEmpty()) {
+            return null;
+        }
+        String value = encodedKey.substring(1);
+        try {
+            return switch (encodedKey.charAt(0)) {
+                case LONG_KEY -> Long.valueOf(value);
+                case STRING_KEY -> value;
+                default -> null;
+            };
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring cache invalidation with malformed key: {}", encodedKey);
+            return null;
+        }
+    }
+
+    /**
+     * A cache decorator that publishes its evictions and clears.
+     */
+    private final class BroadcastingCache implements Cache {
+
+        private final Cache target;
+
+        private BroadcastingCache(Cache target) {
+            this.target = target;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, valueLoader);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return target.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return target.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+            publishEvict(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = target.evictIfPresent(key);
+            publishEvict(getName(), key);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+            publishClear(getName());
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = target.invalidate();
+            publishClear(getName());
+            return invalidated;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.out.cache.OffHeapCacheTier;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code CacheDependencies} class declares which entity changes invalidate which caches, and evicts all entries
+ * of a user from every dependent cache when one of the user's entities changes.
+ * <p>
+ * Every cache holding per-user data declares the entities it is derived from in {@link #DEPENDENCIES}. Cache keys
+ * of such caches are either the user ID itself or a string starting with the user ID followed by a dash, e.g.
+ * {@code 1-data} or {@code 1-2025-01-01-2025-01-31}, so that the {@link UserKeyIndex} records every key under its
+ * user and all entries of a user, including date-ranged ones, are evicted by looking up the user's keys instead of
+ * scanning the cache. Caches whose writes are not indexed are scanned instead. Entries depending on the current
+ * month carry the month in their key and stop being read once the month changes.
+ * <p>
+ * Changes are published on the {@link CacheInvalidationBus} once per entity and user, so that a burst of writes of
+ * one user within the coalescing window is sent to the other instances as a single invalidation. Off-heap copies
+ * of the evicted entries held by the {@link OffHeapCacheTier} are removed by the same keys.
+ */
+@Component
+@Slf4j
+public class CacheDependencies {
+
+    static final String TOPIC = "cache-dependencies";
+
+    /**
+     * The entities whose changes invalidate derived caches.
+     */
+    public enum Entity {
+        TRANSACTION, BUDGET, GOAL
+    }
+
+    private static final Map<String, Set<Entity>> DEPENDENCIES = Map.of(
+            "transactions", EnumSet.of(Entity.TRANSACTION),
+            "reports", EnumSet.of(Entity.TRANSACTION),
+            "budgets", EnumSet.of(Entity.BUDGET, Entity.TRANSACTION),
+            "goals", EnumSet.of(Entity.GOAL)
+    );
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBus bus;
+    private final ObjectProvider<OffHeapCacheTier> offHeapTier;
+    private final UserKeyIndex keyIndex;
+    private final Map<Entity, List<String>> dependentCaches = new EnumMap<>(Entity.class);
+
+    /**
+     * Constructs a {@code CacheDependencies} evicting entries from the caches of the given cache manager.
+     *
+     * @param cacheManager the cache manager holding the dependent caches
+     * @param bus          the bus propagating entity changes to the other instances
+     * @param offHeapTier  provides the off-heap cache tier holding copies of the dependent cache entries
+     * @param keyIndex     the index of the keys of the dependent caches by user
+     */
+    public CacheDependencies(CacheManager cacheManager, CacheInvalidationBus bus,
+                             ObjectProvider<OffHeapCacheTier> offHeapTier, UserKeyIndex keyIndex) {
+        this.cacheManager = cacheManager;
+        this.bus = bus;
+        this.offHeapTier = offHeapTier;
+        this.keyIndex = keyIndex;
+        for (Entity entity : Entity.values()) {
+            dependentCaches.put(entity, DEPENDENCIES.entrySet().stream()
+                    .filter(dependency -> dependency.getValue().contains(entity))
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    /**
+     * Subscribes to the entity changes of other instances.
+     */
+    @PostConstruct
+    public void subscribe() {
+        bus.subscribe(TOPIC, this::applyChanges);
+    }
+
+    /**
+     * Returns the names of the caches holding per-user data derived from the entities.
+     *
+     * @return the names of all dependent caches
+     */
+    public static Set<String> dependentCacheNames() {
+        return DEPENDENCIES.keySet();
+    }
+
+    /**
+     * Returns the names of the caches depending on an entity.
+     *
+     * @param entity the changed entity
+     * @return the names of the dependent caches
+     */
+    public List<String> dependentCaches(Entity entity) {
+        return dependentCaches.get(entity);
+    }
+
+    /**
+     * Evicts all entries of a user from the caches depending on the changed entity, on this instance immediately
+     * and on the other instances with the next batch of invalidations.
+     *
+     * @param entity the changed entity
+     * @param userId the unique identifier of the user owning the entity
+     */
+    public void changed(Entity entity, Long userId) {
+        evictLocally(entity, userId);
+        bus.publish(TOPIC, entity.name() + '\t' + userId);
+    }
+
+    /**
+     * Applies a batch of entity changes received from other instances, evicting each user from each dependent
+     * cache only once.
+     *
+     * @param payloads the received changes, each consisting of the entity and the user ID separated by a tab
+     */
+    void applyChanges(Collection<String> payloads) {
+        Map<String, Set<Long>> usersByCache = new HashMap<>();
+        for (String payload : payloads) {
+            int separator = payload.indexOf('\t');
+            try {
+                Entity entity = Entity.valueOf(payload.substring(0, Math.max(separator, 0)));
+                Long userId = Long.valueOf(payload.substring(separator + 1));
+                dependentCaches.get(entity).forEach(cacheName ->
+                        usersByCache.computeIfAbsent(cacheName, n -> new LinkedHashSet<>()).add(userId));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed entity change: {}", payload);
+            }
+        }
+        usersByCache.forEach(this::evictUsers);
+    }
+
+    private void evictLocally(Entity entity, Long userId) {
+        Set<Long> userIds = Set.of(userId);
+        dependentCaches.get(entity).forEach(cacheName -> evictUsers(cacheName, userIds));
+    }
+
+    /**
+     * Removes all entries of the given users from a cache without publishing the evictions. The keys of the users
+     * are looked up in the {@link UserKeyIndex}; caches whose writes are not indexed are scanned, and caches that
+     * cannot be scanned are cleared instead.
+     *
+     * @param cacheName the name of the cache
+     * @param userIds   the unique identifiers of the users
+     */
+    private void evictUsers(String cacheName, Set<Long> userIds) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            cache.clear();
+            offHeapTier.ifAvailable(tier -> tier.evictIf(cacheName, key -> belongsToAny(key, userIds)));
+        } else if (keyIndex.isIndexed(cacheName)) {
+            Set<Object> keys = keyIndex.removeUsers(cacheName, userIds);
+            Map<?, ?> entries = nativeCache.asMap();
+            keys.forEach(entries::remove);
+            offHeapTier.ifAvailable(tier -> tier.evictAll(cacheName, keys));
+        } else {
+            nativeCache.asMap().keySet().removeIf(key -> belongsToAny(key, userIds));
+            offHeapTier.ifAvailable(tier -> tier.evictIf(cacheName, key -> belongsToAny(key, userIds)));
+        }
+    }
+
+    private static boolean belongsToAny(Object key, Set<Long> userIds) {
+        Long userId = UserKeyIndex.userOf(key);
+        return userId != null && userIds.contains(userId);
+    }
+}
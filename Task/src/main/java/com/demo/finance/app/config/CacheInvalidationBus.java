@@ -0,0 +1,300 @@
+package com.demo.finance.app.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The {@code CacheInvalidationBus} class propagates invalidations of node-local state, such as cache entries and
+ * revoked tokens, to every application instance sharing the same PostgreSQL database.
+ * <p>
+ * Invalidations are published as {@code topic/payload} pairs and sent over PostgreSQL {@code NOTIFY} on the
+ * {@value #CHANNEL} channel. A single worker thread per instance owns a dedicated connection which both listens on
+ * the channel and sends the pending invalidations. The worker wakes up at least once per coalescing window, so all
+ * invalidations published within one window are deduplicated and sent as a single notification, and all
+ * notifications received within one window are deduplicated and handed to each subscriber as a single batch.
+ * Instances ignore their own notifications.
+ * <p>
+ * Notifications sent while an instance is disconnected are lost for that instance, so after every reconnect the
+ * subscribers are asked to resynchronize, e.g. by clearing their caches. Invalidations published while
+ * disconnected are kept and sent once the connection is re-established.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "finance_cache_invalidation";
+    private static final String LISTEN_SQL = "LISTEN " + CHANNEL;
+    private static final String NOTIFY_SQL = "SELECT pg_notify('" + CHANNEL + "', ?)";
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final DataSourceManager dataSourceManager;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Set<String> pending = new LinkedHashSet<>();
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread worker;
+
+    @Value("${app.cache.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.invalidation.coalesce-ms:50}")
+    private int coalesceMillis;
+
+    @Value("${app.cache.invalidation.reconnect-backoff-ms:5000}")
+    private long reconnectBackoffMillis;
+
+    /**
+     * Constructs a {@code CacheInvalidationBus} sending and receiving invalidations over connections to the
+     * primary database.
+     *
+     * @param dataSourceManager the manager providing database connections
+     */
+    public CacheInvalidationBus(DataSourceManager dataSourceManager) {
+        this.dataSourceManager = dataSourceManager;
+    }
+
+    /**
+     * Starts the worker thread that listens for and sends invalidations, unless the bus is disabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "cache-invalidation-bus");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the worker thread and closes its connection.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(Math.max(coalesceMillis, 1) * 10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the bus is currently listening for invalidations of other instances.
+     *
+     * @return {@code true} if the worker is connected and listening on the channel
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Subscribes to the invalidations of a topic that need no resynchronization after a reconnect.
+     *
+     * @param topic          the topic to subscribe to
+     * @param onInvalidation receives the deduplicated payloads of every received batch of the topic
+     */
+    public void subscribe(String topic, Consumer<Collection<String>> onInvalidation) {
+        subscribe(topic, onInvalidation, () -> {
+        });
+    }
+
+    /**
+     * Subscribes to the invalidations of a topic.
+     *
+     * @param topic          the topic to subscribe to
+     * @param onInvalidation receives the deduplicated payloads of every received batch of the topic
+     * @param onResync       invoked after a reconnect, when invalidations of the topic may have been missed
+     */
+    public void subscribe(String topic, Consumer<Collection<String>> onInvalidation, Runnable onResync) {
+        subscriptions.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>())
+                .add(new Subscription(onInvalidation, onResync));
+    }
+
+    /**
+     * Publishes an invalidation to all other instances. The invalidation is sent asynchronously with the next
+     * batch, and identical invalidations published within the same coalescing window are sent only once.
+     *
+     * @param topic   the topic of the invalidation, must not contain tabs or line breaks
+     * @param payload the payload of the invalidation, must not contain line breaks
+     * @throws IllegalArgumentException if the topic or payload contains forbidden characters or is too long
+     */
+    public void publish(String topic, String payload) {
+        if (topic.indexOf('\t') >= 0 || topic.indexOf('\n') >= 0 || payload.indexOf('\n') >= 0
+                || (topic + payload).getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES / 2) {
+            throw new IllegalArgumentException("Invalid invalidation on topic " + topic + ": " + payload);
+        }
+        if (!enabled) {
+            return;
+        }
+        synchronized (pending) {
+            pending.add(topic + '\t' + payload);
+        }
+    }
+
+    /**
+     * Runs the worker loop: connects, listens on the channel and alternates between waiting for notifications for
+     * up to one coalescing window and sending the pending invalidations, reconnecting after failures.
+     */
+    private void run() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = dataSourceManager.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(LISTEN_SQL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                connected = true;
+                if (connectedBefore) {
+                    log.info("Cache invalidation bus reconnected, resynchronizing local state");
+                    resync();
+                }
+                connectedBefore = true;
+                while (running) {
+                    dispatch(pgConnection.getNotifications(Math.max(coalesceMillis, 1)));
+                    flush(connection);
+                }
+            } catch (SQLException | RuntimeException e) {
+                connected = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation bus disconnected: {}", e.getMessage());
+                try {
+                    Thread.sleep(reconnectBackoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends all pending invalidations, split into as few notifications as the payload size limit allows.
+     * If sending fails, the invalidations are kept for the next attempt.
+     *
+     * @param connection the connection to send the notifications on
+     * @throws SQLException if a notification cannot be sent
+     */
+    void flush(Connection connection) throws SQLException {
+        List<String> lines;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            lines = new ArrayList<>(pending);
+            pending.clear();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+            StringBuilder message = new StringBuilder(nodeId);
+            int messageBytes = message.length();
+            for (String line : lines) {
+                int lineBytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (messageBytes + lineBytes > MAX_PAYLOAD_BYTES && messageBytes > nodeId.length()) {
+                    send(statement, message.toString());
+                    message.setLength(nodeId.length());
+                    messageBytes = nodeId.length();
+                }
+                message.append('\n').append(line);
+                messageBytes += lineBytes;
+            }
+            send(statement, message.toString());
+        } catch (SQLException e) {
+            synchronized (pending) {
+                pending.addAll(lines);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hands the invalidations received from other instances to the subscribers, grouped and deduplicated per
+     * topic.
+     *
+     * @param notifications the received notifications, may be {@code null}
+     */
+    void dispatch(PGNotification[] notifications) {
+        if (notifications == null || notifications.length == 0) {
+            return;
+        }
+        Map<String, Set<String>> payloadsByTopic = new LinkedHashMap<>();
+        for (PGNotification notification : notifications) {
+            String[] lines = notification.getParameter().split("\n");
+            if (lines.length < 2 || nodeId.equals(lines[0])) {
+                continue;
+            }
+            for (int i = 1; i < lines.length; i++) {
+                int separator = lines[i].indexOf('\t');
+                if (separator > 0) {
+                    payloadsByTopic.computeIfAbsent(lines[i].substring(0, separator), t -> new LinkedHashSet<>())
+                            .add(lines[i].substring(separator + 1));
+                }
+            }
+        }
+        payloadsByTopic.forEach((topic, payloads) -> {
+            for (Subscription subscription : subscriptions.getOrDefault(topic, List.of())) {
+                try {
+                    subscription.onInvalidation().accept(payloads);
+                } catch (RuntimeException e) {
+                    log.error("Failed to apply invalidations on topic {}: {}", topic, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Asks every subscriber to resynchronize after invalidations may have been missed.
+     */
+    private void resync() {
+        subscriptions.values().forEach(topicSubscriptions -> topicSubscriptions.forEach(subscription -> {
+            try {
+                subscription.onResync().run();
+            } catch (RuntimeException e) {
+                log.error("Failed to resynchronize after reconnect: {}", e.getMessage(), e);
+            }
+        }));
+    }
+
+    private void send(PreparedStatement statement, String message) throws SQLException {
+        statement.setString(1, message);
+        statement.execute();
+    }
+
+    /**
+     * The callbacks of a subscriber to a topic.
+     *
+     * @param onInvalidation receives the payloads of a batch
+     * @param onResync       invoked after a reconnect
+     */
+    private record Subscription(Consumer<Collection<String>> onInvalidation, Runnable onResync) {
+    }
+}
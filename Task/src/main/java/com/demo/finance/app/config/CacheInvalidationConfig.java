@@ -0,0 +1,74 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.out.cache.OffHeapCacheTier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+
+/**
+ * The {@code CacheInvalidationConfig} class wires the {@link CacheInvalidationBus} into the caching
+ * infrastructure by decorating every {@link CacheManager} bean with a {@link BroadcastingCacheManager}, so that
+ * cache evictions are propagated to all application instances without changes to the cached services. When the
+ * off-heap cache tier is enabled, the local caches are first decorated with a {@link TieredCacheManager}, so that
+ * broadcast evictions reach both tiers. The per-user caches are then decorated with an {@link IndexedCacheManager},
+ * so that the {@link CacheDependencies} find the entries of a user through the {@link UserKeyIndex}.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    /**
+     * Creates the index of the keys of the per-user caches. It is static so that it is available to the
+     * post-processor decorating the cache managers.
+     *
+     * @return the index of the keys of the caches depending on entity changes
+     */
+    @Bean
+    static UserKeyIndex userKeyIndex() {
+        return new UserKeyIndex(CacheDependencies.dependentCacheNames());
+    }
+
+    /**
+     * Creates the post-processor decorating the cache managers. It is static so that it is registered before any
+     * cache manager is created.
+     *
+     * @param busProvider  provides the invalidation bus
+     * @param tierProvider provides the off-heap cache tier
+     * @param keyIndex     the index of the keys of the per-user caches
+     * @param environment  the environment holding the {@code app.cache.*} properties
+     * @return the bean post-processor decorating cache managers
+     */
+    @Bean
+    static BeanPostProcessor broadcastingCacheManagerPostProcessor(ObjectProvider<CacheInvalidationBus> busProvider,
+                                                                   ObjectProvider<OffHeapCacheTier> tierProvider,
+                                                                   UserKeyIndex keyIndex,
+                                                                   Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof CacheManager cacheManager) || bean instanceof BroadcastingCacheManager
+                        || bean instanceof TieredCacheManager || bean instanceof IndexedCacheManager) {
+                    return bean;
+                }
+                CacheManager decorated = cacheManager;
+                if (environment.getProperty("app.cache.off-heap.enabled", Boolean.class, false)) {
+                    decorated = new TieredCacheManager(decorated, tierProvider);
+                }
+                decorated = new IndexedCacheManager(decorated, keyIndex, tierProvider);
+                if (!environment.getProperty("app.cache.invalidation.enabled", Boolean.class, true)) {
+                    return decorated;
+                }
+                int maxKeysPerCache = environment.getProperty("app.cache.invalidation.max-keys-per-cache",
+                        Integer.class, 100);
+                String[] preservedCaches = environment.getProperty("app.cache.invalidation.preserved-caches",
+                        String[].class, new String[]{"invalidTokens"});
+                return new BroadcastingCacheManager(decorated, busProvider, maxKeysPerCache,
+                        Set.of(preservedCaches));
+            }
+        };
+    }
+}
@@ -1,12 +1,17 @@
 package com.demo.finance.app.config;
 
 import com.demo.finance.exception.custom.DatabaseConnectionException;
-import lombok.RequiredArgsConstructor;
+import com.demo.finance.starter.audit.AuditableUser;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 /**
@@ -16,13 +21,42 @@ import java.sql.SQLException;
  * <p>
  * This class ensures that database connection errors are logged appropriately and
  * wrapped in a custom exception for better error handling.
+ * <p>
+ * When a read replica is configured, read-only connections are routed to it according to the
+ * {@link ReplicaRouter}, which provides read-your-writes stickiness per user and falls back to the primary when
+ * the replica lags behind or cannot be reached. Writes always use the primary.
  */
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class DataSourceManager {
 
+    private static final String REPLICA_LAG_SQL = "SELECT CASE WHEN pg_last_wal_receive_lsn() = "
+            + "pg_last_wal_replay_lsn() THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - "
+            + "pg_last_xact_replay_timestamp()) * 1000, 0) END AS lag_ms";
+
     private final DatabaseConfig config;
+    private final ReplicaRouter replicaRouter;
+
+    /**
+     * Constructs a {@code DataSourceManager} without read routing, so that all connections use the primary.
+     *
+     * @param config the database configuration
+     */
+    public DataSourceManager(DatabaseConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Constructs a {@code DataSourceManager} that routes reads to the read replica, if one is configured.
+     *
+     * @param config        the database configuration
+     * @param replicaRouter the router deciding whether reads may use the replica
+     */
+    @Autowired
+    public DataSourceManager(DatabaseConfig config, ReplicaRouter replicaRouter) {
+        this.config = config;
+        this.replicaRouter = replicaRouter;
+    }
 
     /**
      * Establishes and returns a connection to the database using the configured URL,
@@ -47,4 +81,114 @@ public class DataSourceManager {
             throw new DatabaseConnectionException(errorMessage, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a connection for read-only operations.
+     * <p>
+     * The connection is opened to the read replica if one is configured and the {@link ReplicaRouter} allows it
+     * for the current user; otherwise, or if the replica cannot be reached, a primary connection is returned.
+     * When a replication lag measurement is due, it is taken on the replica connection before routing.
+     *
+     * @return a {@link Connection} to the replica or to the primary database
+     * @throws DatabaseConnectionException if no primary connection can be established when one is needed
+     */
+    public Connection getReadConnection() {
+        String replicaUrl = config.getDbReplicaUrl();
+        if (replicaUrl == null || replicaRouter == null) {
+            return getConnection();
+        }
+        Long userId = currentUserId();
+        boolean lagCheck = replicaRouter.tryStartLagCheck();
+        if (!lagCheck && !replicaRouter.isReplicaPreferred(userId)) {
+            return getConnection();
+        }
+        Connection replica = null;
+        try {
+            replica = DriverManager.getConnection(replicaUrl, config.getDbUsername(), config.getDbPassword());
+            if (lagCheck) {
+                replicaRouter.updateLag(measureReplicaLag(replica));
+            }
+            if (replicaRouter.isReplicaPreferred(userId)) {
+                return replica;
+            }
+            replica.close();
+        } catch (SQLException e) {
+            log.warn("Read replica unavailable, falling back to the primary. URL: {}: {}", replicaUrl,
+                    e.getMessage());
+            replicaRouter.markUnavailable();
+            closeQuietly(replica);
+        }
+        return getConnection();
+    }
+
+    /**
+     * Records a committed write of the current user, so that the user's subsequent reads are served by the
+     * primary until the replica has caught up.
+     */
+    public void recordWrite() {
+        recordWrite(null);
+    }
+
+    /**
+     * Records a committed write to the rows of the given user, so that the subsequent reads of both that user and
+     * the current user, e.g. an administrator changing another user, are served by the primary until the replica has
+     * caught up.
+     *
+     * @param userId the ID of the user whose rows were written, or {@code null} if unknown
+     */
+    public void recordWrite(Long userId) {
+        if (replicaRouter != null && config.getDbReplicaUrl() != null) {
+            Long currentUserId = currentUserId();
+            if (currentUserId != null) {
+                replicaRouter.recordWrite(currentUserId);
+            }
+            if (userId != null && !userId.equals(currentUserId)) {
+                replicaRouter.recordWrite(userId);
+            }
+        }
+    }
+
+    /**
+     * Measures the replication lag of the replica the given connection is opened to.
+     *
+     * @param replica the connection to the replica
+     * @return the replication lag in milliseconds, {@code 0} if the replica has replayed all received changes
+     * @throws SQLException if the lag cannot be queried
+     */
+    private long measureReplicaLag(Connection replica) throws SQLException {
+        try (PreparedStatement stmt = replica.prepareStatement(REPLICA_LAG_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong("lag_ms") : 0L;
+        }
+    }
+
+    /**
+     * Resolves the ID of the user of the current request from the {@code currentUser} request attribute set by
+     * the authentication filter.
+     *
+     * @return the ID of the current user, or {@code null} outside an authenticated request
+     */
+    private Long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object currentUser = attributes.getAttribute("currentUser", RequestAttributes.SCOPE_REQUEST);
+        return currentUser instanceof AuditableUser user ? user.getUserId() : null;
+    }
+
+    /**
+     * Closes the given connection, ignoring any error.
+     *
+     * @param connection the connection to close, may be {@code null}
+     */
+    private void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close replica connection: {}", e.getMessage());
+            }
+        }
+    }
+}
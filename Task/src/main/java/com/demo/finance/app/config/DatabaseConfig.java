@@ -24,11 +24,15 @@ public class DatabaseConfig {
     private static final String DB_URL = "DB_URL";
     private static final String DB_USERNAME = "DB_USERNAME";
     private static final String DB_PASSWORD = "DB_PASSWORD";
+    private static final String DB_REPLICA_URL = "DB_REPLICA_URL";
     private static final String DEFAULT_ENV_FILE = "/app/.env";
 
     @Value("${app.db.url}")
     private String injectedUrl;
 
+    @Value("${app.db.replica-url:}")
+    private String injectedReplicaUrl;
+
     /**
      * Initializes the database configuration by loading and validating required properties.
      * This method is automatically invoked after the bean is constructed.
@@ -57,6 +61,19 @@ public class DatabaseConfig {
         return System.getProperty(DB_URL);
     }
 
+    /**
+     * Retrieves the URL of the optional read replica from the system properties.
+     * <p>
+     * The replica is accessed with the same credentials as the primary database. Unlike the other properties,
+     * the replica URL is optional and its absence disables read routing.
+     *
+     * @return the read replica URL as a string, or {@code null} if no replica is configured
+     */
+    public String getDbReplicaUrl() {
+        String replicaUrl = System.getProperty(DB_REPLICA_URL);
+        return replicaUrl == null || replicaUrl.trim().isEmpty() ? null : replicaUrl;
+    }
+
     /**
      * Retrieves the database username from the system properties.
      * <p>
@@ -112,6 +129,9 @@ public class DatabaseConfig {
             validateInjectedValue(injectedUrl);
             System.setProperty(DB_URL, injectedUrl);
         }
+        if (injectedReplicaUrl != null && !injectedReplicaUrl.trim().isEmpty()) {
+            System.setProperty(DB_REPLICA_URL, injectedReplicaUrl);
+        }
         validateProperty(DB_USERNAME);
         validateProperty(DB_PASSWORD);
         validateProperty(DB_URL);
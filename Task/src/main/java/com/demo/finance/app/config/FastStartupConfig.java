@@ -0,0 +1,37 @@
+package com.demo.finance.app.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.List;
+
+/**
+ * The {@code FastStartupConfig} class configures the startup-optimized launch mode, active under the
+ * {@code fast-startup} Spring profile defined in {@code application-fast-startup.yml}.
+ * <p>
+ * The profile enables lazy bean initialization. This configuration keeps the beans on the request hot path, i.e.
+ * filters, controllers, services, repositories and domain utilities, eagerly initialized so that the first request
+ * does not pay for their creation, while everything else, such as the OpenAPI documentation, is only created when
+ * it is first used. The profile is meant to be combined with Spring AOT ({@code -Dspring.aot.enabled=true}) and
+ * the class-data sharing archive produced by the {@code appCdsArchive} Gradle task.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    private static final List<String> HOT_PACKAGES = List.of(
+            "com.demo.finance.in.", "com.demo.finance.out.", "com.demo.finance.domain.");
+
+    /**
+     * Excludes the beans on the request hot path from lazy initialization.
+     *
+     * @return the {@link LazyInitializationExcludeFilter} for hot path beans
+     */
+    @Bean
+    static LazyInitializationExcludeFilter hotPathBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && HOT_PACKAGES.stream().anyMatch(beanType.getName()::startsWith);
+    }
+}
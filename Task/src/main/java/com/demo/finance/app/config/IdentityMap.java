@@ -0,0 +1,301 @@
+package com.demo.finance.app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The {@code IdentityMap} class deduplicates identical repository reads within one request and counts the SQL
+ * statements every request executes.
+ * <p>
+ * While a scope is open, it is bound to the current thread, like the connection of a {@link UnitOfWork}, and
+ * repository reads keyed by their SQL constant and bound parameters are answered from the rows read earlier in the
+ * same scope. Every read records the table it read and, if it reads the rows of a single user only, that user;
+ * writes issued within the scope drop the reads of the user they change, or of the whole table if their user is
+ * unknown. Since the scope holds rows rather than entities, every read is mapped into fresh entities, so callers
+ * modifying an entity never affect another caller within the same request.
+ * <p>
+ * Work a request hands off to other threads, such as the sections of the dashboard, binds the scope of the request
+ * to those threads, so that their reads are deduplicated and their statements counted along with the request; a
+ * scope may therefore be used by several threads at once.
+ * <p>
+ * Every scope counts the statements executed within it per SQL constant, so that the {@link QueryBudget} can
+ * check them once the request has been handled. When a scope is closed, the number of statements executed within it
+ * and the number of reads it answered are recorded in the {@code app.sql.request.queries} and
+ * {@code app.sql.request.collapsed-reads} summaries.
+ */
+@Component
+@Slf4j
+public class IdentityMap {
+
+    private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final DistributionSummary queries;
+    private final DistributionSummary collapsedReads;
+
+    /**
+     * Constructs an {@code IdentityMap} recording its summaries in the given registry.
+     *
+     * @param meterRegistry the registry to record the per-request summaries in
+     * @param enabled       whether identical reads are deduplicated; statements are counted either way
+     * @param maxEntries    the maximum number of reads kept per scope
+     */
+    public IdentityMap(MeterRegistry meterRegistry,
+                       @Value("${app.sql.identity-map.enabled:true}") boolean enabled,
+                       @Value("${app.sql.identity-map.max-entries:256}") int maxEntries) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.queries = DistributionSummary.builder("app.sql.request.queries")
+                .description("SQL statements executed per request")
+                .register(meterRegistry);
+        this.collapsedReads = DistributionSummary.builder("app.sql.request.collapsed-reads")
+                .description("Repository reads answered by the identity map per request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a scope bound to the current thread. Scopes opened within an open scope join it.
+     *
+     * @return the scope to close once the request has been handled
+     */
+    public Scope open() {
+        Scope current = CURRENT_SCOPE.get();
+        if (current != null) {
+            return current.join();
+        }
+        Scope scope = new Scope(this, enabled ? maxEntries : 0);
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
+    /**
+     * Returns the scope open on the current thread.
+     *
+     * @return the open scope, or {@code null} if no scope is open
+     */
+    public static Scope currentScope() {
+        return CURRENT_SCOPE.get();
+    }
+
+    /**
+     * Binds a scope opened on another thread to the current thread, until the returned binding is closed. Closing
+     * the binding restores the scope bound before without closing the bound scope, which remains owned by the
+     * thread that opened it.
+     *
+     * @param scope the scope to bind, or {@code null} to bind no scope
+     * @return the binding to close once the handed off work is done
+     */
+    public static Binding bind(Scope scope) {
+        Scope previous = CURRENT_SCOPE.get();
+        bindScope(scope);
+        return () -> bindScope(previous);
+    }
+
+    private static void bindScope(Scope scope) {
+        if (scope == null) {
+            CURRENT_SCOPE.remove();
+        } else {
+            CURRENT_SCOPE.set(scope);
+        }
+    }
+
+    /**
+     * Returns the result of a read from the scope open on the current thread, or executes the read and keeps its
+     * result if the scope holds none. Without an open scope, the read is executed right away.
+     *
+     * @param sql    the SQL constant of the read
+     * @param userId the only user whose rows the read returns, or {@code null} if it reads across users
+     * @param params the parameters bound to the read
+     * @param read   executes the read and returns its result, which must not be modified afterwards
+     * @param <T>    the type of the result
+     * @return the result of the read
+     */
+    public static <T> T read(String sql, Long userId, List<Object> params, Supplier<T> read) {
+        Scope scope = CURRENT_SCOPE.get();
+        return scope == null ? read.get() : scope.read(sql, userId, params, read);
+    }
+
+    /**
+     * Drops the reads of the scope open on the current thread that a write may have changed.
+     *
+     * @param sql    the SQL constant of the write, or {@code null} if unknown, which drops all reads
+     * @param userId the only user whose rows the write changed, or {@code null} if unknown
+     */
+    public static void written(String sql, Long userId) {
+        Scope scope = CURRENT_SCOPE.get();
+        if (scope != null) {
+            scope.written(sql, userId);
+        }
+    }
+
+    /**
+     * Counts a SQL statement executed within the scope open on the current thread.
+     *
+     * @param sql the SQL constant of the statement, or {@code null} if unknown
+     */
+    public static void executed(String sql) {
+        Scope scope = CURRENT_SCOPE.get();
+        if (scope != null) {
+            scope.queriesExecuted.incrementAndGet();
+            if (sql != null) {
+                scope.statementCounts.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * The binding of a scope to a thread other than the one that opened it.
+     */
+    public interface Binding extends AutoCloseable {
+
+        /**
+         * Unbinds the scope from the current thread.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * The reads and statement counts of one request. The reads are guarded by the scope itself, but executed
+     * outside of it, and a read is only kept if no write has been issued within the scope since it started.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final IdentityMap identityMap;
+        private final int maxEntries;
+        private final Map<ReadKey, Read> reads = new HashMap<>();
+        private final Map<String, Integer> statementCounts = new ConcurrentHashMap<>();
+        private final AtomicInteger queriesExecuted = new AtomicInteger();
+        private final AtomicInteger collapsedReads = new AtomicInteger();
+        private int depth = 1;
+        private long writes;
+
+        private Scope(IdentityMap identityMap, int maxEntries) {
+            this.identityMap = identityMap;
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * Returns the number of SQL statements executed within this scope so far.
+         *
+         * @return the number of executed statements
+         */
+        public int queriesExecuted() {
+            return queriesExecuted.get();
+        }
+
+        /**
+         * Returns how often each SQL statement has been executed within this scope so far.
+         *
+         * @return the number of executions per SQL constant
+         */
+        public Map<String, Integer> statementCounts() {
+            return Collections.unmodifiableMap(statementCounts);
+        }
+
+        /**
+         * Returns the number of reads answered by this scope so far.
+         *
+         * @return the number of reads that executed no statement
+         */
+        public int collapsedReads() {
+            return collapsedReads.get();
+        }
+
+        /**
+         * Closes this scope, unbinding it from the current thread and recording its counts, unless it was joined
+         * by a nested scope that is still open.
+         */
+        @Override
+        public void close() {
+            if (--depth > 0) {
+                return;
+            }
+            CURRENT_SCOPE.remove();
+            identityMap.queries.record(queriesExecuted.get());
+            identityMap.collapsedReads.record(collapsedReads.get());
+            log.debug("Request executed {} SQL statements, {} reads collapsed", queriesExecuted.get(),
+                    collapsedReads.get());
+        }
+
+        private Scope join() {
+            depth++;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T read(String sql, Long userId, List<Object> params, Supplier<T> read) {
+            if (maxEntries == 0) {
+                return read.get();
+            }
+            ReadKey key = new ReadKey(sql, new ArrayList<>(params));
+            long writesBefore;
+            synchronized (this) {
+                Read cached = reads.get(key);
+                if (cached != null) {
+                    collapsedReads.incrementAndGet();
+                    return (T) cached.result();
+                }
+                writesBefore = writes;
+            }
+            T result = read.get();
+            synchronized (this) {
+                if (result != null && writes == writesBefore && reads.size() < maxEntries) {
+                    reads.put(key, new Read(result, SqlInstrumentation.tableOf(sql), userId));
+                }
+            }
+            return result;
+        }
+
+        private synchronized void written(String sql, Long userId) {
+            writes++;
+            if (sql == null) {
+                reads.clear();
+                return;
+            }
+            String table = SqlInstrumentation.tableOf(sql);
+            Iterator<Read> iterator = reads.values().iterator();
+            while (iterator.hasNext()) {
+                Read read = iterator.next();
+                if (read.table().equals(table)
+                        && (userId == null || read.userId() == null || Objects.equals(read.userId(), userId))) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * The key of a read.
+     *
+     * @param sql    the SQL constant of the read
+     * @param params the parameters bound to the read
+     */
+    private record ReadKey(String sql, List<Object> params) {
+    }
+
+    /**
+     * The result of a read together with the rows it read.
+     *
+     * @param result the result of the read
+     * @param table  the table read
+     * @param userId the only user whose rows were read, or {@code null} if the read spans users
+     */
+    private record Read(Object result, String table, Long userId) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.out.cache.OffHeapCacheTier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The {@code IndexedCacheManager} class decorates the application's {@link CacheManager} so that the keys written
+ * to the per-user caches are recorded in the {@link UserKeyIndex}, which lets the {@link CacheDependencies} evict
+ * all entries of a user without scanning the cache.
+ * <p>
+ * A key is indexed after its entry has been written, so that an eviction running concurrently never drops the key
+ * of an entry that stays cached. A key is considered stale once its entry is gone from the on-heap cache and from
+ * the off-heap tier. Caches that are not indexed are returned as they are.
+ */
+public class IndexedCacheManager implements CacheManager {
+
+    private final CacheManager targetCacheManager;
+    private final UserKeyIndex keyIndex;
+    private final ObjectProvider<OffHeapCacheTier> tierProvider;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an {@code IndexedCacheManager} decorating the given cache manager.
+     *
+     * @param targetCacheManager the cache manager holding the local caches
+     * @param keyIndex           the index recording the keys of the per-user caches
+     * @param tierProvider       provides the off-heap tier that may hold entries evicted from the heap
+     */
+    public IndexedCacheManager(CacheManager targetCacheManager, UserKeyIndex keyIndex,
+                               ObjectProvider<OffHeapCacheTier> tierProvider) {
+        this.targetCacheManager = targetCacheManager;
+        this.keyIndex = keyIndex;
+        this.tierProvider = tierProvider;
+    }
+
+    /**
+     * Returns the local cache with the given name, indexing its keys if it is a per-user cache.
+     *
+     * @param name the name of the cache
+     * @return the possibly indexed cache, or {@code null} if no such cache exists
+     */
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache targetCache = targetCacheManager.getCache(name);
+        if (targetCache == null || !keyIndex.indexes(name)
+                || !(targetCache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?>)) {
+            return targetCache;
+        }
+        return caches.computeIfAbsent(name, n -> {
+            keyIndex.register(n);
+            return new IndexedCache(targetCache);
+        });
+    }
+
+    /**
+     * Returns the names of the local caches.
+     *
+     * @return the names of all caches known to the decorated cache manager
+     */
+    @Override
+    public Collection<String> getCacheNames() {
+        return targetCacheManager.getCacheNames();
+    }
+
+    /**
+     * A cache decorator that indexes the keys of the entries written to it.
+     */
+    private final class IndexedCache implements Cache {
+
+        private final Cache target;
+        private final Map<?, ?> heap;
+
+        private IndexedCache(Cache target) {
+            this.target = target;
+            this.heap = ((com.github.benmanes.caffeine.cache.Cache<?, ?>) target.getNativeCache()).asMap();
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            T value = target.get(key, valueLoader);
+            index(key);
+            return value;
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return target.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return target.retrieve(key, valueLoader).whenComplete((value, failure) -> index(key));
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+            index(key);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = target.putIfAbsent(key, value);
+            index(key);
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return target.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return target.invalidate();
+        }
+
+        private void index(Object key) {
+            keyIndex.add(getName(), key, this::isPresent);
+        }
+
+        private boolean isPresent(Object key) {
+            if (heap.containsKey(key)) {
+                return true;
+            }
+            OffHeapCacheTier tier = tierProvider.getIfAvailable();
+            return tier != null && tier.contains(getName(), key);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.demo.finance.app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.server.AsyncRequestLogWriter;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.CustomRequestLog;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.Http2;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The {@code JettyConfig} class tunes the embedded Jetty server created by
+ * {@link AppConfig#jettyServletWebServerFactory()} for high-throughput deployments.
+ * <p>
+ * It is only active under the {@code jetty-tuned} Spring profile, whose defaults are defined in
+ * {@code application-jetty-tuned.yml}. When active, it enables cleartext HTTP/2 (h2c), gzip compression of
+ * responses above a minimum size for an allowlist of MIME types, explicit acceptor, selector and thread pool
+ * sizing with a bounded request queue, connection idle timeouts and an asynchronous request log.
+ * <p>
+ * The customizer runs after Spring Boot's own Jetty customizer, so the values configured here take precedence
+ * over the generic {@code server.jetty.*} properties.
+ */
+@Component
+@Profile("jetty-tuned")
+@Slf4j
+public class JettyConfig implements WebServerFactoryCustomizer<JettyServletWebServerFactory>, Ordered {
+
+    @Value("${app.jetty.http2-enabled:true}")
+    private boolean http2Enabled;
+
+    @Value("${app.jetty.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${app.jetty.compression.min-response-size:1KB}")
+    private DataSize compressionMinResponseSize;
+
+    @Value("${app.jetty.compression.mime-types:application/json,text/html,text/plain,text/css,"
+            + "application/javascript}")
+    private String[] compressionMimeTypes;
+
+    @Value("${app.jetty.acceptors:1}")
+    private int acceptors;
+
+    @Value("${app.jetty.selectors:-1}")
+    private int selectors;
+
+    @Value("${app.jetty.threads.max:200}")
+    private int maxThreads;
+
+    @Value("${app.jetty.threads.min:16}")
+    private int minThreads;
+
+    @Value("${app.jetty.threads.idle-timeout-ms:60000}")
+    private int threadIdleTimeoutMs;
+
+    @Value("${app.jetty.threads.max-queue-capacity:2000}")
+    private int maxQueueCapacity;
+
+    @Value("${app.jetty.connection-idle-timeout-ms:30000}")
+    private long connectionIdleTimeoutMs;
+
+    @Value("${app.jetty.request-log.enabled:true}")
+    private boolean requestLogEnabled;
+
+    @Value("${app.jetty.request-log.path:/app/logs/access.log}")
+    private String requestLogPath;
+
+    /**
+     * Applies the tuned settings to the Jetty web server factory.
+     *
+     * @param factory the Jetty web server factory to customize
+     */
+    @Override
+    public void customize(JettyServletWebServerFactory factory) {
+        Http2 http2 = new Http2();
+        http2.setEnabled(http2Enabled);
+        factory.setHttp2(http2);
+
+        Compression compression = new Compression();
+        compression.setEnabled(compressionEnabled);
+        compression.setMinResponseSize(compressionMinResponseSize);
+        compression.setMimeTypes(compressionMimeTypes);
+        factory.setCompression(compression);
+
+        factory.setAcceptors(acceptors);
+        factory.setSelectors(selectors);
+        factory.setThreadPool(new QueuedThreadPool(maxThreads, minThreads, threadIdleTimeoutMs,
+                new BlockingArrayQueue<>(maxQueueCapacity)));
+        factory.addServerCustomizers(this::customizeServer);
+        log.info("Jetty tuned profile applied: http2={}, compression={}, acceptors={}, selectors={}, threads={}-{}",
+                http2Enabled, compressionEnabled, acceptors, selectors, minThreads, maxThreads);
+    }
+
+    /**
+     * Ensures this customizer runs after Spring Boot's default Jetty customizer.
+     *
+     * @return the lowest precedence order
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * Configures the created Jetty server: sets the idle timeout of every connector and installs the
+     * asynchronous request log if it is enabled.
+     *
+     * @param server the Jetty server to customize
+     */
+    private void customizeServer(Server server) {
+        for (Connector connector : server.getConnectors()) {
+            if (connector instanceof AbstractConnector abstractConnector) {
+                abstractConnector.setIdleTimeout(connectionIdleTimeoutMs);
+            }
+        }
+        if (requestLogEnabled) {
+            AsyncRequestLogWriter writer = new AsyncRequestLogWriter(requestLogPath);
+            writer.setAppend(true);
+            server.setRequestLog(new CustomRequestLog(writer, CustomRequestLog.EXTENDED_NCSA_FORMAT));
+        }
+    }
+}
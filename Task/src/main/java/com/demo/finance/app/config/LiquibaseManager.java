@@ -7,16 +7,33 @@ import liquibase.database.jvm.JdbcConnection;
 import liquibase.resource.ClassLoaderResourceAccessor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
 
 /**
  * Manages Liquibase database migrations.
  * This class is responsible for validating the existence of the changelog file,
  * establishing a connection to the database, and executing Liquibase migrations.
+ * <p>
+ * After every successful migration a SHA-256 checksum of all changelog files is stored in
+ * {@code finance.schema_checksum}. When {@code app.liquibase.skip-if-current} is enabled and the stored checksum
+ * matches the changelog files on the classpath, the schema is already current and Liquibase is not run at all,
+ * which saves parsing the changelogs and acquiring the Liquibase lock on startup.
  */
 @Component
 @Slf4j
@@ -25,6 +42,14 @@ public class LiquibaseManager {
 
     private final DatabaseConfig databaseConfig;
     private static final String CHANGELOG = "db/changelog/changelog.xml";
+    private static final String CHANGELOG_FILES = "classpath*:db/changelog/*.xml";
+    private static final String SELECT_CHECKSUM = "SELECT checksum FROM finance.schema_checksum WHERE id = 1";
+    private static final String UPSERT_CHECKSUM = "INSERT INTO finance.schema_checksum (id, checksum, updated_at) "
+            + "VALUES (1, ?, now()) ON CONFLICT (id) DO UPDATE SET checksum = EXCLUDED.checksum, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    @Value("${app.liquibase.skip-if-current:false}")
+    private boolean skipIfCurrent;
 
     /**
      * Executes the Liquibase migration process.
@@ -48,11 +73,17 @@ public class LiquibaseManager {
         String password = databaseConfig.getDbPassword();
 
         try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            String checksum = calculateChangelogChecksum();
+            if (skipIfCurrent && checksum.equals(readStoredChecksum(connection))) {
+                log.info("Database schema is current (checksum {}), skipping Liquibase migration.", checksum);
+                return;
+            }
             Database database = DatabaseFactory.getInstance()
                     .findCorrectDatabaseImplementation(new JdbcConnection(connection));
 
             Liquibase liquibase = new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database);
             liquibase.update("");
+            storeChecksum(connection, checksum);
             log.info("Liquibase migration completed successfully.");
         } catch (Exception e) {
             log.error("Failed to run Liquibase migrations: {}", e.getMessage(), e);
@@ -78,4 +109,63 @@ public class LiquibaseManager {
             throw new RuntimeException("Failed to verify the existence of the changelog file.", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Calculates a SHA-256 checksum over the names and contents of all changelog files on the classpath,
+     * processed in file name order.
+     *
+     * @return the checksum as a lowercase hexadecimal string
+     * @throws IOException If a changelog file cannot be read.
+     */
+    String calculateChangelogChecksum() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        Resource[] resources = new PathMatchingResourcePatternResolver(getClass().getClassLoader())
+                .getResources(CHANGELOG_FILES);
+        Arrays.sort(resources, Comparator.comparing(Resource::getFilename));
+        for (Resource resource : resources) {
+            digest.update(resource.getFilename().getBytes());
+            try (InputStream inputStream = resource.getInputStream()) {
+                digest.update(inputStream.readAllBytes());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Reads the checksum stored by the last successful migration.
+     *
+     * @param connection the database connection
+     * @return the stored checksum, or {@code null} if none is stored or the checksum table does not exist yet
+     */
+    private String readStoredChecksum(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_CHECKSUM);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        } catch (SQLException e) {
+            log.info("No stored schema checksum available: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the checksum of the changelog files that have just been applied.
+     *
+     * @param connection the database connection
+     * @param checksum   the checksum of the applied changelog files
+     * @throws SQLException If the checksum cannot be stored.
+     */
+    private void storeChecksum(Connection connection, String checksum) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_CHECKSUM)) {
+            statement.setString(1, checksum);
+            statement.executeUpdate();
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.exception.custom.QueryBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code QueryBudget} class checks the SQL statements a request executed against the budget of its route, and
+ * flags statements executed repeatedly within one request, the signature of N+1 query patterns.
+ * <p>
+ * Every route, i.e. the URL pattern of the handling controller method such as {@code /api/goals/{goalId}}, may
+ * execute up to its configured number of statements, or the default budget if none is configured. Since identical
+ * reads are answered by the {@link IdentityMap}, a statement executed more often than allowed within one request
+ * was executed with different parameters each time, e.g. once per goal of a user.
+ * <p>
+ * Violations are logged with the route and the tags of the offending statements, as used by the
+ * {@link SqlInstrumentation}, and counted by the {@code app.sql.request.violations} counter. When configured to fail,
+ * as in tests, a violation throws a {@link QueryBudgetExceededException} instead of only being reported.
+ */
+@Component
+@Slf4j
+public class QueryBudget {
+
+    /**
+     * The route of requests not handled by a controller method.
+     */
+    public static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final int maxExecutionsPerStatement;
+    private final boolean failOnViolation;
+    private final Map<String, Integer> routeBudgets = new HashMap<>();
+
+    /**
+     * Constructs a {@code QueryBudget} with the configured budgets.
+     *
+     * @param meterRegistry             the registry to count violations in
+     * @param defaultBudget             the number of statements a route without a budget of its own may execute
+     * @param maxExecutionsPerStatement the number of times a single statement may be executed within one request
+     * @param failOnViolation           whether violations throw instead of only being reported
+     * @param routeBudgets              the budgets of individual routes, each given as {@code route=statements}
+     * @throws IllegalArgumentException if a route budget is malformed
+     */
+    public QueryBudget(MeterRegistry meterRegistry,
+                       @Value("${app.sql.query-budget.default:25}") int defaultBudget,
+                       @Value("${app.sql.query-budget.max-executions-per-statement:3}") int maxExecutionsPerStatement,
+                       @Value("${app.sql.query-budget.fail-on-violation:false}") boolean failOnViolation,
+                       @Value("${app.sql.query-budget.routes:}") String[] routeBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.maxExecutionsPerStatement = maxExecutionsPerStatement;
+        this.failOnViolation = failOnViolation;
+        for (String routeBudget : routeBudgets) {
+            if (routeBudget.isBlank()) {
+                continue;
+            }
+            int separator = routeBudget.lastIndexOf('=');
+            try {
+                this.routeBudgets.put(routeBudget.substring(0, separator).trim(),
+                        Integer.parseInt(routeBudget.substring(separator + 1).trim()));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed query budget, expected route=statements: "
+                        + routeBudget, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of statements a request of the given route may execute.
+     *
+     * @param route the URL pattern of the route
+     * @return the budget of the route, or the default budget if none is configured
+     */
+    public int budgetOf(String route) {
+        return routeBudgets.getOrDefault(route, defaultBudget);
+    }
+
+    /**
+     * Returns whether violations throw instead of only being reported.
+     *
+     * @return {@code true} if violations are configured to fail
+     */
+    public boolean isFailOnViolation() {
+        return failOnViolation;
+    }
+
+    /**
+     * Checks the statements executed by a request.
+     *
+     * @param route the URL pattern of the route that handled the request, or {@link #UNMATCHED_ROUTE}
+     * @param scope the identity map scope of the request
+     * @throws QueryBudgetExceededException if the request violated its budget and violations are configured to fail
+     */
+    public void check(String route, IdentityMap.Scope scope) {
+        List<String> violations = new ArrayList<>();
+        int budget = budgetOf(route);
+        if (scope.queriesExecuted() > budget) {
+            violations.add(scope.queriesExecuted() + " statements executed, budget is " + budget);
+            count(route, "budget");
+        }
+        for (Map.Entry<String, Integer> statement : new TreeMap<>(scope.statementCounts()).entrySet()) {
+            if (statement.getValue() > maxExecutionsPerStatement) {
+                violations.add(SqlInstrumentation.sqlTag(statement.getKey()) + " executed " + statement.getValue()
+                        + " times");
+                count(route, "repeated");
+            }
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Query budget of route " + route + " exceeded: " + String.join("; ", violations);
+        log.warn(message);
+        if (failOnViolation) {
+            throw new QueryBudgetExceededException(message);
+        }
+    }
+
+    private void count(String route, String type) {
+        Counter.builder("app.sql.request.violations")
+                .tag("route", route)
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,294 @@
+package com.demo.finance.app.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The {@code QueryCache} class caches the results of opted-in repository queries, keyed by their SQL constant and
+ * bound parameters, and invalidates them through versions maintained per table and user.
+ * <p>
+ * Every write bumps the version of the table it changed, and, if it is known to change the rows of a single user
+ * only, the version of that user within the table; writes whose user is unknown bump all users of the table. Each
+ * cached result records the version it read, captured before the query was executed, and is served only while that
+ * version is current. A result read by user, e.g. a user's transactions, stays valid across writes of other users,
+ * whereas a result read across users, e.g. a user looked up by email, is invalidated by any write to its table.
+ * Since versions are captured before the query runs, a write committed while the query is in flight invalidates
+ * its result rather than being missed.
+ * <p>
+ * Version bumps are published on the {@link CacheInvalidationBus}, so that writes on one instance invalidate the
+ * cached results of all instances. When notifications may have been missed, all results are dropped. Hits and
+ * misses are counted by the {@code app.sql.query-cache.requests} counter.
+ */
+@Component
+@Slf4j
+public class QueryCache {
+
+    /**
+     * A query cache that caches nothing, for repositories created without one.
+     */
+    public static final QueryCache DISABLED = new QueryCache(null, null, false, 0, Duration.ZERO, 0);
+
+    static final String TOPIC = "query-cache";
+
+    private final CacheInvalidationBus bus;
+    private final boolean enabled;
+    private final int maxVersionedUsers;
+    private final Cache<QueryKey, Entry> entries;
+    private final Map<String, TableVersions> tables = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Constructs a {@code QueryCache} with the configured limits.
+     *
+     * @param bus               the bus propagating version bumps to the other instances
+     * @param meterRegistry     the registry to count hits and misses in
+     * @param enabled           whether query results are cached
+     * @param maxEntries        the maximum number of cached query results
+     * @param ttlSeconds        the time in seconds after which a cached result is dropped even if still current
+     * @param maxVersionedUsers the maximum number of users versioned per table, above which all users of the table
+     *                          are invalidated at once
+     */
+    @Autowired
+    public QueryCache(CacheInvalidationBus bus, MeterRegistry meterRegistry,
+                      @Value("${app.sql.query-cache.enabled:true}") boolean enabled,
+                      @Value("${app.sql.query-cache.max-entries:10000}") long maxEntries,
+                      @Value("${app.sql.query-cache.ttl-seconds:300}") long ttlSeconds,
+                      @Value("${app.sql.query-cache.max-versioned-users:100000}") int maxVersionedUsers) {
+        this(bus, meterRegistry, enabled, maxEntries, Duration.ofSeconds(ttlSeconds), maxVersionedUsers);
+    }
+
+    QueryCache(CacheInvalidationBus bus, MeterRegistry meterRegistry, boolean enabled, long maxEntries,
+               Duration ttl, int maxVersionedUsers) {
+        this.bus = bus;
+        this.enabled = enabled;
+        this.maxVersionedUsers = maxVersionedUsers;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(enabled ? maxEntries : 0)
+                .expireAfterWrite(enabled ? ttl : Duration.ZERO)
+                .build();
+        this.hits = meterRegistry == null ? null : Counter.builder("app.sql.query-cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = meterRegistry == null ? null : Counter.builder("app.sql.query-cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the version bumps of other instances.
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (enabled && bus != null) {
+            bus.subscribe(TOPIC, this::applyWrites, this::invalidateAll);
+        }
+    }
+
+    /**
+     * Returns whether query results are cached.
+     *
+     * @return {@code true} if results are cached, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached result of a query, or executes the query and caches its result if no current result is
+     * cached.
+     *
+     * @param sql    the SQL constant of the query
+     * @param userId the user whose rows the query reads, or {@code null} if it reads across users
+     * @param params the parameters bound to the query
+     * @param query  executes the query and returns its result, which must not be modified afterwards
+     * @param <T>    the type of the result
+     * @return the current result of the query
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String sql, Long userId, List<Object> params, Supplier<T> query) {
+        if (!enabled) {
+            return query.get();
+        }
+        TableVersions versions = versionsOf(SqlInstrumentation.tableOf(sql));
+        QueryKey key = new QueryKey(sql, new ArrayList<>(params));
+        long version = versions.versionOf(userId);
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            count(hits);
+            return (T) entry.result();
+        }
+        count(misses);
+        T result = query.get();
+        if (result != null) {
+            entries.put(key, new Entry(result, version));
+        }
+        return result;
+    }
+
+    /**
+     * Invalidates the cached results that may have read the rows changed by a committed write, on this instance
+     * immediately and on the other instances with the next batch of invalidations.
+     *
+     * @param sql    the SQL constant of the write
+     * @param userId the only user whose rows the write changed, or {@code null} if unknown
+     */
+    public void written(String sql, Long userId) {
+        if (!enabled) {
+            return;
+        }
+        String table = SqlInstrumentation.tableOf(sql);
+        bump(table, userId);
+        if (bus != null) {
+            bus.publish(TOPIC, table + '\t' + (userId == null ? "" : userId));
+        }
+    }
+
+    /**
+     * Applies a batch of writes received from other instances.
+     *
+     * @param payloads the received writes, each consisting of the table and the optional user ID separated by a tab
+     */
+    void applyWrites(Collection<String> payloads) {
+        for (String payload : payloads) {
+            int separator = payload.indexOf('\t');
+            if (separator < 0) {
+                log.warn("Ignoring malformed query cache invalidation: {}", payload);
+                continue;
+            }
+            String user = payload.substring(separator + 1);
+            try {
+                bump(payload.substring(0, separator), user.isEmpty() ? null : Long.valueOf(user));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed query cache invalidation: {}", payload);
+            }
+        }
+    }
+
+    /**
+     * Drops all cached results, after invalidations of other instances may have been missed.
+     */
+    void invalidateAll() {
+        for (TableVersions versions : new ArrayList<>(tables.values())) {
+            versions.bumpAll(sequence.incrementAndGet());
+        }
+        entries.invalidateAll();
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return the estimated number of cached results
+     */
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private void bump(String table, Long userId) {
+        TableVersions versions = versionsOf(table);
+        long version = sequence.incrementAndGet();
+        if (userId == null || !versions.bumpUser(userId, version, maxVersionedUsers)) {
+            versions.bumpAll(version);
+        }
+    }
+
+    private TableVersions versionsOf(String table) {
+        return tables.computeIfAbsent(table, t -> new TableVersions());
+    }
+
+    private static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * The key of a cached result.
+     *
+     * @param sql    the SQL constant of the query
+     * @param params the parameters bound to the query
+     */
+    private record QueryKey(String sql, List<Object> params) {
+    }
+
+    /**
+     * A cached result together with the version it read.
+     *
+     * @param result  the result of the query
+     * @param version the version of the table or user, captured before the query was executed
+     */
+    private record Entry(Object result, long version) {
+    }
+
+    /**
+     * The versions of one table. Every bump takes a fresh value of a sequence shared by all tables, so that a
+     * version is never reused once it has been bumped.
+     */
+    private static final class TableVersions {
+
+        private final Map<Long, Long> userVersions = new HashMap<>();
+        private long allUsersVersion;
+        private long tableVersion;
+
+        /**
+         * Returns the current version of the rows of a user, or of the whole table.
+         *
+         * @param userId the user, or {@code null} for the whole table
+         * @return the current version
+         */
+        synchronized long versionOf(Long userId) {
+            if (userId == null) {
+                return tableVersion;
+            }
+            return Math.max(allUsersVersion, userVersions.getOrDefault(userId, 0L));
+        }
+
+        /**
+         * Bumps the version of one user and of the whole table.
+         *
+         * @param userId   the user whose rows changed
+         * @param version  the new version
+         * @param maxUsers the maximum number of versioned users
+         * @return {@code true} if the user was bumped, {@code false} if too many users are versioned already
+         */
+        synchronized boolean bumpUser(Long userId, long version, int maxUsers) {
+            if (userVersions.size() >= maxUsers && !userVersions.containsKey(userId)) {
+                return false;
+            }
+            userVersions.put(userId, version);
+            tableVersion = version;
+            return true;
+        }
+
+        /**
+         * Bumps the versions of all users and of the whole table. Per-user versions are dropped, since all of them
+         * are older than the new version.
+         *
+         * @param version the new version
+         */
+        synchronized void bumpAll(long version) {
+            userVersions.clear();
+            allUsersVersion = version;
+            tableVersion = version;
+        }
+    }
+}
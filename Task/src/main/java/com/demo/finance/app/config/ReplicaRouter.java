@@ -0,0 +1,196 @@
+package com.demo.finance.app.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code ReplicaRouter} class decides whether a read may be served by the read replica or has to go to the
+ * primary database.
+ * <p>
+ * A read is routed to the primary when the replica is considered unavailable, when its last measured replication
+ * lag exceeds the configured maximum, or when the user issuing the read has written to the primary recently. The
+ * last rule provides read-your-writes consistency: a user stays on the primary for the stickiness window, or for
+ * the current replication lag if that is longer, after each write to their rows. Writes are remembered only as long
+ * as they can keep a user on the primary, i.e. at most for the stickiness window or the maximum replication lag.
+ * <p>
+ * Writes recorded by this instance are handed to the write listener, which the {@link ReplicaWriteBroadcaster}
+ * uses to share them with the other instances behind the load balancer, so that a user's next read stays on the
+ * primary whichever instance serves it. When writes of other instances may have been missed, every user is kept on
+ * the primary for as long as a missed write could have kept them there.
+ * <p>
+ * This class only keeps the routing state. Connections and lag measurements are handled by
+ * {@link DataSourceManager}.
+ */
+@Component
+@Slf4j
+public class ReplicaRouter {
+
+    private final long stickinessMillis;
+    private final long maxLagMillis;
+    private final long lagCheckIntervalMillis;
+    private final long unavailableBackoffMillis;
+    private final LongSupplier clock;
+    private final Cache<Long, Long> lastWrites;
+    private final AtomicBoolean lagCheckInProgress = new AtomicBoolean();
+    private volatile Consumer<Long> writeListener = userId -> {
+    };
+    private volatile long allStickyUntil = Long.MIN_VALUE;
+    private volatile long replicaLagMillis;
+    private volatile long lagCheckedAt = Long.MIN_VALUE;
+    private volatile long unavailableUntil = Long.MIN_VALUE;
+
+    /**
+     * Constructs a {@code ReplicaRouter} with the configured routing thresholds.
+     *
+     * @param stickinessMillis         how long a user's reads stay on the primary after a write
+     * @param maxLagMillis             the replication lag above which the replica is not used
+     * @param lagCheckIntervalMillis   how often the replication lag is measured
+     * @param unavailableBackoffMillis how long the replica is skipped after a failed connection attempt
+     */
+    @Autowired
+    public ReplicaRouter(@Value("${app.db.replica.stickiness-ms:5000}") long stickinessMillis,
+                         @Value("${app.db.replica.max-lag-ms:2000}") long maxLagMillis,
+                         @Value("${app.db.replica.lag-check-interval-ms:1000}") long lagCheckIntervalMillis,
+                         @Value("${app.db.replica.unavailable-backoff-ms:10000}") long unavailableBackoffMillis) {
+        this(stickinessMillis, maxLagMillis, lagCheckIntervalMillis, unavailableBackoffMillis,
+                System::currentTimeMillis);
+    }
+
+    ReplicaRouter(long stickinessMillis, long maxLagMillis, long lagCheckIntervalMillis,
+                  long unavailableBackoffMillis, LongSupplier clock) {
+        this.stickinessMillis = stickinessMillis;
+        this.maxLagMillis = maxLagMillis;
+        this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+        this.unavailableBackoffMillis = unavailableBackoffMillis;
+        this.clock = clock;
+        this.lastWrites = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(stickinessMillis, maxLagMillis)))
+                .ticker(() -> clock.getAsLong() * 1_000_000L)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Determines whether a read issued on behalf of the given user may be served by the replica.
+     *
+     * @param userId the ID of the user issuing the read, or {@code null} if the read is not user-specific
+     * @return {@code true} if the replica may serve the read, {@code false} if the primary has to be used
+     */
+    public boolean isReplicaPreferred(Long userId) {
+        long now = clock.getAsLong();
+        if (now < unavailableUntil || replicaLagMillis > maxLagMillis) {
+            return false;
+        }
+        if (userId == null) {
+            return true;
+        }
+        if (now < allStickyUntil) {
+            return false;
+        }
+        Long lastWrite = lastWrites.getIfPresent(userId);
+        if (lastWrite == null) {
+            return true;
+        }
+        if (now - lastWrite <= Math.max(stickinessMillis, replicaLagMillis)) {
+            return false;
+        }
+        lastWrites.asMap().remove(userId, lastWrite);
+        return true;
+    }
+
+    /**
+     * Records that the rows of the given user have just been written to the primary database.
+     *
+     * @param userId the ID of the user who issued the write or whose rows were written, ignored if {@code null}
+     */
+    public void recordWrite(Long userId) {
+        if (userId != null) {
+            lastWrites.put(userId, clock.getAsLong());
+            writeListener.accept(userId);
+        }
+    }
+
+    /**
+     * Records that another instance has just written the rows of the given user. The write is not handed to the
+     * write listener.
+     *
+     * @param userId the ID of the user whose rows were written, ignored if {@code null}
+     */
+    public void recordRemoteWrite(Long userId) {
+        if (userId != null) {
+            lastWrites.put(userId, clock.getAsLong());
+        }
+    }
+
+    /**
+     * Records that writes of other instances may have been missed, keeping the reads of every user on the primary
+     * for as long as a missed write could have kept them there.
+     */
+    public void recordMissedWrites() {
+        allStickyUntil = clock.getAsLong() + Math.max(stickinessMillis, maxLagMillis);
+    }
+
+    /**
+     * Sets the listener that receives the users of the writes recorded by this instance.
+     *
+     * @param writeListener receives the ID of the user whose rows were written
+     */
+    void setWriteListener(Consumer<Long> writeListener) {
+        this.writeListener = writeListener;
+    }
+
+    /**
+     * Returns the number of users whose recent writes are remembered.
+     *
+     * @return the number of remembered writes that have not expired
+     */
+    long trackedWrites() {
+        lastWrites.cleanUp();
+        return lastWrites.estimatedSize();
+    }
+
+    /**
+     * Claims the next replication lag measurement if one is due. At most one caller at a time is granted the
+     * measurement, and it must report the result through {@link #updateLag(long)} or
+     * {@link #markUnavailable()}.
+     *
+     * @return {@code true} if the caller should measure the replication lag now
+     */
+    public boolean tryStartLagCheck() {
+        return clock.getAsLong() - lagCheckIntervalMillis >= lagCheckedAt
+                && lagCheckInProgress.compareAndSet(false, true);
+    }
+
+    /**
+     * Stores a new replication lag measurement.
+     *
+     * @param lagMillis the measured replication lag in milliseconds
+     */
+    public void updateLag(long lagMillis) {
+        if (lagMillis > maxLagMillis && replicaLagMillis <= maxLagMillis) {
+            log.warn("Replica lag of {} ms exceeds {} ms, routing reads to the primary", lagMillis, maxLagMillis);
+        }
+        replicaLagMillis = lagMillis;
+        lagCheckedAt = clock.getAsLong();
+        lagCheckInProgress.set(false);
+    }
+
+    /**
+     * Marks the replica as unavailable, so that reads go to the primary until the backoff period has passed.
+     */
+    public void markUnavailable() {
+        long now = clock.getAsLong();
+        unavailableUntil = now + unavailableBackoffMillis;
+        lagCheckedAt = now;
+        lagCheckInProgress.set(false);
+    }
+}
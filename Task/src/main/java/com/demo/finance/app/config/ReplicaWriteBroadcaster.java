@@ -0,0 +1,54 @@
+package com.demo.finance.app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * The {@code ReplicaWriteBroadcaster} class shares the writes recorded by the {@link ReplicaRouter} of this
+ * instance with the routers of all other instances over the {@link CacheInvalidationBus}, so that read-your-writes
+ * stickiness holds when a user's write and their next read are served by different instances.
+ * <p>
+ * Only the ID of the user is sent; the receiving instance starts the stickiness window when the write arrives, so
+ * clock differences between instances never shorten it. After a reconnect of the bus, writes of other instances may
+ * have been missed, so the reads of every user are kept on the primary for one stickiness window.
+ * <p>
+ * This class is separate from the router because the bus connects through the {@link DataSourceManager}, which in
+ * turn routes through the router.
+ */
+@Component
+@Slf4j
+public class ReplicaWriteBroadcaster {
+
+    static final String TOPIC = "replica-write";
+
+    private final ReplicaRouter replicaRouter;
+
+    /**
+     * Constructs a {@code ReplicaWriteBroadcaster} and connects the router to the bus.
+     *
+     * @param replicaRouter   the router recording the writes of this instance
+     * @param invalidationBus the bus to publish and receive writes on
+     */
+    public ReplicaWriteBroadcaster(ReplicaRouter replicaRouter, CacheInvalidationBus invalidationBus) {
+        this.replicaRouter = replicaRouter;
+        invalidationBus.subscribe(TOPIC, this::applyRemoteWrites, replicaRouter::recordMissedWrites);
+        replicaRouter.setWriteListener(userId -> invalidationBus.publish(TOPIC, userId.toString()));
+    }
+
+    /**
+     * Records the writes received from other instances.
+     *
+     * @param userIds the IDs of the users whose rows other instances have written
+     */
+    private void applyRemoteWrites(Collection<String> userIds) {
+        for (String userId : userIds) {
+            try {
+                replicaRouter.recordRemoteWrite(Long.valueOf(userId));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed replica write of user {}", userId);
+            }
+        }
+    }
+}
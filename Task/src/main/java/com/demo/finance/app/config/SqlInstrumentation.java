@@ -0,0 +1,293 @@
+package com.demo.finance.app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code SqlInstrumentation} class records how long the repositories spend acquiring connections, executing
+ * statements and mapping results, and how many rows every statement returns or changes.
+ * <p>
+ * Measurements are kept per SQL constant in histograms of the {@link MeterRegistry}, which is exposed in Prometheus
+ * format by the {@code /actuator/prometheus} endpoint:
+ * <ul>
+ *   <li>{@code app.sql.acquire} - time to obtain the connection</li>
+ *   <li>{@code app.sql.execute} - time to execute the statement</li>
+ *   <li>{@code app.sql.map} - time to map the result set</li>
+ *   <li>{@code app.sql.rows} - rows returned by queries or changed by updates</li>
+ * </ul>
+ * Every SQL constant is identified by a short, stable tag made of its verb, its table and a hash of its text.
+ * <p>
+ * Rows copied for the {@link IdentityMap} or the {@link QueryCache} are counted when they are fetched, and their
+ * mapping is measured every time they are mapped into entities, including reads answered without a statement.
+ * <p>
+ * Statements whose execution exceeds the slow query threshold are logged with the shapes of their bound
+ * parameters, i.e. their number and database types, but never their values.
+ */
+@Component
+@Slf4j
+public class SqlInstrumentation {
+
+    /**
+     * Instrumentation that records nothing, for repositories created without a metrics registry.
+     */
+    public static final SqlInstrumentation NOOP = new SqlInstrumentation(null, 0L, System::nanoTime);
+
+    private static final Sample NOOP_SAMPLE = new Sample(null, null, 0L);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdNanos;
+    private final LongSupplier clock;
+    private final Map<String, SqlMeters> metersBySql = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code SqlInstrumentation} recording into the given registry.
+     *
+     * @param meterRegistry        the registry to record the measurements in
+     * @param slowQueryThresholdMs the execution time in milliseconds above which a statement is logged as slow
+     */
+    @Autowired
+    public SqlInstrumentation(MeterRegistry meterRegistry,
+                              @Value("${app.sql.slow-query-threshold-ms:200}") long slowQueryThresholdMs) {
+        this(meterRegistry, TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs), System::nanoTime);
+    }
+
+    SqlInstrumentation(MeterRegistry meterRegistry, long slowQueryThresholdNanos, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = slowQueryThresholdNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts measuring the execution of the given SQL statement. The returned sample must be used by a single
+     * thread only.
+     *
+     * @param sql the SQL constant about to be executed, or {@code null} if the work is not attributed to one
+     * @return the sample to report the phases of the execution to
+     */
+    public Sample start(String sql) {
+        if (meterRegistry == null || sql == null) {
+            return NOOP_SAMPLE;
+        }
+        SqlMeters meters = metersBySql.get(sql);
+        if (meters == null) {
+            meters = metersBySql.computeIfAbsent(sql, this::createMeters);
+        }
+        return new Sample(this, meters, clock.getAsLong());
+    }
+
+    /**
+     * Builds the tag identifying a SQL constant, e.g. {@code select_transactions_1a2b3c4d}.
+     *
+     * @param sql the SQL constant
+     * @return the tag of the SQL constant
+     */
+    static String sqlTag(String sql) {
+        String verb = sql.trim().split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+        return verb + "_" + tableOf(sql) + "_" + String.format("%08x", sql.hashCode());
+    }
+
+    /**
+     * Resolves the table a SQL statement reads or writes, i.e. the first table following {@code FROM},
+     * {@code INTO} or {@code UPDATE}, without its schema.
+     *
+     * @param sql the SQL statement
+     * @return the lower-case name of the table, or {@code unknown} if none is found
+     */
+    public static String tableOf(String sql) {
+        String[] words = sql.trim().split("\\s+");
+        String table = "unknown";
+        for (int i = 0; i < words.length - 1; i++) {
+            String word = words[i].toUpperCase(Locale.ROOT);
+            if (word.equals("FROM") || word.equals("INTO") || word.equals("UPDATE")) {
+                table = words[i + 1];
+                break;
+            }
+        }
+        int schemaSeparator = table.lastIndexOf('.');
+        if (schemaSeparator >= 0) {
+            table = table.substring(schemaSeparator + 1);
+        }
+        return table.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "");
+    }
+
+    private SqlMeters createMeters(String sql) {
+        String tag = sqlTag(sql);
+        return new SqlMeters(tag,
+                timer("app.sql.acquire", "Time to obtain a database connection", tag),
+                timer("app.sql.execute", "Time to execute a SQL statement", tag),
+                timer("app.sql.map", "Time to map a SQL result set", tag),
+                DistributionSummary.builder("app.sql.rows")
+                        .description("Rows returned or changed by a SQL statement")
+                        .tag("sql", tag)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(1.0)
+                        .maximumExpectedValue(10_000.0)
+                        .register(meterRegistry));
+    }
+
+    private Timer timer(String name, String description, String tag) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("sql", tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(50_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    private void logSlowQuery(SqlMeters meters, PreparedStatement statement, long executeNanos) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        log.warn("Slow SQL {} took {} ms with parameters {}", meters.tag(),
+                TimeUnit.NANOSECONDS.toMillis(executeNanos), parameterShapes(statement));
+    }
+
+    /**
+     * Describes the bound parameters of a statement by their database types, without their values.
+     *
+     * @param statement the executed statement
+     * @return the parameter types, e.g. {@code [int8, date, date]}
+     */
+    static String parameterShapes(PreparedStatement statement) {
+        try {
+            ParameterMetaData metaData = statement.getParameterMetaData();
+            StringJoiner shapes = new StringJoiner(", ", "[", "]");
+            for (int i = 1; i <= metaData.getParameterCount(); i++) {
+                shapes.add(metaData.getParameterTypeName(i));
+            }
+            return shapes.toString();
+        } catch (SQLException | RuntimeException e) {
+            return "[unavailable]";
+        }
+    }
+
+    private static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    /**
+     * The meters of one SQL constant.
+     */
+    private record SqlMeters(String tag, Timer acquire, Timer execute, Timer map, DistributionSummary rows) {
+    }
+
+    /**
+     * Measures the phases of a single execution of a SQL statement. Every phase is measured from the end of the
+     * previous one.
+     */
+    public static final class Sample {
+
+        private final SqlInstrumentation instrumentation;
+        private final SqlMeters meters;
+        private long mark;
+
+        private Sample(SqlInstrumentation instrumentation, SqlMeters meters, long start) {
+            this.instrumentation = instrumentation;
+            this.meters = meters;
+            this.mark = start;
+        }
+
+        /**
+         * Records that the connection has been obtained.
+         */
+        public void acquired() {
+            if (meters != null) {
+                meters.acquire().record(lap(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * Records that the statement has been executed, and logs it if it was slow.
+         *
+         * @param statement the executed statement
+         */
+        public void executed(PreparedStatement statement) {
+            if (meters == null) {
+                return;
+            }
+            long executeNanos = lap();
+            meters.execute().record(executeNanos, TimeUnit.NANOSECONDS);
+            if (executeNanos > instrumentation.slowQueryThresholdNanos) {
+                instrumentation.logSlowQuery(meters, statement, executeNanos);
+            }
+        }
+
+        /**
+         * Records that the result has been mapped, together with the number of rows it contains.
+         *
+         * @param result the mapped result; collections count their elements, optionals and single values one row
+         */
+        public void mapped(Object result) {
+            if (meters != null) {
+                meters.map().record(lap(), TimeUnit.NANOSECONDS);
+                meters.rows().record(rowCount(result));
+            }
+        }
+
+        /**
+         * Records that the rows of a query have been copied, to be mapped later, possibly more than once. The copy is
+         * not measured as mapping; the mapping of the copied rows is recorded by {@link #replayed()}.
+         *
+         * @param rows the number of copied rows
+         */
+        public void fetched(int rows) {
+            if (meters != null) {
+                lap();
+                meters.rows().record(rows);
+            }
+        }
+
+        /**
+         * Records that copied rows have been mapped, measured from the start of this sample. The rows are not counted
+         * again, since they were counted when fetched.
+         */
+        public void replayed() {
+            if (meters != null) {
+                meters.map().record(lap(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * Records the number of rows changed by an update.
+         *
+         * @param rows the number of changed rows
+         */
+        public void updated(int rows) {
+            if (meters != null) {
+                meters.rows().record(rows);
+            }
+        }
+
+        private long lap() {
+            long now = instrumentation.clock.getAsLong();
+            long elapsed = now - mark;
+            mark = now;
+            return elapsed;
+        }
+    }
+}
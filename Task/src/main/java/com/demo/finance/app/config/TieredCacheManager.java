@@ -0,0 +1,65 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.out.cache.OffHeapCacheTier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code TieredCacheManager} class decorates the application's {@link CacheManager} so that the caches selected
+ * by the {@link OffHeapCacheTier} keep a second copy of their values off-heap.
+ * <p>
+ * The tier is looked up on the first access of a cache rather than on construction, so that the cache manager can
+ * be created before the tier's own dependencies. Caches that are not tiered are returned as they are.
+ */
+public class TieredCacheManager implements CacheManager {
+
+    private final CacheManager targetCacheManager;
+    private final ObjectProvider<OffHeapCacheTier> tierProvider;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code TieredCacheManager} decorating the given cache manager.
+     *
+     * @param targetCacheManager the cache manager holding the on-heap caches
+     * @param tierProvider       provides the off-heap tier
+     */
+    public TieredCacheManager(CacheManager targetCacheManager, ObjectProvider<OffHeapCacheTier> tierProvider) {
+        this.targetCacheManager = targetCacheManager;
+        this.tierProvider = tierProvider;
+    }
+
+    /**
+     * Returns the local cache with the given name, backed by the off-heap tier if it is tiered.
+     *
+     * @param name the name of the cache
+     * @return the possibly tiered cache, or {@code null} if no such cache exists
+     */
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache targetCache = targetCacheManager.getCache(name);
+        if (targetCache == null) {
+            return null;
+        }
+        OffHeapCacheTier tier = tierProvider.getIfAvailable();
+        return tier == null ? targetCache : caches.computeIfAbsent(name, n -> tier.decorate(targetCache));
+    }
+
+    /**
+     * Returns the names of the local caches.
+     *
+     * @return the names of all caches known to the decorated cache manager
+     */
+    @Override
+    public Collection<String> getCacheNames() {
+        return targetCacheManager.getCacheNames();
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.finance.app.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Maintains the monthly partitions of the {@code finance.transactions} table.
+ * <p>
+ * The table is partitioned by range on its {@code date} column, one partition per calendar month, with a default
+ * partition catching rows outside every monthly range. This component makes sure that the partitions for the
+ * current month and the configured number of following months exist, once when the application is ready and then
+ * on the configured schedule, so that new transactions never land in the default partition. Partitions are created
+ * by the {@code finance.create_transactions_partition} database function, which does nothing for an existing
+ * partition and moves matching rows out of the default partition otherwise.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TransactionPartitionManager {
+
+    private static final String CREATE_PARTITION = "SELECT finance.create_transactions_partition(?)";
+
+    private final DataSourceManager dataSourceManager;
+
+    @Value("${app.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    /**
+     * Creates the missing partitions once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensurePartitions();
+    }
+
+    /**
+     * Creates the partitions for the current month and the configured number of following months, if they do not
+     * exist yet. Failures are logged and retried on the next scheduled run.
+     *
+     * @return the number of partitions that were created
+     */
+    @Scheduled(cron = "${app.partitions.cron:0 0 3 * * *}")
+    public int ensurePartitions() {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDate firstMonth = LocalDate.now().withDayOfMonth(1);
+        int created = 0;
+        try (Connection connection = dataSourceManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(CREATE_PARTITION)) {
+            for (int i = 0; i <= monthsAhead; i++) {
+                LocalDate month = firstMonth.plusMonths(i);
+                statement.setDate(1, Date.valueOf(month));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next() && resultSet.getBoolean(1)) {
+                        log.info("Created transactions partition for {}", month);
+                        created++;
+                    }
+                }
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            log.error("Failed to create transactions partitions: {}", e.getMessage(), e);
+        } catch (RuntimeException e) {
+            log.error("Transactions partition maintenance failed: {}", e.getMessage(), e);
+        }
+        return created;
+    }
+}
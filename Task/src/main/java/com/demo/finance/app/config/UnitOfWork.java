@@ -0,0 +1,129 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.exception.custom.DatabaseException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code UnitOfWork} class runs several repository calls on one primary connection within one transaction.
+ * <p>
+ * While a unit of work is active, the connection is bound to the current thread and every repository call issued
+ * on that thread, reads included, joins it instead of opening a connection of its own. The transaction is committed
+ * when the work completes and rolled back when it throws. Units of work started within an active one join the
+ * outer unit of work.
+ * <p>
+ * Callbacks registered with {@link #afterCommit(Runnable)} while a unit of work is active run once its transaction
+ * has been committed, and are discarded when it is rolled back.
+ */
+@Component
+@Slf4j
+public class UnitOfWork {
+
+    private static final ThreadLocal<Connection> CURRENT_CONNECTION = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT = new ThreadLocal<>();
+
+    private final DataSourceManager dataSourceManager;
+
+    /**
+     * Constructs a {@code UnitOfWork} opening its connections to the primary database.
+     *
+     * @param dataSourceManager the manager providing database connections
+     */
+    public UnitOfWork(DataSourceManager dataSourceManager) {
+        this.dataSourceManager = dataSourceManager;
+    }
+
+    /**
+     * Returns the connection of the unit of work active on the current thread.
+     *
+     * @return the bound connection, or {@code null} if no unit of work is active
+     */
+    public static Connection currentConnection() {
+        return CURRENT_CONNECTION.get();
+    }
+
+    /**
+     * Runs the given callback once the unit of work active on the current thread has been committed, or right away
+     * if no unit of work is active.
+     *
+     * @param callback the callback to run after the commit
+     */
+    public static void afterCommit(Runnable callback) {
+        List<Runnable> callbacks = AFTER_COMMIT.get();
+        if (callbacks == null) {
+            callback.run();
+        } else {
+            callbacks.add(callback);
+        }
+    }
+
+    /**
+     * Runs the given work within a single transaction on a single connection.
+     *
+     * @param work the work issuing the repository calls
+     * @param <T>  the type of the result of the work
+     * @return the result of the work
+     * @throws DatabaseException if the transaction cannot be started or committed
+     */
+    public <T> T execute(Work<T> work) {
+        if (CURRENT_CONNECTION.get() != null) {
+            return work.execute();
+        }
+        T result;
+        List<Runnable> callbacks = new ArrayList<>();
+        try (Connection connection = dataSourceManager.getConnection()) {
+            connection.setAutoCommit(false);
+            CURRENT_CONNECTION.set(connection);
+            AFTER_COMMIT.set(callbacks);
+            try {
+                result = work.execute();
+                connection.commit();
+            } catch (RuntimeException | SQLException e) {
+                rollbackQuietly(connection);
+                throw e;
+            } finally {
+                CURRENT_CONNECTION.remove();
+                AFTER_COMMIT.remove();
+            }
+        } catch (SQLException e) {
+            log.error("Unit of work failed: {}", e.getMessage(), e);
+            throw new DatabaseException("Unit of work failed", e);
+        }
+        dataSourceManager.recordWrite();
+        callbacks.forEach(Runnable::run);
+        return result;
+    }
+
+    /**
+     * Rolls back the transaction of the given connection, keeping the original failure if the rollback fails.
+     *
+     * @param connection the connection to roll back
+     */
+    private void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.warn("Failed to roll back unit of work: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Functional interface representing the repository calls of a unit of work.
+     *
+     * @param <T> the type of the result of the work
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        /**
+         * Issues the repository calls of the unit of work.
+         *
+         * @return the result of the work
+         */
+        T execute();
+    }
+}
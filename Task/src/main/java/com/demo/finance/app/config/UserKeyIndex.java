@@ -0,0 +1,184 @@
+package com.demo.finance.app.config;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * The {@code UserKeyIndex} class indexes the keys of the per-user caches by the user they belong to, so that all
+ * entries of a user are evicted without scanning the whole cache.
+ * <p>
+ * Keys are indexed after their entry is written through the {@link IndexedCacheManager} and leave the index when
+ * the entries of their user are evicted. Entries dropped by a cache on its own, because of its size bound or
+ * expiry, leave stale keys behind. They are pruned by a sweep over the index of the cache whenever it has doubled
+ * since the previous sweep, so that the index stays proportional to the cached entries at a constant amortized cost
+ * per write.
+ * <p>
+ * A key belongs to a user if it is the user ID itself or a string starting with the user ID followed by a dash.
+ */
+public class UserKeyIndex {
+
+    private static final long MIN_SWEEP_KEYS = 1024;
+
+    private final Set<String> cacheNames;
+    private final Map<String, CacheKeys> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code UserKeyIndex} for the given caches.
+     *
+     * @param cacheNames the names of the per-user caches to index
+     */
+    public UserKeyIndex(Set<String> cacheNames) {
+        this.cacheNames = Set.copyOf(cacheNames);
+    }
+
+    /**
+     * Checks whether the keys of a cache are to be indexed.
+     *
+     * @param cacheName the name of the cache
+     * @return {@code true} if the cache is one of the indexed caches
+     */
+    boolean indexes(String cacheName) {
+        return cacheNames.contains(cacheName);
+    }
+
+    /**
+     * Starts indexing a cache. Called when the cache is decorated, before any entry is written through it.
+     *
+     * @param cacheName the name of the cache
+     */
+    void register(String cacheName) {
+        if (indexes(cacheName)) {
+            caches.computeIfAbsent(cacheName, n -> new CacheKeys());
+        }
+    }
+
+    /**
+     * Checks whether all writes to a cache are indexed.
+     *
+     * @param cacheName the name of the cache
+     * @return {@code true} if the cache has been registered
+     */
+    boolean isIndexed(String cacheName) {
+        return caches.containsKey(cacheName);
+    }
+
+    /**
+     * Indexes the key of an entry written to a registered cache, pruning the stale keys of the cache if its index
+     * has doubled since the previous sweep. Keys that do not belong to a user are ignored.
+     *
+     * @param cacheName the name of the cache
+     * @param key       the key of the written entry
+     * @param present   tells whether a key still has an entry in the cache
+     */
+    void add(String cacheName, Object key, Predicate<Object> present) {
+        CacheKeys keys = caches.get(cacheName);
+        Long userId = userOf(key);
+        if (keys == null || userId == null) {
+            return;
+        }
+        keys.keysByUser.compute(userId, (id, userKeys) -> {
+            Set<Object> updated = userKeys != null ? userKeys : new HashSet<>();
+            if (updated.add(key)) {
+                keys.size.incrementAndGet();
+            }
+            return updated;
+        });
+        if (keys.size.get() > keys.sweepAt && keys.sweeping.compareAndSet(false, true)) {
+            try {
+                sweep(keys, present);
+            } finally {
+                keys.sweeping.set(false);
+            }
+        }
+    }
+
+    /**
+     * Removes the keys of the given users from the index of a cache.
+     *
+     * @param cacheName the name of the cache
+     * @param userIds   the unique identifiers of the users
+     * @return the removed keys, which may include keys whose entries are gone already
+     */
+    Set<Object> removeUsers(String cacheName, Collection<Long> userIds) {
+        Set<Object> removed = new HashSet<>();
+        CacheKeys keys = caches.get(cacheName);
+        if (keys == null) {
+            return removed;
+        }
+        for (Long userId : userIds) {
+            Set<Object> userKeys = keys.keysByUser.remove(userId);
+            if (userKeys != null) {
+                removed.addAll(userKeys);
+                keys.size.addAndGet(-userKeys.size());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of indexed keys of a cache.
+     *
+     * @param cacheName the name of the cache
+     * @return the number of keys, including stale keys not pruned yet
+     */
+    long size(String cacheName) {
+        CacheKeys keys = caches.get(cacheName);
+        return keys == null ? 0 : keys.size.get();
+    }
+
+    /**
+     * Returns the user a cache key belongs to.
+     *
+     * @param key the cache key
+     * @return the user ID, or {@code null} if the key does not belong to a user
+     */
+    static Long userOf(Object key) {
+        if (key instanceof Long userId) {
+            return userId;
+        }
+        if (key instanceof String stringKey) {
+            int dash = stringKey.indexOf('-');
+            if (dash > 0) {
+                try {
+                    return Long.valueOf(stringKey.substring(0, dash));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the keys without an entry from the index of a cache. The presence of a key is checked while its user
+     * is locked, so that a key indexed concurrently is never lost.
+     */
+    private void sweep(CacheKeys keys, Predicate<Object> present) {
+        for (Long userId : keys.keysByUser.keySet()) {
+            keys.keysByUser.computeIfPresent(userId, (id, userKeys) -> {
+                int before = userKeys.size();
+                userKeys.removeIf(present.negate());
+                keys.size.addAndGet(userKeys.size() - before);
+                return userKeys.isEmpty() ? null : userKeys;
+            });
+        }
+        keys.sweepAt = Math.max(MIN_SWEEP_KEYS, 2 * keys.size.get());
+    }
+
+    /**
+     * The indexed keys of a cache by user.
+     */
+    private static final class CacheKeys {
+
+        private final Map<Long, Set<Object>> keysByUser = new ConcurrentHashMap<>();
+        private final AtomicLong size = new AtomicLong();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+        private volatile long sweepAt = MIN_SWEEP_KEYS;
+    }
+}
@@ -0,0 +1,39 @@
+package com.demo.finance.domain.dto;
+
+import com.demo.finance.domain.utils.PaginatedResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code DashboardDto} class represents a data transfer object (DTO) composing everything the dashboard page
+ * shows in one payload: the general report, the budget, the first page of goals and transactions and the budget
+ * notification. Sections that could not be loaded in time are {@code null} and listed in {@code unavailable}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDto {
+
+    @Schema(description = "General report of the user, or null if the user has no transactions")
+    private ReportDto report;
+
+    @Schema(description = "Budget data of the user, or null if the user has no budget")
+    private Map<String, Object> budget;
+
+    @Schema(description = "First page of the user's goals")
+    private PaginatedResponse<GoalDto> goals;
+
+    @Schema(description = "First page of the user's transactions")
+    private PaginatedResponse<TransactionDto> transactions;
+
+    @Schema(description = "Budget notification of the user", example = "✅ Budget is under control.")
+    private String budgetNotification;
+
+    @Schema(description = "Sections that failed or timed out", example = "[\"goals\"]")
+    private List<String> unavailable;
+}
@@ -889,4 +889,62 @@ public final class SwaggerExamples {
                 }
                 """;
     }
-}
\ No newline at end of file
+
+    /**
+     * Example JSON strings for dashboard-related endpoints.
+     */
+    public static final class Dashboard {
+
+        /**
+         * Example JSON for successful dashboard retrieval response
+         */
+        public static final String GET_DASHBOARD_SUCCESS = """
+                {
+                    "data": {
+                        "report": {
+                            "reportId": null,
+                            "userId": 2,
+                            "totalIncome": 0,
+                            "totalExpense": 250.00,
+                            "balance": -250.00
+                        },
+                        "budget": {
+                            "budgetData": {
+                                "currentExpenses": 250.00,
+                                "monthlyLimit": 1500.00
+                            },
+                            "formattedBudget": "Budget: 250.00/1500.00"
+                        },
+                        "goals": {
+                            "data": [],
+                            "totalItems": 0,
+                            "totalPages": 0,
+                            "currentPage": 1,
+                            "pageSize": 10
+                        },
+                        "transactions": {
+                            "data": [
+                                {
+                                    "transactionId": 1,
+                                    "userId": 2,
+                                    "amount": 250.00,
+                                    "category": "Food",
+                                    "date": "2025-4-30",
+                                    "description": "Grocery shopping",
+                                    "type": "EXPENSE"
+                                }
+                            ],
+                            "totalItems": 1,
+                            "totalPages": 1,
+                            "currentPage": 1,
+                            "pageSize": 10
+                        },
+                        "budgetNotification": "✅ Budget is under control. Remaining budget: 1250.00",
+                        "unavailable": []
+                    },
+                    "message": "Dashboard retrieved successfully",
+                    "timestamp": "2025-04-01T14:40:14.576916577Z"
+                }
+                """;
+    }
+}
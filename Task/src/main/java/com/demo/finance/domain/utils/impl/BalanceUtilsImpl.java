@@ -4,6 +4,8 @@ import com.demo.finance.domain.model.Goal;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.BalanceUtils;
 import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.cache.TransactionAnalyticsCache;
+import com.demo.finance.out.cache.TransactionTotals;
 import com.demo.finance.out.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -11,16 +13,19 @@ import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Implementation of the {@link BalanceUtils} interface for calculating the balance
  * towards a user's financial goal by considering both income and expenses within the goal's timeframe.
+ * The balance is answered from the {@link TransactionAnalyticsCache} when possible.
  */
 @Component
 @RequiredArgsConstructor
 public class BalanceUtilsImpl implements BalanceUtils {
 
     private final TransactionRepository transactionRepository;
+    private final TransactionAnalyticsCache analyticsCache;
 
     /**
      * Calculates the balance for a given user and goal by considering total income and total expenses
@@ -35,6 +40,11 @@ public class BalanceUtilsImpl implements BalanceUtils {
         LocalDate startDate = goal.getStartTime();
         LocalDate endDate = startDate.plusMonths(goal.getDuration());
 
+        Optional<TransactionTotals> totals = analyticsCache.totals(userId, startDate, endDate);
+        if (totals.isPresent()) {
+            return totals.get().balance();
+        }
+
         List<Transaction> transactions = transactionRepository.findByUserId(userId);
 
         // Calculate total income within the period
@@ -7,11 +7,15 @@ import com.demo.finance.domain.utils.ValidationUtils;
 import com.demo.finance.exception.custom.ValidationException;
 import org.springframework.stereotype.Component;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
 /**
@@ -20,9 +24,10 @@ import java.util.regex.Pattern;
  * It ensures that input data adheres to expected formats and constraints, throwing exceptions
  * when validation fails.
  * <p>
- * This class uses reflection and predefined rules to validate required fields and specific
- * constraints for different modes of operation. It supports validation for user data, transactions,
- * goals, budgets, pagination parameters, and more.
+ * For every DTO type a validator is compiled for each {@link Mode}: required field getters are resolved once into
+ * {@link MethodHandle}s and combined with the type-specific rules, so validating a request performs no reflective
+ * lookups or type dispatch. Validators for the known DTO types are compiled at startup, any other type is compiled
+ * on first use. Expected validation failures are reported with stackless {@link ValidationException}s.
  */
 @Component
 public class ValidationUtilsImpl implements ValidationUtils {
@@ -30,6 +35,12 @@ public class ValidationUtilsImpl implements ValidationUtils {
     private static final Pattern EMAIL_PATTERN =
             Pattern.compile("^[A-Za-z0-9+_.-]+@([A-Za-z0-9-]+\\.)+[A-Za-z]{2,}$");
 
+    private static final String ERROR_PREFIX = "Validation error: ";
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final Mode[] MODES = Mode.values();
+    private static final List<Class<?>> KNOWN_TYPES = List.of(UserDto.class, TransactionDto.class, GoalDto.class,
+            BudgetDto.class, ReportDatesDto.class, PaginationParams.class);
+
     private static final Map<Mode, List<String>> REQUIRED_FIELDS_MAP = new HashMap<>();
 
     static {
@@ -47,12 +58,26 @@ public class ValidationUtilsImpl implements ValidationUtils {
         REQUIRED_FIELDS_MAP.put(Mode.PAGE, List.of("page", "size"));
     }
 
+    private final ClassValue<RequestValidator[]> validators = new ClassValue<>() {
+        @Override
+        protected RequestValidator[] computeValue(Class<?> type) {
+            return compileValidators(type);
+        }
+    };
+
+    /**
+     * Constructs a {@code ValidationUtilsImpl} and compiles the validators of all known DTO types.
+     */
+    public ValidationUtilsImpl() {
+        KNOWN_TYPES.forEach(validators::get);
+    }
+
     /**
      * Validates the given object based on the specified mode.
      * <p>
-     * This method performs a series of validations depending on the type of the object and the mode.
-     * It checks for required fields, validates specific constraints for each DTO type, and throws
-     * a {@link ValidationException} if any validation fails.
+     * This method runs the validator compiled for the type of the object and the mode. It checks for required
+     * fields, validates specific constraints for each DTO type, and throws a {@link ValidationException} if any
+     * validation fails.
      *
      * @param <T>    the type of the object to validate
      * @param object the object to validate
@@ -63,23 +88,19 @@ public class ValidationUtilsImpl implements ValidationUtils {
     @Override
     public <T> T validateRequest(T object, Mode mode) {
         try {
-            validateRequiredFields(object, mode);
-            if (object instanceof UserDto) {
-                validateUserFields((UserDto) object, mode);
-            } else if (object instanceof TransactionDto) {
-                validateTransactionFields((TransactionDto) object, mode);
-            } else if (object instanceof GoalDto) {
-                validateGoalFields((GoalDto) object, mode);
-            } else if (object instanceof BudgetDto) {
-                validateBudgetFields((BudgetDto) object);
-            } else if (object instanceof ReportDatesDto) {
-                validateReportDatesFields((ReportDatesDto) object);
-            } else if (object instanceof PaginationParams) {
-                validateParamsValues((PaginationParams) object);
+            if (object == null) {
+                List<String> requiredFields = REQUIRED_FIELDS_MAP.getOrDefault(mode, List.of());
+                if (!requiredFields.isEmpty()) {
+                    throw invalid("Cannot access field: " + requiredFields.get(0));
+                }
+                return null;
             }
+            validators.get(object.getClass())[mode.ordinal()].validate(object);
             return object;
-        } catch (Exception e) {
-            throw new ValidationException("Validation error: " + e.getMessage());
+        } catch (ValidationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ValidationException(ERROR_PREFIX + e.getMessage());
         }
     }
 
@@ -140,61 +161,129 @@ public class ValidationUtilsImpl implements ValidationUtils {
     }
 
     /**
-     * Validates the required fields of the given DTO based on the specified mode.
+     * Compiles one validator per {@link Mode} for the given DTO type.
      * <p>
-     * This method retrieves the list of required fields for the given mode and checks each field using
-     * the {@link #checkField(Object, String)} method.
+     * Each validator checks the required fields of its mode in the declared order and then applies the
+     * type-specific rules, matching DTO types in the same order as the assignability checks below.
+     *
+     * @param type the DTO type to compile validators for
+     * @return the validators of the type, indexed by {@link Mode#ordinal()}
+     */
+    private RequestValidator[] compileValidators(Class<?> type) {
+        BiConsumer<Object, Mode> typeRules = typeRules(type);
+        RequestValidator[] compiled = new RequestValidator[MODES.length];
+        for (Mode mode : MODES) {
+            FieldCheck[] checks = REQUIRED_FIELDS_MAP.getOrDefault(mode, List.of()).stream()
+                    .map(field -> compileFieldCheck(type, field))
+                    .toArray(FieldCheck[]::new);
+            compiled[mode.ordinal()] = object -> {
+                for (FieldCheck check : checks) {
+                    check.check(object);
+                }
+                typeRules.accept(object, mode);
+            };
+        }
+        return compiled;
+    }
+
+    /**
+     * Selects the type-specific validation rules for the given DTO type.
      *
-     * @param dto  the DTO object to validate
-     * @param mode the mode specifying the required fields
-     * @throws ValidationException if any required field is missing or invalid
+     * @param type the DTO type
+     * @return the rules to apply after the required fields have been checked
      */
-    private void validateRequiredFields(Object dto, Mode mode) {
-        List<String> requiredFields = REQUIRED_FIELDS_MAP.getOrDefault(mode, List.of());
-        for (String field : requiredFields) {
-            checkField(dto, field);
+    private BiConsumer<Object, Mode> typeRules(Class<?> type) {
+        if (UserDto.class.isAssignableFrom(type)) {
+            return (object, mode) -> validateUserFields((UserDto) object, mode);
+        } else if (TransactionDto.class.isAssignableFrom(type)) {
+            return (object, mode) -> validateTransactionFields((TransactionDto) object, mode);
+        } else if (GoalDto.class.isAssignableFrom(type)) {
+            return (object, mode) -> validateGoalFields((GoalDto) object, mode);
+        } else if (BudgetDto.class.isAssignableFrom(type)) {
+            return (object, mode) -> validateBudgetFields((BudgetDto) object);
+        } else if (ReportDatesDto.class.isAssignableFrom(type)) {
+            return (object, mode) -> validateReportDatesFields((ReportDatesDto) object);
+        } else if (PaginationParams.class.isAssignableFrom(type)) {
+            return (object, mode) -> validateParamsValues((PaginationParams) object);
         }
+        return (object, mode) -> {
+        };
     }
 
     /**
-     * Checks the existence and validity of a specific field in the given object using reflection.
+     * Compiles the presence check of a required field into a {@link MethodHandle} invocation.
      * <p>
-     * This method dynamically invokes the getter method for the specified field and ensures that its value
-     * is not null. If the field is missing or inaccessible, a {@link ValidationException} is thrown.
+     * The getter is resolved as the record accessor for records and as {@code getX()} or {@code isX()} otherwise.
+     * Primitive fields can never be missing, so their check only verifies that the getter exists. A field without
+     * a getter, or with an inaccessible getter, results in a check that always fails.
      *
-     * @param object    the object containing the field to check
-     * @param fieldName the name of the field to validate
-     * @throws ValidationException if the field is missing, inaccessible, or has a null value
+     * @param type      the DTO type containing the field
+     * @param fieldName the name of the required field
+     * @return the compiled field check
      */
-    private void checkField(Object object, String fieldName) {
+    private FieldCheck compileFieldCheck(Class<?> type, String fieldName) {
+        Method method = findGetter(type, fieldName);
+        if (method == null) {
+            String message = "Field not found in DTO: " + fieldName;
+            return object -> {
+                throw invalid(message);
+            };
+        }
+        String inaccessible = "Cannot access field: " + fieldName;
+        MethodHandle getter;
         try {
-            if (object instanceof UserDto && "blocked".equals(fieldName)) {
-                Method method = object.getClass().getMethod("isBlocked");
-                Object value = method.invoke(object);
-                if (value == null) {
-                    throw new ValidationException("Missing required field: blocked");
-                }
-                return;
-            }
-            boolean isRecord = object.getClass().isRecord();
-            String methodName = isRecord ? fieldName
-                    : "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
-            Method method;
+            getter = MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return object -> {
+                throw invalid(inaccessible);
+            };
+        }
+        if (method.getReturnType().isPrimitive()) {
+            return object -> {
+            };
+        }
+        String missing = "Missing required field: " + fieldName;
+        return object -> {
+            Object value;
             try {
-                method = object.getClass().getMethod(methodName);
-            } catch (NoSuchMethodException e) {
-                throw new ValidationException("Field not found in DTO: " + fieldName);
+                value = (Object) getter.invokeExact(object);
+            } catch (Throwable e) {
+                throw invalid(inaccessible);
             }
-            Object value = method.invoke(object);
             if (value == null) {
-                throw new ValidationException("Missing required field: " + fieldName);
+                throw invalid(missing);
             }
-        } catch (Exception e) {
-            if (e instanceof ValidationException) {
-                throw (ValidationException) e;
+        };
+    }
+
+    /**
+     * Finds the public getter of the given field.
+     *
+     * @param type      the DTO type containing the field
+     * @param fieldName the name of the field
+     * @return the getter method, or {@code null} if the type has no such getter
+     */
+    private Method findGetter(Class<?> type, String fieldName) {
+        String suffix = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        List<String> candidates = type.isRecord() ? List.of(fieldName) : List.of("get" + suffix, "is" + suffix);
+        for (String candidate : candidates) {
+            try {
+                return type.getMethod(candidate);
+            } catch (NoSuchMethodException e) {
+                // try the next naming convention
             }
-            throw new ValidationException("Cannot access field: " + fieldName);
         }
+        return null;
+    }
+
+    /**
+     * Creates a stackless {@link ValidationException} for an expected validation failure of a request.
+     *
+     * @param message the description of the validation failure
+     * @return the exception to throw
+     */
+    private static ValidationException invalid(String message) {
+        return new ValidationException(ERROR_PREFIX + message, false);
     }
 
     /**
@@ -208,20 +297,20 @@ public class ValidationUtilsImpl implements ValidationUtils {
     private void validateParamsValues(PaginationParams params) {
         try {
             if (params.page() < 1) {
-                throw new ValidationException("Page must be positive integer: " + params.page());
+                throw invalid("Page must be positive integer: " + params.page());
             }
         } catch (NumberFormatException e) {
-            throw new ValidationException("Invalid page number.");
+            throw invalid("Invalid page number.");
         }
         try {
             if (params.size() < 1) {
-                throw new ValidationException("Size must be positive integer: " + params.size());
+                throw invalid("Size must be positive integer: " + params.size());
             }
             if (params.size() > 100) {
-                throw new ValidationException("Size cannot exceed 100.");
+                throw invalid("Size cannot exceed 100.");
             }
         } catch (NumberFormatException e) {
-            throw new ValidationException("Invalid size number.");
+            throw invalid("Invalid size number.");
         }
     }
 
@@ -248,21 +337,21 @@ public class ValidationUtilsImpl implements ValidationUtils {
      */
     private void validateUserFields(UserDto dto, Mode mode) {
         if (mode != Mode.UPDATE_ROLE && mode != Mode.BLOCK_UNBLOCK && !isValidEmail(dto.getEmail())) {
-            throw new ValidationException("Invalid email format.");
+            throw invalid("Invalid email format.");
         }
         if (mode != Mode.UPDATE_ROLE && mode != Mode.BLOCK_UNBLOCK && isBlank(dto.getPassword())) {
-            throw new ValidationException("Password cannot be empty.");
+            throw invalid("Password cannot be empty.");
         }
         if (mode != Mode.AUTHENTICATE && mode != Mode.UPDATE_ROLE && mode != Mode.BLOCK_UNBLOCK
                 && isBlank(dto.getName())) {
-            throw new ValidationException("Name cannot be empty.");
+            throw invalid("Name cannot be empty.");
         }
         if (mode == Mode.UPDATE_ROLE) {
             if (dto.getRole() == null || isBlank(dto.getRole())) {
-                throw new ValidationException("Role cannot be empty.");
+                throw invalid("Role cannot be empty.");
             }
             if (!isValidRole(dto.getRole())) {
-                throw new ValidationException("Role must be either USER or ADMIN.");
+                throw invalid("Role must be either USER or ADMIN.");
             }
             validateVersion(dto.getVersion());
         }
@@ -283,19 +372,19 @@ public class ValidationUtilsImpl implements ValidationUtils {
      */
     private void validateTransactionFields(TransactionDto dto, Mode mode) {
         if (dto.getAmount() == null || dto.getAmount().compareTo(BigDecimal.ZERO) < 0) {
-            throw new ValidationException("Amount must be a positive number.");
+            throw invalid("Amount must be a positive number.");
         }
         if (mode == Mode.TRANSACTION_CREATE && dto.getDate() == null) {
-            throw new ValidationException("Transaction date cannot be null.");
+            throw invalid("Transaction date cannot be null.");
         }
         if (isBlank(dto.getCategory())) {
-            throw new ValidationException("Category cannot be empty.");
+            throw invalid("Category cannot be empty.");
         }
         if (isBlank(dto.getDescription())) {
-            throw new ValidationException("Description cannot be empty.");
+            throw invalid("Description cannot be empty.");
         }
         if (mode == Mode.TRANSACTION_CREATE && !isValidType(dto.getType())) {
-            throw new ValidationException("Type must be either INCOME or EXPENSE.");
+            throw invalid("Type must be either INCOME or EXPENSE.");
         }
     }
 
@@ -311,16 +400,16 @@ public class ValidationUtilsImpl implements ValidationUtils {
      */
     private void validateGoalFields(GoalDto dto, Mode mode) {
         if (isBlank(dto.getGoalName())) {
-            throw new ValidationException("Goal name cannot be empty.");
+            throw invalid("Goal name cannot be empty.");
         }
         if (dto.getTargetAmount() == null || dto.getTargetAmount().compareTo(BigDecimal.ZERO) < 0) {
-            throw new ValidationException("Target amount must be a positive number.");
+            throw invalid("Target amount must be a positive number.");
         }
         if (dto.getDuration() == null || dto.getDuration() < 1) {
-            throw new ValidationException("Duration must be a positive integer.");
+            throw invalid("Duration must be a positive integer.");
         }
         if (mode == Mode.GOAL_CREATE && dto.getStartTime() == null) {
-            throw new ValidationException("Start time cannot be empty.");
+            throw invalid("Start time cannot be empty.");
         }
     }
 
@@ -334,7 +423,7 @@ public class ValidationUtilsImpl implements ValidationUtils {
      */
     private void validateBudgetFields(BudgetDto dto) {
         if (dto.getMonthlyLimit() == null || dto.getMonthlyLimit().compareTo(BigDecimal.ZERO) < 0) {
-            throw new ValidationException("Monthly limit must be a positive number.");
+            throw invalid("Monthly limit must be a positive number.");
         }
     }
 
@@ -349,13 +438,13 @@ public class ValidationUtilsImpl implements ValidationUtils {
      */
     private void validateReportDatesFields(ReportDatesDto dto) {
         if (dto.getFromDate() == null) {
-            throw new ValidationException("From date cannot be null.");
+            throw invalid("From date cannot be null.");
         }
         if (dto.getToDate() == null) {
-            throw new ValidationException("To date cannot be null.");
+            throw invalid("To date cannot be null.");
         }
         if (dto.getToDate().isBefore(dto.getFromDate())) {
-            throw new ValidationException("To date cannot be before from date.");
+            throw invalid("To date cannot be before from date.");
         }
     }
 
@@ -412,7 +501,25 @@ public class ValidationUtilsImpl implements ValidationUtils {
      */
     private void validateVersion(Long version) {
         if (version == null || version <= 0) {
-            throw new ValidationException("Version must be a positive number greater than 0.");
+            throw invalid("Version must be a positive number greater than 0.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A validator compiled for a single DTO type and {@link Mode}.
+     */
+    @FunctionalInterface
+    private interface RequestValidator {
+
+        void validate(Object object);
+    }
+
+    /**
+     * A compiled presence check of a single required field.
+     */
+    @FunctionalInterface
+    private interface FieldCheck {
+
+        void check(Object object);
+    }
+}
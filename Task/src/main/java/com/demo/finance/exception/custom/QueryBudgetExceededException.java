@@ -0,0 +1,18 @@
+package com.demo.finance.exception.custom;
+
+/**
+ * Custom exception class for requests that executed more SQL statements than allowed.
+ * This exception is thrown only when query budget violations are configured to fail, e.g. in tests, so that
+ * N+1 query patterns and other regressions in the number of statements are caught before they are shipped.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code QueryBudgetExceededException} with the specified detail message.
+     *
+     * @param message the detail message describing the violations
+     */
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
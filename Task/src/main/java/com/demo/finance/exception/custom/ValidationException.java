@@ -15,4 +15,16 @@ public class ValidationException extends RuntimeException {
     public ValidationException(String message) {
         super(message);
     }
+
+    /**
+     * Constructs a new {@code ValidationException} with the specified detail message, optionally without
+     * capturing a stack trace. Expected validation failures of client input are reported back to the client
+     * and never need a stack trace, so skipping it avoids the most expensive part of creating the exception.
+     *
+     * @param message            the detail message describing the validation failure
+     * @param writableStackTrace whether the stack trace should be captured
+     */
+    public ValidationException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
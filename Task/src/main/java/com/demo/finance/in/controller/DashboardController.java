@@ -0,0 +1,64 @@
+package com.demo.finance.in.controller;
+
+import com.demo.finance.domain.dto.DashboardDto;
+import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.out.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static com.demo.finance.domain.utils.SwaggerExamples.Dashboard.GET_DASHBOARD_SUCCESS;
+
+/**
+ * REST controller for the dashboard of the authenticated user.
+ * <p>
+ * Provides a single endpoint returning the general report, the budget, the first page of goals and transactions
+ * and the budget notification in one response, instead of one request per section. Relies on
+ * {@code DashboardService} to load the sections concurrently.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController extends BaseController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Retrieves the dashboard of the authenticated user.
+     * <p>
+     * Sections that could not be loaded in time are left empty and listed in the {@code unavailable} field of the
+     * response, which is still returned with a 200 status.
+     * </p>
+     *
+     * @param currentUser the currently authenticated user
+     * @return a {@code ResponseEntity} containing the dashboard
+     */
+    @GetMapping
+    @Operation(summary = "Get dashboard", description = "Returns report, budget, goals, transactions and "
+            + "budget notification in one response")
+    @ApiResponse(responseCode = "200", description = "Dashboard retrieved", content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DashboardDto.class),
+            examples = @ExampleObject(name = "SuccessResponse", value = GET_DASHBOARD_SUCCESS)))
+    public ResponseEntity<Map<String, Object>> getDashboard(
+            @Parameter(hidden = true) @RequestAttribute("currentUser") UserDto currentUser) {
+        DashboardDto dashboard = dashboardService.getDashboard(currentUser.getUserId());
+        String message = dashboard.getUnavailable().isEmpty()
+                ? "Dashboard retrieved successfully"
+                : "Dashboard retrieved partially";
+        return buildSuccessResponse(HttpStatus.OK, message, dashboard);
+    }
+}
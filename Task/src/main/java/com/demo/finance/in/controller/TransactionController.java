@@ -100,16 +100,11 @@ public class TransactionController extends BaseController {
             Long userId = currentUser.getUserId();
             TransactionDto transactionDto =
                     validationUtils.validateRequest(transactionDtoNew, Mode.TRANSACTION_CREATE);
-            Long transactionId = transactionService.createTransaction(transactionDto, userId);
-            if (transactionId != null) {
-                Transaction transaction = transactionService.getTransaction(transactionId, userId);
-                if (transaction != null) {
-                    TransactionDto transactionDtoCreated = transactionMapper.toDto(transaction);
-                    return buildSuccessResponse(
-                            HttpStatus.CREATED, "Transaction created successfully", transactionDtoCreated);
-                }
-                return buildErrorResponse(
-                        HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve transaction details.");
+            Transaction transaction = transactionService.createTransaction(transactionDto, userId);
+            if (transaction != null) {
+                TransactionDto transactionDtoCreated = transactionMapper.toDto(transaction);
+                return buildSuccessResponse(
+                        HttpStatus.CREATED, "Transaction created successfully", transactionDtoCreated);
             }
             return buildErrorResponse(HttpStatus.BAD_REQUEST, "Failed to create transaction.");
         } catch (ValidationException e) {
@@ -224,16 +219,11 @@ public class TransactionController extends BaseController {
             TransactionDto transactionDto =
                     validationUtils.validateRequest(transactionDtoNew, Mode.TRANSACTION_UPDATE);
             transactionDto.setTransactionId(transactionIdLong);
-            boolean success = transactionService.updateTransaction(transactionDto, userId);
-            if (success) {
-                Transaction transaction = transactionService.getTransaction(transactionDto.getTransactionId(), userId);
-                if (transaction != null) {
-                    TransactionDto transactionDtoUpdated = transactionMapper.toDto(transaction);
-                    return buildSuccessResponse(
-                            HttpStatus.OK, "Transaction updated successfully", transactionDtoUpdated);
-                }
-                return buildErrorResponse(
-                        HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve transaction details.");
+            Transaction transaction = transactionService.updateTransaction(transactionDto, userId);
+            if (transaction != null) {
+                TransactionDto transactionDtoUpdated = transactionMapper.toDto(transaction);
+                return buildSuccessResponse(
+                        HttpStatus.OK, "Transaction updated successfully", transactionDtoUpdated);
             }
             return buildErrorResponse(HttpStatus.BAD_REQUEST,
                     "Failed to update transaction or you are not the owner of the transaction.");
@@ -136,18 +136,13 @@ public class UserController extends BaseController {
             @RequestBody UserDto userDtoNew, HttpServletResponse response) {
         try {
             UserDto userDto = validationUtils.validateRequest(userDtoNew, Mode.AUTHENTICATE);
-            boolean success = registrationService.authenticate(userDto);
-            if (success) {
-                User user = userService.getUserByEmail(userDto.getEmail());
-                if (user != null) {
-                    UserDto authUserDto = UserDto.removePassword(userMapper.toDto(user));
-                    String token = jwtService
-                            .generateToken(authUserDto.getEmail(), List.of(authUserDto.getRole()), user.getUserId());
-                    response.setHeader("Authorization", "Bearer " + token);
-                    return buildSuccessResponse(HttpStatus.OK, "Authentication successful", authUserDto);
-                }
-                return buildErrorResponse(
-                        HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve user details.");
+            User user = registrationService.authenticate(userDto);
+            if (user != null) {
+                UserDto authUserDto = UserDto.removePassword(userMapper.toDto(user));
+                String token = jwtService
+                        .generateToken(authUserDto.getEmail(), List.of(authUserDto.getRole()), user.getUserId());
+                response.setHeader("Authorization", "Bearer " + token);
+                return buildSuccessResponse(HttpStatus.OK, "Authentication successful", authUserDto);
             }
             return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Invalid credentials.");
         } catch (ValidationException e) {
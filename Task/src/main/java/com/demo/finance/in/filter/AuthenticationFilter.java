@@ -1,6 +1,7 @@
 package com.demo.finance.in.filter;
 
 import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.in.filter.RouteTable.Policy;
 import com.demo.finance.out.service.TokenService;
 import jakarta.servlet.Filter;
 import com.demo.finance.out.service.JwtService;
@@ -25,6 +26,10 @@ import java.io.IOException;
  * allowed to access general user endpoints.
  * </p>
  * <p>
+ * The policy of every endpoint is declared in {@link #ROUTES}, which is compiled once into a {@link RouteTable} and
+ * resolved per request without allocations.
+ * </p>
+ * <p>
  * This filter is executed as part of the Spring filter chain and is ordered with a lower precedence (1) for early
  * execution.
  * </p>
@@ -34,6 +39,25 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class AuthenticationFilter implements Filter {
 
+    static final RouteTable ROUTES = RouteTable.builder(Policy.USER)
+            .exact("/", Policy.PUBLIC)
+            .exact("/api/users/registration", Policy.PUBLIC)
+            .exact("/api/users/authenticate", Policy.PUBLIC)
+            .exact("/api/users/logout", Policy.PUBLIC)
+            .prefix("/swagger-ui.html", Policy.PUBLIC)
+            .prefix("/swagger-ui", Policy.PUBLIC)
+            .prefix("/v3/api-docs", Policy.PUBLIC)
+            .prefix("/v3/api-docs.yaml", Policy.PUBLIC)
+            .prefix("/api/users", Policy.USER)
+            .prefix("/api/transactions", Policy.USER)
+            .prefix("/api/goals", Policy.USER)
+            .prefix("/api/budgets", Policy.USER)
+            .prefix("/api/reports", Policy.USER)
+            .prefix("/api/notifications", Policy.USER)
+            .prefix("/api/dashboard", Policy.USER)
+            .prefix("/api/admin/users", Policy.ADMIN)
+            .build();
+
     private final JwtService jwtService;
     private final TokenService tokenService;
 
@@ -57,8 +81,8 @@ public class AuthenticationFilter implements Filter {
             throws IOException, ServletException {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
-        String requestURI = httpRequest.getRequestURI();
-        if (isPublicEndpoint(requestURI)) {
+        Policy policy = ROUTES.resolve(httpRequest.getRequestURI());
+        if (policy == Policy.PUBLIC) {
             chain.doFilter(request, response);
             return;
         }
@@ -72,7 +96,7 @@ public class AuthenticationFilter implements Filter {
         try {
             userDto = jwtService.validateToken(token);
             String role = userDto.getRole().toUpperCase();
-            if (isAdminEndpoint(requestURI)) {
+            if (policy == Policy.ADMIN) {
                 if (!"ADMIN".equals(role)) {
                     sendErrorResponse(httpResponse, "Access denied. Admin role required");
                     return;
@@ -125,35 +149,4 @@ public class AuthenticationFilter implements Filter {
         response.setContentType("application/json");
         response.getWriter().write("{\"error\":\"" + message + "\"}");
     }
-
-    /**
-     * Determines if the given request URI corresponds to a public endpoint that does not require authentication.
-     * <p>
-     * Public endpoints include user registration, authentication, logout, and Swagger UI paths.
-     * </p>
-     *
-     * @param requestURI the URI of the incoming request
-     * @return {@code true} if the endpoint is public, {@code false} otherwise
-     */
-    private boolean isPublicEndpoint(String requestURI) {
-        return requestURI.endsWith("/api/users/registration") || requestURI.endsWith("/api/users/authenticate")
-                || requestURI.endsWith("/api/users/logout") || requestURI.startsWith("/swagger-ui/")
-                || requestURI.startsWith("/swagger-ui") || requestURI.equals("/swagger-ui.html")
-                || requestURI.equals("/") || requestURI.startsWith("/v3/api-docs");
-    }
-
-    /**
-     * Determines if the given request URI corresponds to an admin-only endpoint.
-     * <p>
-     * Admin endpoints are restricted to users with the "admin" role. This method matches the URI pattern
-     * for admin user management routes.
-     * </p>
-     *
-     * @param requestURI the URI of the incoming request
-     * @return {@code true} if the endpoint is an admin-only endpoint, {@code false} otherwise
-     */
-    private boolean isAdminEndpoint(String requestURI) {
-        String path = requestURI.split("\\?")[0];
-        return path.matches("^/api/admin/users(/.*)?$");
-    }
-}
\ No newline at end of file
+}
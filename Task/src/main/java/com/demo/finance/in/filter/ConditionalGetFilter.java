@@ -0,0 +1,128 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.out.service.DataVersionService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Filter that answers conditional GET requests for frequently polled, per-user resources.
+ * <p>
+ * The entity tag of a resource is derived from the per-user data version maintained by
+ * {@link DataVersionService}, so a request carrying a matching {@code If-None-Match} header is answered with
+ * {@code 304 Not Modified} before any service, cache or database work happens. For all other requests the
+ * current entity tag is attached to the response. The version is read before the request is processed, so a
+ * concurrent write can only make the tag older than the body, which results in an extra full response and never
+ * in a stale {@code 304}.
+ * </p>
+ * <p>
+ * Resources computed for the current month, such as the budget with its monthly expenses, change at the start of
+ * every month without any write, so the current month is part of their entity tag.
+ * </p>
+ * <p>
+ * This filter is executed after the {@link AuthenticationFilter}, because the entity tag depends on the
+ * authenticated user.
+ * </p>
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class ConditionalGetFilter implements Filter {
+
+    private static final Set<String> VERSIONED_ENDPOINTS = Set.of(
+            "/api/reports/report", "/api/budgets/budget", "/api/transactions", "/api/goals");
+    private static final Set<String> MONTHLY_ENDPOINTS = Set.of("/api/budgets/budget");
+
+    private final DataVersionService dataVersionService;
+
+    /**
+     * Answers conditional GET requests for versioned endpoints, or attaches the current entity tag to the response
+     * and passes the request along the filter chain.
+     *
+     * @param request  the {@link ServletRequest} representing the incoming HTTP request
+     * @param response the {@link ServletResponse} representing the outgoing HTTP response
+     * @param chain    the {@link FilterChain} used to pass the request and response along the filter chain
+     * @throws IOException      if an I/O error occurs during request processing
+     * @throws ServletException if a servlet-related error occurs during request processing
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        Object currentUser = httpRequest.getAttribute("currentUser");
+        if (!"GET".equals(httpRequest.getMethod()) || !(currentUser instanceof UserDto userDto)
+                || !VERSIONED_ENDPOINTS.contains(httpRequest.getRequestURI())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String versionTag = dataVersionService.getVersionTag(userDto.getUserId());
+        if (MONTHLY_ENDPOINTS.contains(httpRequest.getRequestURI())) {
+            versionTag += "-" + YearMonth.now();
+        }
+        String eTag = "\"" + versionTag + "\"";
+        httpResponse.setHeader("ETag", eTag);
+        httpResponse.setHeader("Cache-Control", "private, no-cache");
+        if (matches(httpRequest.getHeader("If-None-Match"), eTag)) {
+            httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Checks whether the given {@code If-None-Match} header value matches the entity tag.
+     * <p>
+     * The header may contain a comma-separated list of tags or the {@code *} wildcard. Weak tags are compared by
+     * their opaque value, as required for {@code If-None-Match}.
+     * </p>
+     *
+     * @param ifNoneMatch the value of the {@code If-None-Match} header, may be {@code null}
+     * @param eTag        the current entity tag, including quotes
+     * @return {@code true} if the header matches the entity tag, {@code false} otherwise
+     */
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        int start = 0;
+        int length = ifNoneMatch.length();
+        while (start < length) {
+            int end = ifNoneMatch.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int from = start;
+            int to = end;
+            while (from < to && ifNoneMatch.charAt(from) == ' ') {
+                from++;
+            }
+            while (to > from && ifNoneMatch.charAt(to - 1) == ' ') {
+                to--;
+            }
+            if (ifNoneMatch.startsWith("W/", from)) {
+                from += 2;
+            }
+            if (to - from == 1 && ifNoneMatch.charAt(from) == '*') {
+                return true;
+            }
+            if (to - from == eTag.length() && ifNoneMatch.regionMatches(from, eTag, 0, eTag.length())) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+}
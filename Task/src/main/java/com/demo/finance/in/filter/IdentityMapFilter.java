@@ -0,0 +1,98 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.app.config.IdentityMap;
+import com.demo.finance.app.config.QueryBudget;
+import com.demo.finance.exception.custom.QueryBudgetExceededException;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Filter that opens an {@link IdentityMap} scope for every request, so that identical repository reads issued while
+ * handling the request are executed only once, and the SQL statements of the request are counted.
+ * <p>
+ * Once the request has been handled, the statements it executed are checked against the {@link QueryBudget} of the
+ * route of the controller method that handled it. When violations are configured to fail, as in tests, the
+ * response is buffered until the check has passed, because the body has usually been flushed by the time the
+ * request has been handled. A request exceeding its budget is then answered with
+ * {@code 500 Internal Server Error} instead of the buffered response.
+ * </p>
+ * <p>
+ * This filter is executed before the {@link AuthenticationFilter}, so that reads issued during authentication
+ * belong to the scope of the request as well.
+ * </p>
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class IdentityMapFilter implements Filter {
+
+    private final IdentityMap identityMap;
+    private final QueryBudget queryBudget;
+
+    /**
+     * Passes the request along the filter chain within an identity map scope and checks its query budget.
+     *
+     * @param request  the {@link ServletRequest} representing the incoming HTTP request
+     * @param response the {@link ServletResponse} representing the outgoing HTTP response
+     * @param chain    the {@link FilterChain} used to pass the request and response along the filter chain
+     * @throws IOException      if an I/O error occurs during request processing
+     * @throws ServletException if a servlet-related error occurs during request processing
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try (IdentityMap.Scope scope = identityMap.open()) {
+            if (!queryBudget.isFailOnViolation()) {
+                chain.doFilter(request, response);
+                queryBudget.check(routeOf(request), scope);
+                return;
+            }
+            ContentCachingResponseWrapper bufferedResponse =
+                    new ContentCachingResponseWrapper((HttpServletResponse) response);
+            chain.doFilter(request, bufferedResponse);
+            try {
+                queryBudget.check(routeOf(request), scope);
+            } catch (QueryBudgetExceededException e) {
+                bufferedResponse.reset();
+                sendBudgetExceeded(bufferedResponse, routeOf(request));
+            }
+            bufferedResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Sends a {@code 500 Internal Server Error} response for a request that exceeded its query budget.
+     *
+     * @param response the {@link HttpServletResponse} to send the response to
+     * @param route    the route whose budget was exceeded
+     * @throws IOException if an I/O error occurs while writing the response
+     */
+    private void sendBudgetExceeded(HttpServletResponse response, String route) throws IOException {
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"Query budget of route " + route + " exceeded\"}");
+    }
+
+    /**
+     * Returns the route of a handled request.
+     *
+     * @param request the handled request
+     * @return the URL pattern of the controller method that handled the request, or
+     * {@link QueryBudget#UNMATCHED_ROUTE} if no controller method handled it
+     */
+    private String routeOf(ServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String route ? route : QueryBudget.UNMATCHED_ROUTE;
+    }
+}
@@ -0,0 +1,250 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.in.filter.RateLimiter.EndpointClass;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter that limits the request rate of every client through the {@link RateLimiter}.
+ * <p>
+ * Authenticated requests are limited per user, all other requests per client IP address. Authentication and
+ * registration requests, which hash passwords, and report requests, which scan the full transaction history, cost
+ * more of a client's budget than other requests. Rejected requests are answered with {@code 429 Too Many Requests}
+ * and a {@code Retry-After} header stating when the request would be admitted.
+ * </p>
+ * <p>
+ * The client IP address is the remote address of the connection, unless it belongs to a configured trusted proxy.
+ * Then the {@code X-Forwarded-For} header is walked from the right, skipping the trusted proxies, and the first
+ * untrusted address is the client, so that a client cannot choose its own budget by sending the header itself.
+ * </p>
+ * <p>
+ * This filter is executed after the {@link AuthenticationFilter}, because the budget of an authenticated request is
+ * tied to the authenticated user.
+ * </p>
+ */
+@Component
+@Order(2)
+public class RateLimitFilter implements Filter {
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final RateLimiter rateLimiter;
+    private final List<TrustedProxy> trustedProxies = new ArrayList<>();
+
+    /**
+     * Constructs the filter.
+     *
+     * @param rateLimiter    the rate limiter admitting the requests
+     * @param trustedProxies the addresses or CIDR ranges of the proxies whose {@code X-Forwarded-For} header is
+     *                       trusted, none by default
+     * @throws IllegalArgumentException if a trusted proxy is not an IP address or CIDR range
+     */
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           @Value("${app.rate-limit.trusted-proxies:}") String[] trustedProxies) {
+        this.rateLimiter = rateLimiter;
+        for (String trustedProxy : trustedProxies) {
+            if (!trustedProxy.isBlank()) {
+                this.trustedProxies.add(TrustedProxy.parse(trustedProxy.trim()));
+            }
+        }
+    }
+
+    /**
+     * Admits the request if the client has enough budget left, or rejects it with {@code 429 Too Many Requests}.
+     *
+     * @param request  the {@link ServletRequest} representing the incoming HTTP request
+     * @param response the {@link ServletResponse} representing the outgoing HTTP response
+     * @param chain    the {@link FilterChain} used to pass the request and response along the filter chain
+     * @throws IOException      if an I/O error occurs during request processing
+     * @throws ServletException if a servlet-related error occurs during request processing
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!rateLimiter.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        Object clientKey = httpRequest.getAttribute("currentUser") instanceof UserDto userDto
+                && userDto.getUserId() != null ? userDto.getUserId() : clientAddress(httpRequest);
+        long waitNanos = rateLimiter.tryAcquire(clientKey, classify(httpRequest.getRequestURI()));
+        if (waitNanos > 0) {
+            sendTooManyRequests((HttpServletResponse) response, waitNanos);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Resolves the IP address of the client, following the {@code X-Forwarded-For} header only through trusted
+     * proxies.
+     *
+     * @param request the incoming HTTP request
+     * @return the IP address of the client
+     */
+    String clientAddress(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null || !isTrustedProxy(client)) {
+            return client;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            client = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Checks whether the given address belongs to a trusted proxy.
+     *
+     * @param address the textual IP address
+     * @return {@code true} if the address is an IP address within a trusted proxy range, {@code false} otherwise
+     */
+    private boolean isTrustedProxy(String address) {
+        if (trustedProxies.isEmpty()) {
+            return false;
+        }
+        byte[] bytes = TrustedProxy.toBytes(address);
+        return bytes != null && trustedProxies.stream().anyMatch(proxy -> proxy.contains(bytes));
+    }
+
+    /**
+     * Determines the endpoint class of the given request path.
+     *
+     * @param path the request path
+     * @return the endpoint class of the path
+     */
+    static EndpointClass classify(String path) {
+        if (path == null) {
+            return EndpointClass.DEFAULT;
+        }
+        if (path.equals("/api/users/authenticate") || path.equals("/api/users/registration")) {
+            return EndpointClass.AUTHENTICATION;
+        }
+        if (path.startsWith("/api/reports") && (path.length() == 12 || path.charAt(12) == '/')) {
+            return EndpointClass.REPORTS;
+        }
+        if (path.equals("/api/dashboard")) {
+            return EndpointClass.REPORTS;
+        }
+        return EndpointClass.DEFAULT;
+    }
+
+    /**
+     * Sends a {@code 429 Too Many Requests} response with a {@code Retry-After} header in whole seconds.
+     *
+     * @param response  the {@link HttpServletResponse} to send the response to
+     * @param waitNanos the number of nanoseconds after which the request would be admitted
+     * @throws IOException if an I/O error occurs while writing the response
+     */
+    private void sendTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+
+    /**
+     * A trusted proxy address or CIDR range.
+     *
+     * @param network      the bytes of the network address
+     * @param prefixLength the number of leading bits of an address that must match the network address
+     */
+    private record TrustedProxy(byte[] network, int prefixLength) {
+
+        /**
+         * Parses an IP address or a CIDR range such as {@code 10.0.0.0/8}.
+         *
+         * @param value the address or range
+         * @return the parsed trusted proxy
+         * @throws IllegalArgumentException if the value is not an IP address or CIDR range
+         */
+        static TrustedProxy parse(String value) {
+            int slash = value.indexOf('/');
+            byte[] network = toBytes(slash < 0 ? value : value.substring(0, slash));
+            if (network == null) {
+                throw new IllegalArgumentException("Trusted proxy is not an IP address: " + value);
+            }
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(value.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length of trusted proxy: " + value);
+            }
+            return new TrustedProxy(network, prefixLength);
+        }
+
+        /**
+         * Converts a textual IP address to its bytes without any name lookup.
+         *
+         * @param address the textual address
+         * @return the bytes of the address, or {@code null} if it is not an IP address literal
+         */
+        static byte[] toBytes(String address) {
+            if (address.startsWith("[") && address.endsWith("]")) {
+                address = address.substring(1, address.length() - 1);
+            }
+            int zone = address.indexOf('%');
+            if (zone >= 0) {
+                address = address.substring(0, zone);
+            }
+            boolean ipv4 = address.matches("\\d{1,3}(\\.\\d{1,3}){3}");
+            boolean ipv6 = address.indexOf(':') >= 0 && address.matches("[0-9A-Fa-f:.]+");
+            if (!ipv4 && !ipv6) {
+                return null;
+            }
+            try {
+                return InetAddress.getByName(address).getAddress();
+            } catch (UnknownHostException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Checks whether an address lies within this range.
+         *
+         * @param address the bytes of the address
+         * @return {@code true} if the address is within the range, {@code false} otherwise
+         */
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return remainingBits == 0 || (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
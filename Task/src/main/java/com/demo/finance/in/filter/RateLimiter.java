@@ -0,0 +1,231 @@
+package com.demo.finance.in.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket rate limiter with one bucket per client and one global bucket.
+ * <p>
+ * Every bucket is a single {@link AtomicLong} holding the theoretical arrival time of the generic cell rate
+ * algorithm, so acquiring tokens is one compare-and-set and the time until a rejected request would be admitted
+ * falls out of the same computation. Requests cost a number of tokens depending on their {@link EndpointClass},
+ * so that expensive endpoints exhaust a client's budget faster. When the global bucket is more than three quarters
+ * drained, client costs are doubled, so heavy clients are throttled first while the application is under load.
+ * </p>
+ * <p>
+ * Client buckets are kept in a bounded map split into stripes. When a stripe is full, buckets that have refilled
+ * completely are dropped, which loses no state since a full bucket behaves like a new one. If a stripe is still
+ * full, new clients of that stripe share its overflow bucket until space is available again.
+ * </p>
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * The classes of endpoints, which differ in their cost per request.
+     */
+    public enum EndpointClass {
+        /**
+         * Authentication and registration, which hash passwords.
+         */
+        AUTHENTICATION,
+        /**
+         * Reports and the dashboard, which scan the full transaction history.
+         */
+        REPORTS,
+        /**
+         * All other endpoints.
+         */
+        DEFAULT
+    }
+
+    private static final int STRIPES = 16;
+
+    private final boolean enabled;
+    private final long clientIntervalNanos;
+    private final long clientToleranceNanos;
+    private final long globalIntervalNanos;
+    private final long globalToleranceNanos;
+    private final long[] costs = new long[EndpointClass.values().length];
+    private final AtomicLong globalBucket = new AtomicLong(Long.MIN_VALUE);
+    private final BucketMap clientBuckets;
+    private final LongSupplier clock;
+    private final Counter[] clientThrottled = new Counter[EndpointClass.values().length];
+    private final Counter[] globalThrottled = new Counter[EndpointClass.values().length];
+
+    /**
+     * Constructs a {@code RateLimiter} with the configured budgets.
+     *
+     * @param enabled            whether requests are limited at all
+     * @param clientRate         the number of tokens a client earns per second
+     * @param clientBurst        the number of tokens a client can accumulate
+     * @param globalRate         the number of tokens all clients together earn per second
+     * @param globalBurst        the number of tokens all clients together can accumulate
+     * @param authenticationCost the number of tokens an authentication request costs
+     * @param reportsCost        the number of tokens a report request costs
+     * @param defaultCost        the number of tokens any other request costs
+     * @param maxClients         the maximum number of tracked client buckets
+     * @param meterRegistry      the registry of the throttling metrics
+     */
+    @Autowired
+    public RateLimiter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${app.rate-limit.client.rate:20}") double clientRate,
+                       @Value("${app.rate-limit.client.burst:40}") long clientBurst,
+                       @Value("${app.rate-limit.global.rate:1000}") double globalRate,
+                       @Value("${app.rate-limit.global.burst:2000}") long globalBurst,
+                       @Value("${app.rate-limit.cost.authentication:10}") long authenticationCost,
+                       @Value("${app.rate-limit.cost.reports:5}") long reportsCost,
+                       @Value("${app.rate-limit.cost.default:1}") long defaultCost,
+                       @Value("${app.rate-limit.max-clients:100000}") int maxClients,
+                       MeterRegistry meterRegistry) {
+        this(enabled, clientRate, clientBurst, globalRate, globalBurst, authenticationCost, reportsCost,
+                defaultCost, maxClients, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(boolean enabled, double clientRate, long clientBurst, double globalRate, long globalBurst,
+                long authenticationCost, long reportsCost, long defaultCost, int maxClients,
+                MeterRegistry meterRegistry, LongSupplier clock) {
+        long maxCost = Math.max(authenticationCost, Math.max(reportsCost, defaultCost));
+        if (maxCost * 2 > Math.min(clientBurst, globalBurst)) {
+            throw new IllegalArgumentException("Rate limit bursts must cover twice the highest request cost");
+        }
+        this.enabled = enabled;
+        this.clientIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / clientRate);
+        this.clientToleranceNanos = clientIntervalNanos * clientBurst;
+        this.globalIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / globalRate);
+        this.globalToleranceNanos = globalIntervalNanos * globalBurst;
+        this.costs[EndpointClass.AUTHENTICATION.ordinal()] = authenticationCost;
+        this.costs[EndpointClass.REPORTS.ordinal()] = reportsCost;
+        this.costs[EndpointClass.DEFAULT.ordinal()] = defaultCost;
+        this.clientBuckets = new BucketMap(Math.max(maxClients / STRIPES, 1));
+        this.clock = clock;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String tag = endpointClass.name().toLowerCase();
+            clientThrottled[endpointClass.ordinal()] = Counter.builder("app.ratelimit.throttled")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("endpoint_class", tag).tag("scope", "client").register(meterRegistry);
+            globalThrottled[endpointClass.ordinal()] = Counter.builder("app.ratelimit.throttled")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("endpoint_class", tag).tag("scope", "global").register(meterRegistry);
+        }
+        Gauge.builder("app.ratelimit.clients", clientBuckets, BucketMap::size)
+                .description("Client buckets tracked by the rate limiter").register(meterRegistry);
+    }
+
+    /**
+     * Indicates whether requests are limited.
+     *
+     * @return {@code true} if the rate limiter is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Tries to admit a request of the given client to an endpoint of the given class.
+     *
+     * @param clientKey     the key identifying the client, e.g. the user ID or the client IP address
+     * @param endpointClass the class of the requested endpoint
+     * @return {@code 0} if the request is admitted, otherwise the number of nanoseconds after which it would be
+     * admitted
+     */
+    public long tryAcquire(Object clientKey, EndpointClass endpointClass) {
+        if (!enabled) {
+            return 0L;
+        }
+        long now = clock.getAsLong();
+        long cost = costs[endpointClass.ordinal()];
+        long globalBacklog = Math.max(globalBucket.get(), now) - now;
+        long clientCost = globalBacklog * 4 > globalToleranceNanos * 3 ? cost * 2 : cost;
+        AtomicLong clientBucket = clientBuckets.get(clientKey, now);
+        long clientWait = acquire(clientBucket, now, clientCost * clientIntervalNanos, clientToleranceNanos);
+        if (clientWait > 0) {
+            clientThrottled[endpointClass.ordinal()].increment();
+            return clientWait;
+        }
+        long globalWait = acquire(globalBucket, now, cost * globalIntervalNanos, globalToleranceNanos);
+        if (globalWait > 0) {
+            clientBucket.addAndGet(-clientCost * clientIntervalNanos);
+            globalThrottled[endpointClass.ordinal()].increment();
+            return globalWait;
+        }
+        return 0L;
+    }
+
+    /**
+     * Acquires tokens from a bucket using the generic cell rate algorithm.
+     *
+     * @param bucket         the theoretical arrival time of the bucket
+     * @param now            the current time in nanoseconds
+     * @param costNanos      the cost of the request expressed as emission time
+     * @param toleranceNanos the burst tolerance of the bucket
+     * @return {@code 0} if the tokens were acquired, otherwise the nanoseconds until they would be available
+     */
+    private static long acquire(AtomicLong bucket, long now, long costNanos, long toleranceNanos) {
+        while (true) {
+            long current = bucket.get();
+            long next = Math.max(current, now) + costNanos;
+            long excess = next - now - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Bounded map of client buckets split into independently bounded stripes.
+     */
+    private static final class BucketMap {
+
+        @SuppressWarnings("unchecked")
+        private final Map<Object, AtomicLong>[] stripes = new Map[STRIPES];
+        private final AtomicLong[] overflowBuckets = new AtomicLong[STRIPES];
+        private final int maxPerStripe;
+
+        private BucketMap(int maxPerStripe) {
+            this.maxPerStripe = maxPerStripe;
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new ConcurrentHashMap<>();
+                overflowBuckets[i] = new AtomicLong(Long.MIN_VALUE);
+            }
+        }
+
+        private AtomicLong get(Object key, long now) {
+            int hash = key.hashCode();
+            int index = (hash ^ (hash >>> 16)) & (STRIPES - 1);
+            Map<Object, AtomicLong> stripe = stripes[index];
+            AtomicLong bucket = stripe.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (stripe.size() >= maxPerStripe) {
+                stripe.values().removeIf(idle -> idle.get() <= now);
+                if (stripe.size() >= maxPerStripe) {
+                    return overflowBuckets[index];
+                }
+            }
+            return stripe.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        private double size() {
+            int size = 0;
+            for (Map<Object, AtomicLong> stripe : stripes) {
+                size += stripe.size();
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.demo.finance.in.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable route authorization table compiled into a prefix trie over path segments.
+ * <p>
+ * Routes are declared once through the {@link Builder}, either as exact routes, which match a single path, or as
+ * prefix routes, which match a path and everything below it. Resolution walks the trie segment by segment directly
+ * over the request URI without splitting or copying it, so looking up a policy performs no allocations. An exact
+ * route wins over a prefix route on the same path, and a deeper prefix route wins over a shallower one. Paths that
+ * match no route resolve to the default policy of the table.
+ * </p>
+ */
+public final class RouteTable {
+
+    /**
+     * The access policy attached to a route.
+     */
+    public enum Policy {
+        /**
+         * The route is accessible without authentication.
+         */
+        PUBLIC,
+        /**
+         * The route requires an authenticated user with the "user" role.
+         */
+        USER,
+        /**
+         * The route requires an authenticated user with the "admin" role.
+         */
+        ADMIN
+    }
+
+    private final Node root;
+    private final Policy defaultPolicy;
+
+    private RouteTable(Node root, Policy defaultPolicy) {
+        this.root = root;
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    /**
+     * Creates a new builder for a route table.
+     *
+     * @param defaultPolicy the policy applied to paths that match no declared route
+     * @return a new {@link Builder}
+     */
+    public static Builder builder(Policy defaultPolicy) {
+        return new Builder(defaultPolicy);
+    }
+
+    /**
+     * Resolves the access policy for the given request path.
+     * <p>
+     * Anything after a {@code '?'} is ignored. Paths that do not start with {@code '/'} resolve to the default
+     * policy.
+     * </p>
+     *
+     * @param path the request path, e.g. the value of {@code HttpServletRequest.getRequestURI()}
+     * @return the policy of the most specific matching route, or the default policy if none matches
+     */
+    public Policy resolve(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return defaultPolicy;
+        }
+        int length = path.indexOf('?');
+        if (length < 0) {
+            length = path.length();
+        }
+        Node node = root;
+        Policy matched = node.prefixPolicy != null ? node.prefixPolicy : defaultPolicy;
+        int start = 1;
+        if (start >= length) {
+            return node.exactPolicy != null ? node.exactPolicy : matched;
+        }
+        while (true) {
+            int end = path.indexOf('/', start);
+            if (end < 0 || end > length) {
+                end = length;
+            }
+            node = node.child(path, start, end);
+            if (node == null) {
+                return matched;
+            }
+            if (node.prefixPolicy != null) {
+                matched = node.prefixPolicy;
+            }
+            if (end == length) {
+                return node.exactPolicy != null ? node.exactPolicy : matched;
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * A node of the trie. Children are kept in parallel arrays and scanned linearly, since every level of the route
+     * set only has a handful of segments.
+     */
+    private static final class Node {
+
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        private Policy exactPolicy;
+        private Policy prefixPolicy;
+
+        private Node child(String path, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.length() == length && path.regionMatches(start, segment, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrCreateChild(String segment) {
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            Node child = new Node();
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+
+    /**
+     * Builder that collects route declarations and compiles them into a {@link RouteTable}.
+     */
+    public static final class Builder {
+
+        private final Policy defaultPolicy;
+        private final Node root = new Node();
+
+        private Builder(Policy defaultPolicy) {
+            this.defaultPolicy = defaultPolicy;
+        }
+
+        /**
+         * Declares a route that matches only the given path.
+         *
+         * @param path   the path of the route, starting with {@code '/'}
+         * @param policy the policy of the route
+         * @return this builder
+         * @throws IllegalArgumentException if the path is invalid or the route is already declared
+         */
+        public Builder exact(String path, Policy policy) {
+            Node node = node(path);
+            if (node.exactPolicy != null) {
+                throw new IllegalArgumentException("Duplicate exact route: " + path);
+            }
+            node.exactPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Declares a route that matches the given path and every path below it.
+         *
+         * @param path   the path prefix of the route, starting with {@code '/'}
+         * @param policy the policy of the route
+         * @return this builder
+         * @throws IllegalArgumentException if the path is invalid or the route is already declared
+         */
+        public Builder prefix(String path, Policy policy) {
+            Node node = node(path);
+            if (node.prefixPolicy != null) {
+                throw new IllegalArgumentException("Duplicate prefix route: " + path);
+            }
+            node.prefixPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Compiles the declared routes into an immutable route table.
+         *
+         * @return the compiled {@link RouteTable}
+         */
+        public RouteTable build() {
+            return new RouteTable(root, defaultPolicy);
+        }
+
+        private Node node(String path) {
+            if (path == null || path.isEmpty() || path.charAt(0) != '/' || path.indexOf('?') >= 0) {
+                throw new IllegalArgumentException("Invalid route path: " + path);
+            }
+            Node node = root;
+            for (String segment : segments(path)) {
+                node = node.getOrCreateChild(segment);
+            }
+            return node;
+        }
+
+        private static List<String> segments(String path) {
+            List<String> segments = new ArrayList<>();
+            if (path.length() == 1) {
+                return segments;
+            }
+            int start = 1;
+            while (true) {
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    segments.add(path.substring(start));
+                    return segments;
+                }
+                segments.add(path.substring(start, end));
+                start = end + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.app.config.CacheInvalidationBus;
+import com.github.benmanes.caffeine.cache.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code CacheSnapshotter} class writes selected caches to a local snapshot file and restores them on startup,
+ * so that a restarted instance starts with warm caches and keeps its list of revoked tokens.
+ * <p>
+ * A snapshot is written on the configured interval and once more after the web server has stopped, and it is
+ * restored before the web server starts accepting requests. The file is memory-mapped and consists of a fixed
+ * header with a magic number, the format version, a flag marking a snapshot written on shutdown, the entry count
+ * and a CRC32 checksum of the body, followed by length-prefixed entries. Every entry holds its expiry time, the
+ * cache name, the key and the value encoded with the {@link CacheValueCodec}. Snapshots of another version or with
+ * a wrong checksum are ignored, and expired entries as well as entries of caches that are not restored are skipped
+ * without decoding them. Restored entries never replace values computed since startup.
+ * <p>
+ * Entries of a snapshot written on shutdown are current, as long as no other instance changed data while this
+ * instance was down. A periodic snapshot found after a crash may miss later changes, so only the crash-safe caches,
+ * which never hold anything that a later change could make wrong, such as the revoked tokens, are restored from it.
+ * The same applies to a shutdown snapshot while the {@link CacheInvalidationBus} is enabled: other instances may have
+ * changed data while this one was down, and the bus only resynchronizes the caches after a reconnect, not on its
+ * first connect. Right after a restore a periodic snapshot is written, so that a crash never restores the same
+ * snapshot again.
+ * <p>
+ * Users are snapshotted without their password hashes. The snapshot still contains tokens, so the file is only
+ * readable by its owner where the file system supports it.
+ */
+@Component
+@Slf4j
+public class CacheSnapshotter implements SmartLifecycle {
+
+    static final int MAGIC = 0x46434853;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 40;
+    private static final int SHUTDOWN_FLAG = 1;
+
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final Path path;
+    private final List<String> cacheNames;
+    private final Set<String> crashSafeCaches;
+    private final boolean invalidationEnabled;
+    private final Clock clock;
+    private volatile boolean running;
+
+    /**
+     * Constructs a {@code CacheSnapshotter} for the configured caches and file.
+     *
+     * @param cacheManager        the cache manager holding the snapshotted caches
+     * @param enabled             whether snapshots are written and restored at all
+     * @param path                the path of the snapshot file
+     * @param cacheNames          the names of the snapshotted caches
+     * @param crashSafeCaches     the names of the caches that are also restored from a periodic snapshot
+     * @param invalidationEnabled whether the caches are shared with other instances through the invalidation bus,
+     *                            in which case only the crash-safe caches are restored
+     */
+    @Autowired
+    public CacheSnapshotter(CacheManager cacheManager,
+                            @Value("${app.cache.snapshot.enabled:false}") boolean enabled,
+                            @Value("${app.cache.snapshot.path:${java.io.tmpdir}/finance-caches.snapshot}") String path,
+                            @Value("${app.cache.snapshot.caches:users,reports,budgets,tokens,invalidTokens}")
+                            String[] cacheNames,
+                            @Value("${app.cache.snapshot.crash-safe-caches:invalidTokens}") String[] crashSafeCaches,
+                            @Value("${app.cache.invalidation.enabled:true}") boolean invalidationEnabled) {
+        this(cacheManager, enabled, Path.of(path), List.of(cacheNames), Set.of(crashSafeCaches), invalidationEnabled,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a {@code CacheSnapshotter} computing the expiry times of the entries with the given clock.
+     *
+     * @param cacheManager        the cache manager holding the snapshotted caches
+     * @param enabled             whether snapshots are written and restored at all
+     * @param path                the path of the snapshot file
+     * @param cacheNames          the names of the snapshotted caches
+     * @param crashSafeCaches     the names of the caches that are also restored from a periodic snapshot
+     * @param invalidationEnabled whether the caches are shared with other instances through the invalidation bus,
+     *                            in which case only the crash-safe caches are restored
+     * @param clock               the clock of the expiry times
+     */
+    CacheSnapshotter(CacheManager cacheManager, boolean enabled, Path path, List<String> cacheNames,
+                     Set<String> crashSafeCaches, boolean invalidationEnabled, Clock clock) {
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.path = path;
+        this.cacheNames = List.copyOf(cacheNames);
+        this.crashSafeCaches = Set.copyOf(crashSafeCaches);
+        this.invalidationEnabled = invalidationEnabled;
+        this.clock = clock;
+    }
+
+    /**
+     * Restores the snapshot, if there is one, before the web server starts.
+     */
+    @Override
+    public void start() {
+        running = true;
+        if (enabled && Files.exists(path)) {
+            restore();
+            write(false);
+        }
+    }
+
+    /**
+     * Writes the shutdown snapshot after the web server has stopped.
+     */
+    @Override
+    public void stop() {
+        if (enabled && running) {
+            write(true);
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns a phase before the web server, so that the caches are restored before the first request and
+     * snapshotted after the last one.
+     *
+     * @return the lifecycle phase
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Writes a periodic snapshot.
+     */
+    @Scheduled(initialDelayString = "${app.cache.snapshot.interval-ms:300000}",
+            fixedDelayString = "${app.cache.snapshot.interval-ms:300000}")
+    public void snapshot() {
+        if (enabled && running) {
+            write(false);
+        }
+    }
+
+    /**
+     * Writes the snapshotted caches to the snapshot file, replacing the previous snapshot atomically. Failures are
+     * logged and leave the previous snapshot in place.
+     *
+     * @param onShutdown whether the snapshot is written on shutdown, after the last request
+     * @return the number of written entries, or {@code -1} if the snapshot could not be written
+     */
+    synchronized int write(boolean onShutdown) {
+        long now = clock.millis();
+        List<byte[]> entries = new ArrayList<>();
+        long bodyBytes = 0;
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null
+                    || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                    (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+            for (Map.Entry<Object, Object> entry : nativeCache.asMap().entrySet()) {
+                byte[] encoded = encodeEntry(cacheName, entry.getKey(), entry.getValue(),
+                        expiresAt(nativeCache.policy(), entry.getKey(), now));
+                if (encoded != null) {
+                    entries.add(encoded);
+                    bodyBytes += Integer.BYTES + encoded.length;
+                }
+            }
+        }
+        if (HEADER_BYTES + bodyBytes > Integer.MAX_VALUE) {
+            log.warn("Skipping cache snapshot of {} entries, it exceeds 2 GB", entries.size());
+            return -1;
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.deleteIfExists(temporary);
+            try (FileChannel channel = FileChannel.open(temporary, Set.of(StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE), ownerOnly())) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + bodyBytes);
+                buffer.position(HEADER_BYTES);
+                for (byte[] entry : entries) {
+                    buffer.putInt(entry.length).put(entry);
+                }
+                CRC32 checksum = new CRC32();
+                checksum.update(buffer.slice(HEADER_BYTES, (int) bodyBytes));
+                buffer.putInt(0, MAGIC)
+                        .putInt(4, VERSION)
+                        .putInt(8, onShutdown ? SHUTDOWN_FLAG : 0)
+                        .putLong(12, now)
+                        .putInt(20, entries.size())
+                        .putLong(24, bodyBytes)
+                        .putLong(32, checksum.getValue());
+                buffer.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote cache snapshot of {} entries to {}", entries.size(), path);
+            return entries.size();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write cache snapshot to {}: {}", path, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Restores the entries of the snapshot file that have not expired into the caches that are empty for them.
+     * Unreadable or invalid snapshots are logged and ignored.
+     *
+     * @return the number of restored entries
+     */
+    synchronized int restore() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring cache snapshot {} of invalid size {}", path, size);
+                return 0;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (!isValid(buffer, size)) {
+                return 0;
+            }
+            boolean onShutdown = (buffer.getInt(8) & SHUTDOWN_FLAG) != 0;
+            Set<String> restoredCaches = new HashSet<>(cacheNames);
+            if (!onShutdown || invalidationEnabled) {
+                restoredCaches.retainAll(crashSafeCaches);
+            }
+            long now = clock.millis();
+            int restored = 0;
+            int expired = 0;
+            int position = HEADER_BYTES;
+            while (position < size) {
+                int length = buffer.getInt(position);
+                ByteBuffer entry = buffer.slice(position + Integer.BYTES, length);
+                position += Integer.BYTES + length;
+                if (entry.getLong() <= now) {
+                    expired++;
+                    continue;
+                }
+                String cacheName = (String) CacheValueCodec.decode(entry);
+                Cache cache = restoredCaches.contains(cacheName) ? cacheManager.getCache(cacheName) : null;
+                if (cache != null) {
+                    Object key = CacheValueCodec.decode(entry);
+                    cache.putIfAbsent(key, CacheValueCodec.decode(entry));
+                    restored++;
+                }
+            }
+            log.info("Restored {} cache entries from the {} snapshot of {}, discarded {} expired entries", restored,
+                    onShutdown ? "shutdown" : "periodic", path, expired);
+            return restored;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable cache snapshot {}: {}", path, e.getMessage());
+            return 0;
+        }
+    }
+
+    private boolean isValid(ByteBuffer buffer, long size) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            log.warn("Ignoring cache snapshot {} of an unknown format or version", path);
+            return false;
+        }
+        long bodyBytes = buffer.getLong(24);
+        CRC32 checksum = new CRC32();
+        if (bodyBytes == size - HEADER_BYTES) {
+            checksum.update(buffer.slice(HEADER_BYTES, (int) bodyBytes));
+        }
+        if (bodyBytes != size - HEADER_BYTES || checksum.getValue() != buffer.getLong(32)) {
+            log.warn("Ignoring corrupted cache snapshot {}", path);
+            return false;
+        }
+        return true;
+    }
+
+    private static byte[] encodeEntry(String cacheName, Object key, Object value, long expiresAt) {
+        byte[] name = CacheValueCodec.encode(cacheName);
+        byte[] encodedKey = CacheValueCodec.encode(key);
+        byte[] encodedValue = CacheValueCodec.encode(value instanceof NullValue ? null : value);
+        if (encodedKey == null || encodedValue == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(Long.BYTES + name.length + encodedKey.length + encodedValue.length)
+                .putLong(expiresAt)
+                .put(name)
+                .put(encodedKey)
+                .put(encodedValue)
+                .array();
+    }
+
+    /**
+     * Computes when an entry expires from the remaining time of the cache's expiry policy.
+     *
+     * @param policy the policy of the cache
+     * @param key    the key of the entry
+     * @param now    the current time in epoch milliseconds
+     * @return the expiry time in epoch milliseconds, or {@link Long#MAX_VALUE} if the cache does not expire entries
+     */
+    private static long expiresAt(Policy<Object, Object> policy, Object key, long now) {
+        return policy.expireAfterWrite().flatMap(expiration -> remaining(expiration, key))
+                .or(() -> policy.expireAfterAccess().flatMap(expiration -> remaining(expiration, key)))
+                .map(remaining -> now + remaining.toMillis())
+                .orElse(Long.MAX_VALUE);
+    }
+
+    private static Optional<Duration> remaining(Policy.FixedExpiration<Object, Object> expiration, Object key) {
+        return expiration.ageOf(key).map(age -> expiration.getExpiresAfter().minus(age));
+    }
+
+    private static FileAttribute<?>[] ownerOnly() {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[]{
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+        };
+    }
+}
@@ -0,0 +1,272 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.domain.model.Budget;
+import com.demo.finance.domain.model.Report;
+import com.demo.finance.domain.model.User;
+import com.demo.finance.domain.utils.Role;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code CacheValueCodec} class encodes cached values into a compact binary form for the
+ * {@link OffHeapCacheTier} and the {@link CacheSnapshotter}, and decodes them back into equal objects.
+ * <p>
+ * Every value starts with a one-byte tag. Lengths, scales and integral numbers are written as variable-length
+ * integers, so that typical amounts and identifiers take one to three bytes, and decimals whose unscaled value fits
+ * a {@code long} are written without their {@link BigInteger}. Supported are {@code null}, booleans, integers, longs,
+ * strings, decimals, lists, maps, {@link Report}, {@link Budget} and {@link User}; decoded lists and maps are
+ * unmodifiable and keep their iteration order. Users are encoded without their password hash, which is only ever
+ * read from the database. Values of any other type are not encoded.
+ */
+final class CacheValueCodec {
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte STRING = 5;
+    private static final byte DECIMAL = 6;
+    private static final byte BIG_DECIMAL = 7;
+    private static final byte LIST = 8;
+    private static final byte MAP = 9;
+    private static final byte REPORT = 10;
+    private static final byte BUDGET = 11;
+    private static final byte USER = 12;
+
+    private byte[] bytes = new byte[64];
+    private int length;
+
+    private CacheValueCodec() {
+    }
+
+    /**
+     * Encodes a value.
+     *
+     * @param value the value to encode, may be {@code null}
+     * @return the encoded value, or {@code null} if the value or one of its elements has an unsupported type
+     */
+    static byte[] encode(Object value) {
+        CacheValueCodec codec = new CacheValueCodec();
+        if (!codec.writeValue(value)) {
+            return null;
+        }
+        return Arrays.copyOf(codec.bytes, codec.length);
+    }
+
+    /**
+     * Decodes a value from the remaining bytes of a buffer, advancing its position.
+     *
+     * @param buffer the buffer holding an encoded value
+     * @return the decoded value, may be {@code null}
+     * @throws IllegalArgumentException if the buffer does not hold a value written by {@link #encode(Object)}
+     */
+    static Object decode(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case NULL -> null;
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case INTEGER -> (int) readSignedVarLong(buffer);
+            case LONG -> readSignedVarLong(buffer);
+            case STRING -> readString(buffer);
+            case DECIMAL -> {
+                int scale = (int) readSignedVarLong(buffer);
+                yield BigDecimal.valueOf(readSignedVarLong(buffer), scale);
+            }
+            case BIG_DECIMAL -> {
+                int scale = (int) readSignedVarLong(buffer);
+                byte[] unscaled = new byte[(int) readVarLong(buffer)];
+                buffer.get(unscaled);
+                yield new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            case LIST -> readList(buffer);
+            case MAP -> readMap(buffer);
+            case REPORT -> {
+                Report report = new Report();
+                report.setReportId((Long) decode(buffer));
+                report.setUserId((Long) decode(buffer));
+                report.setTotalIncome((BigDecimal) decode(buffer));
+                report.setTotalExpense((BigDecimal) decode(buffer));
+                report.setBalance((BigDecimal) decode(buffer));
+                yield report;
+            }
+            case BUDGET -> {
+                Budget budget = new Budget();
+                budget.setBudgetId((Long) decode(buffer));
+                budget.setUserId((Long) decode(buffer));
+                budget.setMonthlyLimit((BigDecimal) decode(buffer));
+                budget.setCurrentExpenses((BigDecimal) decode(buffer));
+                yield budget;
+            }
+            case USER -> {
+                User user = new User();
+                user.setUserId((Long) decode(buffer));
+                user.setName((String) decode(buffer));
+                user.setEmail((String) decode(buffer));
+                user.setBlocked((Boolean) decode(buffer));
+                String role = (String) decode(buffer);
+                user.setRole(role == null ? null : Role.valueOf(role));
+                user.setVersion((Long) decode(buffer));
+                yield user;
+            }
+            default -> throw new IllegalArgumentException("Unknown cache value tag: " + tag);
+        };
+    }
+
+    private boolean writeValue(Object value) {
+        if (value == null) {
+            writeByte(NULL);
+        } else if (value instanceof Boolean booleanValue) {
+            writeByte(booleanValue ? TRUE : FALSE);
+        } else if (value instanceof Integer integerValue) {
+            writeByte(INTEGER);
+            writeSignedVarLong(integerValue);
+        } else if (value instanceof Long longValue) {
+            writeByte(LONG);
+            writeSignedVarLong(longValue);
+        } else if (value instanceof String string) {
+            writeByte(STRING);
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            writeBytes(utf8);
+        } else if (value instanceof BigDecimal decimal) {
+            writeDecimal(decimal);
+        } else if (value instanceof List<?> list) {
+            writeByte(LIST);
+            writeVarLong(list.size());
+            for (Object element : list) {
+                if (!writeValue(element)) {
+                    return false;
+                }
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            writeByte(MAP);
+            writeVarLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!writeValue(entry.getKey()) || !writeValue(entry.getValue())) {
+                    return false;
+                }
+            }
+        } else if (value instanceof Report report) {
+            writeByte(REPORT);
+            writeValue(report.getReportId());
+            writeValue(report.getUserId());
+            writeValue(report.getTotalIncome());
+            writeValue(report.getTotalExpense());
+            writeValue(report.getBalance());
+        } else if (value instanceof Budget budget) {
+            writeByte(BUDGET);
+            writeValue(budget.getBudgetId());
+            writeValue(budget.getUserId());
+            writeValue(budget.getMonthlyLimit());
+            writeValue(budget.getCurrentExpenses());
+        } else if (value instanceof User user) {
+            writeByte(USER);
+            writeValue(user.getUserId());
+            writeValue(user.getName());
+            writeValue(user.getEmail());
+            writeValue(user.isBlocked());
+            writeValue(user.getRole() == null ? null : user.getRole().name());
+            writeValue(user.getVersion());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void writeDecimal(BigDecimal decimal) {
+        BigInteger unscaled = decimal.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            writeByte(DECIMAL);
+            writeSignedVarLong(decimal.scale());
+            writeSignedVarLong(unscaled.longValue());
+        } else {
+            writeByte(BIG_DECIMAL);
+            writeSignedVarLong(decimal.scale());
+            byte[] unscaledBytes = unscaled.toByteArray();
+            writeVarLong(unscaledBytes.length);
+            writeBytes(unscaledBytes);
+        }
+    }
+
+    private void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((byte) value);
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        bytes[length++] = value;
+    }
+
+    private void writeBytes(byte[] values) {
+        ensureCapacity(values.length);
+        System.arraycopy(values, 0, bytes, length, values.length);
+        length += values.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (length + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+        }
+    }
+
+    private static long readSignedVarLong(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] utf8 = new byte[(int) readVarLong(buffer)];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static List<Object> readList(ByteBuffer buffer) {
+        int size = (int) readVarLong(buffer);
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(decode(buffer));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private static Map<Object, Object> readMap(ByteBuffer buffer) {
+        int size = (int) readVarLong(buffer);
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Object key = decode(buffer);
+            map.put(key, decode(buffer));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,131 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.app.config.UnitOfWork;
+import com.demo.finance.out.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code CategoryDictionary} class resolves transaction categories between their names and the integer IDs of
+ * the per-user category dictionary, and interns the names so that all transactions of a category share a single
+ * {@code String} instance.
+ * <p>
+ * Dictionary entries are never changed or removed once created, so resolved entries are cached without
+ * invalidation, within a bounded number of entries. Category IDs are unique across users. Categories resolved within
+ * a {@link UnitOfWork} are not cached, since the unit of work may still roll back the rows it created.
+ */
+@Component
+public class CategoryDictionary {
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<CategoryKey, Integer> idsByName;
+    private final Cache<Integer, String> namesById;
+    private final Cache<Long, Boolean> preloadedUsers;
+
+    /**
+     * Constructs a {@code CategoryDictionary} resolving uncached entries through the given repository.
+     *
+     * @param categoryRepository the repository of the category dictionary
+     * @param maxEntries         the maximum number of cached categories
+     */
+    public CategoryDictionary(CategoryRepository categoryRepository,
+                              @Value("${app.categories.max-entries:100000}") long maxEntries) {
+        this.categoryRepository = categoryRepository;
+        this.idsByName = Caffeine.newBuilder().maximumSize(maxEntries).build();
+        this.namesById = Caffeine.newBuilder().maximumSize(maxEntries).build();
+        this.preloadedUsers = Caffeine.newBuilder().maximumSize(Math.max(maxEntries / 10, 1)).build();
+    }
+
+    /**
+     * Returns the ID of a user's category, creating the category if it does not exist yet.
+     *
+     * @param userId the unique identifier of the user
+     * @param name   the name of the category
+     * @return the ID of the category
+     */
+    public int idOf(Long userId, String name) {
+        CategoryKey key = new CategoryKey(userId, name);
+        if (UnitOfWork.currentConnection() == null) {
+            return idsByName.get(key, k -> {
+                Integer categoryId = resolve(userId, name);
+                namesById.get(categoryId, id -> name);
+                return categoryId;
+            });
+        }
+        Integer categoryId = idsByName.getIfPresent(key);
+        return categoryId != null ? categoryId : resolve(userId, name);
+    }
+
+    /**
+     * Returns the ID of an existing category of a user, without creating it.
+     *
+     * @param userId the unique identifier of the user
+     * @param name   the name of the category
+     * @return the ID of the category, or {@code null} if the user has no such category
+     */
+    public Integer findId(Long userId, String name) {
+        CategoryKey key = new CategoryKey(userId, name);
+        Integer categoryId = idsByName.getIfPresent(key);
+        if (categoryId == null) {
+            categoryId = categoryRepository.findId(userId, name);
+            if (categoryId != null && UnitOfWork.currentConnection() == null) {
+                remember(userId, categoryId, name);
+            }
+        }
+        return categoryId;
+    }
+
+    /**
+     * Returns the interned name of a category.
+     *
+     * @param categoryId the unique identifier of the category
+     * @return the name of the category, or {@code null} if not found
+     */
+    public String nameOf(int categoryId) {
+        String name = namesById.getIfPresent(categoryId);
+        if (name != null) {
+            return name;
+        }
+        if (UnitOfWork.currentConnection() != null) {
+            return categoryRepository.findNameById(categoryId);
+        }
+        return namesById.get(categoryId, categoryRepository::findNameById);
+    }
+
+    /**
+     * Loads all categories of a user into the dictionary, unless they were loaded before, so that mapping the user's
+     * transactions needs no further lookups.
+     *
+     * @param userId the unique identifier of the user
+     */
+    public void preload(Long userId) {
+        if (UnitOfWork.currentConnection() != null) {
+            return;
+        }
+        preloadedUsers.get(userId, id -> {
+            categoryRepository.findByUserId(id).forEach((name, categoryId) -> remember(id, categoryId, name));
+            return Boolean.TRUE;
+        });
+    }
+
+    private Integer resolve(Long userId, String name) {
+        Integer categoryId = categoryRepository.findId(userId, name);
+        return categoryId != null ? categoryId : categoryRepository.findOrCreate(userId, name);
+    }
+
+    private void remember(Long userId, Integer categoryId, String name) {
+        String internedName = namesById.get(categoryId, id -> name);
+        idsByName.put(new CategoryKey(userId, internedName), categoryId);
+    }
+
+    /**
+     * The key of a category within the dictionary.
+     *
+     * @param userId the unique identifier of the user owning the category
+     * @param name   the name of the category
+     */
+    private record CategoryKey(Long userId, String name) {
+    }
+}
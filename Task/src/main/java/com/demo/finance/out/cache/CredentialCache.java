@@ -0,0 +1,102 @@
+package com.demo.finance.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * The {@code CredentialCache} class remembers successful password verifications for a short time, so that clients
+ * logging in repeatedly with the same credentials do not pay for the password hashing on every attempt.
+ * <p>
+ * Entries are keyed by an HMAC of the email, the raw password and the stored password hash, computed with a random
+ * key generated on startup, so the cache never holds a password or anything that can be checked against one outside
+ * of this process. Since the stored hash is part of the key, changing the password invalidates all of its entries.
+ * Failed verifications are never cached.
+ */
+@Component
+public class CredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final Cache<ByteBuffer, Boolean> verified;
+
+    /**
+     * Constructs a {@code CredentialCache} with a freshly generated HMAC key.
+     *
+     * @param enabled    whether successful verifications are cached
+     * @param ttlSeconds how long a successful verification is remembered in seconds
+     * @param maxEntries the maximum number of remembered verifications
+     */
+    public CredentialCache(@Value("${app.auth.credential-cache.enabled:true}") boolean enabled,
+                           @Value("${app.auth.credential-cache.ttl-seconds:60}") long ttlSeconds,
+                           @Value("${app.auth.credential-cache.max-entries:10000}") long maxEntries) {
+        this.enabled = enabled;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Checks whether the given credentials were verified against the given stored hash recently.
+     *
+     * @param email      the email of the user
+     * @param password   the raw password entered by the user
+     * @param storedHash the stored password hash of the user
+     * @return {@code true} if the credentials were verified recently, {@code false} otherwise
+     */
+    public boolean isVerified(String email, String password, String storedHash) {
+        return enabled && verified.getIfPresent(keyOf(email, password, storedHash)) != null;
+    }
+
+    /**
+     * Remembers a successful verification of the given credentials against the given stored hash.
+     *
+     * @param email      the email of the user
+     * @param password   the raw password entered by the user
+     * @param storedHash the stored password hash of the user
+     */
+    public void remember(String email, String password, String storedHash) {
+        if (enabled) {
+            verified.put(keyOf(email, password, storedHash), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Computes the cache key of the given credentials. The parts are length-prefixed, so that no two different
+     * credentials share the same HMAC input.
+     *
+     * @param email      the email of the user
+     * @param password   the raw password entered by the user
+     * @param storedHash the stored password hash of the user
+     * @return the HMAC of the credentials
+     */
+    private ByteBuffer keyOf(String email, String password, String storedHash) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            for (String part : new String[]{email, password, storedHash}) {
+                byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+                mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                mac.update(bytes);
+            }
+            return ByteBuffer.wrap(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error computing the credential cache key", e);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.demo.finance.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The {@code OffHeapCacheTier} class adds a second, off-heap tier behind selected Spring caches, so that large
+ * numbers of per-user reports, budgets and tokens can stay cached without growing the old generation of the heap.
+ * <p>
+ * Every value put into a tiered cache is also encoded with the {@link CacheValueCodec} and written to a shared
+ * {@link OffHeapStore} with its own memory budget. Reads are served by the on-heap cache first; on an on-heap miss
+ * the off-heap copy is decoded and promoted back into the on-heap cache, whose own size bound and eviction policy
+ * then decide which of the promoted entries stay hot. The on-heap caches can therefore be kept small while the
+ * off-heap tier holds the long tail. Values the codec does not support are cached on-heap only. Evictions and clears
+ * apply to both tiers.
+ * <p>
+ * Off-heap reads are counted in the {@code app.cache.off-heap.requests} counter, tagged with the result, and the
+ * number of entries, the allocated bytes and the evictions of the tier are reported as well.
+ */
+@Component
+@Slf4j
+public class OffHeapCacheTier {
+
+    private final boolean enabled;
+    private final Set<String> cacheNames;
+    private final OffHeapStore store;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Constructs an {@code OffHeapCacheTier} with the configured budget.
+     *
+     * @param meterRegistry the registry of the tier metrics
+     * @param enabled       whether the tier is used at all
+     * @param maxMegabytes  the off-heap memory budget in megabytes
+     * @param pageKilobytes the size of an off-heap page in kilobytes, which also bounds the size of a single value
+     * @param ttlSeconds    the time in seconds after which an off-heap entry is no longer served
+     * @param cacheNames    the names of the caches backed by the tier
+     */
+    @Autowired
+    public OffHeapCacheTier(MeterRegistry meterRegistry,
+                            @Value("${app.cache.off-heap.enabled:false}") boolean enabled,
+                            @Value("${app.cache.off-heap.max-megabytes:256}") long maxMegabytes,
+                            @Value("${app.cache.off-heap.page-kilobytes:1024}") int pageKilobytes,
+                            @Value("${app.cache.off-heap.ttl-seconds:3600}") long ttlSeconds,
+                            @Value("${app.cache.off-heap.caches:reports,budgets,tokens}") String[] cacheNames) {
+        this(meterRegistry, enabled, maxMegabytes * 1024 * 1024, pageKilobytes * 1024,
+                Duration.ofSeconds(ttlSeconds), Set.of(cacheNames), System::nanoTime);
+    }
+
+    /**
+     * Constructs an {@code OffHeapCacheTier} measuring the age of its entries with the given clock.
+     *
+     * @param meterRegistry the registry of the tier metrics
+     * @param enabled       whether the tier is used at all
+     * @param capacityBytes the off-heap memory budget in bytes
+     * @param pageBytes     the size of an off-heap page in bytes
+     * @param ttl           the time after which an off-heap entry is no longer served
+     * @param cacheNames    the names of the caches backed by the tier
+     * @param nanoClock     the time source of the entry ages
+     */
+    OffHeapCacheTier(MeterRegistry meterRegistry, boolean enabled, long capacityBytes, int pageBytes, Duration ttl,
+                     Set<String> cacheNames, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.cacheNames = Set.copyOf(cacheNames);
+        this.store = new OffHeapStore(capacityBytes, pageBytes, ttl.toNanos(), nanoClock);
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("app.cache.off-heap.entries", store, OffHeapStore::size)
+                .description("Entries held by the off-heap cache tier")
+                .register(meterRegistry);
+        Gauge.builder("app.cache.off-heap.bytes", store, OffHeapStore::allocatedBytes)
+                .description("Off-heap memory allocated by the cache tier")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.cache.off-heap.evictions", store, OffHeapStore::evictions)
+                .description("Off-heap cache entries dropped to stay within the memory budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a cache is backed by the tier.
+     *
+     * @param cacheName the name of the cache
+     * @return {@code true} if the tier is enabled and the cache is one of the tiered caches
+     */
+    public boolean isTiered(String cacheName) {
+        return enabled && cacheNames.contains(cacheName);
+    }
+
+    /**
+     * Adds the off-heap tier behind an on-heap cache.
+     *
+     * @param heapCache the on-heap cache
+     * @return the two-tier cache, or the given cache itself if it is not tiered
+     */
+    public Cache decorate(Cache heapCache) {
+        return isTiered(heapCache.getName()) ? new TieredCache(heapCache) : heapCache;
+    }
+
+    /**
+     * Removes the off-heap entries of a cache whose keys match a filter. The on-heap entries are left to the caller.
+     *
+     * @param cacheName the name of the cache
+     * @param keyFilter selects the cache keys to remove
+     */
+    public void evictIf(String cacheName, Predicate<Object> keyFilter) {
+        if (isTiered(cacheName)) {
+            store.removeIf(key -> key instanceof EntryKey entryKey && entryKey.cacheName().equals(cacheName)
+                    && keyFilter.test(entryKey.key()));
+        }
+    }
+
+    /**
+     * Removes the off-heap entries of a cache with the given keys. The on-heap entries are left to the caller.
+     *
+     * @param cacheName the name of the cache
+     * @param keys      the cache keys to remove
+     */
+    public void evictAll(String cacheName, Collection<?> keys) {
+        if (isTiered(cacheName)) {
+            keys.forEach(key -> store.remove(new EntryKey(cacheName, key)));
+        }
+    }
+
+    /**
+     * Checks whether a cache holds an off-heap entry with the given key.
+     *
+     * @param cacheName the name of the cache
+     * @param key       the cache key
+     * @return {@code true} if the tier holds an entry of the key, possibly expired
+     */
+    public boolean contains(String cacheName, Object key) {
+        return isTiered(cacheName) && store.contains(new EntryKey(cacheName, key));
+    }
+
+    /**
+     * Returns the number of off-heap entries.
+     *
+     * @return the number of entries held by the tier
+     */
+    public int size() {
+        return store.size();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("app.cache.off-heap.requests")
+                .description("Off-heap cache tier reads after an on-heap miss")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The key of a cache entry in the shared off-heap store.
+     *
+     * @param cacheName the name of the cache
+     * @param key       the key of the entry within the cache
+     */
+    private record EntryKey(String cacheName, Object key) {
+    }
+
+    /**
+     * A cache serving on-heap misses from the off-heap tier and writing every value through to it.
+     */
+    private final class TieredCache implements Cache {
+
+        private final Cache heap;
+
+        private TieredCache(Cache heap) {
+            this.heap = heap;
+        }
+
+        @Override
+        public String getName() {
+            return heap.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return heap.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper value = heap.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = readOffHeap(key);
+            if (value == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            heap.put(key, value.get());
+            return value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Class<T> type) {
+            ValueWrapper value = get(key);
+            if (value == null) {
+                return null;
+            }
+            if (value.get() != null && type != null && !type.isInstance(value.get())) {
+                throw new IllegalStateException("Cached value is not of required type [" + type.getName()
+                        + "]: " + value.get());
+            }
+            return (T) value.get();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            ValueWrapper value = get(key);
+            if (value != null) {
+                return (T) value.get();
+            }
+            T loaded = heap.get(key, valueLoader);
+            writeOffHeap(key, loaded);
+            return loaded;
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return heap.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return heap.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            heap.put(key, value);
+            writeOffHeap(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            ValueWrapper existing = heap.putIfAbsent(key, value);
+            if (existing == null) {
+                writeOffHeap(key, value);
+            }
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            heap.evict(key);
+            store.remove(new EntryKey(getName(), key));
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = heap.evictIfPresent(key);
+            return store.remove(new EntryKey(getName(), key)) || evicted;
+        }
+
+        @Override
+        public void clear() {
+            heap.clear();
+            evictIf(getName(), key -> true);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = heap.invalidate();
+            evictIf(getName(), key -> true);
+            return invalidated;
+        }
+
+        private ValueWrapper readOffHeap(Object key) {
+            try {
+                return store.get(new EntryKey(getName(), key),
+                        buffer -> new SimpleValueWrapper(CacheValueCodec.decode(buffer)));
+            } catch (RuntimeException e) {
+                log.warn("Dropping unreadable off-heap {} entry {}", getName(), key, e);
+                store.remove(new EntryKey(getName(), key));
+                return null;
+            }
+        }
+
+        private void writeOffHeap(Object key, Object value) {
+            EntryKey entryKey = new EntryKey(getName(), key);
+            byte[] bytes = CacheValueCodec.encode(value);
+            if (bytes == null) {
+                store.remove(entryKey);
+                log.debug("Keeping {} entry {} on-heap only, its value type is not supported", getName(), key);
+            } else if (!store.put(entryKey, bytes)) {
+                log.debug("Keeping {} entry {} on-heap only, its value exceeds the page size", getName(), key);
+            }
+        }
+    }
+}
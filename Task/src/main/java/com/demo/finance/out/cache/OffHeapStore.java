@@ -0,0 +1,221 @@
+package com.demo.finance.out.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * The {@code OffHeapStore} class keeps byte values outside the Java heap, in a fixed number of direct
+ * {@link ByteBuffer} pages that are written as a ring log.
+ * <p>
+ * Values are appended to the current page together with their length and write time, and the on-heap index only
+ * holds the key and a packed page and offset per entry. When the current page is full, writing continues on the
+ * next page, and once all pages are in use the oldest page is reused, dropping the entries still stored in it. The
+ * memory budget is therefore fixed at the page size times the number of pages, and the garbage collector only
+ * sees the index, never the values. Replaced and removed values are not compacted; their space is reclaimed when
+ * their page is reused. Entries older than the time-to-live are treated as absent.
+ * <p>
+ * Pages are allocated on first use. Reads share a lock that writes and page reuse hold exclusively, so a value is
+ * never overwritten while it is being read.
+ */
+final class OffHeapStore {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final int pageSize;
+    private final ByteBuffer[] pages;
+    private final List<List<Object>> pageKeys;
+    private final Map<Object, Long> index = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private int writePage;
+    private int writeOffset;
+    private long evictions;
+
+    /**
+     * Constructs an {@code OffHeapStore} with the given budget.
+     *
+     * @param capacityBytes the maximum number of bytes held off-heap, rounded down to whole pages but at least one
+     * @param pageSize      the size of a page in bytes, which also bounds the size of a single value
+     * @param ttlNanos      the time in nanoseconds after which an entry is treated as absent
+     * @param nanoClock     the time source of the write times
+     */
+    OffHeapStore(long capacityBytes, int pageSize, long ttlNanos, LongSupplier nanoClock) {
+        int pageCount = (int) Math.max(1, Math.min(Integer.MAX_VALUE, capacityBytes / pageSize));
+        this.pageSize = pageSize;
+        this.pages = new ByteBuffer[pageCount];
+        this.pageKeys = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pageKeys.add(new ArrayList<>());
+        }
+        this.ttlNanos = ttlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Stores a value, replacing the previous value of the key.
+     *
+     * @param key   the key of the entry
+     * @param value the bytes of the value
+     * @return {@code true} if the value was stored, {@code false} if it is larger than a page, in which case the
+     * previous value of the key is removed
+     */
+    boolean put(Object key, byte[] value) {
+        int size = HEADER_BYTES + value.length;
+        if (size > pageSize) {
+            index.remove(key);
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pages[writePage] == null) {
+                pages[writePage] = ByteBuffer.allocateDirect(pageSize);
+            } else if (writeOffset + size > pageSize) {
+                advancePage();
+            }
+            ByteBuffer page = pages[writePage];
+            page.putInt(writeOffset, value.length);
+            page.putLong(writeOffset + Integer.BYTES, nanoClock.getAsLong());
+            page.put(writeOffset + HEADER_BYTES, value);
+            index.put(key, location(writePage, writeOffset));
+            pageKeys.get(writePage).add(key);
+            writeOffset += size;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the value of a key.
+     *
+     * @param key    the key of the entry
+     * @param reader reads the value from a buffer positioned at its first byte and limited to its length; it is
+     *               called under the read lock and must not keep the buffer
+     * @param <T>    the type of the read value
+     * @return the result of the reader, or {@code null} if the key is absent or expired
+     */
+    <T> T get(Object key, Function<ByteBuffer, T> reader) {
+        lock.readLock().lock();
+        try {
+            Long location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            ByteBuffer page = pages[page(location)];
+            int offset = offset(location);
+            if (nanoClock.getAsLong() - page.getLong(offset + Integer.BYTES) > ttlNanos) {
+                index.remove(key, location);
+                return null;
+            }
+            return reader.apply(page.slice(offset + HEADER_BYTES, page.getInt(offset)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the value of a key.
+     *
+     * @param key the key of the entry
+     * @return {@code true} if the key was present
+     */
+    boolean remove(Object key) {
+        return index.remove(key) != null;
+    }
+
+    /**
+     * Checks whether a key has a value, including an expired value that has not been read since it expired.
+     *
+     * @param key the key of the entry
+     * @return {@code true} if the key is present
+     */
+    boolean contains(Object key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Removes the values of all keys matching a filter.
+     *
+     * @param keyFilter selects the keys to remove
+     */
+    void removeIf(Predicate<Object> keyFilter) {
+        index.keySet().removeIf(keyFilter);
+    }
+
+    /**
+     * Returns the number of entries, including expired entries that have not been read since they expired.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of bytes of the pages allocated so far.
+     *
+     * @return the allocated off-heap memory in bytes
+     */
+    long allocatedBytes() {
+        long allocated = 0;
+        for (ByteBuffer page : pages) {
+            if (page != null) {
+                allocated += page.capacity();
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Returns the number of entries dropped because their page was reused.
+     *
+     * @return the number of evicted entries
+     */
+    long evictions() {
+        lock.readLock().lock();
+        try {
+            return evictions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void advancePage() {
+        writePage = (writePage + 1) % pages.length;
+        writeOffset = 0;
+        if (pages[writePage] == null) {
+            pages[writePage] = ByteBuffer.allocateDirect(pageSize);
+            return;
+        }
+        int reusedPage = writePage;
+        List<Object> keys = pageKeys.get(reusedPage);
+        for (Object key : keys) {
+            Long location = index.get(key);
+            if (location != null && page(location) == reusedPage && index.remove(key, location)) {
+                evictions++;
+            }
+        }
+        keys.clear();
+    }
+
+    private static long location(int page, int offset) {
+        return ((long) page << Integer.SIZE) | offset;
+    }
+
+    private static int page(long location) {
+        return (int) (location >>> Integer.SIZE);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+}
@@ -0,0 +1,195 @@
+package com.demo.finance.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The {@code RefreshAhead} class turns the {@code reports} and {@code budgets} caches into refresh-ahead caches:
+ * an entry read after the refresh interval is still served, while its value is recomputed on a bounded background
+ * executor and replaces the entry once ready. Requests therefore only pay for a computation on a true cache miss.
+ * <p>
+ * The cached services compute their values through {@link #load(String, Object, Supplier)}, which remembers how to
+ * recompute every key. Refreshes are only triggered by reads, and entries not read within the access expiry are
+ * evicted together with their recompute function, so only recently accessed keys are ever reloaded. A failed reload
+ * keeps serving the previous value, and an entry whose recompute function is unknown is dropped at refresh time
+ * instead. Entries are still evicted immediately by the {@code CacheDependencies} when their data changes.
+ */
+@Component
+@Slf4j
+public class RefreshAhead implements CacheManagerCustomizer<CaffeineCacheManager> {
+
+    static final List<String> REFRESHED_CACHES = List.of("reports", "budgets");
+
+    private final SingleFlight singleFlight;
+    private final boolean enabled;
+    private final Duration refreshAfter;
+    private final Duration expireAfterAccess;
+    private final long maxEntries;
+    private final Cache<LoaderKey, Supplier<?>> loaders;
+    private final Executor executor;
+    private final Ticker ticker;
+
+    /**
+     * Constructs a {@code RefreshAhead} with its own bounded refresh executor.
+     *
+     * @param singleFlight             coalesces refreshes with concurrent computations of the same key
+     * @param enabled                  whether the refreshed caches use refresh-ahead at all
+     * @param refreshAfterSeconds      the age in seconds after which a read entry is refreshed
+     * @param expireAfterAccessSeconds the time in seconds after which an entry that was not read is evicted
+     * @param maxEntries               the maximum number of entries per refreshed cache
+     * @param threads                  the number of threads refreshing entries
+     * @param queueCapacity            the number of refreshes that may wait for a thread
+     */
+    @Autowired
+    public RefreshAhead(SingleFlight singleFlight,
+                        @Value("${app.cache.refresh-ahead.enabled:true}") boolean enabled,
+                        @Value("${app.cache.refresh-ahead.refresh-after-seconds:300}") long refreshAfterSeconds,
+                        @Value("${app.cache.refresh-ahead.expire-after-access-seconds:3600}")
+                        long expireAfterAccessSeconds,
+                        @Value("${app.cache.refresh-ahead.max-entries:500}") long maxEntries,
+                        @Value("${app.cache.refresh-ahead.threads:2}") int threads,
+                        @Value("${app.cache.refresh-ahead.queue-capacity:100}") int queueCapacity) {
+        this(singleFlight, enabled, Duration.ofSeconds(refreshAfterSeconds),
+                Duration.ofSeconds(expireAfterAccessSeconds), maxEntries, refreshExecutor(threads, queueCapacity),
+                Ticker.systemTicker());
+    }
+
+    /**
+     * Constructs a {@code RefreshAhead} refreshing entries on the given executor and measuring their age with the
+     * given ticker.
+     *
+     * @param singleFlight      coalesces refreshes with concurrent computations of the same key
+     * @param enabled           whether the refreshed caches use refresh-ahead at all
+     * @param refreshAfter      the age after which a read entry is refreshed
+     * @param expireAfterAccess the time after which an entry that was not read is evicted
+     * @param maxEntries        the maximum number of entries per refreshed cache
+     * @param executor          the executor running the refreshes
+     * @param ticker            the time source of the caches
+     */
+    RefreshAhead(SingleFlight singleFlight, boolean enabled, Duration refreshAfter, Duration expireAfterAccess,
+                 long maxEntries, Executor executor, Ticker ticker) {
+        this.singleFlight = singleFlight;
+        this.enabled = enabled;
+        this.refreshAfter = refreshAfter;
+        this.expireAfterAccess = expireAfterAccess;
+        this.maxEntries = maxEntries;
+        this.executor = executor;
+        this.ticker = ticker;
+        this.loaders = Caffeine.newBuilder()
+                .maximumSize(maxEntries * REFRESHED_CACHES.size())
+                .expireAfterAccess(expireAfterAccess)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Replaces the refreshed caches of the cache manager with refresh-ahead caches, unless refresh-ahead is disabled.
+     *
+     * @param cacheManager the cache manager created from the {@code spring.cache} properties
+     */
+    @Override
+    public void customize(CaffeineCacheManager cacheManager) {
+        if (!enabled) {
+            return;
+        }
+        for (String cacheName : REFRESHED_CACHES) {
+            cacheManager.registerCustomCache(cacheName, buildCache(cacheName));
+        }
+    }
+
+    /**
+     * Computes the value of a cache key and remembers the computation, so that the entry can be refreshed later.
+     * Concurrent computations of the same key are coalesced.
+     *
+     * @param cacheName the name of the cache the value is stored in
+     * @param key       the key of the cache entry
+     * @param loader    computes the value of the key
+     * @param <T>       the type of the value
+     * @return the computed value
+     */
+    public <T> T load(String cacheName, Object key, Supplier<T> loader) {
+        if (enabled) {
+            loaders.put(new LoaderKey(cacheName, key), loader);
+        }
+        return singleFlight.execute(cacheName, key, loader);
+    }
+
+    /**
+     * Builds a refresh-ahead cache reloading its entries through the remembered computations.
+     *
+     * @param cacheName the name of the cache
+     * @return the native cache
+     */
+    Cache<Object, Object> buildCache(String cacheName) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(expireAfterAccess)
+                .refreshAfterWrite(refreshAfter)
+                .executor(executor)
+                .ticker(ticker)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Object load(Object key) {
+                        return null;
+                    }
+
+                    @Override
+                    public Object reload(Object key, Object oldValue) {
+                        Supplier<?> loader = loaders.getIfPresent(new LoaderKey(cacheName, key));
+                        if (loader == null) {
+                            return null;
+                        }
+                        log.debug("Refreshing {} entry {}", cacheName, key);
+                        return singleFlight.execute(cacheName, key, loader);
+                    }
+                });
+    }
+
+    /**
+     * Stops the refresh threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static ExecutorService refreshExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The key of a remembered computation.
+     *
+     * @param cacheName the name of the cache
+     * @param key       the key of the cache entry
+     */
+    private record LoaderKey(String cacheName, Object key) {
+    }
+}
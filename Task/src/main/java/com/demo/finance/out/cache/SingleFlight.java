@@ -0,0 +1,112 @@
+package com.demo.finance.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The {@code SingleFlight} class coalesces concurrent loads of the same key, so that callers missing a cache at the
+ * same time share one in-flight computation and its database round-trips instead of repeating them.
+ * <p>
+ * The first caller of a key runs the loader, every caller arriving while it runs waits for and receives the same
+ * result, or the same exception. Nothing is kept once the computation completes, so callers arriving afterwards run
+ * the loader again; caching the result is left to the caller. A loader must not load its own key again.
+ * <p>
+ * The loads are counted in the {@code app.cache.loads} counter of the {@link MeterRegistry}, tagged with the flight
+ * name and whether the call was coalesced into a computation of another caller.
+ */
+@Component
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code SingleFlight} reporting its loads to the given registry.
+     *
+     * @param meterRegistry the registry of the load counters
+     */
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the result of the loader, sharing the computation with all concurrent callers of the same key.
+     *
+     * @param name   the name of the flight, e.g. the name of the cache being loaded
+     * @param key    the key being loaded
+     * @param loader computes the value of the key
+     * @param <T>    the type of the value
+     * @return the value computed by this or a concurrent caller, may be {@code null}
+     * @throws RuntimeException if the loader failed, rethrown to every caller sharing the computation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        FlightKey flightKey = new FlightKey(name, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        Counter[] nameCounters = counters.computeIfAbsent(name, this::registerCounters);
+        if (existing != null) {
+            nameCounters[1].increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+        nameCounters[0].increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * Returns the number of computations currently in flight.
+     *
+     * @return the number of keys being loaded
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private Counter[] registerCounters(String name) {
+        return new Counter[]{counter(name, false), counter(name, true)};
+    }
+
+    private Counter counter(String name, boolean coalesced) {
+        return Counter.builder("app.cache.loads")
+                .description("Cache loads, either computed or coalesced into a concurrent computation")
+                .tag("name", name)
+                .tag("coalesced", Boolean.toString(coalesced))
+                .register(meterRegistry);
+    }
+
+    /**
+     * The key of a computation in flight.
+     *
+     * @param name the name of the flight
+     * @param key  the key being loaded
+     */
+    private record FlightKey(String name, Object key) {
+    }
+}
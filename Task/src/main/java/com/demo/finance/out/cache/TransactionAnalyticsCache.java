@@ -0,0 +1,170 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.app.config.CacheInvalidationBus;
+import com.demo.finance.domain.model.Transaction;
+import com.demo.finance.out.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The {@code TransactionAnalyticsCache} class answers aggregations over a user's transactions, such as report
+ * totals, budget expenses and goal balances, from an in-memory columnar copy of the user's history.
+ * <p>
+ * A user's history is loaded as {@link TransactionColumns} on first use and kept up to date incrementally by
+ * {@link #transactionSaved(Transaction)} and {@link #transactionDeleted(Long, Long)}, which the transaction service
+ * calls after committing its writes. Other instances drop their copy of the user's history through the
+ * {@link CacheInvalidationBus}. Histories are always loaded from the primary database, because a history reloaded
+ * after such an invalidation is kept until the user's next write, and a replica or a cached result may not reflect
+ * the write yet. As a safety net against missed invalidations, every history is reloaded after its time-to-live.
+ * The histories are held within a memory budget, weighed by their estimated size, and the histories of users that
+ * have not been queried recently are evicted first.
+ * <p>
+ * All queries return an empty {@link Optional} when the cache is disabled or a history cannot be represented as
+ * columns, in which case callers aggregate the transactions themselves.
+ */
+@Component
+@Slf4j
+public class TransactionAnalyticsCache {
+
+    static final String TOPIC = "analytics";
+
+    private final TransactionRepository transactionRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final Cache<Long, TransactionColumns> columnsByUser;
+
+    /**
+     * Constructs a {@code TransactionAnalyticsCache} and subscribes to the invalidations of other instances.
+     *
+     * @param transactionRepository the repository the histories are loaded from
+     * @param invalidationBus       the bus to publish and receive history invalidations on
+     * @param enabled               whether aggregations are answered from the cache at all
+     * @param maxMegabytes          the memory budget of all cached histories in megabytes
+     * @param ttlSeconds            the time after loading at which a history is reloaded, in seconds
+     */
+    public TransactionAnalyticsCache(TransactionRepository transactionRepository,
+                                     CacheInvalidationBus invalidationBus,
+                                     @Value("${app.analytics.enabled:true}") boolean enabled,
+                                     @Value("${app.analytics.max-megabytes:64}") long maxMegabytes,
+                                     @Value("${app.analytics.ttl-seconds:3600}") long ttlSeconds) {
+        this.transactionRepository = transactionRepository;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.columnsByUser = Caffeine.newBuilder()
+                .maximumWeight(maxMegabytes * 1024 * 1024)
+                .weigher((Long userId, TransactionColumns columns) ->
+                        (int) Math.min(columns.memoryBytes(), Integer.MAX_VALUE))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        invalidationBus.subscribe(TOPIC, this::applyInvalidations, columnsByUser::invalidateAll);
+    }
+
+    /**
+     * Sums the income and expense transactions of a user within a date range.
+     *
+     * @param userId the unique identifier of the user
+     * @param from   the start of the range (inclusive), or {@code null} for no lower bound
+     * @param to     the end of the range (inclusive), or {@code null} for no upper bound
+     * @return the totals, or an empty {@link Optional} if they cannot be answered from the cache
+     */
+    public Optional<TransactionTotals> totals(Long userId, LocalDate from, LocalDate to) {
+        TransactionColumns columns = columns(userId);
+        if (columns == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(columns.totals(from, to));
+        } catch (ArithmeticException e) {
+            log.debug("Totals of user {} overflow minor units, falling back", userId);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Sums the expense transactions of a user within a date range per category.
+     *
+     * @param userId the unique identifier of the user
+     * @param from   the start of the range (inclusive)
+     * @param to     the end of the range (inclusive)
+     * @return the sum of the expenses per category, or an empty {@link Optional} if they cannot be answered from
+     * the cache
+     */
+    public Optional<Map<String, BigDecimal>> expensesByCategory(Long userId, LocalDate from, LocalDate to) {
+        TransactionColumns columns = columns(userId);
+        if (columns == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(columns.expensesByCategory(from, to));
+        } catch (ArithmeticException e) {
+            log.debug("Expenses of user {} overflow minor units, falling back", userId);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Applies a committed insert or update of a transaction to the cached history of its user.
+     *
+     * @param transaction the saved transaction, including its ID and user ID
+     */
+    public void transactionSaved(Transaction transaction) {
+        if (!enabled || transaction.getUserId() == null) {
+            return;
+        }
+        if (transaction.getTransactionId() == null) {
+            columnsByUser.invalidate(transaction.getUserId());
+        } else {
+            columnsByUser.asMap().computeIfPresent(transaction.getUserId(),
+                    (userId, columns) -> columns.upsert(transaction));
+        }
+        invalidationBus.publish(TOPIC, transaction.getUserId().toString());
+    }
+
+    /**
+     * Applies a committed delete of a transaction to the cached history of its user.
+     *
+     * @param userId        the unique identifier of the user owning the transaction
+     * @param transactionId the unique identifier of the deleted transaction
+     */
+    public void transactionDeleted(Long userId, Long transactionId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        columnsByUser.asMap().computeIfPresent(userId, (id, columns) -> columns.remove(transactionId));
+        invalidationBus.publish(TOPIC, userId.toString());
+    }
+
+    /**
+     * Drops the histories of users changed on other instances.
+     *
+     * @param payloads the IDs of the changed users
+     */
+    void applyInvalidations(Collection<String> payloads) {
+        for (String payload : payloads) {
+            try {
+                columnsByUser.invalidate(Long.valueOf(payload));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring analytics invalidation with malformed user ID: {}", payload);
+            }
+        }
+    }
+
+    private TransactionColumns columns(Long userId) {
+        if (!enabled || userId == null) {
+            return null;
+        }
+        TransactionColumns columns = columnsByUser.get(userId,
+                id -> TransactionColumns.of(transactionRepository.findByUserIdOnPrimary(id)));
+        return columns.isSupported() ? columns : null;
+    }
+}
@@ -0,0 +1,328 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.domain.model.Transaction;
+import com.demo.finance.domain.utils.Type;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code TransactionColumns} class holds the transaction history of one user as immutable primitive columns
+ * sorted by date: the epoch day, the amount in minor units, the id of the category in the user's category dictionary
+ * and a bitset marking income transactions.
+ * <p>
+ * Aggregations locate the date range with two binary searches and sum the amounts in a single loop without
+ * allocating. Changes produce a new instance, so readers never observe a partially applied change.
+ * <p>
+ * Histories containing amounts with more than two decimal places or beyond the range of {@code long} minor units
+ * cannot be represented; they are marked as unsupported and must be aggregated by other means.
+ */
+final class TransactionColumns {
+
+    static final TransactionColumns UNSUPPORTED = new TransactionColumns(new long[0], new int[0], new long[0],
+            new int[0], new long[0], new String[0], false);
+
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    private final long[] transactionIds;
+    private final int[] epochDays;
+    private final long[] amounts;
+    private final int[] categoryIds;
+    private final long[] incomeBits;
+    private final String[] categories;
+    private final boolean supported;
+
+    private TransactionColumns(long[] transactionIds, int[] epochDays, long[] amounts, int[] categoryIds,
+                               long[] incomeBits, String[] categories, boolean supported) {
+        this.transactionIds = transactionIds;
+        this.epochDays = epochDays;
+        this.amounts = amounts;
+        this.categoryIds = categoryIds;
+        this.incomeBits = incomeBits;
+        this.categories = categories;
+        this.supported = supported;
+    }
+
+    /**
+     * Builds the columns of a transaction history.
+     *
+     * @param transactions the transactions of one user, in any order
+     * @return the columns, or {@link #UNSUPPORTED} if a transaction cannot be represented
+     */
+    static TransactionColumns of(List<Transaction> transactions) {
+        List<Transaction> sorted = new ArrayList<>(transactions);
+        sorted.sort(Comparator.comparing(Transaction::getDate));
+        int size = sorted.size();
+        long[] transactionIds = new long[size];
+        int[] epochDays = new int[size];
+        long[] amounts = new long[size];
+        int[] categoryIds = new int[size];
+        long[] incomeBits = new long[bitsetLength(size)];
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> categories = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Transaction transaction = sorted.get(i);
+            Long minorAmount = toMinorUnits(transaction.getAmount());
+            if (!isRepresentable(transaction) || minorAmount == null) {
+                return UNSUPPORTED;
+            }
+            transactionIds[i] = transaction.getTransactionId();
+            epochDays[i] = (int) transaction.getDate().toEpochDay();
+            amounts[i] = minorAmount;
+            categoryIds[i] = dictionary.computeIfAbsent(transaction.getCategory(), category -> {
+                categories.add(category);
+                return categories.size() - 1;
+            });
+            if (transaction.getType() == Type.INCOME) {
+                incomeBits[i >>> 6] |= 1L << i;
+            }
+        }
+        return new TransactionColumns(transactionIds, epochDays, amounts, categoryIds, incomeBits,
+                categories.toArray(String[]::new), true);
+    }
+
+    /**
+     * Indicates whether the history could be represented as columns.
+     *
+     * @return {@code false} for {@link #UNSUPPORTED}
+     */
+    boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Returns the number of transactions in the columns.
+     *
+     * @return the number of transactions
+     */
+    int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * Estimates the heap memory held by the columns.
+     *
+     * @return the estimated size in bytes
+     */
+    long memoryBytes() {
+        long bytes = 128L + 24L * size() + 8L * incomeBits.length;
+        for (String category : categories) {
+            bytes += 48L + 2L * category.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the columns with the given transaction added, or replacing the transaction with the same ID.
+     *
+     * @param transaction the added or changed transaction
+     * @return the changed columns, or {@code null} if the transaction cannot be represented
+     */
+    TransactionColumns upsert(Transaction transaction) {
+        Long minorAmount = toMinorUnits(transaction.getAmount());
+        if (!supported || !isRepresentable(transaction) || minorAmount == null) {
+            return null;
+        }
+        TransactionColumns base = remove(transaction.getTransactionId());
+        int epochDay = (int) transaction.getDate().toEpochDay();
+        int position = upperBound(base.epochDays, epochDay);
+        int categoryId = Arrays.asList(base.categories).indexOf(transaction.getCategory());
+        String[] categories = base.categories;
+        if (categoryId < 0) {
+            categoryId = categories.length;
+            categories = Arrays.copyOf(categories, categories.length + 1);
+            categories[categoryId] = transaction.getCategory();
+        }
+        int size = base.size() + 1;
+        long[] transactionIds = insert(base.transactionIds, position, transaction.getTransactionId());
+        int[] epochDays = insert(base.epochDays, position, epochDay);
+        long[] amounts = insert(base.amounts, position, minorAmount);
+        int[] categoryIds = insert(base.categoryIds, position, categoryId);
+        long[] incomeBits = new long[bitsetLength(size)];
+        for (int i = 0, source = 0; i < size; i++) {
+            boolean income = i == position ? transaction.getType() == Type.INCOME : base.isIncome(source++);
+            if (income) {
+                incomeBits[i >>> 6] |= 1L << i;
+            }
+        }
+        return new TransactionColumns(transactionIds, epochDays, amounts, categoryIds, incomeBits, categories, true);
+    }
+
+    /**
+     * Returns the columns without the transaction with the given ID.
+     *
+     * @param transactionId the ID of the removed transaction
+     * @return the changed columns, or these columns if they do not contain the transaction
+     */
+    TransactionColumns remove(long transactionId) {
+        int index = -1;
+        for (int i = 0; i < transactionIds.length; i++) {
+            if (transactionIds[i] == transactionId) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return this;
+        }
+        int size = size() - 1;
+        long[] incomeBits = new long[bitsetLength(size)];
+        for (int i = 0; i < size; i++) {
+            if (isIncome(i < index ? i : i + 1)) {
+                incomeBits[i >>> 6] |= 1L << i;
+            }
+        }
+        return new TransactionColumns(delete(transactionIds, index), delete(epochDays, index),
+                delete(amounts, index), delete(categoryIds, index), incomeBits, categories, supported);
+    }
+
+    /**
+     * Sums the income and expense transactions within a date range.
+     *
+     * @param from the start of the range (inclusive), or {@code null} for no lower bound
+     * @param to   the end of the range (inclusive), or {@code null} for no upper bound
+     * @return the totals of the transactions within the range
+     * @throws ArithmeticException if a sum overflows
+     */
+    TransactionTotals totals(LocalDate from, LocalDate to) {
+        int start = from == null ? 0 : lowerBound(epochDays, (int) from.toEpochDay());
+        int end = to == null ? size() : upperBound(epochDays, (int) to.toEpochDay());
+        long income = 0L;
+        long expense = 0L;
+        boolean anyIncome = false;
+        boolean anyExpense = false;
+        for (int i = start; i < end; i++) {
+            if (isIncome(i)) {
+                income = Math.addExact(income, amounts[i]);
+                anyIncome = true;
+            } else {
+                expense = Math.addExact(expense, amounts[i]);
+                anyExpense = true;
+            }
+        }
+        return new TransactionTotals(toAmount(income, anyIncome), toAmount(expense, anyExpense),
+                Math.max(end - start, 0));
+    }
+
+    /**
+     * Sums the expense transactions within a date range per category.
+     *
+     * @param from the start of the range (inclusive)
+     * @param to   the end of the range (inclusive)
+     * @return the sum of the expenses per category, containing only categories with expenses in the range
+     * @throws ArithmeticException if a sum overflows
+     */
+    Map<String, BigDecimal> expensesByCategory(LocalDate from, LocalDate to) {
+        int start = lowerBound(epochDays, (int) from.toEpochDay());
+        int end = upperBound(epochDays, (int) to.toEpochDay());
+        long[] sums = new long[categories.length];
+        boolean[] present = new boolean[categories.length];
+        for (int i = start; i < end; i++) {
+            if (!isIncome(i)) {
+                int categoryId = categoryIds[i];
+                sums[categoryId] = Math.addExact(sums[categoryId], amounts[i]);
+                present[categoryId] = true;
+            }
+        }
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (int categoryId = 0; categoryId < categories.length; categoryId++) {
+            if (present[categoryId]) {
+                result.put(categories[categoryId], BigDecimal.valueOf(sums[categoryId], MINOR_UNIT_SCALE));
+            }
+        }
+        return result;
+    }
+
+    private boolean isIncome(int index) {
+        return (incomeBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static boolean isRepresentable(Transaction transaction) {
+        return transaction.getTransactionId() != null && transaction.getDate() != null
+                && transaction.getCategory() != null && transaction.getType() != null;
+    }
+
+    private static Long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        try {
+            return amount.setScale(MINOR_UNIT_SCALE).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal toAmount(long minorUnits, boolean any) {
+        return any ? BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE) : BigDecimal.ZERO;
+    }
+
+    private static int bitsetLength(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    private static int lowerBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insert(long[] values, int position, long value) {
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        return result;
+    }
+
+    private static int[] insert(int[] values, int position, int value) {
+        int[] result = new int[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        return result;
+    }
+
+    private static long[] delete(long[] values, int index) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private static int[] delete(int[] values, int index) {
+        int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+}
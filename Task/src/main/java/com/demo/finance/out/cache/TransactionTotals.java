@@ -0,0 +1,22 @@
+package com.demo.finance.out.cache;
+
+import java.math.BigDecimal;
+
+/**
+ * The totals of a user's transactions within a date range.
+ *
+ * @param income  the sum of the income transactions, {@link BigDecimal#ZERO} if there are none
+ * @param expense the sum of the expense transactions, {@link BigDecimal#ZERO} if there are none
+ * @param count   the number of transactions within the date range
+ */
+public record TransactionTotals(BigDecimal income, BigDecimal expense, int count) {
+
+    /**
+     * Returns the balance of the transactions.
+     *
+     * @return the income minus the expenses
+     */
+    public BigDecimal balance() {
+        return income.subtract(expense);
+    }
+}
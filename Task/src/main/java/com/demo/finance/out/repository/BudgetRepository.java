@@ -24,6 +24,15 @@ public interface BudgetRepository {
      */
     boolean update(Budget updatedBudget);
 
+    /**
+     * Creates the budget of a user or changes the monthly limit of the existing one, and returns the budget as
+     * persisted, in a single statement.
+     *
+     * @param budget the {@link Budget} object carrying the user ID and the monthly limit
+     * @return the persisted {@link Budget}, or {@code null} if the operation failed
+     */
+    Budget upsert(Budget budget);
+
     /**
      * Retrieves a specific budget associated with a user by their user ID.
      *
@@ -0,0 +1,44 @@
+package com.demo.finance.out.repository;
+
+import java.util.Map;
+
+/**
+ * The {@code CategoryRepository} interface defines the contract for operations related to the per-user dictionary
+ * of transaction categories. Every distinct category name of a user is stored once and referenced by its integer ID.
+ */
+public interface CategoryRepository {
+
+    /**
+     * Returns the ID of a user's category, creating the category if it does not exist yet.
+     *
+     * @param userId the unique identifier of the user
+     * @param name   the name of the category
+     * @return the ID of the category
+     */
+    Integer findOrCreate(Long userId, String name);
+
+    /**
+     * Retrieves the ID of a user's category by its name.
+     *
+     * @param userId the unique identifier of the user
+     * @param name   the name of the category
+     * @return the ID of the category, or {@code null} if the user has no such category
+     */
+    Integer findId(Long userId, String name);
+
+    /**
+     * Retrieves the name of a category by its ID.
+     *
+     * @param categoryId the unique identifier of the category
+     * @return the name of the category, or {@code null} if not found
+     */
+    String findNameById(Integer categoryId);
+
+    /**
+     * Retrieves all categories of a user.
+     *
+     * @param userId the unique identifier of the user
+     * @return a {@link Map} of the category names to their IDs
+     */
+    Map<String, Integer> findByUserId(Long userId);
+}
@@ -0,0 +1,35 @@
+package com.demo.finance.out.repository;
+
+import java.util.Map;
+
+/**
+ * The {@code TokenRevocationRepository} interface defines the contract for operations related to the per-user
+ * revocation of tokens. A revocation rejects every token of a user issued before its time, on all instances.
+ */
+public interface TokenRevocationRepository {
+
+    /**
+     * Revokes the tokens of a user issued before the given time. An earlier time than the recorded one is ignored.
+     *
+     * @param userId        the unique identifier of the user
+     * @param revokedBefore the time before which the tokens of the user are revoked, in epoch milliseconds
+     * @return {@code true} if the revocation was recorded, {@code false} otherwise
+     */
+    boolean save(Long userId, long revokedBefore);
+
+    /**
+     * Retrieves the revocations recorded after the given time.
+     *
+     * @param since the time in epoch milliseconds, earlier revocations only reject already expired tokens
+     * @return a {@link Map} of the user IDs to the times before which their tokens are revoked
+     */
+    Map<Long, Long> findRevokedSince(long since);
+
+    /**
+     * Deletes the revocations recorded before the given time.
+     *
+     * @param before the time in epoch milliseconds
+     * @return {@code true} if any revocation was deleted, {@code false} otherwise
+     */
+    boolean deleteRevokedBefore(long before);
+}
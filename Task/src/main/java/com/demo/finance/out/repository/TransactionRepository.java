@@ -28,6 +28,24 @@ public interface TransactionRepository {
      */
     boolean update(Transaction transaction);
 
+    /**
+     * Saves a new transaction to the database and returns it as persisted, in a single statement.
+     *
+     * @param transaction the {@link Transaction} object to be saved
+     * @return the persisted {@link Transaction}, including its generated ID, or {@code null} if the save failed
+     */
+    Transaction saveAndReturn(Transaction transaction);
+
+    /**
+     * Updates the amount, category and description of a user's transaction and returns it as persisted,
+     * in a single statement.
+     *
+     * @param transaction the {@link Transaction} object carrying the transaction ID, the owner's user ID and
+     *                    the updated details
+     * @return the updated {@link Transaction}, or {@code null} if the user owns no such transaction
+     */
+    Transaction updateAndReturn(Transaction transaction);
+
     /**
      * Deletes a transaction from the database based on its unique transaction ID.
      *
@@ -36,6 +54,15 @@ public interface TransactionRepository {
      */
     boolean delete(Long transactionId);
 
+    /**
+     * Deletes a user's transaction from the database in a single statement.
+     *
+     * @param userId        the unique identifier of the user
+     * @param transactionId the unique identifier of the transaction to delete
+     * @return {@code true} if the user owned the transaction and it was deleted, {@code false} otherwise
+     */
+    boolean deleteByUserIdAndTransactionId(Long userId, Long transactionId);
+
     /**
      * Retrieves a specific transaction by its unique transaction ID.
      *
@@ -52,6 +79,15 @@ public interface TransactionRepository {
      */
     List<Transaction> findByUserId(Long userId);
 
+    /**
+     * Retrieves all transactions associated with a specific user from the primary database, including the writes
+     * of other instances that a replica or a cached result may not reflect yet.
+     *
+     * @param userId the unique identifier of the user
+     * @return a {@link List} of {@link Transaction} objects associated with the user
+     */
+    List<Transaction> findByUserIdOnPrimary(Long userId);
+
     /**
      * Retrieves a paginated list of transactions associated with a specific user.
      *
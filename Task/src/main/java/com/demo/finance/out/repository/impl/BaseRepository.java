@@ -1,9 +1,12 @@
 package com.demo.finance.out.repository.impl;
 
 import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.IdentityMap;
+import com.demo.finance.app.config.QueryCache;
+import com.demo.finance.app.config.SqlInstrumentation;
+import com.demo.finance.app.config.UnitOfWork;
 import com.demo.finance.domain.utils.GeneratedKey;
 import com.demo.finance.exception.custom.DatabaseException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
@@ -18,23 +21,77 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * The {@code BaseRepository} class serves as an abstract base class for all repository implementations.
  * It provides common database operations such as saving, updating, querying, and handling transactions,
  * leveraging JDBC to interact with the database. This class also includes utility methods for parameter binding,
  * result set mapping, and exception handling.
+ * <p>
+ * Queries are executed in autocommit mode on a read-only connection, which may be served by a read replica, so they
+ * need no round-trips for starting and committing a transaction. All other operations are executed within a
+ * transaction on the primary database. Every committed write is recorded so that the subsequent reads of the issuing
+ * user, and of the user whose rows it changed if known, see it.
+ * <p>
+ * Within an active {@link UnitOfWork}, all operations, queries included, join its connection and transaction instead.
+ * <p>
+ * Connection acquisition, statement execution and result mapping of every SQL statement are reported to the
+ * {@link SqlInstrumentation}.
+ * <p>
+ * Queries opted into the {@link QueryCache} are served from cached rows while no write has changed the rows they
+ * read. Writes report the user whose rows they change, if known, so that only that user's cached results are
+ * invalidated; writes within a unit of work invalidate once it has been committed.
+ * <p>
+ * Within an open {@link IdentityMap} scope, reads keyed by their parameters are executed once per request and
+ * answered from the rows read before when repeated, until a write changes them. Every executed statement is counted
+ * by the scope.
  */
 @Slf4j
-@RequiredArgsConstructor
 public abstract class BaseRepository {
 
     /**
      * The {@link DataSourceManager} for obtaining database connections.
      */
     protected final DataSourceManager dataSourceManager;
+    private final SqlInstrumentation sqlInstrumentation;
+    private final QueryCache queryCache;
     private static final Map<Class<?>, Method> SETTER_METHOD_CACHE = new HashMap<>();
 
+    /**
+     * Constructs a repository without SQL instrumentation.
+     *
+     * @param dataSourceManager the manager responsible for providing database connections
+     */
+    protected BaseRepository(DataSourceManager dataSourceManager) {
+        this(dataSourceManager, SqlInstrumentation.NOOP);
+    }
+
+    /**
+     * Constructs a repository reporting its SQL statements to the given instrumentation.
+     *
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param sqlInstrumentation the instrumentation recording the timings of SQL statements
+     */
+    protected BaseRepository(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation) {
+        this(dataSourceManager, sqlInstrumentation, QueryCache.DISABLED);
+    }
+
+    /**
+     * Constructs a repository reporting its SQL statements to the given instrumentation and caching the results of
+     * its opted-in queries.
+     *
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param sqlInstrumentation the instrumentation recording the timings of SQL statements
+     * @param queryCache         the cache holding the results of opted-in queries
+     */
+    protected BaseRepository(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation,
+                             QueryCache queryCache) {
+        this.dataSourceManager = dataSourceManager;
+        this.sqlInstrumentation = sqlInstrumentation;
+        this.queryCache = queryCache;
+    }
+
     /**
      * Persists a new entity to the database by executing the provided SQL insert query.
      *
@@ -44,7 +101,20 @@ public abstract class BaseRepository {
      * @param setter    the callback interface to set parameters on the prepared statement
      */
     protected <T> void persistEntity(T entity, String insertSql, PreparedStatementSetter setter) {
-        Long generatedId = insertRecord(insertSql, setter);
+        persistEntity(entity, insertSql, null, setter);
+    }
+
+    /**
+     * Persists a new entity of a user to the database by executing the provided SQL insert query.
+     *
+     * @param <T>       the type of the entity to be persisted
+     * @param entity    the entity object to be persisted
+     * @param insertSql the SQL insert query to execute
+     * @param userId    the user owning the entity, or {@code null} if unknown
+     * @param setter    the callback interface to set parameters on the prepared statement
+     */
+    protected <T> void persistEntity(T entity, String insertSql, Long userId, PreparedStatementSetter setter) {
+        Long generatedId = insertRecord(insertSql, userId, setter);
         if (generatedId != null) {
             setGeneratedId(entity, generatedId);
         }
@@ -58,11 +128,26 @@ public abstract class BaseRepository {
      * @return {@code true} if the update was successful, {@code false} otherwise
      */
     protected boolean updateRecord(String sql, PreparedStatementSetter setter) {
-        return executeWithinTransaction(conn -> {
+        return updateRecord(sql, null, setter);
+    }
+
+    /**
+     * Updates records of a single user in the database by executing the provided SQL update query.
+     *
+     * @param sql    the SQL update query to execute
+     * @param userId the only user whose records the query changes, or {@code null} if unknown
+     * @param setter the callback interface to set parameters on the prepared statement
+     * @return {@code true} if the update was successful, {@code false} otherwise
+     */
+    protected boolean updateRecord(String sql, Long userId, PreparedStatementSetter setter) {
+        SqlInstrumentation.Sample sample = sqlInstrumentation.start(sql);
+        return executeWithinTransaction(sample, sql, userId, conn -> {
             //noinspection SqlSourceToSinkFlow
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 setter.setValues(stmt);
                 int rowsAffected = stmt.executeUpdate();
+                sample.executed(stmt);
+                sample.updated(rowsAffected);
                 return rowsAffected > 0;
             }
         });
@@ -76,21 +161,80 @@ public abstract class BaseRepository {
      * @return the generated key ({@code Long}) of the newly inserted record, or {@code null} if no key is generated
      */
     protected Long insertRecord(String sql, PreparedStatementSetter setter) {
-        return executeWithinTransaction(conn -> {
+        return insertRecord(sql, null, setter);
+    }
+
+    /**
+     * Inserts a new record of a user into the database by executing the provided SQL insert query.
+     *
+     * @param sql    the SQL insert query to execute
+     * @param userId the user owning the record, or {@code null} if unknown
+     * @param setter the callback interface to set parameters on the prepared statement
+     * @return the generated key ({@code Long}) of the newly inserted record, or {@code null} if no key is generated
+     */
+    protected Long insertRecord(String sql, Long userId, PreparedStatementSetter setter) {
+        SqlInstrumentation.Sample sample = sqlInstrumentation.start(sql);
+        return executeWithinTransaction(sample, sql, userId, conn -> {
             //noinspection SqlSourceToSinkFlow
             try (PreparedStatement stmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
                 setter.setValues(stmt);
                 stmt.executeUpdate();
+                sample.executed(stmt);
                 try (ResultSet rs = stmt.getGeneratedKeys()) {
-                    if (rs.next()) {
-                        return rs.getLong(1);
-                    }
+                    Long generatedKey = rs.next() ? rs.getLong(1) : null;
+                    sample.mapped(generatedKey);
+                    return generatedKey;
                 }
             }
-            return null;
         });
     }
 
+    /**
+     * Executes a data-modifying SQL statement with a {@code RETURNING} clause and maps the first returned row,
+     * so that the persisted state of a record is obtained without reading it back in a separate query.
+     *
+     * @param sql    the SQL insert, update or upsert statement with a {@code RETURNING} clause
+     * @param setter the callback interface to set parameters on the prepared statement
+     * @param mapper the callback interface to map the returned row to an entity
+     * @param <T>    the type of the entity to return
+     * @return an {@link Optional} containing the mapped entity, or {@code Optional.empty()} if no row was written
+     * or the statement failed
+     */
+    protected <T> Optional<T> writeRecordReturning(String sql, PreparedStatementSetter setter,
+                                                   ResultSetMapper<T> mapper) {
+        return writeRecordReturning(sql, null, setter, mapper);
+    }
+
+    /**
+     * Executes a data-modifying SQL statement with a {@code RETURNING} clause on the records of a single user and
+     * maps the first returned row.
+     *
+     * @param sql    the SQL insert, update or upsert statement with a {@code RETURNING} clause
+     * @param userId the only user whose records the statement changes, or {@code null} if unknown
+     * @param setter the callback interface to set parameters on the prepared statement
+     * @param mapper the callback interface to map the returned row to an entity
+     * @param <T>    the type of the entity to return
+     * @return an {@link Optional} containing the mapped entity, or {@code Optional.empty()} if no row was written
+     * or the statement failed
+     */
+    protected <T> Optional<T> writeRecordReturning(String sql, Long userId, PreparedStatementSetter setter,
+                                                   ResultSetMapper<T> mapper) {
+        SqlInstrumentation.Sample sample = sqlInstrumentation.start(sql);
+        Optional<T> result = executeWithinTransaction(sample, sql, userId, conn -> {
+            //noinspection SqlSourceToSinkFlow
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                setter.setValues(stmt);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    sample.executed(stmt);
+                    Optional<T> written = rs.next() ? Optional.of(mapper.map(rs)) : Optional.empty();
+                    sample.mapped(written);
+                    return written;
+                }
+            }
+        });
+        return result != null ? result : Optional.empty();
+    }
+
     /**
      * Finds a single record in the database based on the provided SQL query and criteria.
      *
@@ -120,24 +264,248 @@ public abstract class BaseRepository {
      * @return a {@link List} of mapped entities
      */
     protected <T> List<T> findAllRecordsByCriteria(String sql, List<Object> params, ResultSetMapper<T> mapper) {
-        return queryDatabase(sql, stmt -> bindParameters(stmt, params), rs -> {
-            List<T> results = new ArrayList<>();
-            while (rs.next()) {
-                results.add(mapper.map(rs));
-            }
-            return results;
-        });
+        return findRecords(sql, null, params, mapper, false, false);
+    }
+
+    /**
+     * Finds a single record based on the provided SQL query and parameters. Unlike a query whose parameters are
+     * bound by a setter, the query is executed only once per {@link IdentityMap} scope until its table is written.
+     *
+     * @param sql    the SQL query to execute
+     * @param params the list of parameters to bind to the query
+     * @param mapper the callback interface to map the result set to an entity
+     * @param <T>    the type of the entity to retrieve
+     * @return an {@link Optional} containing the mapped entity, or {@code Optional.empty()} if no record is found
+     */
+    protected <T> Optional<T> findRecordByCriteria(String sql, List<Object> params, ResultSetMapper<T> mapper) {
+        List<T> records = findRecords(sql, null, params, mapper, false, false);
+        return records.isEmpty() ? Optional.empty() : Optional.of(records.get(0));
+    }
+
+    /**
+     * Finds a single record through the query cache, executing the query only if no current result is cached.
+     *
+     * @param sql    the SQL query to execute
+     * @param userId the only user whose records the query reads, or {@code null} if it reads across users
+     * @param params the list of parameters to bind to the query
+     * @param mapper the callback interface to map the result set to an entity
+     * @param <T>    the type of the entity to retrieve
+     * @return an {@link Optional} containing the mapped entity, or {@code Optional.empty()} if no record is found
+     */
+    protected <T> Optional<T> findCachedRecord(String sql, Long userId, List<Object> params,
+                                               ResultSetMapper<T> mapper) {
+        List<T> records = findAllCachedRecords(sql, userId, params, mapper);
+        return records.isEmpty() ? Optional.empty() : Optional.of(records.get(0));
+    }
+
+    /**
+     * Finds all records matching a query through the query cache, executing the query only if no current result is
+     * cached. Within an active unit of work, the query cache is bypassed, so that the unit of work sees its own
+     * uncommitted writes.
+     * <p>
+     * Cache misses are read from the primary database rather than a replica, so that no lagging result is cached.
+     *
+     * @param sql    the SQL query to execute
+     * @param userId the only user whose records the query reads, or {@code null} if it reads across users
+     * @param params the list of parameters to bind to the query
+     * @param mapper the callback interface to map the result set to an entity
+     * @param <T>    the type of the entities to retrieve
+     * @return a {@link List} of mapped entities
+     */
+    protected <T> List<T> findAllCachedRecords(String sql, Long userId, List<Object> params,
+                                               ResultSetMapper<T> mapper) {
+        return findRecords(sql, userId, params, mapper, true, false);
+    }
+
+    /**
+     * Finds all records matching a query on the primary database, bypassing the {@link IdentityMap} scope of the
+     * request and the query cache, whose results may have been read from the replica or before a write of another
+     * instance was received. Used for reads whose result is kept beyond the request.
+     *
+     * @param sql    the SQL query to execute
+     * @param params the list of parameters to bind to the query
+     * @param mapper the callback interface to map the result set to an entity
+     * @param <T>    the type of the entities to retrieve
+     * @return a {@link List} of mapped entities
+     */
+    protected <T> List<T> findAllRecordsOnPrimary(String sql, List<Object> params, ResultSetMapper<T> mapper) {
+        List<T> records = queryPrimaryDatabase(sql, stmt -> bindParameters(stmt, params), rs -> mapRows(rs, mapper));
+        return records != null ? records : new ArrayList<>();
     }
 
     /**
-     * Executes a database operation within a transactional context.
+     * Finds a single record through the query cache like {@link #findCachedRecord}, but always reads it from the
+     * primary database, even with the query cache turned off. Used for reads that must see writes made by other
+     * requests immediately, e.g. the lookup of a login right after the registration, for which no user is known
+     * whose reads could have been kept on the primary.
+     *
+     * @param sql    the SQL query to execute
+     * @param userId the only user whose records the query reads, or {@code null} if it reads across users
+     * @param params the list of parameters to bind to the query
+     * @param mapper the callback interface to map the result set to an entity
+     * @param <T>    the type of the entity to retrieve
+     * @return an {@link Optional} containing the mapped entity, or {@code Optional.empty()} if no record is found
+     */
+    protected <T> Optional<T> findCachedRecordOnPrimary(String sql, Long userId, List<Object> params,
+                                                        ResultSetMapper<T> mapper) {
+        List<T> records = findRecords(sql, userId, params, mapper, true, true);
+        return records.isEmpty() ? Optional.empty() : Optional.of(records.get(0));
+    }
+
+    /**
+     * Finds all records matching a query, answering it from the {@link IdentityMap} scope of the request and,
+     * if cacheable, from the query cache. Within an active unit of work, both are bypassed.
+     *
+     * @param sql       the SQL query to execute
+     * @param userId    the only user whose records the query reads, or {@code null} if it reads across users
+     * @param params    the list of parameters to bind to the query
+     * @param mapper    the callback interface to map the result set to an entity
+     * @param cacheable whether the query is opted into the query cache
+     * @param primary   whether the query is read from the primary database even if not cached
+     * @param <T>       the type of the entities to retrieve
+     * @return a {@link List} of mapped entities
+     */
+    private <T> List<T> findRecords(String sql, Long userId, List<Object> params, ResultSetMapper<T> mapper,
+                                    boolean cacheable, boolean primary) {
+        boolean cached = cacheable && queryCache.isEnabled();
+        Supplier<Connection> connections = cached || primary
+                ? dataSourceManager::getConnection
+                : dataSourceManager::getReadConnection;
+        if (UnitOfWork.currentConnection() != null || (!cached && IdentityMap.currentScope() == null)) {
+            return queryDatabase(sql, stmt -> bindParameters(stmt, params), rs -> mapRows(rs, mapper), connections);
+        }
+        CachedRows rows = IdentityMap.read(sql, userId, params, () -> cached
+                ? queryCache.get(sql, userId, params, () -> queryRows(sql, params, connections))
+                : queryRows(sql, params, connections));
+        if (rows == null) {
+            return new ArrayList<>();
+        }
+        SqlInstrumentation.Sample sample = sqlInstrumentation.start(sql);
+        try (ResultSet rs = rows.replay()) {
+            List<T> records = mapRows(rs, mapper);
+            sample.replayed();
+            return records;
+        } catch (SQLException e) {
+            logError("Failed to map cached rows", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Executes a query and copies the rows it returns.
+     *
+     * @param sql         the SQL query to execute
+     * @param params      the list of parameters to bind to the query
+     * @param connections provides the connection to execute the query on outside of a unit of work
+     * @return the copied rows, or {@code null} if an error occurs
+     */
+    private CachedRows queryRows(String sql, List<Object> params, Supplier<Connection> connections) {
+        return queryDatabase(sql, stmt -> bindParameters(stmt, params), CachedRows::capture, connections);
+    }
+
+    /**
+     * Maps all remaining rows of a result set.
+     *
+     * @param rs     the result set to map
+     * @param mapper the callback interface to map a row to an entity
+     * @param <T>    the type of the entities
+     * @return a {@link List} of mapped entities
+     * @throws SQLException if a database access error occurs
+     */
+    private <T> List<T> mapRows(ResultSet rs, ResultSetMapper<T> mapper) throws SQLException {
+        List<T> results = new ArrayList<>();
+        while (rs.next()) {
+            results.add(mapper.map(rs));
+        }
+        return results;
+    }
+
+    /**
+     * Executes a database operation within a transactional context on the primary database, or within the active
+     * unit of work.
      *
      * @param operation the transactional operation to execute
      * @param <T>       the type of the result returned by the operation
      * @return the result of the transactional operation, or {@code null} if an error occurs
      */
     protected <T> T executeWithinTransaction(TransactionalOperation<T> operation) {
-        try (Connection conn = dataSourceManager.getConnection()) {
+        return executeWithinTransaction(sqlInstrumentation.start(null), operation);
+    }
+
+    /**
+     * Executes a database operation within a transactional context on the primary database, reporting the
+     * connection acquisition to the given sample.
+     *
+     * @param sample    the sample measuring the SQL statement executed by the operation
+     * @param operation the transactional operation to execute
+     * @param <T>       the type of the result returned by the operation
+     * @return the result of the transactional operation, or {@code null} if an error occurs
+     */
+    private <T> T executeWithinTransaction(SqlInstrumentation.Sample sample, TransactionalOperation<T> operation) {
+        return executeWithinTransaction(sample, null, null, operation);
+    }
+
+    /**
+     * Executes a write within a transactional context on the primary database, drops the reads of the current
+     * request it may change and invalidates the cached query results it may change once it has been committed.
+     *
+     * @param sample    the sample measuring the SQL statement executed by the operation
+     * @param sql       the SQL statement executed by the operation, or {@code null} if unknown, in which case all
+     *                  reads of the current request are dropped and the query cache is left as it is
+     * @param userId    the only user whose records the statement changes, or {@code null} if unknown
+     * @param operation the transactional operation to execute
+     * @param <T>       the type of the result returned by the operation
+     * @return the result of the transactional operation, or {@code null} if an error occurs
+     */
+    private <T> T executeWithinTransaction(SqlInstrumentation.Sample sample, String sql, Long userId,
+                                           TransactionalOperation<T> operation) {
+        IdentityMap.executed(sql);
+        T result = executeWithinConnection(sample, userId, operation);
+        IdentityMap.written(sql, userId);
+        if (sql != null && queryCache.isEnabled()) {
+            UnitOfWork.afterCommit(() -> queryCache.written(sql, userId));
+        }
+        return result;
+    }
+
+    /**
+     * Executes a database operation on the connection of the active unit of work, or within a transaction of its
+     * own on the primary database, and records the write once it has been committed.
+     *
+     * @param sample    the sample measuring the SQL statement executed by the operation
+     * @param userId    the only user whose records the operation changes, or {@code null} if unknown
+     * @param operation the transactional operation to execute
+     * @param <T>       the type of the result returned by the operation
+     * @return the result of the transactional operation, or {@code null} if an error occurs
+     */
+    private <T> T executeWithinConnection(SqlInstrumentation.Sample sample, Long userId,
+                                          TransactionalOperation<T> operation) {
+        Connection unitOfWorkConnection = UnitOfWork.currentConnection();
+        if (unitOfWorkConnection != null) {
+            sample.acquired();
+            T result = executeWithinUnitOfWork(unitOfWorkConnection, operation);
+            if (userId != null) {
+                UnitOfWork.afterCommit(() -> dataSourceManager.recordWrite(userId));
+            }
+            return result;
+        }
+        Connection connection = dataSourceManager.getConnection();
+        sample.acquired();
+        T result = executeWithinTransaction(connection, operation);
+        dataSourceManager.recordWrite(userId);
+        return result;
+    }
+
+    /**
+     * Executes a database operation within a transactional context on the given connection and closes it.
+     *
+     * @param connection the database connection to use
+     * @param operation  the transactional operation to execute
+     * @param <T>        the type of the result returned by the operation
+     * @return the result of the transactional operation, or {@code null} if an error occurs
+     */
+    private <T> T executeWithinTransaction(Connection connection, TransactionalOperation<T> operation) {
+        try (Connection conn = connection) {
             conn.setAutoCommit(false);
             try {
                 T result = operation.execute(conn);
@@ -155,7 +523,44 @@ public abstract class BaseRepository {
     }
 
     /**
-     * Executes a query on the database and processes the result set using the provided handler.
+     * Executes a database operation on the connection of the active unit of work, leaving the connection open and
+     * the transaction uncommitted.
+     *
+     * @param connection the connection of the active unit of work
+     * @param operation  the operation to execute
+     * @param <T>        the type of the result returned by the operation
+     * @return the result of the operation
+     */
+    private <T> T executeWithinUnitOfWork(Connection connection, TransactionalOperation<T> operation) {
+        try {
+            return operation.execute(connection);
+        } catch (SQLException e) {
+            logError("Unit of work operation failed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Executes a read-only database operation in autocommit mode on the given connection and closes it.
+     *
+     * @param connection the database connection to use
+     * @param operation  the read-only operation to execute
+     * @param <T>        the type of the result returned by the operation
+     * @return the result of the operation, or {@code null} if an error occurs
+     */
+    private <T> T executeReadOnly(Connection connection, TransactionalOperation<T> operation) {
+        try (Connection conn = connection) {
+            conn.setAutoCommit(true);
+            conn.setReadOnly(true);
+            return operation.execute(conn);
+        } catch (SQLException e) {
+            logError("Read-only operation failed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Executes a query on a read-only connection and processes the result set using the provided handler.
      *
      * @param sql           the SQL query to execute
      * @param setter        the callback interface to set parameters on the prepared statement
@@ -164,15 +569,63 @@ public abstract class BaseRepository {
      * @return the result of processing the result set
      */
     protected <T> T queryDatabase(String sql, PreparedStatementSetter setter, ResultSetHandler<T> resultHandler) {
-        return executeWithinTransaction(conn -> {
+        return queryDatabase(sql, setter, resultHandler, dataSourceManager::getReadConnection);
+    }
+
+    /**
+     * Executes a query on a read-only connection to the primary database and processes the result set using the
+     * provided handler. Used for reads that must not miss writes made by other instances.
+     *
+     * @param sql           the SQL query to execute
+     * @param setter        the callback interface to set parameters on the prepared statement
+     * @param resultHandler the callback interface to process the result set
+     * @param <T>           the type of the result returned by the handler
+     * @return the result of processing the result set
+     */
+    protected <T> T queryPrimaryDatabase(String sql, PreparedStatementSetter setter,
+                                         ResultSetHandler<T> resultHandler) {
+        return queryDatabase(sql, setter, resultHandler, dataSourceManager::getConnection);
+    }
+
+    /**
+     * Executes a query on a read-only connection obtained from the given source and processes the result set using
+     * the provided handler.
+     *
+     * @param sql           the SQL query to execute
+     * @param setter        the callback interface to set parameters on the prepared statement
+     * @param resultHandler the callback interface to process the result set
+     * @param connections   provides the connection to execute the query on outside of a unit of work
+     * @param <T>           the type of the result returned by the handler
+     * @return the result of processing the result set
+     */
+    private <T> T queryDatabase(String sql, PreparedStatementSetter setter, ResultSetHandler<T> resultHandler,
+                                Supplier<Connection> connections) {
+        SqlInstrumentation.Sample sample = sqlInstrumentation.start(sql);
+        IdentityMap.executed(sql);
+        TransactionalOperation<T> query = conn -> {
             //noinspection SqlSourceToSinkFlow
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 setter.setValues(stmt);
                 try (ResultSet rs = stmt.executeQuery()) {
-                    return resultHandler.handle(rs);
+                    sample.executed(stmt);
+                    T result = resultHandler.handle(rs);
+                    if (result instanceof CachedRows rows) {
+                        sample.fetched(rows.size());
+                    } else {
+                        sample.mapped(result);
+                    }
+                    return result;
                 }
             }
-        });
+        };
+        Connection unitOfWorkConnection = UnitOfWork.currentConnection();
+        if (unitOfWorkConnection != null) {
+            sample.acquired();
+            return executeWithinUnitOfWork(unitOfWorkConnection, query);
+        }
+        Connection connection = connections.get();
+        sample.acquired();
+        return executeReadOnly(connection, query);
     }
 
     /**
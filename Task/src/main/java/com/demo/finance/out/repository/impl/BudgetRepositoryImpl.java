@@ -1,13 +1,17 @@
 package com.demo.finance.out.repository.impl;
 
 import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.QueryCache;
+import com.demo.finance.app.config.SqlInstrumentation;
 import com.demo.finance.domain.model.Budget;
 import com.demo.finance.out.repository.BudgetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * The {@code BudgetRepositoryImpl} class implements the {@link BudgetRepository} interface
@@ -21,6 +25,9 @@ public class BudgetRepositoryImpl extends BaseRepository implements BudgetReposi
             + "VALUES (?, ?, ?)";
     private static final String UPDATE_SQL = "UPDATE finance.budgets SET user_id = ?, monthly_limit = ?, "
             + "current_expenses = ? WHERE budget_id = ?";
+    private static final String UPSERT_SQL = "INSERT INTO finance.budgets (user_id, monthly_limit, current_expenses) "
+            + "VALUES (?, ?, ?) ON CONFLICT (user_id) DO UPDATE SET monthly_limit = EXCLUDED.monthly_limit "
+            + "RETURNING *";
     private static final String FIND_BY_USER_ID_SQL = "SELECT * FROM finance.budgets WHERE user_id = ?";
 
     /**
@@ -33,6 +40,20 @@ public class BudgetRepositoryImpl extends BaseRepository implements BudgetReposi
         super(dataSourceManager);
     }
 
+    /**
+     * Constructs a new {@code BudgetRepositoryImpl} instance reporting its SQL statements
+     * to the given instrumentation and caching the budgets of users in the given query cache.
+     *
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param sqlInstrumentation the instrumentation recording the timings of SQL statements
+     * @param queryCache         the cache holding the budgets of users
+     */
+    @Autowired
+    public BudgetRepositoryImpl(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation,
+                                   QueryCache queryCache) {
+        super(dataSourceManager, sqlInstrumentation, queryCache);
+    }
+
     /**
      * Saves a new budget to the database by executing the corresponding SQL insert query.
      *
@@ -41,7 +62,7 @@ public class BudgetRepositoryImpl extends BaseRepository implements BudgetReposi
      */
     @Override
     public boolean save(Budget budget) {
-        Long generatedId = insertRecord(INSERT_SQL, stmt -> setBudgetParameters(stmt, budget));
+        Long generatedId = insertRecord(INSERT_SQL, budget.getUserId(), stmt -> setBudgetParameters(stmt, budget));
         if (generatedId != null) {
             setGeneratedId(budget, generatedId);
             return true;
@@ -57,12 +78,26 @@ public class BudgetRepositoryImpl extends BaseRepository implements BudgetReposi
      */
     @Override
     public boolean update(Budget budget) {
-        return updateRecord(UPDATE_SQL, stmt -> {
+        return updateRecord(UPDATE_SQL, budget.getUserId(), stmt -> {
             setBudgetParameters(stmt, budget);
             stmt.setLong(4, budget.getBudgetId());
         });
     }
 
+    /**
+     * Creates the budget of a user or changes the monthly limit of the existing one by executing a single
+     * {@code INSERT ... ON CONFLICT (user_id) DO UPDATE ... RETURNING} statement. The current expenses of an
+     * existing budget are kept.
+     *
+     * @param budget the {@link Budget} object carrying the user ID and the monthly limit
+     * @return the persisted {@link Budget}, or {@code null} if the operation failed
+     */
+    @Override
+    public Budget upsert(Budget budget) {
+        return writeRecordReturning(UPSERT_SQL, budget.getUserId(), stmt -> setBudgetParameters(stmt, budget),
+                this::mapResultSetToBudget).orElse(null);
+    }
+
     /**
      * Retrieves a specific budget associated with a user by their user ID.
      *
@@ -71,8 +106,8 @@ public class BudgetRepositoryImpl extends BaseRepository implements BudgetReposi
      */
     @Override
     public Budget findByUserId(Long userId) {
-        return findRecordByCriteria(FIND_BY_USER_ID_SQL, stmt -> stmt.setLong(1, userId),
-                this::mapResultSetToBudget).orElse(null);
+        return findCachedRecord(FIND_BY_USER_ID_SQL, userId, List.of(userId), this::mapResultSetToBudget)
+                .orElse(null);
     }
 
     /**
@@ -0,0 +1,143 @@
+package com.demo.finance.out.repository.impl;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@code CachedRows} class holds an immutable copy of the rows of a result set, so that the result of a query
+ * can be kept in the query cache and mapped again on every hit.
+ * <p>
+ * Caching rows rather than mapped entities keeps the cache free of shared mutable objects: every hit is mapped by
+ * the repository's own mapper into fresh entities. The replayed result set supports the accessors used by the
+ * mappers, i.e. {@code next}, {@code getObject}, {@code getString}, {@code getLong}, {@code getInt},
+ * {@code getBigDecimal}, {@code getBoolean}, {@code getDate} and {@code wasNull}, by column label or index.
+ */
+final class CachedRows {
+
+    private final Map<String, Integer> columns;
+    private final List<Object[]> rows;
+
+    private CachedRows(Map<String, Integer> columns, List<Object[]> rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * Copies the remaining rows of a result set.
+     *
+     * @param rs the result set to copy
+     * @return the copied rows
+     * @throws SQLException if a database access error occurs
+     */
+    static CachedRows capture(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 1; i <= columnCount; i++) {
+            columns.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        while (rs.next()) {
+            Object[] row = new Object[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                Object value = rs.getObject(i);
+                row[i - 1] = value instanceof Date date ? new Date(date.getTime()) : value;
+            }
+            rows.add(row);
+        }
+        return new CachedRows(Map.copyOf(columns), List.copyOf(rows));
+    }
+
+    /**
+     * Returns the number of copied rows.
+     *
+     * @return the number of rows
+     */
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Returns a result set positioned before the first copied row.
+     *
+     * @return a new read-only, forward-only result set over the copied rows
+     */
+    ResultSet replay() {
+        Cursor cursor = new Cursor();
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor.row < rows.size();
+                    case "close" -> null;
+                    case "isClosed" -> false;
+                    case "wasNull" -> cursor.wasNull;
+                    case "getObject" -> cursor.value(args[0]);
+                    case "getString" -> {
+                        Object value = cursor.value(args[0]);
+                        yield value == null ? null : value.toString();
+                    }
+                    case "getLong" -> {
+                        Object value = cursor.value(args[0]);
+                        yield value == null ? 0L : ((Number) value).longValue();
+                    }
+                    case "getInt" -> {
+                        Object value = cursor.value(args[0]);
+                        yield value == null ? 0 : ((Number) value).intValue();
+                    }
+                    case "getBigDecimal" -> {
+                        Object value = cursor.value(args[0]);
+                        yield value == null || value instanceof BigDecimal ? value : new BigDecimal(value.toString());
+                    }
+                    case "getBoolean" -> Boolean.TRUE.equals(cursor.value(args[0]));
+                    case "getDate" -> {
+                        Object value = cursor.value(args[0]);
+                        yield value == null ? null : new Date(((java.util.Date) value).getTime());
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "CachedRows[" + rows.size() + " rows]";
+                    default -> throw new SQLFeatureNotSupportedException(
+                            "Not supported by cached rows: " + method.getName());
+                });
+    }
+
+    /**
+     * The position of a replayed result set.
+     */
+    private final class Cursor {
+
+        private int row = -1;
+        private boolean wasNull;
+
+        private Object value(Object column) throws SQLException {
+            if (row < 0 || row >= rows.size()) {
+                throw new SQLException("Result set is not positioned on a row");
+            }
+            int index;
+            if (column instanceof Integer columnIndex) {
+                index = columnIndex;
+            } else {
+                Integer labelIndex = columns.get(((String) column).toLowerCase(Locale.ROOT));
+                if (labelIndex == null) {
+                    throw new SQLException("Unknown column: " + column);
+                }
+                index = labelIndex;
+            }
+            if (index < 1 || index > rows.get(row).length) {
+                throw new SQLException("Invalid column index: " + index);
+            }
+            Object value = rows.get(row)[index - 1];
+            wasNull = value == null;
+            return value;
+        }
+    }
+}
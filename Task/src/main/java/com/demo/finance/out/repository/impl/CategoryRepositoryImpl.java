@@ -0,0 +1,110 @@
+package com.demo.finance.out.repository.impl;
+
+import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.SqlInstrumentation;
+import com.demo.finance.out.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code CategoryRepositoryImpl} class implements the {@link CategoryRepository} interface
+ * and provides concrete implementations for category dictionary persistence operations.
+ * It interacts directly with the database using SQL queries on the {@code finance.categories} table.
+ */
+@Repository
+public class CategoryRepositoryImpl extends BaseRepository implements CategoryRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO finance.categories (user_id, name) VALUES (?, ?) "
+            + "ON CONFLICT (user_id, name) DO UPDATE SET name = EXCLUDED.name RETURNING category_id";
+    private static final String FIND_ID_SQL = "SELECT category_id FROM finance.categories WHERE user_id = ? "
+            + "AND name = ?";
+    private static final String FIND_NAME_BY_ID_SQL = "SELECT name FROM finance.categories WHERE category_id = ?";
+    private static final String FIND_BY_USER_ID_SQL = "SELECT category_id, name FROM finance.categories "
+            + "WHERE user_id = ?";
+
+    /**
+     * Constructs a new {@code CategoryRepositoryImpl} instance with the required dependency
+     * for managing database connections.
+     *
+     * @param dataSourceManager the manager responsible for providing database connections
+     */
+    public CategoryRepositoryImpl(DataSourceManager dataSourceManager) {
+        super(dataSourceManager);
+    }
+
+    /**
+     * Constructs a new {@code CategoryRepositoryImpl} instance reporting its SQL statements
+     * to the given instrumentation.
+     *
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param sqlInstrumentation the instrumentation recording the timings of SQL statements
+     */
+    @Autowired
+    public CategoryRepositoryImpl(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation) {
+        super(dataSourceManager, sqlInstrumentation);
+    }
+
+    /**
+     * Returns the ID of a user's category by executing an upsert that returns the ID of the new or existing row.
+     *
+     * @param userId the unique identifier of the user
+     * @param name   the name of the category
+     * @return the ID of the category
+     */
+    @Override
+    public Integer findOrCreate(Long userId, String name) {
+        Long categoryId = insertRecord(UPSERT_SQL, stmt -> {
+            stmt.setLong(1, userId);
+            stmt.setString(2, name);
+        });
+        return categoryId == null ? null : categoryId.intValue();
+    }
+
+    /**
+     * Retrieves the ID of a user's category by its name.
+     *
+     * @param userId the unique identifier of the user
+     * @param name   the name of the category
+     * @return the ID of the category, or {@code null} if the user has no such category
+     */
+    @Override
+    public Integer findId(Long userId, String name) {
+        return findRecordByCriteria(FIND_ID_SQL, stmt -> {
+            stmt.setLong(1, userId);
+            stmt.setString(2, name);
+        }, rs -> rs.getInt("category_id")).orElse(null);
+    }
+
+    /**
+     * Retrieves the name of a category by its ID.
+     *
+     * @param categoryId the unique identifier of the category
+     * @return the name of the category, or {@code null} if not found
+     */
+    @Override
+    public String findNameById(Integer categoryId) {
+        return findRecordByCriteria(FIND_NAME_BY_ID_SQL, stmt -> stmt.setInt(1, categoryId),
+                rs -> rs.getString("name")).orElse(null);
+    }
+
+    /**
+     * Retrieves all categories of a user.
+     *
+     * @param userId the unique identifier of the user
+     * @return a {@link Map} of the category names to their IDs
+     */
+    @Override
+    public Map<String, Integer> findByUserId(Long userId) {
+        return queryDatabase(FIND_BY_USER_ID_SQL, stmt -> bindParameters(stmt, List.of(userId)), rs -> {
+            Map<String, Integer> categories = new HashMap<>();
+            while (rs.next()) {
+                categories.put(rs.getString("name"), rs.getInt("category_id"));
+            }
+            return categories;
+        });
+    }
+}
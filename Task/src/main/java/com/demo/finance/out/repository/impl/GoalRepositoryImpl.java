@@ -1,8 +1,11 @@
 package com.demo.finance.out.repository.impl;
 
 import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.QueryCache;
+import com.demo.finance.app.config.SqlInstrumentation;
 import com.demo.finance.domain.model.Goal;
 import com.demo.finance.out.repository.GoalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
@@ -43,6 +46,20 @@ public class GoalRepositoryImpl extends BaseRepository implements GoalRepository
         super(dataSourceManager);
     }
 
+    /**
+     * Constructs a new {@code GoalRepositoryImpl} instance reporting its SQL statements
+     * to the given instrumentation and caching the goals of users in the given query cache.
+     *
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param sqlInstrumentation the instrumentation recording the timings of SQL statements
+     * @param queryCache         the cache holding the goals of users
+     */
+    @Autowired
+    public GoalRepositoryImpl(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation,
+                                 QueryCache queryCache) {
+        super(dataSourceManager, sqlInstrumentation, queryCache);
+    }
+
     /**
      * Saves a new goal to the database by executing the corresponding SQL insert query.
      *
@@ -51,7 +68,7 @@ public class GoalRepositoryImpl extends BaseRepository implements GoalRepository
      */
     @Override
     public Long save(Goal goal) {
-        return insertRecord(INSERT_SQL, stmt -> setGoalParameters(stmt, goal));
+        return insertRecord(INSERT_SQL, goal.getUserId(), stmt -> setGoalParameters(stmt, goal));
     }
 
     /**
@@ -62,7 +79,7 @@ public class GoalRepositoryImpl extends BaseRepository implements GoalRepository
      */
     @Override
     public boolean update(Goal goal) {
-        return updateRecord(UPDATE_SQL, stmt -> {
+        return updateRecord(UPDATE_SQL, goal.getUserId(), stmt -> {
             setGoalParameters(stmt, goal);
             stmt.setLong(7, goal.getGoalId());
         });
@@ -87,8 +104,7 @@ public class GoalRepositoryImpl extends BaseRepository implements GoalRepository
      */
     @Override
     public Goal findById(Long goalId) {
-        return findRecordByCriteria(FIND_BY_ID_SQL, stmt -> stmt.setLong(1, goalId),
-                this::mapResultSetToGoal).orElse(null);
+        return findRecordByCriteria(FIND_BY_ID_SQL, List.of(goalId), this::mapResultSetToGoal).orElse(null);
     }
 
     /**
@@ -99,7 +115,7 @@ public class GoalRepositoryImpl extends BaseRepository implements GoalRepository
      */
     @Override
     public List<Goal> findByUserId(Long userId) {
-        return findAllRecordsByCriteria(FIND_BY_USER_ID_SQL, List.of(userId), this::mapResultSetToGoal);
+        return findAllCachedRecords(FIND_BY_USER_ID_SQL, userId, List.of(userId), this::mapResultSetToGoal);
     }
 
     /**
@@ -128,10 +144,8 @@ public class GoalRepositoryImpl extends BaseRepository implements GoalRepository
      */
     @Override
     public Goal findByUserIdAndGoalId(Long userId, Long goalId) {
-        return findRecordByCriteria(FIND_BY_USER_AND_GOAL_SQL, stmt -> {
-            stmt.setLong(1, goalId);
-            stmt.setLong(2, userId);
-        }, this::mapResultSetToGoal).orElse(null);
+        return findRecordByCriteria(FIND_BY_USER_AND_GOAL_SQL, List.of(goalId, userId), this::mapResultSetToGoal)
+                .orElse(null);
     }
 
     /**
@@ -0,0 +1,93 @@
+package com.demo.finance.out.repository.impl;
+
+import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.SqlInstrumentation;
+import com.demo.finance.out.repository.TokenRevocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code TokenRevocationRepositoryImpl} class implements the {@link TokenRevocationRepository} interface
+ * and persists the per-user token revocations in the {@code finance.token_revocations} table, so that instances
+ * can recover the revocations they missed. Revocations are read from the primary database, since a replica may not
+ * have received the latest ones yet.
+ */
+@Repository
+public class TokenRevocationRepositoryImpl extends BaseRepository implements TokenRevocationRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO finance.token_revocations (user_id, revoked_before) "
+            + "VALUES (?, ?) ON CONFLICT (user_id) DO UPDATE SET revoked_before = "
+            + "GREATEST(finance.token_revocations.revoked_before, EXCLUDED.revoked_before)";
+    private static final String FIND_SINCE_SQL = "SELECT user_id, revoked_before FROM finance.token_revocations "
+            + "WHERE revoked_before > ?";
+    private static final String DELETE_BEFORE_SQL = "DELETE FROM finance.token_revocations WHERE revoked_before < ?";
+
+    /**
+     * Constructs a new {@code TokenRevocationRepositoryImpl} instance with the required dependency
+     * for managing database connections.
+     *
+     * @param dataSourceManager the manager responsible for providing database connections
+     */
+    public TokenRevocationRepositoryImpl(DataSourceManager dataSourceManager) {
+        super(dataSourceManager);
+    }
+
+    /**
+     * Constructs a new {@code TokenRevocationRepositoryImpl} instance reporting its SQL statements
+     * to the given instrumentation.
+     *
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param sqlInstrumentation the instrumentation recording the timings of SQL statements
+     */
+    @Autowired
+    public TokenRevocationRepositoryImpl(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation) {
+        super(dataSourceManager, sqlInstrumentation);
+    }
+
+    /**
+     * Revokes the tokens of a user issued before the given time by executing an upsert keeping the later time.
+     *
+     * @param userId        the unique identifier of the user
+     * @param revokedBefore the time before which the tokens of the user are revoked, in epoch milliseconds
+     * @return {@code true} if the revocation was recorded, {@code false} otherwise
+     */
+    @Override
+    public boolean save(Long userId, long revokedBefore) {
+        return updateRecord(UPSERT_SQL, stmt -> {
+            stmt.setLong(1, userId);
+            stmt.setLong(2, revokedBefore);
+        });
+    }
+
+    /**
+     * Retrieves the revocations recorded after the given time from the primary database.
+     *
+     * @param since the time in epoch milliseconds, earlier revocations only reject already expired tokens
+     * @return a {@link Map} of the user IDs to the times before which their tokens are revoked
+     */
+    @Override
+    public Map<Long, Long> findRevokedSince(long since) {
+        Map<Long, Long> revocations = queryPrimaryDatabase(FIND_SINCE_SQL, stmt -> stmt.setLong(1, since), rs -> {
+            Map<Long, Long> rows = new HashMap<>();
+            while (rs.next()) {
+                rows.put(rs.getLong("user_id"), rs.getLong("revoked_before"));
+            }
+            return rows;
+        });
+        return revocations != null ? revocations : new HashMap<>();
+    }
+
+    /**
+     * Deletes the revocations recorded before the given time.
+     *
+     * @param before the time in epoch milliseconds
+     * @return {@code true} if any revocation was deleted, {@code false} otherwise
+     */
+    @Override
+    public boolean deleteRevokedBefore(long before) {
+        return updateRecord(DELETE_BEFORE_SQL, stmt -> stmt.setLong(1, before));
+    }
+}
@@ -1,9 +1,13 @@
 package com.demo.finance.out.repository.impl;
 
 import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.QueryCache;
+import com.demo.finance.app.config.SqlInstrumentation;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.cache.CategoryDictionary;
 import com.demo.finance.out.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
@@ -18,15 +22,22 @@ import java.util.List;
  * The {@code TransactionRepositoryImpl} class implements the {@link TransactionRepository} interface
  * and provides concrete implementations for transaction data persistence operations.
  * It interacts directly with the database using SQL queries to perform CRUD operations on transaction data.
+ * Categories are stored as IDs of the per-user category dictionary and resolved through the
+ * {@link CategoryDictionary}.
  */
 @Repository
 public class TransactionRepositoryImpl extends BaseRepository implements TransactionRepository {
 
-    private static final String INSERT_SQL = "INSERT INTO finance.transactions (user_id, amount, category, date, "
+    private static final String INSERT_SQL = "INSERT INTO finance.transactions (user_id, amount, category_id, date, "
             + "description, type) VALUES (?, ?, ?, ?, ?, ?)";
-    private static final String UPDATE_SQL = "UPDATE finance.transactions SET user_id = ?, amount = ?, category = ?, "
-            + "date = ?, description = ?, type = ? WHERE transaction_id = ?";
+    private static final String UPDATE_SQL = "UPDATE finance.transactions SET user_id = ?, amount = ?, "
+            + "category_id = ?, date = ?, description = ?, type = ? WHERE transaction_id = ?";
+    private static final String INSERT_RETURNING_SQL = INSERT_SQL + " RETURNING *";
+    private static final String UPDATE_DETAILS_RETURNING_SQL = "UPDATE finance.transactions SET amount = ?, "
+            + "category_id = ?, description = ? WHERE transaction_id = ? AND user_id = ? RETURNING *";
     private static final String DELETE_SQL = "DELETE FROM finance.transactions WHERE transaction_id = ?";
+    private static final String DELETE_BY_USER_AND_TRANSACTION_SQL = "DELETE FROM finance.transactions WHERE "
+            + "transaction_id = ? AND user_id = ?";
     private static final String FIND_BY_ID_SQL = "SELECT * FROM finance.transactions WHERE transaction_id = ?";
     private static final String FIND_BY_USER_ID_SQL = "SELECT * FROM finance.transactions WHERE user_id = ?";
     private static final String FIND_BY_USER_ID_SQL_PAGINATED = "SELECT * FROM finance.transactions WHERE user_id = ? "
@@ -35,14 +46,34 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
             + "transaction_id = ? AND user_id = ?";
     private static final String COUNT_SQL = "SELECT COUNT(*) AS total FROM finance.transactions WHERE user_id = ?";
 
+    private final CategoryDictionary categoryDictionary;
+
     /**
-     * Constructs a new {@code TransactionRepositoryImpl} instance with the required dependency
-     * for managing database connections.
+     * Constructs a new {@code TransactionRepositoryImpl} instance with the required dependencies
+     * for managing database connections and resolving categories.
      *
-     * @param dataSourceManager the manager responsible for providing database connections
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param categoryDictionary the dictionary resolving categories to their IDs and back
      */
-    public TransactionRepositoryImpl(DataSourceManager dataSourceManager) {
+    public TransactionRepositoryImpl(DataSourceManager dataSourceManager, CategoryDictionary categoryDictionary) {
         super(dataSourceManager);
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    /**
+     * Constructs a new {@code TransactionRepositoryImpl} instance reporting its SQL statements
+     * to the given instrumentation and caching the transactions of users in the given query cache.
+     *
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param sqlInstrumentation the instrumentation recording the timings of SQL statements
+     * @param queryCache         the cache holding the transactions of users
+     * @param categoryDictionary the dictionary resolving categories to their IDs and back
+     */
+    @Autowired
+    public TransactionRepositoryImpl(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation,
+                                     QueryCache queryCache, CategoryDictionary categoryDictionary) {
+        super(dataSourceManager, sqlInstrumentation, queryCache);
+        this.categoryDictionary = categoryDictionary;
     }
 
     /**
@@ -53,7 +84,9 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      */
     @Override
     public Long save(Transaction transaction) {
-        return insertRecord(INSERT_SQL, stmt -> setTransactionParameters(stmt, transaction));
+        int categoryId = categoryDictionary.idOf(transaction.getUserId(), transaction.getCategory());
+        return insertRecord(INSERT_SQL, transaction.getUserId(),
+                stmt -> setTransactionParameters(stmt, transaction, categoryId));
     }
 
     /**
@@ -64,12 +97,48 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      */
     @Override
     public boolean update(Transaction transaction) {
-        return updateRecord(UPDATE_SQL, stmt -> {
-            setTransactionParameters(stmt, transaction);
+        int categoryId = categoryDictionary.idOf(transaction.getUserId(), transaction.getCategory());
+        return updateRecord(UPDATE_SQL, transaction.getUserId(), stmt -> {
+            setTransactionParameters(stmt, transaction, categoryId);
             stmt.setLong(7, transaction.getTransactionId());
         });
     }
 
+    /**
+     * Saves a new transaction to the database and returns it as persisted, using a single
+     * {@code INSERT ... RETURNING} statement.
+     *
+     * @param transaction the {@link Transaction} object to be saved
+     * @return the persisted {@link Transaction}, including its generated ID, or {@code null} if the save failed
+     */
+    @Override
+    public Transaction saveAndReturn(Transaction transaction) {
+        int categoryId = categoryDictionary.idOf(transaction.getUserId(), transaction.getCategory());
+        return writeRecordReturning(INSERT_RETURNING_SQL, transaction.getUserId(),
+                stmt -> setTransactionParameters(stmt, transaction, categoryId),
+                this::mapResultSetToTransaction).orElse(null);
+    }
+
+    /**
+     * Updates the amount, category and description of a user's transaction and returns it as persisted, using a
+     * single {@code UPDATE ... RETURNING} statement. The date and type of the transaction are left unchanged.
+     *
+     * @param transaction the {@link Transaction} object carrying the transaction ID, the owner's user ID and
+     *                    the updated details
+     * @return the updated {@link Transaction}, or {@code null} if the user owns no such transaction
+     */
+    @Override
+    public Transaction updateAndReturn(Transaction transaction) {
+        int categoryId = categoryDictionary.idOf(transaction.getUserId(), transaction.getCategory());
+        return writeRecordReturning(UPDATE_DETAILS_RETURNING_SQL, transaction.getUserId(), stmt -> {
+            stmt.setBigDecimal(1, transaction.getAmount());
+            stmt.setInt(2, categoryId);
+            stmt.setString(3, transaction.getDescription());
+            stmt.setLong(4, transaction.getTransactionId());
+            stmt.setLong(5, transaction.getUserId());
+        }, this::mapResultSetToTransaction).orElse(null);
+    }
+
     /**
      * Deletes a transaction from the database based on its unique transaction ID.
      *
@@ -81,6 +150,21 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
         return updateRecord(DELETE_SQL, stmt -> stmt.setLong(1, transactionId));
     }
 
+    /**
+     * Deletes a user's transaction from the database in a single statement.
+     *
+     * @param userId        the unique identifier of the user
+     * @param transactionId the unique identifier of the transaction to delete
+     * @return {@code true} if the user owned the transaction and it was deleted, {@code false} otherwise
+     */
+    @Override
+    public boolean deleteByUserIdAndTransactionId(Long userId, Long transactionId) {
+        return updateRecord(DELETE_BY_USER_AND_TRANSACTION_SQL, userId, stmt -> {
+            stmt.setLong(1, transactionId);
+            stmt.setLong(2, userId);
+        });
+    }
+
     /**
      * Retrieves a specific transaction by its unique transaction ID.
      *
@@ -89,9 +173,8 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      */
     @Override
     public Transaction findById(Long transactionId) {
-        return findRecordByCriteria(FIND_BY_ID_SQL, stmt ->
-                        stmt.setLong(1, transactionId),
-                this::mapResultSetToTransaction).orElse(null);
+        return findRecordByCriteria(FIND_BY_ID_SQL, List.of(transactionId), this::mapResultSetToTransaction)
+                .orElse(null);
     }
 
     /**
@@ -102,7 +185,20 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      */
     @Override
     public List<Transaction> findByUserId(Long userId) {
-        return findAllRecordsByCriteria(FIND_BY_USER_ID_SQL, List.of(userId), this::mapResultSetToTransaction);
+        categoryDictionary.preload(userId);
+        return findAllCachedRecords(FIND_BY_USER_ID_SQL, userId, List.of(userId), this::mapResultSetToTransaction);
+    }
+
+    /**
+     * Retrieves all transactions associated with a specific user from the primary database.
+     *
+     * @param userId the unique identifier of the user
+     * @return a {@link List} of {@link Transaction} objects associated with the user
+     */
+    @Override
+    public List<Transaction> findByUserIdOnPrimary(Long userId) {
+        categoryDictionary.preload(userId);
+        return findAllRecordsOnPrimary(FIND_BY_USER_ID_SQL, List.of(userId), this::mapResultSetToTransaction);
     }
 
     /**
@@ -115,6 +211,7 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      */
     @Override
     public List<Transaction> findByUserId(Long userId, int offset, int size) {
+        categoryDictionary.preload(userId);
         List<Object> params = new ArrayList<>();
         params.add(userId);
         params.add(size);
@@ -131,10 +228,8 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      */
     @Override
     public Transaction findByUserIdAndTransactionId(Long userId, Long transactionId) {
-        return findRecordByCriteria(FIND_BY_USER_AND_TRANSACTION_SQL, stmt -> {
-            stmt.setLong(1, transactionId);
-            stmt.setLong(2, userId);
-        }, this::mapResultSetToTransaction).orElse(null);
+        return findRecordByCriteria(FIND_BY_USER_AND_TRANSACTION_SQL, List.of(transactionId, userId),
+                this::mapResultSetToTransaction).orElse(null);
     }
 
     /**
@@ -155,6 +250,7 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
 
     /**
      * Retrieves a filtered list of transactions based on user ID, date range, category, and transaction type.
+     * A category the user has never used matches no transactions.
      *
      * @param userId   the unique identifier of the user
      * @param from     the start date of the filter period (inclusive, optional)
@@ -165,8 +261,16 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      */
     @Override
     public List<Transaction> findFiltered(Long userId, LocalDate from, LocalDate to, String category, Type type) {
-        String sql = buildFilteredQuery(from, to, category, type);
-        List<Object> params = getFilterParameters(userId, from, to, category, type);
+        Integer categoryId = null;
+        if (category != null) {
+            categoryId = categoryDictionary.findId(userId, category);
+            if (categoryId == null) {
+                return List.of();
+            }
+        }
+        categoryDictionary.preload(userId);
+        String sql = buildFilteredQuery(from, to, categoryId, type);
+        List<Object> params = getFilterParameters(userId, from, to, categoryId, type);
         return findAllRecordsByCriteria(sql, params, this::mapResultSetToTransaction);
     }
 
@@ -175,16 +279,16 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      *
      * @param from     the start date of the filter period (optional)
      * @param to       the end date of the filter period (optional)
-     * @param category the category of the transactions to filter by (optional)
+     * @param categoryId the category ID of the transactions to filter by (optional)
      * @param type     the type of the transactions to filter by (optional)
      * @return the constructed SQL query string
      */
-    private String buildFilteredQuery(LocalDate from, LocalDate to, String category, Type type) {
+    private String buildFilteredQuery(LocalDate from, LocalDate to, Integer categoryId, Type type) {
         StringBuilder sql = new StringBuilder(FIND_BY_USER_ID_SQL);
 
         if (from != null) sql.append(" AND date >= ?");
         if (to != null) sql.append(" AND date <= ?");
-        if (category != null) sql.append(" AND category = ?");
+        if (categoryId != null) sql.append(" AND category_id = ?");
         if (type != null) sql.append(" AND type = ?");
 
         return sql.toString();
@@ -196,17 +300,18 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      * @param userId   the unique identifier of the user
      * @param from     the start date of the filter period (optional)
      * @param to       the end date of the filter period (optional)
-     * @param category the category of the transactions to filter by (optional)
+     * @param categoryId the category ID of the transactions to filter by (optional)
      * @param type     the type of the transactions to filter by (optional)
      * @return a {@link List} of parameters to be used in the SQL query
      */
-    private List<Object> getFilterParameters(Long userId, LocalDate from, LocalDate to, String category, Type type) {
+    private List<Object> getFilterParameters(Long userId, LocalDate from, LocalDate to, Integer categoryId,
+                                             Type type) {
         List<Object> params = new ArrayList<>();
         params.add(userId);
 
         if (from != null) params.add(Date.valueOf(from));
         if (to != null) params.add(Date.valueOf(to));
-        if (category != null) params.add(category);
+        if (categoryId != null) params.add(categoryId);
         if (type != null) params.add(type.name());
 
         return params;
@@ -217,19 +322,22 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
      *
      * @param stmt        the {@link PreparedStatement} to populate with parameters
      * @param transaction the {@link Transaction} object containing the data to set
+     * @param categoryId  the dictionary ID of the transaction's category
      * @throws SQLException if an error occurs while setting parameters
      */
-    private void setTransactionParameters(PreparedStatement stmt, Transaction transaction) throws SQLException {
+    private void setTransactionParameters(PreparedStatement stmt, Transaction transaction, int categoryId)
+            throws SQLException {
         stmt.setLong(1, transaction.getUserId());
         stmt.setBigDecimal(2, transaction.getAmount());
-        stmt.setString(3, transaction.getCategory());
+        stmt.setInt(3, categoryId);
         stmt.setDate(4, Date.valueOf(transaction.getDate()));
         stmt.setString(5, transaction.getDescription());
         stmt.setString(6, transaction.getType().name());
     }
 
     /**
-     * Maps a database result set row to a {@link Transaction} object.
+     * Maps a database result set row to a {@link Transaction} object, sharing the interned category name
+     * of the dictionary instead of reading a new string per row.
      *
      * @param rs the {@link ResultSet} containing the transaction data
      * @return a {@link Transaction} object populated with data from the result set
@@ -240,7 +348,7 @@ public class TransactionRepositoryImpl extends BaseRepository implements Transac
                 rs.getLong("transaction_id"),
                 rs.getLong("user_id"),
                 rs.getBigDecimal("amount"),
-                rs.getString("category"),
+                categoryDictionary.nameOf(rs.getInt("category_id")),
                 rs.getDate("date").toLocalDate(),
                 rs.getString("description"),
                 Type.valueOf(rs.getString("type"))
@@ -1,9 +1,12 @@
 package com.demo.finance.out.repository.impl;
 
 import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.QueryCache;
+import com.demo.finance.app.config.SqlInstrumentation;
 import com.demo.finance.domain.utils.Role;
 import com.demo.finance.domain.model.User;
 import com.demo.finance.out.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.sql.PreparedStatement;
@@ -40,6 +43,20 @@ public class UserRepositoryImpl extends BaseRepository implements UserRepository
         super(dataSourceManager);
     }
 
+    /**
+     * Constructs a new {@code UserRepositoryImpl} instance reporting its SQL statements
+     * to the given instrumentation and caching user lookups in the given query cache.
+     *
+     * @param dataSourceManager  the manager responsible for providing database connections
+     * @param sqlInstrumentation the instrumentation recording the timings of SQL statements
+     * @param queryCache         the cache holding the results of user lookups
+     */
+    @Autowired
+    public UserRepositoryImpl(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation,
+                              QueryCache queryCache) {
+        super(dataSourceManager, sqlInstrumentation, queryCache);
+    }
+
     /**
      * Saves a new user to the database by executing the corresponding SQL insert query.
      *
@@ -64,7 +81,7 @@ public class UserRepositoryImpl extends BaseRepository implements UserRepository
     public boolean update(User user) {
         Long originalVersion = user.getVersion();
         user.setVersion(originalVersion + 1);
-        boolean updated = updateRecord(UPDATE_SQL, stmt -> {
+        boolean updated = updateRecord(UPDATE_SQL, user.getUserId(), stmt -> {
             setUserParameters(stmt, user);
             stmt.setLong(7, user.getUserId());
             stmt.setLong(8, originalVersion);
@@ -85,7 +102,7 @@ public class UserRepositoryImpl extends BaseRepository implements UserRepository
      */
     @Override
     public boolean delete(Long userId) {
-        return updateRecord(DELETE_SQL, stmt -> stmt.setLong(1, userId));
+        return updateRecord(DELETE_SQL, userId, stmt -> stmt.setLong(1, userId));
     }
 
     /**
@@ -127,20 +144,20 @@ public class UserRepositoryImpl extends BaseRepository implements UserRepository
      */
     @Override
     public User findById(Long userId) {
-        return findRecordByCriteria(FIND_BY_ID_SQL, stmt -> stmt.setLong(1, userId),
-                this::mapResultSetToUser).orElse(null);
+        return findCachedRecord(FIND_BY_ID_SQL, userId, List.of(userId), this::mapResultSetToUser).orElse(null);
     }
 
     /**
-     * Retrieves a specific user by their email address.
+     * Retrieves a specific user by their email address. The lookup is read from the primary database, since it is
+     * issued by logins and registrations, whose anonymous requests cannot be kept on the primary after a write.
      *
      * @param email the email address of the user
      * @return the {@link User} object matching the provided email, or {@code null} if not found
      */
     @Override
     public User findByEmail(String email) {
-        return findRecordByCriteria(FIND_BY_EMAIL_SQL, stmt -> stmt.setString(1, email),
-                this::mapResultSetToUser).orElse(null);
+        return findCachedRecordOnPrimary(FIND_BY_EMAIL_SQL, null, List.of(email), this::mapResultSetToUser)
+                .orElse(null);
     }
 
     /**
@@ -0,0 +1,19 @@
+package com.demo.finance.out.service;
+
+import com.demo.finance.domain.dto.DashboardDto;
+
+/**
+ * The {@code DashboardService} interface defines the contract for composing the dashboard of a user from the
+ * report, budget, goal, notification and transaction services.
+ */
+public interface DashboardService {
+
+    /**
+     * Composes the dashboard of a specific user. Sections that fail or do not complete in time are left empty
+     * and listed as unavailable instead of failing the whole dashboard.
+     *
+     * @param userId the unique identifier of the user
+     * @return a {@link DashboardDto} containing the sections of the dashboard
+     */
+    DashboardDto getDashboard(Long userId);
+}
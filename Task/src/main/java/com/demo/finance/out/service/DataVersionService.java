@@ -0,0 +1,33 @@
+package com.demo.finance.out.service;
+
+/**
+ * Service interface for tracking a per-user data version. The version is monotonically increasing and is bumped
+ * by every mutating service method, which allows HTTP caching layers to derive entity tags from it without
+ * touching the database.
+ */
+public interface DataVersionService {
+
+    /**
+     * Retrieves the current data version of the specified user.
+     *
+     * @param userId the ID of the user
+     * @return the current data version of the user
+     */
+    long getVersion(Long userId);
+
+    /**
+     * Increments the data version of the specified user. Must be called after every change to the user's data.
+     *
+     * @param userId the ID of the user whose data has changed
+     */
+    void incrementVersion(Long userId);
+
+    /**
+     * Builds an opaque tag that uniquely identifies the current state of the specified user's data.
+     * The tag changes whenever the data version changes or the application is restarted.
+     *
+     * @param userId the ID of the user
+     * @return the opaque version tag of the user's data
+     */
+    String getVersionTag(Long userId);
+}
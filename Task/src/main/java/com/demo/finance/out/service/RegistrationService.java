@@ -1,6 +1,7 @@
 package com.demo.finance.out.service;
 
 import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.domain.model.User;
 
 /**
  * The {@code RegistrationService} interface defines the contract for user registration and authentication operations.
@@ -20,7 +21,7 @@ public interface RegistrationService {
      * Authenticates a user by verifying their credentials against the system's records.
      *
      * @param userDto the {@link UserDto} object containing the user's authentication details (e.g., username and password)
-     * @return {@code true} if the authentication was successful, {@code false} otherwise
+     * @return the authenticated {@link User}, or {@code null} if the authentication failed
      */
-    boolean authenticate(UserDto userDto);
+    User authenticate(UserDto userDto);
 }
\ No newline at end of file
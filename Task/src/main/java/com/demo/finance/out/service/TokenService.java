@@ -6,21 +6,24 @@ package com.demo.finance.out.service;
 public interface TokenService {
 
     /**
-     * Stores a token for the specified user. If an existing token is present, it may be invalidated
+     * Stores a token for the specified user. The tokens of the user issued before it may be invalidated
      * depending on the implementation.
      *
-     * @param userId the ID of the user
-     * @param token  the token to store
+     * @param userId   the ID of the user
+     * @param token    the token to store
+     * @param issuedAt the time the token was issued at, in epoch milliseconds
      */
-    void storeTokenForUser(Long userId, String token);
+    void storeTokenForUser(Long userId, String token, long issuedAt);
 
     /**
      * Validates the provided token.
      *
-     * @param token the token to validate
-     * @return true if the token is valid and not blacklisted, false otherwise
+     * @param token    the token to validate
+     * @param userId   the ID of the user the token was issued to
+     * @param issuedAt the time the token was issued at, in epoch milliseconds
+     * @return true if the token is valid, neither blacklisted nor issued before a revocation, false otherwise
      */
-    boolean isTokenValid(String token);
+    boolean isTokenValid(String token, Long userId, long issuedAt);
 
     /**
      * Sets the current token in the thread-local context.
@@ -36,14 +39,15 @@ public interface TokenService {
     void clearCurrentToken();
 
     /**
-     * Invalidates the token associated with the given user ID, if one exists.
+     * Invalidates all tokens issued to the given user ID so far.
      *
      * @param userId the ID of the user whose token should be invalidated
      */
     void invalidateUserToken(Long userId);
 
     /**
-     * Invalidates the current token (from thread-local context) associated with the specified user ID.
+     * Invalidates the current token (from thread-local context) and all other tokens issued to the specified
+     * user ID so far.
      *
      * @param userId the ID of the user
      */
@@ -21,10 +21,10 @@ public interface TransactionService {
      *
      * @param transactionDto the {@link TransactionDto} object containing the details of the transaction to create
      * @param userId         the unique identifier of the user associated with the transaction
-     * @return the unique identifier ({@code Long}) of the newly created transaction
+     * @return the newly created {@link Transaction} as persisted, or {@code null} if the save failed
      * @throws IllegalArgumentException if the provided transaction data is invalid or incomplete
      */
-    Long createTransaction(TransactionDto transactionDto, Long userId);
+    Transaction createTransaction(TransactionDto transactionDto, Long userId);
 
     /**
      * Retrieves a specific transaction associated with a user by their user ID and transaction ID.
@@ -48,9 +48,9 @@ public interface TransactionService {
      *
      * @param dto    the {@link TransactionDto} object containing updated transaction details
      * @param userId the unique identifier of the user who owns the transaction
-     * @return {@code true} if the update was successful, {@code false} otherwise
+     * @return the updated {@link Transaction} as persisted, or {@code null} if the user owns no such transaction
      */
-    boolean updateTransaction(TransactionDto dto, Long userId);
+    Transaction updateTransaction(TransactionDto dto, Long userId);
 
     /**
      * Deletes a transaction from the system based on the provided user ID and transaction ID.
@@ -7,6 +7,7 @@ import com.demo.finance.exception.custom.OptimisticLockException;
 import com.demo.finance.exception.custom.UserNotFoundException;
 import com.demo.finance.out.repository.UserRepository;
 import com.demo.finance.out.service.AdminService;
+import com.demo.finance.out.service.DataVersionService;
 import com.demo.finance.out.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
@@ -25,6 +26,7 @@ public class AdminServiceImpl implements AdminService {
 
     private final UserRepository userRepository;
     private final TokenService tokenService;
+    private final DataVersionService dataVersionService;
 
     /**
      * Retrieves a specific user by their unique user ID.
@@ -72,6 +74,7 @@ public class AdminServiceImpl implements AdminService {
         if (!userRepository.update(user)) {
             throw new OptimisticLockException("User with ID " + userId + " was modified. Check version number.");
         }
+        dataVersionService.incrementVersion(userId);
         tokenService.invalidateUserToken(userId);
         return true;
     }
@@ -109,6 +112,7 @@ public class AdminServiceImpl implements AdminService {
         if (!userRepository.update(user)) {
             throw new OptimisticLockException("User with ID " + userId + " was modified. Check version number.");
         }
+        dataVersionService.incrementVersion(userId);
         tokenService.invalidateUserToken(userId);
         return true;
     }
@@ -125,6 +129,7 @@ public class AdminServiceImpl implements AdminService {
     public boolean deleteUser(Long userId) {
         boolean deleted = userRepository.delete(userId);
         if (deleted) {
+            dataVersionService.incrementVersion(userId);
             tokenService.invalidateUserToken(userId);
         }
         return deleted;
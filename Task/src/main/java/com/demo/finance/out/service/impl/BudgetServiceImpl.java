@@ -1,19 +1,24 @@
 package com.demo.finance.out.service.impl;
 
+import com.demo.finance.app.config.CacheDependencies;
+import com.demo.finance.app.config.CacheDependencies.Entity;
 import com.demo.finance.domain.model.Budget;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.cache.RefreshAhead;
+import com.demo.finance.out.cache.TransactionAnalyticsCache;
+import com.demo.finance.out.cache.TransactionTotals;
 import com.demo.finance.out.repository.BudgetRepository;
 import com.demo.finance.out.repository.TransactionRepository;
 import com.demo.finance.out.service.BudgetService;
+import com.demo.finance.out.service.DataVersionService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.Map;
+import java.util.Optional;
 import java.time.LocalDate;
 import java.time.YearMonth;
 
@@ -27,34 +32,30 @@ import java.time.YearMonth;
 @RequiredArgsConstructor
 public class BudgetServiceImpl implements BudgetService {
 
+    private static final String BUDGETS = "budgets";
+
     private final BudgetRepository budgetRepository;
     private final TransactionRepository transactionRepository;
+    private final DataVersionService dataVersionService;
+    private final CacheDependencies cacheDependencies;
+    private final TransactionAnalyticsCache analyticsCache;
+    private final RefreshAhead refreshAhead;
 
     /**
      * Sets or updates the monthly budget limit for a specific user.
      * If a budget already exists for the user, it updates the limit; otherwise, it creates a new budget.
+     * The budget is created or updated and read back in a single upsert statement.
      *
      * @param userId the unique identifier of the user
      * @param limit  the maximum amount ({@link BigDecimal}) allowed for the user's monthly budget
      * @return the updated or newly created {@link Budget} object, or {@code null} if the operation fails
      */
     @Override
-    @Caching(evict = {@CacheEvict(value = "budgets", key = "#userId"),
-            @CacheEvict(value = "budgets", key = "#userId + '-data'")})
     public Budget setMonthlyBudget(Long userId, BigDecimal limit) {
-        Budget existingBudget = budgetRepository.findByUserId(userId);
-        boolean success;
-        if (existingBudget != null) {
-            existingBudget.setMonthlyLimit(limit);
-            success = budgetRepository.update(existingBudget);
-        } else {
-            Budget newBudget = new Budget(userId, limit);
-            success = budgetRepository.save(newBudget);
-        }
-        if (success) {
-            return budgetRepository.findByUserId(userId);
-        }
-        return null;
+        Budget budget = budgetRepository.upsert(new Budget(userId, limit));
+        cacheDependencies.changed(Entity.BUDGET, userId);
+        dataVersionService.incrementVersion(userId);
+        return budget;
     }
 
     /**
@@ -66,7 +67,7 @@ public class BudgetServiceImpl implements BudgetService {
     @Override
     @Cacheable(value = "budgets", key = "#userId")
     public Budget getBudget(Long userId) {
-        return budgetRepository.findByUserId(userId);
+        return refreshAhead.load(BUDGETS, userId, () -> budgetRepository.findByUserId(userId));
     }
 
     /**
@@ -80,6 +81,10 @@ public class BudgetServiceImpl implements BudgetService {
     public BigDecimal calculateExpensesForMonth(Long userId, YearMonth currentMonth) {
         LocalDate startOfMonth = currentMonth.atDay(1);
         LocalDate endOfMonth = currentMonth.atEndOfMonth();
+        Optional<TransactionTotals> totals = analyticsCache.totals(userId, startOfMonth, endOfMonth);
+        if (totals.isPresent()) {
+            return totals.get().expense();
+        }
 
         return transactionRepository.findFiltered(userId, startOfMonth, endOfMonth, null, Type.EXPENSE)
                 .stream()
@@ -89,16 +94,30 @@ public class BudgetServiceImpl implements BudgetService {
 
     /**
      * Retrieves a comprehensive set of budget-related data for a specific user.
-     * Includes the formatted budget string, total expenses, and monthly limit.
+     * Includes the formatted budget string, total expenses, and monthly limit. The data is cached per month, so
+     * the expenses of a new month are calculated on the first request of that month. Concurrent requests of the same
+     * user share one calculation, and cached data is refreshed in the background by the {@link RefreshAhead}.
      *
      * @param userId the unique identifier of the user
      * @return a {@link Map} containing the formatted budget string and detailed budget data
      * @throws RuntimeException if no budget is set for the user
      */
     @Override
-    @Cacheable(value = "budgets", key = "#userId + '-data'")
+    @Cacheable(value = "budgets", key = "#userId + '-data-' + T(java.time.YearMonth).now()")
     public Map<String, Object> getBudgetData(Long userId) {
         YearMonth currentMonth = YearMonth.now();
+        return refreshAhead.load(BUDGETS, userId + "-data-" + currentMonth,
+                () -> calculateBudgetData(userId, currentMonth));
+    }
+
+    /**
+     * Calculates the budget data of a user for a specific month.
+     *
+     * @param userId       the unique identifier of the user
+     * @param currentMonth the month the expenses are calculated for
+     * @return a {@link Map} containing the formatted budget string and detailed budget data
+     */
+    private Map<String, Object> calculateBudgetData(Long userId, YearMonth currentMonth) {
         BigDecimal totalExpenses = calculateExpensesForMonth(userId, currentMonth);
         Budget budget = getBudget(userId);
         if (budget == null) {
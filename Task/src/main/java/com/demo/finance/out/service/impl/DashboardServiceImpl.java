@@ -0,0 +1,218 @@
+package com.demo.finance.out.service.impl;
+
+import com.demo.finance.app.config.IdentityMap;
+import com.demo.finance.domain.dto.DashboardDto;
+import com.demo.finance.domain.dto.GoalDto;
+import com.demo.finance.domain.dto.TransactionDto;
+import com.demo.finance.domain.mapper.ReportMapper;
+import com.demo.finance.domain.model.Report;
+import com.demo.finance.domain.utils.PaginatedResponse;
+import com.demo.finance.out.service.BudgetService;
+import com.demo.finance.out.service.DashboardService;
+import com.demo.finance.out.service.GoalService;
+import com.demo.finance.out.service.NotificationService;
+import com.demo.finance.out.service.ReportService;
+import com.demo.finance.out.service.TransactionService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The {@code DashboardServiceImpl} class implements the {@link DashboardService} interface by calling the report,
+ * budget, goal, notification and transaction services concurrently on a bounded thread pool, so that composing
+ * the dashboard takes about as long as its slowest section instead of the sum of all of them.
+ * <p>
+ * Every section has to complete within the configured timeout. Sections that fail, time out or cannot be
+ * scheduled because the pool is saturated are reported as unavailable, and the remaining sections are still
+ * returned. A timed out section keeps running on its pool thread until its database work completes, but its result
+ * is discarded. The request attributes of the calling thread are propagated to the pool threads, so that reads keep
+ * their read-your-writes routing between the primary and the replica, and so is the {@link IdentityMap} scope of the
+ * request, so that the statements of all sections count towards the query budget of the request and identical reads
+ * of different sections are executed only once.
+ */
+@Service
+@Slf4j
+public class DashboardServiceImpl implements DashboardService {
+
+    private final ReportService reportService;
+    private final BudgetService budgetService;
+    private final GoalService goalService;
+    private final NotificationService notificationService;
+    private final TransactionService transactionService;
+    private final ReportMapper reportMapper;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final int pageSize;
+
+    /**
+     * Constructs a {@code DashboardServiceImpl} with its own bounded thread pool.
+     *
+     * @param reportService       the service generating the general report
+     * @param budgetService       the service providing the budget data
+     * @param goalService         the service providing the goals
+     * @param notificationService the service providing the budget notification
+     * @param transactionService  the service providing the transactions
+     * @param reportMapper        the mapper converting the report to its DTO
+     * @param threads             the number of pool threads running dashboard sections
+     * @param queueCapacity       the number of sections that may wait for a pool thread
+     * @param timeoutMillis       the time every section has to complete in milliseconds
+     * @param pageSize            the number of goals and transactions on the dashboard
+     */
+    public DashboardServiceImpl(ReportService reportService,
+                                BudgetService budgetService,
+                                GoalService goalService,
+                                NotificationService notificationService,
+                                TransactionService transactionService,
+                                ReportMapper reportMapper,
+                                @Value("${app.dashboard.threads:16}") int threads,
+                                @Value("${app.dashboard.queue-capacity:64}") int queueCapacity,
+                                @Value("${app.dashboard.timeout-ms:1000}") long timeoutMillis,
+                                @Value("${app.dashboard.page-size:10}") int pageSize) {
+        this.reportService = reportService;
+        this.budgetService = budgetService;
+        this.goalService = goalService;
+        this.notificationService = notificationService;
+        this.transactionService = transactionService;
+        this.reportMapper = reportMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.pageSize = pageSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Composes the dashboard of a specific user, running all sections concurrently.
+     *
+     * @param userId the unique identifier of the user
+     * @return a {@link DashboardDto} containing the sections of the dashboard
+     */
+    @Override
+    public DashboardDto getDashboard(Long userId) {
+        CompletableFuture<Optional<Report>> report =
+                submit("report", userId, () -> reportService.generateUserReport(userId));
+        CompletableFuture<Optional<Map<String, Object>>> budget =
+                submit("budget", userId, () -> budgetService.getBudgetData(userId));
+        CompletableFuture<Optional<PaginatedResponse<GoalDto>>> goals =
+                submit("goals", userId, () -> goalService.getPaginatedGoalsForUser(userId, 1, pageSize));
+        CompletableFuture<Optional<PaginatedResponse<TransactionDto>>> transactions = submit("transactions", userId,
+                () -> transactionService.getPaginatedTransactionsForUser(userId, 1, pageSize));
+        CompletableFuture<Optional<String>> notification = submit("budgetNotification", userId,
+                () -> notificationService.fetchBudgetNotification(userId));
+        CompletableFuture.allOf(report, budget, goals, transactions, notification).join();
+
+        List<String> unavailable = new ArrayList<>();
+        DashboardDto dashboard = new DashboardDto();
+        dashboard.setReport(Optional.ofNullable(result("report", report, unavailable))
+                .map(reportMapper::toDto).orElse(null));
+        dashboard.setBudget(result("budget", budget, unavailable));
+        dashboard.setGoals(result("goals", goals, unavailable));
+        dashboard.setTransactions(result("transactions", transactions, unavailable));
+        String budgetNotification = result("budgetNotification", notification, unavailable);
+        dashboard.setBudgetNotification(
+                budgetNotification == null || budgetNotification.isEmpty() ? null : budgetNotification);
+        dashboard.setUnavailable(unavailable);
+        return dashboard;
+    }
+
+    /**
+     * Stops the pool threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules a section on the pool, bounded by the section timeout.
+     *
+     * @param name   the name of the section
+     * @param userId the unique identifier of the user
+     * @param call   the service call loading the section
+     * @param <T>    the type of the section
+     * @return a future completing with the section, which may be empty, or with {@code null} if the section
+     * failed, timed out or could not be scheduled
+     */
+    private <T> CompletableFuture<Optional<T>> submit(String name, Long userId, Supplier<T> call) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        IdentityMap.Scope scope = IdentityMap.currentScope();
+        try {
+            return CompletableFuture.supplyAsync(() -> callWithin(attributes, scope, call), executor)
+                    .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                    .handle((section, failure) -> {
+                        if (failure == null) {
+                            return Optional.ofNullable(section);
+                        }
+                        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                        if (cause instanceof TimeoutException) {
+                            log.warn("Dashboard section {} of user {} timed out after {} ms", name, userId,
+                                    timeoutMillis);
+                        } else {
+                            log.warn("Dashboard section {} of user {} failed", name, userId, cause);
+                        }
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            log.warn("Dashboard section {} of user {} rejected, the dashboard pool is saturated", name, userId);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Runs a section call on a pool thread with the request attributes and the identity map scope of the calling
+     * thread.
+     *
+     * @param attributes the request attributes of the calling thread, may be {@code null}
+     * @param scope      the identity map scope of the calling thread, may be {@code null}
+     * @param call       the service call loading the section
+     * @param <T>        the type of the section
+     * @return the section
+     */
+    private static <T> T callWithin(RequestAttributes attributes, IdentityMap.Scope scope, Supplier<T> call) {
+        RequestContextHolder.setRequestAttributes(attributes);
+        try (IdentityMap.Binding ignored = IdentityMap.bind(scope)) {
+            return call.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /**
+     * Returns the loaded section, recording it as unavailable if it failed.
+     *
+     * @param name        the name of the section
+     * @param future      the completed future of the section
+     * @param unavailable the names of the unavailable sections
+     * @param <T>         the type of the section
+     * @return the section, or {@code null} if it is empty or unavailable
+     */
+    private static <T> T result(String name, CompletableFuture<Optional<T>> future, List<String> unavailable) {
+        Optional<T> section = future.join();
+        if (section == null) {
+            unavailable.add(name);
+            return null;
+        }
+        return section.orElse(null);
+    }
+}
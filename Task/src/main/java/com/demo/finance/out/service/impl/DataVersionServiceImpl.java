@@ -0,0 +1,95 @@
+package com.demo.finance.out.service.impl;
+
+import com.demo.finance.app.config.CacheInvalidationBus;
+import com.demo.finance.out.service.DataVersionService;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service implementation that keeps per-user data versions in memory.
+ * <p>
+ * Every version tag includes an epoch taken at startup, so tags issued before a restart never match the
+ * versions of the new instance, even though the in-memory counters start again from zero.
+ * <p>
+ * Version increments are published on the {@link CacheInvalidationBus}, so that a change made through one instance
+ * also changes the versions on all other instances. When increments may have been missed after a reconnect of the
+ * bus, a new epoch is started, which changes the tags of all users.
+ */
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private static final String TOPIC = "data-version";
+
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final CacheInvalidationBus invalidationBus;
+    private volatile String epoch = newEpoch();
+
+    /**
+     * Constructs a {@code DataVersionServiceImpl} that exchanges version increments with other instances.
+     *
+     * @param invalidationBus the bus to publish and receive version increments on
+     */
+    public DataVersionServiceImpl(CacheInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(TOPIC, this::applyRemoteIncrements, () -> epoch = newEpoch());
+    }
+
+    /**
+     * Retrieves the current data version of the specified user.
+     *
+     * @param userId the ID of the user
+     * @return the current data version of the user, or {@code 0} if the user's data has not changed yet
+     */
+    @Override
+    public long getVersion(Long userId) {
+        if (userId == null) {
+            return 0L;
+        }
+        AtomicLong version = versions.get(userId);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Increments the data version of the specified user.
+     *
+     * @param userId the ID of the user whose data has changed
+     */
+    @Override
+    public void incrementVersion(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        invalidationBus.publish(TOPIC, userId.toString());
+    }
+
+    /**
+     * Builds an opaque tag consisting of the user ID, the startup epoch and the current data version.
+     *
+     * @param userId the ID of the user
+     * @return the opaque version tag of the user's data
+     */
+    @Override
+    public String getVersionTag(Long userId) {
+        return userId + "-" + epoch + "-" + getVersion(userId);
+    }
+
+    /**
+     * Increments the versions of the users whose data has been changed through other instances.
+     *
+     * @param userIds the IDs of the users, as received from the bus
+     */
+    private void applyRemoteIncrements(Collection<String> userIds) {
+        for (String userId : userIds) {
+            versions.computeIfAbsent(Long.valueOf(userId), id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private static String newEpoch() {
+        return Long.toHexString(System.nanoTime() ^ System.currentTimeMillis());
+    }
+}
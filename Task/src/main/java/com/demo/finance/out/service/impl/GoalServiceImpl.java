@@ -1,13 +1,15 @@
 package com.demo.finance.out.service.impl;
 
+import com.demo.finance.app.config.CacheDependencies;
+import com.demo.finance.app.config.CacheDependencies.Entity;
 import com.demo.finance.domain.dto.GoalDto;
 import com.demo.finance.domain.mapper.GoalMapper;
 import com.demo.finance.domain.model.Goal;
 import com.demo.finance.domain.utils.PaginatedResponse;
 import com.demo.finance.out.repository.GoalRepository;
+import com.demo.finance.out.service.DataVersionService;
 import com.demo.finance.out.service.GoalService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +28,8 @@ public class GoalServiceImpl implements GoalService {
 
     private final GoalRepository goalRepository;
     private final GoalMapper goalMapper;
+    private final DataVersionService dataVersionService;
+    private final CacheDependencies cacheDependencies;
 
     /**
      * Creates a new financial goal in the system based on the provided goal data.
@@ -40,12 +44,14 @@ public class GoalServiceImpl implements GoalService {
      * @throws IllegalArgumentException if the provided goal data is invalid or incomplete
      */
     @Override
-    @CacheEvict(value = "goals", key = "#userId")
     public Long createGoal(GoalDto goalDto, Long userId) {
         Goal goal = goalMapper.toEntity(goalDto);
         goal.setUserId(userId);
         goal.setSavedAmount(BigDecimal.ZERO);
-        return goalRepository.save(goal);
+        Long goalId = goalRepository.save(goal);
+        cacheDependencies.changed(Entity.GOAL, userId);
+        dataVersionService.incrementVersion(userId);
+        return goalId;
     }
 
     /**
@@ -55,7 +61,7 @@ public class GoalServiceImpl implements GoalService {
      * @return the {@link Goal} object matching the provided goal ID
      */
     @Override
-    @Cacheable(value = "goals", key = "#userId")
+    @Cacheable(value = "goals", key = "#userId + '-id-' + #goalId")
     public Goal getGoal(Long goalId, Long userId) {
         return goalRepository.findById(goalId);
     }
@@ -68,7 +74,7 @@ public class GoalServiceImpl implements GoalService {
      * @return the {@link Goal} object matching the provided user ID and goal ID
      */
     @Override
-    @Cacheable(value = "goals", key = "#userId")
+    @Cacheable(value = "goals", key = "#userId + '-' + #goalId")
     public Goal getGoalByUserIdAndGoalId(Long userId, Long goalId) {
         return goalRepository.findByUserIdAndGoalId(userId, goalId);
     }
@@ -81,7 +87,6 @@ public class GoalServiceImpl implements GoalService {
      * @return {@code true} if the update was successful, {@code false} otherwise
      */
     @Override
-    @CacheEvict(value = "goals", key = "#userId")
     public boolean updateGoal(GoalDto goalDto, Long userId) {
         Long goalId = goalDto.getGoalId();
         Goal goal = goalRepository.findByUserIdAndGoalId(userId, goalId);
@@ -90,6 +95,8 @@ public class GoalServiceImpl implements GoalService {
             goal.setTargetAmount(goalDto.getTargetAmount());
             goal.setDuration(goalDto.getDuration());
             goalRepository.update(goal);
+            cacheDependencies.changed(Entity.GOAL, userId);
+            dataVersionService.incrementVersion(userId);
             return true;
         }
         return false;
@@ -103,11 +110,13 @@ public class GoalServiceImpl implements GoalService {
      * @return {@code true} if the deletion was successful, {@code false} otherwise
      */
     @Override
-    @CacheEvict(value = "goals", key = "#userId")
     public boolean deleteGoal(Long userId, Long goalId) {
         Goal goal = goalRepository.findByUserIdAndGoalId(userId, goalId);
         if (goal != null) {
-            return goalRepository.delete(goalId);
+            boolean deleted = goalRepository.delete(goalId);
+            cacheDependencies.changed(Entity.GOAL, userId);
+            dataVersionService.incrementVersion(userId);
+            return deleted;
         }
         return false;
     }
@@ -31,6 +31,7 @@ import java.util.function.Function;
 @Slf4j
 public class JwtServiceImpl implements JwtService {
 
+    private static final String ISSUED_AT_MILLIS = "issuedAtMillis";
     private final SecretKey secretKey;
     private final TokenService tokenService;
 
@@ -53,7 +54,8 @@ public class JwtServiceImpl implements JwtService {
      * Generates a JWT token for the user with the specified email, roles, and user ID.
      * <p>
      * The generated token contains user-specific claims and is signed using a secure HMAC key.
-     * It also sets the issued timestamp and an expiration time as configured.
+     * It also sets the issued timestamp, additionally in milliseconds for revocations within the same second,
+     * and an expiration time as configured.
      * The generated token is stored using {@link TokenService} to support single active token per user.
      * </p>
      *
@@ -64,10 +66,11 @@ public class JwtServiceImpl implements JwtService {
      */
     @Override
     public String generateToken(String email, List<String> roles, Long userId) {
+        long issuedAt = System.currentTimeMillis();
         String token = Jwts.builder().subject(email).claim("roles", roles).claim("userId", userId)
-                .issuedAt(new Date()).expiration(new Date(System.currentTimeMillis() + jwtExpirationInMs))
-                .signWith(secretKey, Jwts.SIG.HS512).compact();
-        tokenService.storeTokenForUser(userId, token);
+                .claim(ISSUED_AT_MILLIS, issuedAt).issuedAt(new Date(issuedAt))
+                .expiration(new Date(issuedAt + jwtExpirationInMs)).signWith(secretKey, Jwts.SIG.HS512).compact();
+        tokenService.storeTokenForUser(userId, token, issuedAt);
         return token;
     }
 
@@ -97,7 +100,7 @@ public class JwtServiceImpl implements JwtService {
             if (isTokenExpired(token)) {
                 throw new ExpiredJwtException(null, null, "JWT Token expired for user ID: " + userId);
             }
-            if (!tokenService.isTokenValid(token)) {
+            if (!tokenService.isTokenValid(token, userId, issuedAtMillis(claims))) {
                 throw new UserNotFoundException("Your account was modified. You have to authenticate again.");
             }
             return createUserDtoFromClaims(claims);
@@ -125,6 +128,18 @@ public class JwtServiceImpl implements JwtService {
         }
     }
 
+    /**
+     * Returns the time the token was issued at in milliseconds, falling back to the issued timestamp in seconds
+     * for tokens issued without the millisecond claim.
+     *
+     * @param claims the claims of the token
+     * @return the time the token was issued at, in epoch milliseconds
+     */
+    private long issuedAtMillis(Claims claims) {
+        Long issuedAt = claims.get(ISSUED_AT_MILLIS, Long.class);
+        return issuedAt != null ? issuedAt : claims.getIssuedAt().getTime();
+    }
+
     /**
      * Extracts a specific claim from the JWT token using a resolver function.
      *
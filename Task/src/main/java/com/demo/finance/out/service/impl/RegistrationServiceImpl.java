@@ -5,6 +5,7 @@ import com.demo.finance.domain.utils.Role;
 import com.demo.finance.domain.model.User;
 import com.demo.finance.domain.utils.impl.PasswordUtilsImpl;
 import com.demo.finance.exception.custom.DuplicateEmailException;
+import com.demo.finance.out.cache.CredentialCache;
 import com.demo.finance.out.repository.UserRepository;
 import com.demo.finance.out.service.RegistrationService;
 import com.demo.finance.domain.mapper.UserMapper;
@@ -24,6 +25,7 @@ public class RegistrationServiceImpl implements RegistrationService {
     private final UserRepository userRepository;
     private final PasswordUtilsImpl passwordUtils;
     private final UserMapper userMapper;
+    private final CredentialCache credentialCache;
 
     /**
      * Registers a new user in the system after performing necessary validations and transformations.
@@ -53,19 +55,28 @@ public class RegistrationServiceImpl implements RegistrationService {
 
     /**
      * Authenticates a user by verifying their credentials against the system's records.
-     * Checks if the provided email exists and validates the password using secure hashing techniques.
+     * Loads the user by email with a single lookup and validates the password using secure hashing techniques,
+     * unless the same credentials were verified against the same stored hash recently.
      *
      * @param userDto the {@link UserDto} object containing the user's authentication details (e.g., email and password)
-     * @return {@code true} if the authentication was successful, {@code false} otherwise
+     * @return the authenticated {@link User}, or {@code null} if the authentication failed
      */
     @Override
-    public boolean authenticate(UserDto userDto) {
+    public User authenticate(UserDto userDto) {
         String email = userDto.getEmail();
         String password = userDto.getPassword();
         User user = userRepository.findByEmail(email);
         if (user == null) {
-            return false;
+            return null;
         }
-        return passwordUtils.checkPassword(password, user.getPassword());
+        String storedHash = user.getPassword();
+        if (credentialCache.isVerified(email, password, storedHash)) {
+            return user;
+        }
+        if (!passwordUtils.checkPassword(password, storedHash)) {
+            return null;
+        }
+        credentialCache.remember(email, password, storedHash);
+        return user;
     }
-}
\ No newline at end of file
+}
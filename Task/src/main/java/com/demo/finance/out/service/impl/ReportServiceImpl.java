@@ -3,6 +3,10 @@ package com.demo.finance.out.service.impl;
 import com.demo.finance.domain.model.Report;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.cache.RefreshAhead;
+import com.demo.finance.out.cache.SingleFlight;
+import com.demo.finance.out.cache.TransactionAnalyticsCache;
+import com.demo.finance.out.cache.TransactionTotals;
 import com.demo.finance.out.repository.TransactionRepository;
 import com.demo.finance.out.service.ReportService;
 import lombok.RequiredArgsConstructor;
@@ -13,19 +17,29 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * The {@code ReportServiceImpl} class implements the {@link ReportService} interface
  * and provides concrete implementations for generating reports and analyzing financial data.
  * It interacts with the database through the {@link TransactionRepository} and handles logic for
- * creating user-specific reports and analyzing expenses by category.
+ * creating user-specific reports and analyzing expenses by category. Aggregations are answered from the
+ * {@link TransactionAnalyticsCache} when possible. Reports are computed through the {@link RefreshAhead}, which
+ * coalesces concurrent computations of the same report and refreshes cached reports in the background. Concurrent
+ * reports reading the same transaction history share one query through the {@link SingleFlight}.
  */
 @Service
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
+    private static final String REPORTS = "reports";
+    private static final String TRANSACTION_HISTORY = "transactionHistory";
+
     private final TransactionRepository transactionRepository;
+    private final TransactionAnalyticsCache analyticsCache;
+    private final SingleFlight singleFlight;
+    private final RefreshAhead refreshAhead;
 
     /**
      * Generates a comprehensive financial report for a specific user based on all their transactions.
@@ -36,8 +50,13 @@ public class ReportServiceImpl implements ReportService {
     @Override
     @Cacheable(value = "reports", key = "#userId")
     public Report generateUserReport(Long userId) {
-        List<Transaction> transactions = transactionRepository.findByUserId(userId);
-        return generateReportFromTransactions(userId, transactions);
+        return refreshAhead.load(REPORTS, userId, () -> {
+            Optional<TransactionTotals> totals = analyticsCache.totals(userId, null, null);
+            if (totals.isPresent()) {
+                return generateReportFromTotals(userId, totals.get());
+            }
+            return generateReportFromTransactions(userId, findHistory(userId));
+        });
     }
 
     /**
@@ -51,10 +70,16 @@ public class ReportServiceImpl implements ReportService {
     @Override
     @Cacheable(value = "reports", key = "#userId + '-' + #from.toString() + '-' + #to.toString()")
     public Report generateReportByDate(Long userId, LocalDate from, LocalDate to) {
-        List<Transaction> transactions = transactionRepository.findByUserId(userId).stream()
-                .filter(t -> t.isWithinDateRange(from, to))
-                .collect(Collectors.toList());
-        return generateReportFromTransactions(userId, transactions);
+        return refreshAhead.load(REPORTS, userId + "-" + from + "-" + to, () -> {
+            Optional<TransactionTotals> totals = analyticsCache.totals(userId, from, to);
+            if (totals.isPresent()) {
+                return generateReportFromTotals(userId, totals.get());
+            }
+            List<Transaction> transactions = findHistory(userId).stream()
+                    .filter(t -> t.isWithinDateRange(from, to))
+                    .collect(Collectors.toList());
+            return generateReportFromTransactions(userId, transactions);
+        });
     }
 
     /**
@@ -68,12 +93,29 @@ public class ReportServiceImpl implements ReportService {
     @Override
     @Cacheable(value = "reports", key = "#userId + '-expenses-' + #from.toString() + '-' + #to.toString()")
     public Map<String, BigDecimal> analyzeExpensesByCategory(Long userId, LocalDate from, LocalDate to) {
-        return transactionRepository.findByUserId(userId).stream()
-                .filter(t -> t.getType() == Type.EXPENSE)
-                .filter(t -> t.isWithinDateRange(from, to))
-                .collect(Collectors.groupingBy(Transaction::getCategory,
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
+        return refreshAhead.load(REPORTS, userId + "-expenses-" + from + "-" + to, () -> {
+            Optional<Map<String, BigDecimal>> expenses = analyticsCache.expensesByCategory(userId, from, to);
+            if (expenses.isPresent()) {
+                return expenses.get();
+            }
+            return findHistory(userId).stream()
+                    .filter(t -> t.getType() == Type.EXPENSE)
+                    .filter(t -> t.isWithinDateRange(from, to))
+                    .collect(Collectors.groupingBy(Transaction::getCategory,
+                            Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
+                    ));
+        });
+    }
+
+    /**
+     * Loads all transactions of a user, sharing the query with concurrent reports of the same user.
+     * The returned list is shared between callers and must not be modified.
+     *
+     * @param userId the unique identifier of the user
+     * @return the list of the user's transactions
+     */
+    private List<Transaction> findHistory(Long userId) {
+        return singleFlight.execute(TRANSACTION_HISTORY, userId, () -> transactionRepository.findByUserId(userId));
     }
 
     /**
@@ -101,4 +143,19 @@ public class ReportServiceImpl implements ReportService {
         report.setReportId(1L);
         return report;
     }
+
+    /**
+     * Generates a financial report from the precomputed totals of a user's transactions.
+     *
+     * @param userId the unique identifier of the user
+     * @param totals the totals of the transactions to include in the report
+     * @return a {@link Report} object containing the user's total income and expenses, or {@code null} if no transactions exist
+     */
+    private Report generateReportFromTotals(Long userId, TransactionTotals totals) {
+        if (totals.count() == 0) return null;
+
+        Report report = new Report(userId, totals.income(), totals.expense());
+        report.setReportId(1L);
+        return report;
+    }
 }
\ No newline at end of file
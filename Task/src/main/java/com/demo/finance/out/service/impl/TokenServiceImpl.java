@@ -1,15 +1,32 @@
 package com.demo.finance.out.service.impl;
 
+import com.demo.finance.app.config.CacheInvalidationBus;
+import com.demo.finance.out.repository.TokenRevocationRepository;
 import com.demo.finance.out.service.TokenService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Service implementation responsible for managing JWT tokens in cache.
  * Supports storing, validating, and invalidating tokens, ensuring each user can have only one active token at a time.
+ * Revoked tokens are published on the {@link CacheInvalidationBus}, so they are rejected by all instances.
+ * <p>
+ * Since a token may have been issued by another instance, invalidating the tokens of a user also revokes the user:
+ * every token of the user issued before the time of the revocation is rejected. User revocations are persisted and
+ * published on the same topic, and every instance reloads them at startup and after a reconnect of the bus, so that
+ * revocations missed while disconnected are recovered. Revocations older than the token lifetime are purged.
  */
 @Slf4j
 @Service
@@ -18,36 +35,76 @@ public class TokenServiceImpl implements TokenService {
 
     private static final ThreadLocal<String> currentToken = new ThreadLocal<>();
     private final CacheManager cacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final TokenRevocationRepository revocationRepository;
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
     private static final String TOKENS_CACHE = "tokens";
     private static final String INVALID_TOKENS_CACHE = "invalidTokens";
+    private static final String REVOKED_TOKENS_TOPIC = "revoked-token";
+    private static final String USER_REVOCATION_PREFIX = "user:";
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationInMs;
+
+    /**
+     * Subscribes to the tokens and users revoked by other instances and blacklists them locally. After a reconnect
+     * of the bus, the user revocations are reloaded from the database.
+     */
+    @PostConstruct
+    public void subscribeToRevocations() {
+        invalidationBus.subscribe(REVOKED_TOKENS_TOPIC, this::applyRevocations, this::reloadRevocations);
+    }
 
     /**
-     * Stores a token for the given user. If a previous token exists, it is blacklisted before the new one is stored.
+     * Loads the user revocations once the application has started and the database has been migrated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reloadRevocations();
+    }
+
+    /**
+     * Forgets the user revocations older than the token lifetime, since they only reject expired tokens.
+     */
+    @Scheduled(fixedDelayString = "${jwt.expiration}", initialDelayString = "${jwt.expiration}")
+    public void purgeRevocations() {
+        long expired = System.currentTimeMillis() - jwtExpirationInMs;
+        revokedBefore.values().removeIf(time -> time < expired);
+        revocationRepository.deleteRevokedBefore(expired);
+    }
+
+    /**
+     * Stores a token for the given user and revokes all tokens of the user issued before it, on all instances.
+     * If a previous token exists in the local cache, it is also blacklisted before the new one is stored.
      *
-     * @param userId the ID of the user
-     * @param token  the new token to store
+     * @param userId   the ID of the user
+     * @param token    the new token to store
+     * @param issuedAt the time the token was issued at, in epoch milliseconds
      */
     @Override
-    public void storeTokenForUser(Long userId, String token) {
+    public void storeTokenForUser(Long userId, String token, long issuedAt) {
         Cache tokensCache = cacheManager.getCache(TOKENS_CACHE);
         Cache invalidTokensCache = cacheManager.getCache(INVALID_TOKENS_CACHE);
         if (tokensCache != null && invalidTokensCache != null && userId != null && token != null) {
             String oldToken = tokensCache.get(userId, String.class);
             if (oldToken != null) {
-                invalidTokensCache.put(oldToken, true);
+                revokeToken(invalidTokensCache, oldToken);
             }
+            revokeUser(userId, issuedAt);
             tokensCache.put(userId, token);
         }
     }
 
     /**
-     * Validates the provided token by checking if it has been blacklisted.
+     * Validates the provided token by checking if it has been blacklisted or issued before a revocation of its user.
      *
-     * @param token the token to validate
-     * @return true if token is not blacklisted and tokens cache is available, false otherwise
+     * @param token    the token to validate
+     * @param userId   the ID of the user the token was issued to
+     * @param issuedAt the time the token was issued at, in epoch milliseconds
+     * @return true if token is neither blacklisted nor revoked and tokens cache is available, false otherwise
      */
     @Override
-    public boolean isTokenValid(String token) {
+    public boolean isTokenValid(String token, Long userId, long issuedAt) {
         if (token == null || token.isEmpty()) {
             return false;
         }
@@ -55,6 +112,10 @@ public class TokenServiceImpl implements TokenService {
         if (blacklisted) {
             return false;
         }
+        Long revokedAt = userId != null ? revokedBefore.get(userId) : null;
+        if (revokedAt != null && issuedAt < revokedAt) {
+            return false;
+        }
         Cache tokensCache = cacheManager.getCache(TOKENS_CACHE);
         return tokensCache != null;
     }
@@ -78,7 +139,8 @@ public class TokenServiceImpl implements TokenService {
     }
 
     /**
-     * Invalidates the current token associated with the executing thread and the given user ID.
+     * Invalidates the current token associated with the executing thread and revokes all tokens of the given user
+     * issued so far.
      *
      * @param userId the ID of the user whose current token should be invalidated
      */
@@ -88,10 +150,14 @@ public class TokenServiceImpl implements TokenService {
         if (token != null) {
             invalidateToken(token, userId);
         }
+        if (userId != null) {
+            revokeUser(userId, System.currentTimeMillis());
+        }
     }
 
     /**
-     * Invalidates the token associated with the given user ID, if present in the cache.
+     * Revokes all tokens of the given user issued so far, whichever instance issued them, and blacklists the token
+     * of the user present in the local cache.
      *
      * @param userId the ID of the user whose token should be invalidated
      */
@@ -100,6 +166,7 @@ public class TokenServiceImpl implements TokenService {
         if (userId == null) {
             return;
         }
+        revokeUser(userId, System.currentTimeMillis());
         Cache tokensCache = cacheManager.getCache(TOKENS_CACHE);
         Cache invalidTokensCache = cacheManager.getCache(INVALID_TOKENS_CACHE);
         if (tokensCache == null || invalidTokensCache == null) {
@@ -107,7 +174,7 @@ public class TokenServiceImpl implements TokenService {
         }
         String userToken = tokensCache.get(userId, String.class);
         if (userToken != null) {
-            invalidTokensCache.put(userToken, true);
+            revokeToken(invalidTokensCache, userToken);
             tokensCache.evict(userId);
         }
     }
@@ -146,11 +213,66 @@ public class TokenServiceImpl implements TokenService {
     private void invalidateToken(String token, Long userId) {
         Cache invalidCache = cacheManager.getCache(INVALID_TOKENS_CACHE);
         if (invalidCache != null) {
-            invalidCache.put(token, true);
+            revokeToken(invalidCache, token);
         }
         Cache tokensCache = cacheManager.getCache(TOKENS_CACHE);
         if (tokensCache != null) {
             tokensCache.evict(userId);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Blacklists the given token locally and publishes the revocation to all other instances.
+     *
+     * @param invalidTokensCache the cache of blacklisted tokens
+     * @param token              the token to blacklist
+     */
+    private void revokeToken(Cache invalidTokensCache, String token) {
+        invalidTokensCache.put(token, true);
+        invalidationBus.publish(REVOKED_TOKENS_TOPIC, token);
+    }
+
+    /**
+     * Revokes the tokens of a user issued before the given time locally, persists the revocation and publishes it
+     * to all other instances.
+     *
+     * @param userId the ID of the user
+     * @param time   the time before which the tokens of the user are revoked, in epoch milliseconds
+     */
+    private void revokeUser(Long userId, long time) {
+        revokedBefore.merge(userId, time, Math::max);
+        revocationRepository.save(userId, time);
+        invalidationBus.publish(REVOKED_TOKENS_TOPIC, USER_REVOCATION_PREFIX + userId + ":" + time);
+    }
+
+    /**
+     * Applies the tokens and user revocations received from other instances.
+     *
+     * @param revocations the revoked tokens and the user revocations, formatted as {@code user:<id>:<time>}
+     */
+    private void applyRevocations(Collection<String> revocations) {
+        Cache invalidTokensCache = cacheManager.getCache(INVALID_TOKENS_CACHE);
+        for (String revocation : revocations) {
+            if (revocation.startsWith(USER_REVOCATION_PREFIX)) {
+                String[] parts = revocation.split(":");
+                try {
+                    revokedBefore.merge(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Math::max);
+                } catch (RuntimeException e) {
+                    log.warn("Ignoring malformed user revocation: {}", revocation);
+                }
+            } else if (invalidTokensCache != null) {
+                invalidTokensCache.put(revocation, true);
+            }
+        }
+    }
+
+    /**
+     * Reloads the user revocations that can still reject unexpired tokens from the database.
+     */
+    private void reloadRevocations() {
+        Map<Long, Long> revocations = revocationRepository.findRevokedSince(
+                System.currentTimeMillis() - jwtExpirationInMs);
+        revocations.forEach((userId, time) -> revokedBefore.merge(userId, time, Math::max));
+        log.info("Loaded {} user token revocations", revocations.size());
+    }
+}
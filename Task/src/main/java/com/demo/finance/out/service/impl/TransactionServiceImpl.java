@@ -1,15 +1,17 @@
 package com.demo.finance.out.service.impl;
 
+import com.demo.finance.app.config.CacheDependencies;
+import com.demo.finance.app.config.CacheDependencies.Entity;
 import com.demo.finance.domain.dto.TransactionDto;
 import com.demo.finance.domain.mapper.TransactionMapper;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.PaginatedResponse;
+import com.demo.finance.out.cache.TransactionAnalyticsCache;
 import com.demo.finance.out.repository.TransactionRepository;
+import com.demo.finance.out.service.DataVersionService;
 import com.demo.finance.out.service.TransactionService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -26,6 +28,9 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
+    private final DataVersionService dataVersionService;
+    private final CacheDependencies cacheDependencies;
+    private final TransactionAnalyticsCache analyticsCache;
 
     /**
      * Creates a new transaction in the system based on the provided transaction data.
@@ -33,19 +38,25 @@ public class TransactionServiceImpl implements TransactionService {
      * This method maps the provided {@link TransactionDto} to a {@link Transaction} entity,
      * associates the transaction with the specified user ID, and saves it to the database.
      * The transaction details include the amount, category, date, description, and type.
+     * The transaction is saved and read back in a single statement.
      *
      * @param dto    the {@link TransactionDto} object containing the details of the transaction to create
      * @param userId the unique identifier of the user associated with the transaction
-     * @return the unique identifier ({@code Long}) of the newly created transaction
+     * @return the newly created {@link Transaction} as persisted, or {@code null} if the save failed
      * @throws IllegalArgumentException if the provided transaction data is invalid or incomplete
      */
     @Override
-    @Caching(evict = {@CacheEvict(value = "transactions", key = "#userId"),
-            @CacheEvict(value = "reports", key = "#userId")})
-    public Long createTransaction(TransactionDto dto, Long userId) {
+    public Transaction createTransaction(TransactionDto dto, Long userId) {
         Transaction transaction = transactionMapper.toEntity(dto);
         transaction.setUserId(userId);
-        return transactionRepository.save(transaction);
+        Transaction created = transactionRepository.saveAndReturn(transaction);
+        if (created == null) {
+            return null;
+        }
+        analyticsCache.transactionSaved(created);
+        cacheDependencies.changed(Entity.TRANSACTION, userId);
+        dataVersionService.incrementVersion(userId);
+        return created;
     }
 
     /**
@@ -57,7 +68,7 @@ public class TransactionServiceImpl implements TransactionService {
      * or {@code null} if not found
      */
     @Override
-    @Cacheable(value = "transactions", key = "#userId")
+    @Cacheable(value = "transactions", key = "#userId + '-' + #transactionId")
     public Transaction getTransactionByUserIdAndTransactionId(Long userId, Long transactionId) {
         return transactionRepository.findByUserIdAndTransactionId(userId, transactionId);
     }
@@ -69,50 +80,54 @@ public class TransactionServiceImpl implements TransactionService {
      * @return the {@link Transaction} object matching the provided transaction ID, or {@code null} if not found
      */
     @Override
-    @Cacheable(value = "transactions", key = "#userId")
+    @Cacheable(value = "transactions", key = "#userId + '-id-' + #transactionId")
     public Transaction getTransaction(Long transactionId, Long userId) {
         return transactionRepository.findById(transactionId);
     }
 
     /**
-     * Updates an existing transaction in the system based on the provided transaction data.
+     * Updates the amount, category and description of an existing transaction based on the provided
+     * transaction data. The ownership check, the update and reading the result back happen in a single statement.
      *
      * @param dto    the {@link TransactionDto} object containing updated transaction details
      * @param userId the unique identifier of the user who owns the transaction
-     * @return {@code true} if the update was successful, {@code false} otherwise
+     * @return the updated {@link Transaction} as persisted, or {@code null} if the user owns no such transaction
      */
     @Override
-    @Caching(evict = {@CacheEvict(value = "transactions", key = "#userId"),
-            @CacheEvict(value = "reports", key = "#userId")})
-    public boolean updateTransaction(TransactionDto dto, Long userId) {
-        Long transactionId = dto.getTransactionId();
-        Transaction transaction = transactionRepository.findByUserIdAndTransactionId(userId, transactionId);
-        if (transaction != null) {
-            transaction.setAmount(dto.getAmount());
-            transaction.setCategory(dto.getCategory());
-            transaction.setDescription(dto.getDescription());
-            transactionRepository.update(transaction);
-            return true;
+    public Transaction updateTransaction(TransactionDto dto, Long userId) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(dto.getTransactionId());
+        transaction.setUserId(userId);
+        transaction.setAmount(dto.getAmount());
+        transaction.setCategory(dto.getCategory());
+        transaction.setDescription(dto.getDescription());
+        Transaction updated = transactionRepository.updateAndReturn(transaction);
+        if (updated == null) {
+            return null;
         }
-        return false;
+        analyticsCache.transactionSaved(updated);
+        cacheDependencies.changed(Entity.TRANSACTION, userId);
+        dataVersionService.incrementVersion(userId);
+        return updated;
     }
 
     /**
      * Deletes a transaction from the system based on the provided user ID and transaction ID.
+     * The ownership check and the deletion happen in a single statement.
      *
      * @param userId        the unique identifier of the user
      * @param transactionId the unique identifier of the transaction
      * @return {@code true} if the deletion was successful, {@code false} otherwise
      */
     @Override
-    @Caching(evict = {@CacheEvict(value = "transactions", key = "#userId"),
-            @CacheEvict(value = "reports", key = "#userId")})
     public boolean deleteTransaction(Long userId, Long transactionId) {
-        Transaction transaction = transactionRepository.findByUserIdAndTransactionId(userId, transactionId);
-        if (transaction != null) {
-            return transactionRepository.delete(transactionId);
+        if (!transactionRepository.deleteByUserIdAndTransactionId(userId, transactionId)) {
+            return false;
         }
-        return false;
+        analyticsCache.transactionDeleted(userId, transactionId);
+        cacheDependencies.changed(Entity.TRANSACTION, userId);
+        dataVersionService.incrementVersion(userId);
+        return true;
     }
 
     /**
@@ -6,6 +6,7 @@ import com.demo.finance.domain.utils.PaginatedResponse;
 import com.demo.finance.domain.utils.impl.PasswordUtilsImpl;
 import com.demo.finance.exception.custom.OptimisticLockException;
 import com.demo.finance.out.repository.UserRepository;
+import com.demo.finance.out.service.DataVersionService;
 import com.demo.finance.out.service.TokenService;
 import com.demo.finance.out.service.UserService;
 import com.demo.finance.domain.mapper.UserMapper;
@@ -30,6 +31,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordUtilsImpl passwordUtils;
     private final UserMapper userMapper;
     private final TokenService tokenService;
+    private final DataVersionService dataVersionService;
 
     /**
      * Retrieves a user from the database by their email address.
@@ -86,6 +88,7 @@ public class UserServiceImpl implements UserService {
         if (!userRepository.update(user)) {
             throw new OptimisticLockException("Your account was modified. Check version number.");
         }
+        dataVersionService.incrementVersion(userId);
         tokenService.invalidateCurrentToken(userId);
         return true;
     }
@@ -102,6 +105,7 @@ public class UserServiceImpl implements UserService {
     public boolean deleteOwnAccount(Long userId) {
         boolean deleted = userRepository.delete(userId);
         if (deleted) {
+            dataVersionService.incrementVersion(userId);
             tokenService.invalidateCurrentToken(userId);
         }
         return deleted;
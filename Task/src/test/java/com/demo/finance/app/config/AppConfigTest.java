@@ -1,5 +1,7 @@
 package com.demo.finance.app.config;
 
+import com.demo.finance.in.filter.RateLimiter;
+import com.demo.finance.out.service.DataVersionService;
 import com.demo.finance.out.service.JwtService;
 import com.demo.finance.out.service.TokenService;
 import org.junit.jupiter.api.Test;
@@ -29,6 +31,14 @@ class AppConfigTest {
     private JwtService jwtService;
     @MockBean
     private TokenService tokenService;
+    @MockBean
+    private DataVersionService dataVersionService;
+    @MockBean
+    private RateLimiter rateLimiter;
+    @MockBean
+    private IdentityMap identityMap;
+    @MockBean
+    private QueryBudget queryBudget;
 
     @Test
     void testCorsConfiguration() throws Exception {
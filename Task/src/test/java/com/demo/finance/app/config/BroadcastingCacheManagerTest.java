@@ -0,0 +1,113 @@
+package com.demo.finance.app.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BroadcastingCacheManagerTest {
+
+    @Mock
+    private ObjectProvider<CacheInvalidationBus> busProvider;
+    @Mock
+    private CacheInvalidationBus bus;
+    private CaffeineCacheManager targetCacheManager;
+    private BroadcastingCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        targetCacheManager = new CaffeineCacheManager("users", "reports", "invalidTokens");
+        cacheManager = new BroadcastingCacheManager(targetCacheManager, busProvider, 2, Set.of("invalidTokens"));
+        when(busProvider.getIfAvailable()).thenReturn(bus);
+        cacheManager.afterSingletonsInstantiated();
+    }
+
+    @Test
+    @DisplayName("After singletons instantiated - subscribes to the cache topic")
+    void testAfterSingletonsInstantiated_subscribes() {
+        verify(bus).subscribe(eq("cache"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Evict - evicts locally and publishes Long and String keys")
+    void testEvict_publishesKeys() {
+        Cache users = cacheManager.getCache("users");
+        users.put(1L, "user");
+
+        users.evict(1L);
+        cacheManager.getCache("reports").evict("1-data");
+
+        assertThat(users.get(1L)).isNull();
+        verify(bus).publish("cache", "users\tL1");
+        verify(bus).publish("cache", "reports\tS1-data");
+    }
+
+    @Test
+    @DisplayName("Evict - key of another type - publishes a clear of the cache")
+    void testEvict_otherKeyType_publishesClear() {
+        cacheManager.getCache("users").evict(1);
+
+        verify(bus).publish("cache", "users");
+    }
+
+    @Test
+    @DisplayName("Put - is not published")
+    void testPut_notPublished() {
+        cacheManager.getCache("users").put(1L, "user");
+
+        verify(bus, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Apply invalidations - evicts keys locally without publishing")
+    void testApplyInvalidations_evictsKeys() {
+        targetCacheManager.getCache("users").put(1L, "user");
+        targetCacheManager.getCache("users").put(2L, "other");
+
+        cacheManager.applyInvalidations(List.of("users\tL1"));
+
+        assertThat(targetCacheManager.getCache("users").get(1L)).isNull();
+        assertThat(targetCacheManager.getCache("users").get(2L)).isNotNull();
+        verify(bus, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Apply invalidations - too many keys for one cache - clears the cache")
+    void testApplyInvalidations_tooManyKeys_clearsCache() {
+        targetCacheManager.getCache("reports").put("9-data", "report");
+
+        cacheManager.applyInvalidations(List.of("reports\tS1", "reports\tS2", "reports\tS3"));
+
+        assertThat(targetCacheManager.getCache("reports").get("9-data")).isNull();
+    }
+
+    @Test
+    @DisplayName("Apply invalidations and resync - never clear preserved caches")
+    void testApplyInvalidationsAndResync_keepPreservedCaches() {
+        targetCacheManager.getCache("invalidTokens").put("a.b.c", true);
+        targetCacheManager.getCache("users").put(1L, "user");
+
+        cacheManager.applyInvalidations(List.of("invalidTokens"));
+        cacheManager.resync();
+
+        assertThat(targetCacheManager.getCache("invalidTokens").get("a.b.c")).isNotNull();
+        assertThat(targetCacheManager.getCache("users").get(1L)).isNull();
+    }
+}
@@ -0,0 +1,147 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.app.config.CacheDependencies.Entity;
+import com.demo.finance.out.cache.OffHeapCacheTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CacheDependenciesTest {
+
+    @Mock
+    private CacheInvalidationBus bus;
+    private CaffeineCacheManager heapCacheManager;
+    private CacheManager cacheManager;
+    private StaticListableBeanFactory beanFactory;
+    private UserKeyIndex keyIndex;
+    private CacheDependencies cacheDependencies;
+
+    @BeforeEach
+    void setUp() {
+        heapCacheManager = new CaffeineCacheManager("transactions", "reports", "budgets", "goals");
+        beanFactory = new StaticListableBeanFactory();
+        keyIndex = new UserKeyIndex(CacheDependencies.dependentCacheNames());
+        cacheManager = new IndexedCacheManager(heapCacheManager, keyIndex,
+                beanFactory.getBeanProvider(OffHeapCacheTier.class));
+        cacheDependencies = new CacheDependencies(cacheManager, bus,
+                beanFactory.getBeanProvider(OffHeapCacheTier.class), keyIndex);
+    }
+
+    @Test
+    @DisplayName("Dependent caches - transaction change - invalidates transactions, reports and budgets")
+    void testDependentCaches_transaction() {
+        assertThat(cacheDependencies.dependentCaches(Entity.TRANSACTION))
+                .containsExactly("budgets", "reports", "transactions");
+        assertThat(cacheDependencies.dependentCaches(Entity.BUDGET)).containsExactly("budgets");
+        assertThat(cacheDependencies.dependentCaches(Entity.GOAL)).containsExactly("goals");
+    }
+
+    @Test
+    @DisplayName("Subscribe - subscribes to the dependencies topic")
+    void testSubscribe() {
+        cacheDependencies.subscribe();
+
+        verify(bus).subscribe(eq("cache-dependencies"), any());
+    }
+
+    @Test
+    @DisplayName("Changed - transaction - evicts all entries of the user and publishes the change")
+    void testChanged_transaction_evictsAllEntriesOfUser() {
+        Cache reports = cacheManager.getCache("reports");
+        Cache budgets = cacheManager.getCache("budgets");
+        Cache goals = cacheManager.getCache("goals");
+        reports.put(1L, "report");
+        reports.put("1-2025-01-01-2025-01-31", "ranged report");
+        reports.put("1-expenses-2025-01-01-2025-01-31", "expenses");
+        reports.put(12L, "other user");
+        reports.put("12-2025-01-01-2025-01-31", "other user");
+        budgets.put("1-data-2025-01", "budget data");
+        goals.put("1-5", "goal");
+
+        cacheDependencies.changed(Entity.TRANSACTION, 1L);
+
+        assertThat(reports.get(1L)).isNull();
+        assertThat(reports.get("1-2025-01-01-2025-01-31")).isNull();
+        assertThat(reports.get("1-expenses-2025-01-01-2025-01-31")).isNull();
+        assertThat(budgets.get("1-data-2025-01")).isNull();
+        assertThat(reports.get(12L)).isNotNull();
+        assertThat(reports.get("12-2025-01-01-2025-01-31")).isNotNull();
+        assertThat(goals.get("1-5")).isNotNull();
+        assertThat(keyIndex.size("reports")).isEqualTo(2);
+        verify(bus).publish("cache-dependencies", "TRANSACTION\t1");
+    }
+
+    @Test
+    @DisplayName("Changed - cache written without the index - evicts the user's entries by scanning")
+    void testChanged_unindexedCache_scansCache() {
+        cacheDependencies = new CacheDependencies(heapCacheManager, bus,
+                beanFactory.getBeanProvider(OffHeapCacheTier.class), keyIndex);
+        Cache reports = heapCacheManager.getCache("reports");
+        reports.put("1-2025-01-01-2025-01-31", "ranged report");
+        reports.put(12L, "other user");
+
+        cacheDependencies.changed(Entity.TRANSACTION, 1L);
+
+        assertThat(reports.get("1-2025-01-01-2025-01-31")).isNull();
+        assertThat(reports.get(12L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Apply changes - batch from other instances - evicts the users of every change")
+    void testApplyChanges_evictsUsers() {
+        Cache budgets = cacheManager.getCache("budgets");
+        Cache goals = cacheManager.getCache("goals");
+        budgets.put(1L, "budget");
+        budgets.put("2-data-2025-01", "budget data");
+        goals.put("3-7", "goal");
+        goals.put("4-8", "goal");
+
+        cacheDependencies.applyChanges(List.of("BUDGET\t1", "TRANSACTION\t2", "GOAL\t3", "UNKNOWN\t4", "GOAL"));
+
+        assertThat(budgets.get(1L)).isNull();
+        assertThat(budgets.get("2-data-2025-01")).isNull();
+        assertThat(goals.get("3-7")).isNull();
+        assertThat(goals.get("4-8")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Changed - off-heap tier enabled - evicts the off-heap copies of the user's entries")
+    void testChanged_offHeapTier_evictsOffHeapCopies() {
+        OffHeapCacheTier tier = new OffHeapCacheTier(new SimpleMeterRegistry(), true, 1, 64, 3600,
+                new String[]{"reports"});
+        beanFactory.addBean("offHeapCacheTier", tier);
+        cacheManager = new IndexedCacheManager(new TieredCacheManager(heapCacheManager,
+                beanFactory.getBeanProvider(OffHeapCacheTier.class)), keyIndex,
+                beanFactory.getBeanProvider(OffHeapCacheTier.class));
+        cacheDependencies = new CacheDependencies(cacheManager, bus,
+                beanFactory.getBeanProvider(OffHeapCacheTier.class), keyIndex);
+        Cache reports = cacheManager.getCache("reports");
+        reports.put(1L, "report");
+        reports.put("1-2025-01-01-2025-01-31", "ranged report");
+        reports.put(12L, "other user");
+        heapCacheManager.getCache("reports").clear();
+
+        cacheDependencies.changed(Entity.TRANSACTION, 1L);
+
+        assertThat(reports.get(1L)).isNull();
+        assertThat(reports.get("1-2025-01-01-2025-01-31")).isNull();
+        assertThat(reports.get(12L)).isNotNull();
+        assertThat(tier.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,116 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.out.repository.impl.AbstractContainerBaseSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationBusIntegrationTest extends AbstractContainerBaseSetup {
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new Node();
+        nodeB = new Node();
+        await().atMost(Duration.ofSeconds(10)).until(() -> nodeA.bus.isConnected() && nodeB.bus.isConnected());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.bus.stop();
+        nodeB.bus.stop();
+    }
+
+    @Test
+    @DisplayName("Eviction on one instance evicts the entry on the other instance")
+    void testEvictionPropagates() {
+        nodeA.cacheManager.getCache("reports").put(1L, "stale report A");
+        nodeB.cacheManager.getCache("reports").put(1L, "stale report B");
+        nodeB.cacheManager.getCache("reports").put(2L, "report of another user");
+
+        nodeA.cacheManager.getCache("reports").evict(1L);
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> nodeB.cacheManager.getCache("reports").get(1L) == null);
+        assertThat(nodeB.cacheManager.getCache("reports").get(2L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Clear on one instance clears the cache on the other instance")
+    void testClearPropagates() {
+        nodeB.cacheManager.getCache("users").put(1L, "user");
+        nodeB.cacheManager.getCache("users").put(2L, "admin");
+
+        nodeA.cacheManager.getCache("users").clear();
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> nodeB.cacheManager.getCache("users").get(2L) == null);
+    }
+
+    @Test
+    @DisplayName("Token revoked on one instance is rejected by the other instance")
+    void testTokenRevocationPropagates() {
+        Set<String> revokedOnB = ConcurrentHashMap.newKeySet();
+        nodeB.bus.subscribe("revoked-token", revokedOnB::addAll);
+
+        nodeA.bus.publish("revoked-token", "header.payload.signature");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> revokedOnB.contains("header.payload.signature"));
+    }
+
+    @Test
+    @DisplayName("Burst of evictions is coalesced and applied on the other instance")
+    void testEvictionBurstIsCoalesced() {
+        Cache budgetsB = nodeB.cacheManager.getCache("budgets");
+        for (long userId = 0; userId < 500; userId++) {
+            budgetsB.put(userId, "budget");
+        }
+
+        Cache budgetsA = nodeA.cacheManager.getCache("budgets");
+        for (long userId = 0; userId < 500; userId++) {
+            budgetsA.evict(userId);
+            budgetsA.evict(userId);
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> budgetsB.get(499L) == null && budgetsB.get(0L) == null);
+    }
+
+    private static final class Node {
+
+        private final CacheInvalidationBus bus;
+        private final BroadcastingCacheManager cacheManager;
+
+        @SuppressWarnings("unchecked")
+        private Node() {
+            DatabaseConfig databaseConfig = new DatabaseConfig();
+            databaseConfig.init();
+            bus = new CacheInvalidationBus(new DataSourceManager(databaseConfig));
+            ReflectionTestUtils.setField(bus, "enabled", true);
+            ReflectionTestUtils.setField(bus, "coalesceMillis", 20);
+            ReflectionTestUtils.setField(bus, "reconnectBackoffMillis", 500L);
+            ObjectProvider<CacheInvalidationBus> busProvider = mock(ObjectProvider.class);
+            when(busProvider.getIfAvailable()).thenReturn(bus);
+            CacheManager caches = new CaffeineCacheManager("users", "reports", "budgets", "invalidTokens");
+            cacheManager = new BroadcastingCacheManager(caches, busProvider, 100, Set.of("invalidTokens"));
+            cacheManager.afterSingletonsInstantiated();
+            bus.start();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.demo.finance.app.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGNotification;
+import org.postgresql.core.Notification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private DataSourceManager dataSourceManager;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    private CacheInvalidationBus bus;
+    private String nodeId;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(dataSourceManager);
+        ReflectionTestUtils.setField(bus, "enabled", true);
+        nodeId = (String) ReflectionTestUtils.getField(bus, "nodeId");
+    }
+
+    @Test
+    @DisplayName("Flush - coalesces duplicate invalidations into a single notification")
+    void testFlush_coalescesDuplicates() throws SQLException {
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        bus.publish("cache", "users\tL1");
+        bus.publish("cache", "users\tL1");
+        bus.publish("revoked-token", "a.b.c");
+
+        bus.flush(connection);
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(statement, times(1)).setString(anyInt(), message.capture());
+        assertThat(message.getValue()).isEqualTo(nodeId + "\ncache\tusers\tL1\nrevoked-token\ta.b.c");
+        verify(statement, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Flush - splits large batches below the notification payload limit")
+    void testFlush_splitsLargeBatches() throws SQLException {
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        for (int i = 0; i < 1000; i++) {
+            bus.publish("cache", "reports\tS" + i + "-2024-01-01-2024-12-31");
+        }
+
+        bus.flush(connection);
+
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(statement, atLeast(2)).setString(anyInt(), messages.capture());
+        assertThat(messages.getAllValues()).allSatisfy(message -> assertThat(message).startsWith(nodeId + "\n")
+                .hasSizeLessThanOrEqualTo(7900));
+        assertThat(messages.getAllValues().stream().mapToInt(message -> message.split("\n").length - 1).sum())
+                .isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Flush - nothing pending - sends nothing")
+    void testFlush_nothingPending() throws SQLException {
+        bus.flush(connection);
+
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    @DisplayName("Flush - failure keeps the invalidations for the next attempt")
+    void testFlush_failureKeepsPending() throws SQLException {
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        doThrow(new SQLException("connection lost")).doReturn(true).when(statement).execute();
+        bus.publish("cache", "users\tL1");
+
+        assertThatThrownBy(() -> bus.flush(connection)).isInstanceOf(SQLException.class);
+        bus.flush(connection);
+
+        verify(statement, times(2)).setString(1, nodeId + "\ncache\tusers\tL1");
+    }
+
+    @Test
+    @DisplayName("Publish - disabled bus - discards invalidations")
+    void testPublish_disabled() throws SQLException {
+        ReflectionTestUtils.setField(bus, "enabled", false);
+        bus.publish("cache", "users\tL1");
+
+        bus.flush(connection);
+
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    @DisplayName("Publish - payload with line break - throws exception")
+    void testPublish_lineBreak() {
+        assertThatThrownBy(() -> bus.publish("cache", "users\nL1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Dispatch - groups and deduplicates payloads per topic and skips own notifications")
+    void testDispatch_groupsPayloads() {
+        List<Collection<String>> cacheBatches = new ArrayList<>();
+        List<Collection<String>> tokenBatches = new ArrayList<>();
+        bus.subscribe("cache", cacheBatches::add);
+        bus.subscribe("revoked-token", tokenBatches::add);
+
+        bus.dispatch(new PGNotification[]{
+                notification("other\ncache\tusers\tL1\nrevoked-token\ta.b.c"),
+                notification("another\ncache\tusers\tL1\ncache\tbudgets\tL2"),
+                notification(nodeId + "\ncache\tgoals\tL3")});
+
+        assertThat(cacheBatches).hasSize(1);
+        assertThat(cacheBatches.get(0)).containsExactly("users\tL1", "budgets\tL2");
+        assertThat(tokenBatches).hasSize(1);
+        assertThat(tokenBatches.get(0)).containsExactly("a.b.c");
+    }
+
+    @Test
+    @DisplayName("Dispatch - failing subscriber does not prevent other subscribers")
+    void testDispatch_failingSubscriber() {
+        List<Collection<String>> batches = new ArrayList<>();
+        bus.subscribe("cache", payloads -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.subscribe("cache", batches::add);
+
+        bus.dispatch(new PGNotification[]{notification("other\ncache\tusers")});
+
+        assertThat(batches).hasSize(1);
+    }
+
+    private static PGNotification notification(String parameter) {
+        return new Notification(CacheInvalidationBus.CHANNEL, 1, parameter);
+    }
+}
@@ -0,0 +1,63 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.domain.dto.UserDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DataSourceManagerRoutingTest {
+
+    @Mock
+    private DatabaseConfig config;
+    @Mock
+    private ReplicaRouter replicaRouter;
+    private DataSourceManager dataSourceManager;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        when(config.getDbReplicaUrl()).thenReturn("jdbc:postgresql://replica:5432/financedb");
+        dataSourceManager = new DataSourceManager(config, replicaRouter);
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Write to another user's rows should keep both the current and the affected user on the primary")
+    void recordWrite_ForAnotherUser_ShouldRecordBothUsers() {
+        UserDto admin = new UserDto();
+        admin.setUserId(1L);
+        request.setAttribute("currentUser", admin);
+
+        dataSourceManager.recordWrite(2L);
+
+        verify(replicaRouter).recordWrite(1L);
+        verify(replicaRouter).recordWrite(2L);
+    }
+
+    @Test
+    @DisplayName("Anonymous write should keep the affected user on the primary")
+    void recordWrite_Anonymous_ShouldRecordAffectedUser() {
+        dataSourceManager.recordWrite(2L);
+
+        verify(replicaRouter).recordWrite(2L);
+        verifyNoMoreInteractions(replicaRouter);
+    }
+}
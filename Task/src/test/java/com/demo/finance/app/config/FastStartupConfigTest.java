@@ -0,0 +1,35 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.in.controller.TransactionController;
+import com.demo.finance.in.filter.AuthenticationFilter;
+import com.demo.finance.out.service.impl.TransactionServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastStartupConfigTest {
+
+    private final LazyInitializationExcludeFilter filter = FastStartupConfig.hotPathBeansExcludeFilter();
+
+    @Test
+    @DisplayName("Hot path beans are excluded from lazy initialization")
+    void testHotPathBeans_areExcluded() {
+        assertThat(isExcluded(AuthenticationFilter.class)).isTrue();
+        assertThat(isExcluded(TransactionController.class)).isTrue();
+        assertThat(isExcluded(TransactionServiceImpl.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Other beans stay lazy")
+    void testOtherBeans_stayLazy() {
+        assertThat(isExcluded(OpenApiConfig.class)).isFalse();
+        assertThat(filter.isExcluded("unknown", new RootBeanDefinition(), null)).isFalse();
+    }
+
+    private boolean isExcluded(Class<?> type) {
+        return filter.isExcluded(type.getSimpleName(), new RootBeanDefinition(type), type);
+    }
+}
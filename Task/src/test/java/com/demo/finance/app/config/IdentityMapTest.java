@@ -0,0 +1,189 @@
+package com.demo.finance.app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityMapTest {
+
+    private static final String FIND_GOALS_SQL = "SELECT * FROM finance.goals WHERE user_id = ?";
+    private static final String FIND_GOAL_SQL = "SELECT * FROM finance.goals WHERE goal_id = ?";
+    private static final String UPDATE_GOAL_SQL = "UPDATE finance.goals SET goal_name = ? WHERE goal_id = ?";
+    private static final String INSERT_USER_SQL = "INSERT INTO finance.users (name) VALUES (?)";
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdentityMap identityMap;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        identityMap = new IdentityMap(meterRegistry, true, 256);
+        executions = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        while (IdentityMap.currentScope() != null) {
+            IdentityMap.currentScope().close();
+        }
+    }
+
+    @Test
+    @DisplayName("Read - without scope - executes every read")
+    void read_withoutScope_executesEveryRead() {
+        findGoals(1L);
+        findGoals(1L);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Read - repeated within scope - executes once and records the saved read on close")
+    void read_repeatedWithinScope_executesOnce() {
+        try (IdentityMap.Scope scope = identityMap.open()) {
+            assertThat(findGoals(1L)).isEqualTo("goals-1");
+            assertThat(findGoals(1L)).isEqualTo("goals-1");
+            findGoals(2L);
+
+            assertThat(scope.queriesExecuted()).isEqualTo(2);
+            assertThat(scope.collapsedReads()).isEqualTo(1);
+        }
+
+        assertThat(IdentityMap.currentScope()).isNull();
+        assertThat(summary("app.sql.request.queries").totalAmount()).isEqualTo(2.0);
+        assertThat(summary("app.sql.request.collapsed-reads").totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Written - scoped write - drops the reads of that user and reads across users of the table")
+    void written_scopedWrite_dropsReadsOfUser() {
+        try (IdentityMap.Scope ignored = identityMap.open()) {
+            findGoals(1L);
+            findGoals(2L);
+            findGoal(5L);
+
+            IdentityMap.written(UPDATE_GOAL_SQL, 1L);
+            findGoals(1L);
+            findGoals(2L);
+            findGoal(5L);
+        }
+
+        assertThat(executions).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("Written - unscoped write - drops all reads of the table only")
+    void written_unscopedWrite_dropsReadsOfTable() {
+        try (IdentityMap.Scope ignored = identityMap.open()) {
+            findGoals(1L);
+            findGoals(2L);
+
+            IdentityMap.written(INSERT_USER_SQL, null);
+            findGoals(1L);
+            IdentityMap.written(UPDATE_GOAL_SQL, null);
+            findGoals(1L);
+            findGoals(2L);
+        }
+
+        assertThat(executions).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Written - unknown statement - drops all reads")
+    void written_unknownStatement_dropsAllReads() {
+        try (IdentityMap.Scope ignored = identityMap.open()) {
+            findGoals(1L);
+
+            IdentityMap.written(null, null);
+            findGoals(1L);
+        }
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Open - nested scope - joins the outer scope until it is closed")
+    void open_nested_joinsOuterScope() {
+        try (IdentityMap.Scope outer = identityMap.open()) {
+            try (IdentityMap.Scope inner = identityMap.open()) {
+                assertThat(inner).isSameAs(outer);
+                findGoals(1L);
+            }
+            assertThat(IdentityMap.currentScope()).isSameAs(outer);
+            findGoals(1L);
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(summary("app.sql.request.queries").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Bind - scope of another thread - shares its reads and counts until unbound without closing it")
+    void bind_scopeOfAnotherThread_sharesReads() throws Exception {
+        try (IdentityMap.Scope scope = identityMap.open()) {
+            findGoals(1L);
+            AtomicReference<IdentityMap.Scope> unbound = new AtomicReference<>(scope);
+            Thread worker = new Thread(() -> {
+                try (IdentityMap.Binding ignored = IdentityMap.bind(scope)) {
+                    findGoals(1L);
+                    IdentityMap.executed("SELECT * FROM finance.budgets WHERE user_id = ?");
+                }
+                unbound.set(IdentityMap.currentScope());
+            });
+            worker.start();
+            worker.join();
+
+            assertThat(unbound.get()).isNull();
+            assertThat(scope.queriesExecuted()).isEqualTo(2);
+            assertThat(scope.collapsedReads()).isEqualTo(1);
+            assertThat(IdentityMap.currentScope()).isSameAs(scope);
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(summary("app.sql.request.queries").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Disabled - executes every read but still counts the statements")
+    void disabled_countsStatements() {
+        identityMap = new IdentityMap(meterRegistry, false, 256);
+
+        try (IdentityMap.Scope scope = identityMap.open()) {
+            findGoals(1L);
+            findGoals(1L);
+
+            assertThat(scope.queriesExecuted()).isEqualTo(2);
+            assertThat(scope.collapsedReads()).isZero();
+            assertThat(scope.statementCounts()).containsExactly(Map.entry(FIND_GOALS_SQL, 2));
+        }
+    }
+
+    private String findGoals(Long userId) {
+        return IdentityMap.read(FIND_GOALS_SQL, userId, List.of(userId), () -> execute("goals-" + userId));
+    }
+
+    private String findGoal(Long goalId) {
+        return IdentityMap.read(FIND_GOAL_SQL, null, List.of(goalId), () -> execute("goal-" + goalId));
+    }
+
+    private String execute(String result) {
+        executions.incrementAndGet();
+        IdentityMap.executed(FIND_GOALS_SQL);
+        return result;
+    }
+
+    private DistributionSummary summary(String name) {
+        return meterRegistry.get(name).summary();
+    }
+}
@@ -0,0 +1,157 @@
+package com.demo.finance.app.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test comparing the default Jetty setup with the {@code jetty-tuned} profile. Both servers serve the same
+ * paginated transaction-like JSON payload; bytes-on-wire and latency are logged, while only the compression
+ * saving is asserted, since latency depends on the machine running the test.
+ * <p>
+ * Excluded from the regular {@code test} task; run it with {@code gradle :Task:loadTest}.
+ */
+@Slf4j
+class JettyConfigLoadTest {
+
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int MEASURED_REQUESTS = 2000;
+    private static final byte[] PAYLOAD = buildPayload();
+
+    private final List<WebServer> servers = new ArrayList<>();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(WebServer::stop);
+    }
+
+    @Test
+    @DisplayName("Tuned profile - transfers fewer bytes than the default setup")
+    void testTunedProfile_reducesBytesOnWire() throws Exception {
+        WebServer baseline = start(new JettyServletWebServerFactory());
+        JettyServletWebServerFactory tunedFactory = new JettyServletWebServerFactory();
+        tunedConfig().customize(tunedFactory);
+        WebServer tuned = start(tunedFactory);
+
+        Result baselineResult = run(HttpClient.Version.HTTP_1_1, baseline.getPort());
+        Result tunedResult = run(HttpClient.Version.HTTP_2, tuned.getPort());
+
+        log.info("Baseline: {} bytes/response, p50={} us, p99={} us",
+                baselineResult.bytesPerResponse(), baselineResult.p50Micros(), baselineResult.p99Micros());
+        log.info("Tuned ({}): {} bytes/response, p50={} us, p99={} us", tunedResult.version(),
+                tunedResult.bytesPerResponse(), tunedResult.p50Micros(), tunedResult.p99Micros());
+        log.info("Delta: {} bytes/response, p50={} us, p99={} us",
+                tunedResult.bytesPerResponse() - baselineResult.bytesPerResponse(),
+                tunedResult.p50Micros() - baselineResult.p50Micros(),
+                tunedResult.p99Micros() - baselineResult.p99Micros());
+
+        assertThat(baselineResult.bytesPerResponse()).isEqualTo(PAYLOAD.length);
+        assertThat(tunedResult.bytesPerResponse()).isLessThan(baselineResult.bytesPerResponse() / 2);
+    }
+
+    private JettyConfig tunedConfig() {
+        JettyConfig config = new JettyConfig();
+        ReflectionTestUtils.setField(config, "http2Enabled", true);
+        ReflectionTestUtils.setField(config, "compressionEnabled", true);
+        ReflectionTestUtils.setField(config, "compressionMinResponseSize", DataSize.ofKilobytes(1));
+        ReflectionTestUtils.setField(config, "compressionMimeTypes", new String[]{"application/json"});
+        ReflectionTestUtils.setField(config, "acceptors", 1);
+        ReflectionTestUtils.setField(config, "selectors", 2);
+        ReflectionTestUtils.setField(config, "maxThreads", 64);
+        ReflectionTestUtils.setField(config, "minThreads", 8);
+        ReflectionTestUtils.setField(config, "threadIdleTimeoutMs", 60000);
+        ReflectionTestUtils.setField(config, "maxQueueCapacity", 1000);
+        ReflectionTestUtils.setField(config, "connectionIdleTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(config, "requestLogEnabled", true);
+        ReflectionTestUtils.setField(config, "requestLogPath", tempDir.resolve("access.log").toString());
+        return config;
+    }
+
+    private WebServer start(JettyServletWebServerFactory factory) {
+        factory.setPort(0);
+        WebServer server = factory.getWebServer(context ->
+                context.addServlet("transactions", new PayloadServlet()).addMapping("/api/transactions"));
+        server.start();
+        servers.add(server);
+        return server;
+    }
+
+    private Result run(HttpClient.Version version, int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(version).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions"))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+        long totalBytes = 0;
+        long[] latencies = new long[MEASURED_REQUESTS];
+        HttpClient.Version negotiated = version;
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            latencies[i] = System.nanoTime() - start;
+            totalBytes += response.body().length;
+            negotiated = response.version();
+        }
+        Arrays.sort(latencies);
+        return new Result(negotiated, totalBytes / MEASURED_REQUESTS,
+                latencies[MEASURED_REQUESTS / 2] / 1000, latencies[MEASURED_REQUESTS * 99 / 100] / 1000);
+    }
+
+    private static byte[] buildPayload() {
+        StringBuilder json = new StringBuilder("{\"content\":[");
+        for (int i = 1; i <= 100; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"transactionId\":").append(i)
+                    .append(",\"userId\":1,\"amount\":").append(i * 10).append(".00")
+                    .append(",\"category\":\"Category ").append(i % 7)
+                    .append("\",\"date\":\"2025-03-").append(String.format("%02d", i % 28 + 1))
+                    .append("\",\"description\":\"Transaction description ").append(i)
+                    .append("\",\"type\":\"").append(i % 2 == 0 ? "INCOME" : "EXPENSE").append("\"}");
+        }
+        json.append("],\"totalElements\":100,\"page\":1,\"size\":100}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Result(HttpClient.Version version, long bytesPerResponse, long p50Micros, long p99Micros) {
+    }
+
+    private static class PayloadServlet extends HttpServlet {
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType("application/json");
+            response.setContentLength(PAYLOAD.length);
+            response.getOutputStream().write(PAYLOAD);
+        }
+    }
+}
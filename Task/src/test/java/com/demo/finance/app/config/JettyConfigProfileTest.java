@@ -0,0 +1,41 @@
+package com.demo.finance.app.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringJUnitConfig(classes = {JettyConfig.class, JettyConfigProfileTest.Conversion.class},
+        initializers = ConfigDataApplicationContextInitializer.class)
+@ActiveProfiles("jetty-tuned")
+class JettyConfigProfileTest {
+
+    @Autowired
+    private JettyConfig jettyConfig;
+
+    @Configuration
+    static class Conversion {
+
+        @Bean
+        ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+
+    @Test
+    @DisplayName("Jetty-tuned profile - compression MIME types - are bound from the profile instead of the default")
+    void jettyTunedProfile_bindsCompressionMimeTypes() {
+        assertThat((String[]) ReflectionTestUtils.getField(jettyConfig, "compressionMimeTypes"))
+                .containsExactly("application/json", "text/html", "text/plain", "text/css",
+                        "application/javascript", "image/svg+xml");
+    }
+}
@@ -0,0 +1,61 @@
+package com.demo.finance.app.config;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JettyConfigTest {
+
+    private JettyConfig jettyConfig;
+
+    @BeforeEach
+    void setUp() {
+        jettyConfig = new JettyConfig();
+        ReflectionTestUtils.setField(jettyConfig, "http2Enabled", true);
+        ReflectionTestUtils.setField(jettyConfig, "compressionEnabled", true);
+        ReflectionTestUtils.setField(jettyConfig, "compressionMinResponseSize", DataSize.ofBytes(1024));
+        ReflectionTestUtils.setField(jettyConfig, "compressionMimeTypes", new String[]{"application/json"});
+        ReflectionTestUtils.setField(jettyConfig, "acceptors", 2);
+        ReflectionTestUtils.setField(jettyConfig, "selectors", 4);
+        ReflectionTestUtils.setField(jettyConfig, "maxThreads", 64);
+        ReflectionTestUtils.setField(jettyConfig, "minThreads", 8);
+        ReflectionTestUtils.setField(jettyConfig, "threadIdleTimeoutMs", 60000);
+        ReflectionTestUtils.setField(jettyConfig, "maxQueueCapacity", 100);
+        ReflectionTestUtils.setField(jettyConfig, "connectionIdleTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(jettyConfig, "requestLogEnabled", false);
+        ReflectionTestUtils.setField(jettyConfig, "requestLogPath", "access.log");
+    }
+
+    @Test
+    @DisplayName("Customize - applies HTTP/2, compression, connector and thread pool settings")
+    void testCustomize_appliesSettings() {
+        JettyServletWebServerFactory factory = new JettyServletWebServerFactory();
+
+        jettyConfig.customize(factory);
+
+        assertThat(factory.getHttp2().isEnabled()).isTrue();
+        assertThat(factory.getCompression().getEnabled()).isTrue();
+        assertThat(factory.getCompression().getMinResponseSize()).isEqualTo(DataSize.ofBytes(1024));
+        assertThat(factory.getCompression().getMimeTypes()).containsExactly("application/json");
+        assertThat(ReflectionTestUtils.getField(factory, "acceptors")).isEqualTo(2);
+        assertThat(ReflectionTestUtils.getField(factory, "selectors")).isEqualTo(4);
+        assertThat(factory.getThreadPool()).isInstanceOf(QueuedThreadPool.class);
+        QueuedThreadPool threadPool = (QueuedThreadPool) factory.getThreadPool();
+        assertThat(threadPool.getMaxThreads()).isEqualTo(64);
+        assertThat(threadPool.getMinThreads()).isEqualTo(8);
+        assertThat(factory.getServerCustomizers()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Get order - runs after the default Jetty customizer")
+    void testGetOrder_lowestPrecedence() {
+        assertThat(jettyConfig.getOrder()).isEqualTo(Ordered.LOWEST_PRECEDENCE);
+    }
+}
@@ -6,7 +6,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.TestInstance;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -14,11 +22,15 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 @Slf4j
 class LiquibaseManagerTest extends AbstractContainerBaseSetup {
 
+    private static final String SELECT_CHECKSUM = "SELECT checksum, updated_at FROM finance.schema_checksum WHERE id = 1";
+    private static final String COUNT_CHANGESETS = "SELECT COUNT(*) FROM databasechangelog";
+
     private static LiquibaseManager liquibaseManager;
+    private static DatabaseConfig databaseConfig;
 
     @BeforeAll
     void setup() {
-        DatabaseConfig databaseConfig = new DatabaseConfig();
+        databaseConfig = new DatabaseConfig();
         databaseConfig.init();
         log.info("Database URL: {}", databaseConfig.getDbUrl());
         log.info("Database Username: {}", databaseConfig.getDbUsername());
@@ -33,6 +45,25 @@ class LiquibaseManagerTest extends AbstractContainerBaseSetup {
         log.info("Liquibase migrations ran successfully without exceptions.");
     }
 
+    @Test
+    @DisplayName("Run Liquibase migrations twice with checksum skip enabled - second run is skipped")
+    void testRunMigrations_skipIfCurrent() throws Exception {
+        ReflectionTestUtils.setField(liquibaseManager, "skipIfCurrent", true);
+        try {
+            assertThatCode(() -> liquibaseManager.runMigrations()).doesNotThrowAnyException();
+            Object[] storedAfterFirstRun = readStoredChecksum();
+            long changeSetsAfterFirstRun = countChangeSets();
+
+            assertThatCode(() -> liquibaseManager.runMigrations()).doesNotThrowAnyException();
+
+            assertThat(storedAfterFirstRun[0]).isEqualTo(liquibaseManager.calculateChangelogChecksum());
+            assertThat(readStoredChecksum()).containsExactly(storedAfterFirstRun);
+            assertThat(countChangeSets()).isEqualTo(changeSetsAfterFirstRun);
+        } finally {
+            ReflectionTestUtils.setField(liquibaseManager, "skipIfCurrent", false);
+        }
+    }
+
     @Test
     @DisplayName("Run Liquibase migrations with invalid credentials - should throw exception")
     void testRunMigrations_InvalidCredentials() {
@@ -48,4 +79,27 @@ class LiquibaseManagerTest extends AbstractContainerBaseSetup {
 
         log.info("Liquibase migrations failed as expected with invalid credentials.");
     }
-}
\ No newline at end of file
+
+    private Object[] readStoredChecksum() throws SQLException {
+        try (Connection connection = openConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_CHECKSUM);
+             ResultSet resultSet = statement.executeQuery()) {
+            assertThat(resultSet.next()).isTrue();
+            return new Object[]{resultSet.getString("checksum"), resultSet.getTimestamp("updated_at")};
+        }
+    }
+
+    private long countChangeSets() throws SQLException {
+        try (Connection connection = openConnection();
+             PreparedStatement statement = connection.prepareStatement(COUNT_CHANGESETS);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(databaseConfig.getDbUrl(), databaseConfig.getDbUsername(),
+                databaseConfig.getDbPassword());
+    }
+}
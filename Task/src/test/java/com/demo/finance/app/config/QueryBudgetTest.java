@@ -0,0 +1,102 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.exception.custom.QueryBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryBudgetTest {
+
+    private static final String FIND_GOALS_SQL = "SELECT * FROM finance.goals WHERE user_id = ?";
+    private static final String FIND_TRANSACTIONS_SQL = "SELECT * FROM finance.transactions WHERE user_id = ?";
+    private static final String ROUTE = "/api/notifications/goal";
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdentityMap identityMap;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        identityMap = new IdentityMap(meterRegistry, true, 256);
+    }
+
+    @AfterEach
+    void tearDown() {
+        while (IdentityMap.currentScope() != null) {
+            IdentityMap.currentScope().close();
+        }
+    }
+
+    @Test
+    @DisplayName("Budget of - configured and unconfigured routes - returns the route or default budget")
+    void budgetOf_returnsRouteOrDefaultBudget() {
+        QueryBudget queryBudget = budget(false, ROUTE + "=5", " /api/goals/{goalId} = 2 ", "");
+
+        assertThat(queryBudget.budgetOf(ROUTE)).isEqualTo(5);
+        assertThat(queryBudget.budgetOf("/api/goals/{goalId}")).isEqualTo(2);
+        assertThat(queryBudget.budgetOf("/api/goals")).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Constructor - malformed route budget - throws IllegalArgumentException")
+    void constructor_malformedRouteBudget_throws() {
+        assertThatThrownBy(() -> budget(false, ROUTE)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> budget(false, ROUTE + "=many")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Check - within budget - passes without violations")
+    void check_withinBudget_passes() {
+        QueryBudget queryBudget = budget(true, ROUTE + "=3");
+        IdentityMap.Scope scope = execute(FIND_GOALS_SQL, FIND_TRANSACTIONS_SQL, FIND_TRANSACTIONS_SQL);
+
+        assertThatCode(() -> queryBudget.check(ROUTE, scope)).doesNotThrowAnyException();
+        assertThat(meterRegistry.find("app.sql.request.violations").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Check - budget exceeded - counts the violation without failing by default")
+    void check_budgetExceeded_countsViolation() {
+        QueryBudget queryBudget = budget(false, ROUTE + "=2");
+        IdentityMap.Scope scope = execute(FIND_GOALS_SQL, FIND_TRANSACTIONS_SQL, FIND_TRANSACTIONS_SQL);
+
+        queryBudget.check(ROUTE, scope);
+
+        assertThat(meterRegistry.get("app.sql.request.violations").tag("route", ROUTE).tag("type", "budget")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Check - repeated statement with fail on violation - throws naming the statement")
+    void check_repeatedStatement_throws() {
+        QueryBudget queryBudget = budget(true);
+        IdentityMap.Scope scope = execute(FIND_GOALS_SQL, FIND_TRANSACTIONS_SQL, FIND_TRANSACTIONS_SQL,
+                FIND_TRANSACTIONS_SQL);
+
+        assertThatThrownBy(() -> queryBudget.check(ROUTE, scope))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining(ROUTE)
+                .hasMessageContaining(SqlInstrumentation.sqlTag(FIND_TRANSACTIONS_SQL) + " executed 3 times")
+                .hasMessageNotContaining(SqlInstrumentation.sqlTag(FIND_GOALS_SQL));
+        assertThat(meterRegistry.get("app.sql.request.violations").tag("type", "repeated").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private QueryBudget budget(boolean failOnViolation, String... routes) {
+        return new QueryBudget(meterRegistry, 10, 2, failOnViolation, routes);
+    }
+
+    private IdentityMap.Scope execute(String... statements) {
+        IdentityMap.Scope scope = identityMap.open();
+        for (String sql : statements) {
+            IdentityMap.executed(sql);
+        }
+        return scope;
+    }
+}
@@ -0,0 +1,188 @@
+package com.demo.finance.app.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class QueryCacheTest {
+
+    private static final String FIND_TRANSACTIONS_SQL = "SELECT * FROM finance.transactions WHERE user_id = ?";
+    private static final String INSERT_TRANSACTION_SQL = "INSERT INTO finance.transactions (user_id) VALUES (?)";
+    private static final String DELETE_TRANSACTION_SQL = "DELETE FROM finance.transactions WHERE transaction_id = ?";
+    private static final String FIND_USER_BY_EMAIL_SQL = "SELECT * FROM finance.users WHERE email = ?";
+    private static final String UPDATE_USER_SQL = "UPDATE finance.users SET name = ? WHERE user_id = ?";
+
+    @Mock
+    private CacheInvalidationBus bus;
+    private SimpleMeterRegistry meterRegistry;
+    private QueryCache queryCache;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryCache = new QueryCache(bus, meterRegistry, true, 100, Duration.ofMinutes(5), 100);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Get - repeated query - executes once and counts the hit")
+    void get_repeatedQuery_executesOnce() {
+        assertThat(findTransactions(1L)).isEqualTo("result-1");
+        assertThat(findTransactions(1L)).isEqualTo("result-1");
+
+        assertThat(executions).hasValue(1);
+        assertThat(meterRegistry.get("app.sql.query-cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("app.sql.query-cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Written - scoped write - invalidates only the results of that user")
+    void written_scopedWrite_invalidatesOnlyThatUser() {
+        findTransactions(1L);
+        findTransactions(2L);
+
+        queryCache.written(INSERT_TRANSACTION_SQL, 1L);
+        findTransactions(1L);
+        findTransactions(2L);
+
+        assertThat(executions).hasValue(3);
+        verify(bus).publish(QueryCache.TOPIC, "transactions\t1");
+    }
+
+    @Test
+    @DisplayName("Written - unscoped write - invalidates the results of all users of the table")
+    void written_unscopedWrite_invalidatesAllUsers() {
+        findTransactions(1L);
+        findTransactions(2L);
+
+        queryCache.written(DELETE_TRANSACTION_SQL, null);
+        findTransactions(1L);
+        findTransactions(2L);
+
+        assertThat(executions).hasValue(4);
+        verify(bus).publish(QueryCache.TOPIC, "transactions\t");
+    }
+
+    @Test
+    @DisplayName("Written - other table - keeps the results of the table")
+    void written_otherTable_keepsResults() {
+        findTransactions(1L);
+
+        queryCache.written(UPDATE_USER_SQL, 1L);
+        findTransactions(1L);
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Written - scoped write - invalidates results read across users of the table")
+    void written_scopedWrite_invalidatesTableWideResults() {
+        queryCache.get(FIND_USER_BY_EMAIL_SQL, null, List.of("a@b.c"), this::execute);
+
+        queryCache.written(UPDATE_USER_SQL, 7L);
+        queryCache.get(FIND_USER_BY_EMAIL_SQL, null, List.of("a@b.c"), this::execute);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Get - write during query - does not serve the result read before the write")
+    void get_writeDuringQuery_resultNotServed() {
+        queryCache.get(FIND_TRANSACTIONS_SQL, 1L, List.of(1L), () -> {
+            queryCache.written(INSERT_TRANSACTION_SQL, 1L);
+            return "stale";
+        });
+
+        assertThat(findTransactions(1L)).isEqualTo("result-1");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Written - too many versioned users - invalidates all users of the table")
+    void written_tooManyUsers_invalidatesAllUsers() {
+        queryCache = new QueryCache(bus, meterRegistry, true, 100, Duration.ofMinutes(5), 1);
+        findTransactions(1L);
+        findTransactions(2L);
+
+        queryCache.written(INSERT_TRANSACTION_SQL, 1L);
+        queryCache.written(INSERT_TRANSACTION_SQL, 3L);
+        findTransactions(2L);
+
+        assertThat(executions).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Apply writes - received from other instances - invalidates without publishing")
+    void applyWrites_invalidatesWithoutPublishing() {
+        findTransactions(1L);
+        findTransactions(2L);
+
+        queryCache.applyWrites(List.of("transactions\t1", "malformed", "transactions\tx"));
+        findTransactions(1L);
+        findTransactions(2L);
+
+        assertThat(executions).hasValue(3);
+        verify(bus, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Invalidate all - resynchronization - drops all results")
+    void invalidateAll_dropsAllResults() {
+        findTransactions(1L);
+
+        queryCache.invalidateAll();
+        findTransactions(1L);
+
+        assertThat(executions).hasValue(2);
+        assertThat(queryCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Subscribe - subscribes to the query cache topic with a resynchronization callback")
+    void subscribe_subscribesToTopic() {
+        queryCache.subscribe();
+
+        verify(bus).subscribe(eq("query-cache"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Disabled - executes every query and publishes nothing")
+    void disabled_executesEveryQuery() {
+        queryCache = new QueryCache(bus, meterRegistry, false, 100, Duration.ofMinutes(5), 100);
+
+        findTransactions(1L);
+        findTransactions(1L);
+        queryCache.written(INSERT_TRANSACTION_SQL, 1L);
+
+        assertThat(executions).hasValue(2);
+        verifyNoInteractions(bus);
+    }
+
+    private String findTransactions(Long userId) {
+        return queryCache.get(FIND_TRANSACTIONS_SQL, userId, List.of(userId), () -> execute() + userId);
+    }
+
+    private String execute() {
+        executions.incrementAndGet();
+        return "result-";
+    }
+}
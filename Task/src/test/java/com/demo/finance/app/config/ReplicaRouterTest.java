@@ -0,0 +1,127 @@
+package com.demo.finance.app.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRouterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private ReplicaRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new ReplicaRouter(5000, 2000, 1000, 10000, now::get);
+    }
+
+    @Test
+    @DisplayName("Reads use the replica when the user has not written recently")
+    void testIsReplicaPreferred_noRecentWrite() {
+        assertThat(router.isReplicaPreferred(1L)).isTrue();
+        assertThat(router.isReplicaPreferred(null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reads of a user stay on the primary for the stickiness window after a write")
+    void testIsReplicaPreferred_readYourWrites() {
+        router.recordWrite(1L);
+
+        assertThat(router.isReplicaPreferred(1L)).isFalse();
+        assertThat(router.isReplicaPreferred(2L)).isTrue();
+
+        now.addAndGet(5001);
+        assertThat(router.isReplicaPreferred(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Writes are forgotten once they can no longer keep a user on the primary")
+    void testRecordWrite_expiresUnreadWrites() {
+        for (long userId = 1; userId <= 100; userId++) {
+            router.recordWrite(userId);
+        }
+        assertThat(router.trackedWrites()).isEqualTo(100);
+
+        now.addAndGet(5001);
+        router.recordWrite(101L);
+        assertThat(router.trackedWrites()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Stickiness is extended to the replication lag when the lag exceeds the window")
+    void testIsReplicaPreferred_stickinessCoversLag() {
+        router = new ReplicaRouter(500, 2000, 1000, 10000, now::get);
+        router.updateLag(1500);
+        router.recordWrite(1L);
+
+        now.addAndGet(1000);
+        assertThat(router.isReplicaPreferred(1L)).isFalse();
+
+        now.addAndGet(501);
+        assertThat(router.isReplicaPreferred(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("All reads fall back to the primary while the replica lags too far behind")
+    void testIsReplicaPreferred_lagAboveMaximum() {
+        router.updateLag(2500);
+        assertThat(router.isReplicaPreferred(null)).isFalse();
+
+        router.updateLag(100);
+        assertThat(router.isReplicaPreferred(null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("An unavailable replica is skipped until the backoff period has passed")
+    void testMarkUnavailable_backoff() {
+        router.markUnavailable();
+        assertThat(router.isReplicaPreferred(null)).isFalse();
+
+        now.addAndGet(10001);
+        assertThat(router.isReplicaPreferred(null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Lag checks are granted once per interval and to one caller at a time")
+    void testTryStartLagCheck() {
+        assertThat(router.tryStartLagCheck()).isTrue();
+        assertThat(router.tryStartLagCheck()).isFalse();
+
+        router.updateLag(0);
+        assertThat(router.tryStartLagCheck()).isFalse();
+
+        now.addAndGet(1000);
+        assertThat(router.tryStartLagCheck()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Local writes are handed to the write listener, remote writes only keep the user on the primary")
+    void testRecordWrite_localAndRemote() {
+        List<Long> published = new ArrayList<>();
+        router.setWriteListener(published::add);
+
+        router.recordWrite(1L);
+        router.recordRemoteWrite(2L);
+
+        assertThat(published).containsExactly(1L);
+        assertThat(router.isReplicaPreferred(2L)).isFalse();
+        now.addAndGet(5001);
+        assertThat(router.isReplicaPreferred(2L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Missed writes keep every user on the primary for the longer of stickiness window and maximum lag")
+    void testRecordMissedWrites_allUsersOnPrimary() {
+        router.recordMissedWrites();
+
+        assertThat(router.isReplicaPreferred(1L)).isFalse();
+        assertThat(router.isReplicaPreferred(null)).isTrue();
+        now.addAndGet(5000);
+        assertThat(router.isReplicaPreferred(1L)).isTrue();
+    }
+}
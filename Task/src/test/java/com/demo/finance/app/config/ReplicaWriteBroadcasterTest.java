@@ -0,0 +1,68 @@
+package com.demo.finance.app.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaWriteBroadcasterTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private ReplicaRouter router;
+    private Consumer<Collection<String>> remoteWrites;
+    private Runnable resync;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        router = new ReplicaRouter(5000, 2000, 1000, 10000, now::get);
+        new ReplicaWriteBroadcaster(router, invalidationBus);
+        ArgumentCaptor<Consumer<Collection<String>>> onInvalidation = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<Runnable> onResync = ArgumentCaptor.forClass(Runnable.class);
+        verify(invalidationBus).subscribe(eq("replica-write"), onInvalidation.capture(), onResync.capture());
+        remoteWrites = onInvalidation.getValue();
+        resync = onResync.getValue();
+    }
+
+    @Test
+    @DisplayName("Record write - local write - is published to the other instances")
+    void testRecordWrite_publishesUser() {
+        router.recordWrite(7L);
+
+        verify(invalidationBus).publish("replica-write", "7");
+    }
+
+    @Test
+    @DisplayName("Remote write - keeps the user's reads on the primary of this instance")
+    void testRemoteWrite_keepsUserOnPrimary() {
+        remoteWrites.accept(List.of("7", "not-a-user"));
+
+        assertThat(router.isReplicaPreferred(7L)).isFalse();
+        assertThat(router.isReplicaPreferred(8L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Resync - keeps every user's reads on the primary for one stickiness window")
+    void testResync_keepsAllUsersOnPrimary() {
+        resync.run();
+
+        assertThat(router.isReplicaPreferred(8L)).isFalse();
+        now.addAndGet(5000);
+        assertThat(router.isReplicaPreferred(8L)).isTrue();
+    }
+}
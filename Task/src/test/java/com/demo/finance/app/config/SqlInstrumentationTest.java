@@ -0,0 +1,180 @@
+package com.demo.finance.app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SqlInstrumentationTest {
+
+    private static final String SELECT_SQL = "SELECT * FROM finance.transactions WHERE user_id = ?";
+    private static final String UPDATE_SQL = "UPDATE finance.budgets SET monthly_limit = ? WHERE budget_id = ?";
+
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ParameterMetaData parameterMetaData;
+
+    private final AtomicLong clock = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private SqlInstrumentation instrumentation;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        instrumentation = new SqlInstrumentation(meterRegistry, TimeUnit.MILLISECONDS.toNanos(200), clock::get);
+    }
+
+    @Test
+    @DisplayName("Sample - records acquire, execute and map times and the returned rows of a query")
+    void sample_query_recordsAllPhases() {
+        SqlInstrumentation.Sample sample = instrumentation.start(SELECT_SQL);
+        clock.addAndGet(2_000_000);
+        sample.acquired();
+        clock.addAndGet(5_000_000);
+        sample.executed(statement);
+        clock.addAndGet(1_000_000);
+        sample.mapped(List.of("a", "b", "c"));
+
+        String tag = SqlInstrumentation.sqlTag(SELECT_SQL);
+        assertThat(timer("app.sql.acquire", tag).totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+        assertThat(timer("app.sql.execute", tag).totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+        assertThat(timer("app.sql.map", tag).totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1.0);
+        assertThat(rows(tag).totalAmount()).isEqualTo(3.0);
+        verifyNoInteractions(statement);
+    }
+
+    @Test
+    @DisplayName("Sample - counts copied rows when fetched and times their mapping when replayed")
+    void sample_copiedRows_countsFetchedRowsAndTimesReplay() {
+        SqlInstrumentation.Sample sample = instrumentation.start(SELECT_SQL);
+        sample.acquired();
+        sample.executed(statement);
+        clock.addAndGet(4_000_000);
+        sample.fetched(3);
+        SqlInstrumentation.Sample replay = instrumentation.start(SELECT_SQL);
+        clock.addAndGet(1_000_000);
+        replay.replayed();
+
+        String tag = SqlInstrumentation.sqlTag(SELECT_SQL);
+        assertThat(timer("app.sql.map", tag).count()).isEqualTo(1);
+        assertThat(timer("app.sql.map", tag).totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1.0);
+        assertThat(rows(tag).count()).isEqualTo(1);
+        assertThat(rows(tag).totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Sample - records the changed rows of an update")
+    void sample_update_recordsChangedRows() {
+        SqlInstrumentation.Sample sample = instrumentation.start(UPDATE_SQL);
+        sample.acquired();
+        sample.executed(statement);
+        sample.updated(4);
+
+        String tag = SqlInstrumentation.sqlTag(UPDATE_SQL);
+        assertThat(timer("app.sql.execute", tag).count()).isEqualTo(1);
+        assertThat(timer("app.sql.map", tag).count()).isZero();
+        assertThat(rows(tag).totalAmount()).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("Sample - counts optionals and single values as at most one row")
+    void sample_mapped_countsOptionalsAndSingleValues() {
+        instrumentation.start(SELECT_SQL).mapped(Optional.empty());
+        instrumentation.start(SELECT_SQL).mapped(Optional.of("user"));
+        instrumentation.start(SELECT_SQL).mapped(42L);
+        instrumentation.start(SELECT_SQL).mapped(null);
+
+        DistributionSummary rows = rows(SqlInstrumentation.sqlTag(SELECT_SQL));
+        assertThat(rows.count()).isEqualTo(4);
+        assertThat(rows.totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Sample - describes the parameters of a slow statement by their types")
+    void sample_slowStatement_readsParameterShapes() throws SQLException {
+        when(statement.getParameterMetaData()).thenReturn(parameterMetaData);
+        when(parameterMetaData.getParameterCount()).thenReturn(1);
+        when(parameterMetaData.getParameterTypeName(1)).thenReturn("int8");
+
+        SqlInstrumentation.Sample sample = instrumentation.start(SELECT_SQL);
+        sample.acquired();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        sample.executed(statement);
+
+        assertThat(timer("app.sql.execute", SqlInstrumentation.sqlTag(SELECT_SQL)).max(TimeUnit.MILLISECONDS))
+                .isEqualTo(250.0);
+    }
+
+    @Test
+    @DisplayName("Sql tag - combines verb, table without schema and hash of the statement")
+    void sqlTag_buildsStableTag() {
+        String tag = SqlInstrumentation.sqlTag(SELECT_SQL);
+
+        assertThat(tag).startsWith("select_transactions_").hasSize("select_transactions_".length() + 8);
+        assertThat(SqlInstrumentation.sqlTag(UPDATE_SQL)).startsWith("update_budgets_");
+        assertThat(SqlInstrumentation.sqlTag("INSERT INTO finance.goals (user_id) VALUES (?)"))
+                .startsWith("insert_goals_");
+        assertThat(SqlInstrumentation.sqlTag(SELECT_SQL)).isEqualTo(tag);
+    }
+
+    @Test
+    @DisplayName("Parameter shapes - lists the parameter types in order")
+    void parameterShapes_listsTypes() throws SQLException {
+        when(statement.getParameterMetaData()).thenReturn(parameterMetaData);
+        when(parameterMetaData.getParameterCount()).thenReturn(3);
+        when(parameterMetaData.getParameterTypeName(1)).thenReturn("int8");
+        when(parameterMetaData.getParameterTypeName(2)).thenReturn("date");
+        when(parameterMetaData.getParameterTypeName(3)).thenReturn("date");
+
+        assertThat(SqlInstrumentation.parameterShapes(statement)).isEqualTo("[int8, date, date]");
+    }
+
+    @Test
+    @DisplayName("Parameter shapes - reports unavailable metadata instead of failing")
+    void parameterShapes_metadataUnavailable_returnsPlaceholder() throws SQLException {
+        when(statement.getParameterMetaData()).thenThrow(new SQLException("closed"));
+
+        assertThat(SqlInstrumentation.parameterShapes(statement)).isEqualTo("[unavailable]");
+    }
+
+    @Test
+    @DisplayName("No-op instrumentation - records nothing")
+    void noop_recordsNothing() {
+        SqlInstrumentation.Sample sample = SqlInstrumentation.NOOP.start(SELECT_SQL);
+        sample.acquired();
+        sample.executed(statement);
+        sample.mapped(List.of("a"));
+        sample.updated(1);
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+        verifyNoInteractions(statement);
+    }
+
+    private Timer timer(String name, String tag) {
+        return meterRegistry.get(name).tag("sql", tag).timer();
+    }
+
+    private DistributionSummary rows(String tag) {
+        return meterRegistry.get("app.sql.rows").tag("sql", tag).summary();
+    }
+}
@@ -0,0 +1,48 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.out.cache.OffHeapCacheTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredCacheManagerTest {
+
+    private final CaffeineCacheManager targetCacheManager = new CaffeineCacheManager("reports", "users");
+
+    @Test
+    @DisplayName("Get cache - tiered cache - served from the off-heap tier after a heap eviction")
+    void testGetCache_tieredCache() {
+        TieredCacheManager cacheManager = new TieredCacheManager(targetCacheManager, tierProvider());
+        Cache reports = cacheManager.getCache("reports");
+        reports.put(1L, "report");
+        targetCacheManager.getCache("reports").evict(1L);
+
+        assertThat(cacheManager.getCache("reports")).isSameAs(reports);
+        assertThat(reports.get(1L, String.class)).isEqualTo("report");
+        assertThat(cacheManager.getCache("users")).isSameAs(targetCacheManager.getCache("users"));
+        assertThat(cacheManager.getCache("unknown")).isNull();
+        assertThat(cacheManager.getCacheNames()).containsExactlyInAnyOrder("reports", "users");
+    }
+
+    @Test
+    @DisplayName("Get cache - no tier available - returns the target caches")
+    void testGetCache_noTier() {
+        TieredCacheManager cacheManager = new TieredCacheManager(targetCacheManager,
+                new StaticListableBeanFactory().getBeanProvider(OffHeapCacheTier.class));
+
+        assertThat(cacheManager.getCache("reports")).isSameAs(targetCacheManager.getCache("reports"));
+    }
+
+    private static ObjectProvider<OffHeapCacheTier> tierProvider() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("offHeapCacheTier", new OffHeapCacheTier(new SimpleMeterRegistry(), true, 1, 64, 3600,
+                new String[]{"reports"}));
+        return beanFactory.getBeanProvider(OffHeapCacheTier.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.demo.finance.app.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionManagerTest {
+
+    @Mock
+    private DataSourceManager dataSourceManager;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    @InjectMocks
+    private TransactionPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(partitionManager, "enabled", true);
+        ReflectionTestUtils.setField(partitionManager, "monthsAhead", 2);
+    }
+
+    @Test
+    @DisplayName("Ensure partitions - creates partitions for the current and following months")
+    void testEnsurePartitions_createsUpcomingMonths() throws SQLException {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(true, false, true);
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        int created = partitionManager.ensurePartitions();
+
+        ArgumentCaptor<Date> months = ArgumentCaptor.forClass(Date.class);
+        verify(statement, times(3)).setDate(anyInt(), months.capture());
+        LocalDate firstMonth = LocalDate.now().withDayOfMonth(1);
+        assertThat(months.getAllValues()).extracting(Date::toLocalDate)
+                .containsExactly(firstMonth, firstMonth.plusMonths(1), firstMonth.plusMonths(2));
+        assertThat(created).isEqualTo(2);
+        verify(connection).commit();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Ensure partitions - SQL failure is logged and does not propagate")
+    void testEnsurePartitions_sqlFailure() throws SQLException {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException("function does not exist"));
+
+        int created = partitionManager.ensurePartitions();
+
+        assertThat(created).isZero();
+        verify(connection, never()).commit();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Ensure partitions - disabled maintenance does not touch the database")
+    void testEnsurePartitions_disabled() {
+        ReflectionTestUtils.setField(partitionManager, "enabled", false);
+
+        assertThat(partitionManager.ensurePartitions()).isZero();
+        verifyNoInteractions(dataSourceManager);
+    }
+}
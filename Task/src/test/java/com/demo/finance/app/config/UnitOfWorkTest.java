@@ -0,0 +1,131 @@
+package com.demo.finance.app.config;
+
+import com.demo.finance.exception.custom.DatabaseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UnitOfWorkTest {
+
+    @Mock
+    private DataSourceManager dataSourceManager;
+    @Mock
+    private Connection connection;
+    @InjectMocks
+    private UnitOfWork unitOfWork;
+
+    @Test
+    @DisplayName("Execute - successful work - binds one connection and commits once")
+    void execute_successfulWork_commits() throws SQLException {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+
+        String result = unitOfWork.execute(() -> {
+            assertThat(UnitOfWork.currentConnection()).isSameAs(connection);
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(UnitOfWork.currentConnection()).isNull();
+        InOrder order = inOrder(connection, dataSourceManager);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(connection).commit();
+        order.verify(connection).close();
+        order.verify(dataSourceManager).recordWrite();
+    }
+
+    @Test
+    @DisplayName("Execute - failing work - rolls back and rethrows")
+    void execute_failingWork_rollsBack() throws SQLException {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        assertThatThrownBy(() -> unitOfWork.execute(() -> {
+            throw failure;
+        })).isSameAs(failure);
+
+        assertThat(UnitOfWork.currentConnection()).isNull();
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).close();
+        verify(dataSourceManager, never()).recordWrite();
+    }
+
+    @Test
+    @DisplayName("Execute - commit fails - rolls back and throws DatabaseException")
+    void execute_commitFails_throwsDatabaseException() throws SQLException {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+        doThrow(new SQLException("serialization failure")).when(connection).commit();
+
+        assertThatThrownBy(() -> unitOfWork.execute(() -> "done"))
+                .isInstanceOf(DatabaseException.class)
+                .hasMessage("Unit of work failed");
+
+        verify(connection).rollback();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Execute - nested unit of work - joins the outer connection")
+    void execute_nested_joinsOuterUnitOfWork() throws SQLException {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+
+        Connection inner = unitOfWork.execute(() -> unitOfWork.execute(UnitOfWork::currentConnection));
+
+        assertThat(inner).isSameAs(connection);
+        verify(dataSourceManager, times(1)).getConnection();
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    @DisplayName("After commit - within unit of work - runs callbacks after the commit")
+    void afterCommit_withinUnitOfWork_runsAfterCommit() throws SQLException {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+        List<String> events = new ArrayList<>();
+
+        unitOfWork.execute(() -> {
+            UnitOfWork.afterCommit(() -> events.add("callback"));
+            events.add("work");
+            return null;
+        });
+
+        assertThat(events).containsExactly("work", "callback");
+        InOrder order = inOrder(connection, dataSourceManager);
+        order.verify(connection).commit();
+        order.verify(dataSourceManager).recordWrite();
+    }
+
+    @Test
+    @DisplayName("After commit - rolled back unit of work - discards callbacks")
+    void afterCommit_rolledBack_discardsCallbacks() {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+        List<String> events = new ArrayList<>();
+
+        assertThatThrownBy(() -> unitOfWork.execute(() -> {
+            UnitOfWork.afterCommit(() -> events.add("callback"));
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(events).isEmpty();
+        UnitOfWork.afterCommit(() -> events.add("immediate"));
+        assertThat(events).containsExactly("immediate");
+    }
+}
@@ -0,0 +1,62 @@
+package com.demo.finance.app.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserKeyIndexTest {
+
+    private final UserKeyIndex keyIndex = new UserKeyIndex(Set.of("reports"));
+
+    @Test
+    @DisplayName("Remove users - indexed keys - returns only the keys of the given users")
+    void testRemoveUsers_returnsKeysOfUsers() {
+        keyIndex.register("reports");
+        keyIndex.register("users");
+        keyIndex.add("reports", 1L, key -> true);
+        keyIndex.add("reports", "1-2025-01-01-2025-01-31", key -> true);
+        keyIndex.add("reports", "2-data", key -> true);
+        keyIndex.add("reports", "x-data", key -> true);
+        keyIndex.add("users", 1L, key -> true);
+
+        assertThat(keyIndex.removeUsers("reports", List.of(1L, 3L)))
+                .containsExactlyInAnyOrder(1L, "1-2025-01-01-2025-01-31");
+        assertThat(keyIndex.size("reports")).isEqualTo(1);
+        assertThat(keyIndex.isIndexed("reports")).isTrue();
+        assertThat(keyIndex.isIndexed("users")).isFalse();
+        assertThat(keyIndex.removeUsers("users", List.of(1L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Add - index doubled since the last sweep - prunes the keys without an entry")
+    void testAdd_prunesStaleKeys() {
+        keyIndex.register("reports");
+        Set<Object> cached = new HashSet<>();
+        for (long userId = 0; userId < 1024; userId++) {
+            keyIndex.add("reports", userId, cached::contains);
+        }
+        assertThat(keyIndex.size("reports")).isEqualTo(1024);
+
+        cached.add(7L);
+        cached.add(2000L);
+        keyIndex.add("reports", 2000L, cached::contains);
+
+        assertThat(keyIndex.size("reports")).isEqualTo(2);
+        assertThat(keyIndex.removeUsers("reports", List.of(7L, 8L, 2000L))).containsExactlyInAnyOrder(7L, 2000L);
+    }
+
+    @Test
+    @DisplayName("User of - keys of per-user caches - extracts the user ID")
+    void testUserOf() {
+        assertThat(UserKeyIndex.userOf(5L)).isEqualTo(5L);
+        assertThat(UserKeyIndex.userOf("5-2025-01")).isEqualTo(5L);
+        assertThat(UserKeyIndex.userOf("-5")).isNull();
+        assertThat(UserKeyIndex.userOf("x-5")).isNull();
+        assertThat(UserKeyIndex.userOf(5)).isNull();
+    }
+}
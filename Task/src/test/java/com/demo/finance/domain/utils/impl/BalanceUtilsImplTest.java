@@ -3,6 +3,7 @@ package com.demo.finance.domain.utils.impl;
 import com.demo.finance.domain.model.Goal;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.cache.TransactionAnalyticsCache;
 import com.demo.finance.out.repository.TransactionRepository;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +29,8 @@ class BalanceUtilsImplTest {
 
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private TransactionAnalyticsCache analyticsCache;
     @InjectMocks
     private BalanceUtilsImpl balanceUtils;
 
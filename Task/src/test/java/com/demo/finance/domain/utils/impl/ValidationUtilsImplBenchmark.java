@@ -0,0 +1,68 @@
+package com.demo.finance.domain.utils.impl;
+
+import com.demo.finance.domain.dto.GoalDto;
+import com.demo.finance.domain.dto.TransactionDto;
+import com.demo.finance.domain.utils.Mode;
+import com.demo.finance.exception.custom.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Micro-benchmark of {@link ValidationUtilsImpl#validateRequest(Object, Mode)} on the create and update paths.
+ * Results are logged; nothing about timing is asserted.
+ * <p>
+ * Excluded from the regular {@code test} task; run it with {@code gradle :Task:loadTest}.
+ */
+@Slf4j
+class ValidationUtilsImplBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private final ValidationUtilsImpl validationUtils = new ValidationUtilsImpl();
+
+    @Test
+    @DisplayName("Validate request - logs the cost of valid and invalid requests")
+    void benchmarkValidateRequest() {
+        TransactionDto transaction = new TransactionDto(null, 1L, new BigDecimal("100.00"), "Food",
+                LocalDate.of(2025, 4, 10), "Grocery shopping", "EXPENSE");
+        GoalDto goal = new GoalDto(null, 1L, "Vacation", new BigDecimal("1000.00"), BigDecimal.ZERO, 6,
+                LocalDate.of(2025, 4, 10));
+        TransactionDto invalid = new TransactionDto(null, 1L, new BigDecimal("100.00"), null,
+                LocalDate.of(2025, 4, 10), "Grocery shopping", "EXPENSE");
+
+        log.info("Transaction create: {} ns/request", measure(() ->
+                validationUtils.validateRequest(transaction, Mode.TRANSACTION_CREATE)));
+        log.info("Goal update:        {} ns/request", measure(() ->
+                validationUtils.validateRequest(goal, Mode.GOAL_UPDATE)));
+        log.info("Missing field:      {} ns/request", measure(() -> {
+            try {
+                validationUtils.validateRequest(invalid, Mode.TRANSACTION_CREATE);
+            } catch (ValidationException e) {
+                return e;
+            }
+            return null;
+        }));
+    }
+
+    private double measure(Supplier<Object> validation) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += validation.get() != null ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += validation.get() != null ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isPositive();
+        return (double) elapsed / MEASURED_ITERATIONS;
+    }
+}
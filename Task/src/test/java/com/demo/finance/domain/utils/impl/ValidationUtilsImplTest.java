@@ -293,4 +293,43 @@ class ValidationUtilsImplTest {
         UserDto result = validationUtils.validateRequest(user, Mode.AUTHENTICATE);
         assertThat(result).isEqualTo(user);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Validate TransactionDto - missing required field - throws stackless ValidationException")
+    void testValidateTransaction_MissingField_ThrowsStacklessException() {
+        transaction.setCategory(null);
+
+        assertThatThrownBy(() -> validationUtils.validateRequest(transaction, Mode.TRANSACTION_UPDATE))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Validation error: Missing required field: category")
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Validate UserDto - BLOCK_UNBLOCK mode - primitive blocked field is always present")
+    void testValidateUser_BlockUnblockMode_Success() {
+        user.setRole("USER");
+
+        UserDto result = validationUtils.validateRequest(user, Mode.BLOCK_UNBLOCK);
+        assertThat(result).isEqualTo(user);
+    }
+
+    @Test
+    @DisplayName("Validate BudgetDto - required field of another mode - throws ValidationException")
+    void testValidateBudget_FieldNotInDto_ThrowsException() {
+        assertThatThrownBy(() -> validationUtils.validateRequest(budget, Mode.REPORT))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Validation error: Field not found in DTO: fromDate");
+    }
+
+    @Test
+    @DisplayName("Validate PaginationParams - record accessors - validates correctly")
+    void testValidatePaginationParams_ValidInput_Success() {
+        PaginationParams params = new PaginationParams(1, 10);
+
+        assertThat(validationUtils.validateRequest(params, Mode.PAGE)).isEqualTo(params);
+        assertThatThrownBy(() -> validationUtils.validateRequest(new PaginationParams(1, 101), Mode.PAGE))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Validation error: Size cannot exceed 100.");
+    }
+}
@@ -2,15 +2,20 @@ package com.demo.finance.exception;
 
 import com.demo.finance.app.TaskMain;
 import com.demo.finance.app.config.DatabaseConfig;
+import com.demo.finance.app.config.IdentityMap;
 import com.demo.finance.app.config.LiquibaseManager;
+import com.demo.finance.app.config.QueryBudget;
 import com.demo.finance.domain.dto.UserDto;
 import com.demo.finance.in.controller.AdminController;
 import com.demo.finance.in.controller.BudgetController;
+import com.demo.finance.in.controller.DashboardController;
 import com.demo.finance.in.controller.GoalController;
 import com.demo.finance.in.controller.NotificationController;
 import com.demo.finance.in.controller.ReportController;
 import com.demo.finance.in.controller.TransactionController;
 import com.demo.finance.in.controller.UserController;
+import com.demo.finance.in.filter.RateLimiter;
+import com.demo.finance.out.service.DataVersionService;
 import com.demo.finance.out.service.JwtService;
 import com.demo.finance.out.service.TokenService;
 import org.instancio.Instancio;
@@ -54,6 +59,8 @@ class GlobalExceptionHandlerTest {
     @MockBean
     private ReportController reportController;
     @MockBean
+    private DashboardController dashboardController;
+    @MockBean
     private DatabaseConfig databaseConfig;
     @MockBean
     private DataSource dataSource;
@@ -63,6 +70,14 @@ class GlobalExceptionHandlerTest {
     private JwtService jwtService;
     @MockBean
     private TokenService tokenService;
+    @MockBean
+    private DataVersionService dataVersionService;
+    @MockBean
+    private RateLimiter rateLimiter;
+    @MockBean
+    private IdentityMap identityMap;
+    @MockBean
+    private QueryBudget queryBudget;
 
     @BeforeEach
     void setUp() {
@@ -0,0 +1,72 @@
+package com.demo.finance.in.controller;
+
+import com.demo.finance.domain.dto.DashboardDto;
+import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.out.service.DashboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardControllerTest {
+
+    private MockMvc mockMvc;
+    @Mock
+    private DashboardService dashboardService;
+    @InjectMocks
+    private DashboardController dashboardController;
+    private UserDto currentUser;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(dashboardController).build();
+        currentUser = new UserDto();
+        currentUser.setUserId(1L);
+    }
+
+    @Test
+    @DisplayName("Get dashboard - Success scenario")
+    void testGetDashboard_Success() throws Exception {
+        DashboardDto dashboard = new DashboardDto();
+        dashboard.setBudgetNotification("Budget is under control.");
+        dashboard.setUnavailable(List.of());
+        when(dashboardService.getDashboard(1L)).thenReturn(dashboard);
+
+        mockMvc.perform(get("/api/dashboard")
+                        .requestAttr("currentUser", currentUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Dashboard retrieved successfully"))
+                .andExpect(jsonPath("$.data.budgetNotification").value("Budget is under control."));
+
+        verify(dashboardService, times(1)).getDashboard(1L);
+    }
+
+    @Test
+    @DisplayName("Get dashboard - Unavailable sections")
+    void testGetDashboard_UnavailableSections() throws Exception {
+        DashboardDto dashboard = new DashboardDto();
+        dashboard.setUnavailable(List.of("goals"));
+        when(dashboardService.getDashboard(1L)).thenReturn(dashboard);
+
+        mockMvc.perform(get("/api/dashboard")
+                        .requestAttr("currentUser", currentUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Dashboard retrieved partially"))
+                .andExpect(jsonPath("$.data.unavailable[0]").value("goals"));
+    }
+}
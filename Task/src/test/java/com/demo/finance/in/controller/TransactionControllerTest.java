@@ -81,8 +81,7 @@ class TransactionControllerTest {
         TransactionDto responseDto = createTransactionDto(1L, "Test transaction");
 
         when(validationUtils.validateRequest(any(), eq(Mode.TRANSACTION_CREATE))).thenReturn(validatedDto);
-        when(transactionService.createTransaction(validatedDto, 1L)).thenReturn(1L);
-        when(transactionService.getTransaction(1L, 1L)).thenReturn(createdTransaction);
+        when(transactionService.createTransaction(validatedDto, 1L)).thenReturn(createdTransaction);
         when(transactionMapper.toDto(createdTransaction)).thenReturn(responseDto);
 
         mockMvc.perform(post("/api/transactions")
@@ -95,7 +94,7 @@ class TransactionControllerTest {
 
         verify(validationUtils, times(1)).validateRequest(any(), eq(Mode.TRANSACTION_CREATE));
         verify(transactionService, times(1)).createTransaction(validatedDto, 1L);
-        verify(transactionService, times(1)).getTransaction(1L, 1L);
+        verify(transactionService, never()).getTransaction(anyLong(), anyLong());
         verify(transactionMapper, times(1)).toDto(createdTransaction);
     }
 
@@ -150,8 +149,7 @@ class TransactionControllerTest {
 
         when(validationUtils.parseLong("1")).thenReturn(1L);
         when(validationUtils.validateRequest(any(), eq(Mode.TRANSACTION_UPDATE))).thenReturn(validatedDto);
-        when(transactionService.updateTransaction(validatedDto, 1L)).thenReturn(true);
-        when(transactionService.getTransaction(1L, 1L)).thenReturn(updatedTransaction);
+        when(transactionService.updateTransaction(validatedDto, 1L)).thenReturn(updatedTransaction);
         when(transactionMapper.toDto(updatedTransaction)).thenReturn(responseDto);
 
         mockMvc.perform(put("/api/transactions/1")
@@ -164,7 +162,7 @@ class TransactionControllerTest {
         verify(validationUtils, times(1)).parseLong("1");
         verify(validationUtils, times(1)).validateRequest(any(), eq(Mode.TRANSACTION_UPDATE));
         verify(transactionService, times(1)).updateTransaction(validatedDto, 1L);
-        verify(transactionService, times(1)).getTransaction(1L, 1L);
+        verify(transactionService, never()).getTransaction(anyLong(), anyLong());
         verify(transactionMapper, times(1)).toDto(updatedTransaction);
     }
 
@@ -225,7 +223,7 @@ class TransactionControllerTest {
 
         when(validationUtils.parseLong("1")).thenReturn(1L);
         when(validationUtils.validateRequest(any(), eq(Mode.TRANSACTION_UPDATE))).thenReturn(validatedDto);
-        when(transactionService.updateTransaction(validatedDto, 1L)).thenReturn(false);
+        when(transactionService.updateTransaction(validatedDto, 1L)).thenReturn(null);
 
         mockMvc.perform(put("/api/transactions/1")
                         .requestAttr("currentUser", currentUser)
@@ -115,8 +115,7 @@ class UserControllerTest {
         String expectedToken = "generated.jwt.token";
 
         when(validationUtils.validateRequest(any(UserDto.class), eq(Mode.AUTHENTICATE))).thenReturn(validatedDto);
-        when(registrationService.authenticate(validatedDto)).thenReturn(true);
-        when(userService.getUserByEmail("test@example.com")).thenReturn(user);
+        when(registrationService.authenticate(validatedDto)).thenReturn(user);
         when(userMapper.toDto(user)).thenReturn(responseDto);
         when(jwtService.generateToken("test@example.com", List.of(responseDto.getRole()), 1L))
                 .thenReturn(expectedToken);
@@ -132,7 +131,7 @@ class UserControllerTest {
         verify(validationUtils, times(1))
                 .validateRequest(any(UserDto.class), eq(Mode.AUTHENTICATE));
         verify(registrationService, times(1)).authenticate(validatedDto);
-        verify(userService, times(1)).getUserByEmail("test@example.com");
+        verify(userService, never()).getUserByEmail(anyString());
         verify(userMapper, times(1)).toDto(user);
         verify(jwtService, times(1))
                 .generateToken("test@example.com", List.of(responseDto.getRole()), 1L);
@@ -309,7 +308,7 @@ class UserControllerTest {
         UserDto validatedDto = createUserDto(null, "test@example.com", null);
 
         when(validationUtils.validateRequest(any(UserDto.class), eq(Mode.AUTHENTICATE))).thenReturn(validatedDto);
-        when(registrationService.authenticate(validatedDto)).thenReturn(false);
+        when(registrationService.authenticate(validatedDto)).thenReturn(null);
 
         mockMvc.perform(post("/api/users/authenticate")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -323,28 +322,6 @@ class UserControllerTest {
         verify(jwtService, never()).generateToken(any(), any(), any());
     }
 
-    @Test
-    @DisplayName("Authenticate user - Failed to retrieve user")
-    void testAuthenticateUser_FailedToRetrieveUser() throws Exception {
-        UserDto validatedDto = createUserDto(null, "test@example.com", null);
-
-        when(validationUtils.validateRequest(any(UserDto.class), eq(Mode.AUTHENTICATE))).thenReturn(validatedDto);
-        when(registrationService.authenticate(validatedDto)).thenReturn(true);
-        when(userService.getUserByEmail("test@example.com")).thenReturn(null);
-
-        mockMvc.perform(post("/api/users/authenticate")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content("{\"email\":\"test@example.com\",\"password\":\"password123\"}"))
-                .andExpect(status().isInternalServerError())
-                .andExpect(jsonPath("$.error").value("Failed to retrieve user details."));
-
-        verify(validationUtils, times(1))
-                .validateRequest(any(UserDto.class), eq(Mode.AUTHENTICATE));
-        verify(registrationService, times(1)).authenticate(validatedDto);
-        verify(userService, times(1)).getUserByEmail("test@example.com");
-        verify(jwtService, never()).generateToken(any(), any(), any());
-    }
-
     @Test
     @DisplayName("Update user - Failed to retrieve updated user")
     void testUpdateUser_FailedToRetrieveUpdatedUser() throws Exception {
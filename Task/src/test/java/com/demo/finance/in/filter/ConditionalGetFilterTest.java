@@ -0,0 +1,150 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.out.service.DataVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.YearMonth;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetFilterTest {
+
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private FilterChain chain;
+    @Mock
+    private DataVersionService dataVersionService;
+    @InjectMocks
+    private ConditionalGetFilter filter;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = Instancio.create(UserDto.class);
+        user.setUserId(2L);
+    }
+
+    @Test
+    @DisplayName("Matching If-None-Match should return 304 without calling the chain")
+    void matchingETag_ShouldReturn304() throws ServletException, IOException {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getAttribute("currentUser")).thenReturn(user);
+        when(request.getRequestURI()).thenReturn("/api/reports/report");
+        when(request.getHeader("If-None-Match")).thenReturn("\"other\", W/\"2-abc-5\"");
+        when(dataVersionService.getVersionTag(2L)).thenReturn("2-abc-5");
+
+        filter.doFilter(request, response, chain);
+
+        verify(response, times(1)).setHeader("ETag", "\"2-abc-5\"");
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(chain, never()).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Stale If-None-Match should attach the current ETag and continue the chain")
+    void staleETag_ShouldContinueChain() throws ServletException, IOException {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getAttribute("currentUser")).thenReturn(user);
+        when(request.getRequestURI()).thenReturn("/api/transactions");
+        when(request.getHeader("If-None-Match")).thenReturn("\"2-abc-4\"");
+        when(dataVersionService.getVersionTag(2L)).thenReturn("2-abc-5");
+
+        filter.doFilter(request, response, chain);
+
+        verify(response, times(1)).setHeader("ETag", "\"2-abc-5\"");
+        verify(response, times(1)).setHeader("Cache-Control", "private, no-cache");
+        verify(response, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(chain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Budget ETag should include the current month, so a tag of another month does not match")
+    void budgetETag_ShouldIncludeCurrentMonth() throws ServletException, IOException {
+        String eTag = "\"2-abc-5-" + YearMonth.now() + "\"";
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getAttribute("currentUser")).thenReturn(user);
+        when(request.getRequestURI()).thenReturn("/api/budgets/budget");
+        when(request.getHeader("If-None-Match")).thenReturn("\"2-abc-5-" + YearMonth.now().minusMonths(1) + "\"");
+        when(dataVersionService.getVersionTag(2L)).thenReturn("2-abc-5");
+
+        filter.doFilter(request, response, chain);
+
+        verify(response, times(1)).setHeader("ETag", eTag);
+        verify(response, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(chain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Wildcard If-None-Match should return 304")
+    void wildcardETag_ShouldReturn304() throws ServletException, IOException {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getAttribute("currentUser")).thenReturn(user);
+        when(request.getRequestURI()).thenReturn("/api/goals");
+        when(request.getHeader("If-None-Match")).thenReturn("*");
+        when(dataVersionService.getVersionTag(2L)).thenReturn("2-abc-0");
+
+        filter.doFilter(request, response, chain);
+
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(chain, never()).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Non-GET request should bypass conditional handling")
+    void nonGetRequest_ShouldPassThrough() throws ServletException, IOException {
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getAttribute("currentUser")).thenReturn(user);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain, times(1)).doFilter(request, response);
+        verify(response, never()).setHeader(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Unversioned endpoint should bypass conditional handling")
+    void unversionedEndpoint_ShouldPassThrough() throws ServletException, IOException {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getAttribute("currentUser")).thenReturn(user);
+        when(request.getRequestURI()).thenReturn("/api/users/me");
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain, times(1)).doFilter(request, response);
+        verify(dataVersionService, never()).getVersionTag(anyLong());
+    }
+
+    @Test
+    @DisplayName("Unauthenticated request should bypass conditional handling")
+    void unauthenticatedRequest_ShouldPassThrough() throws ServletException, IOException {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getAttribute("currentUser")).thenReturn(null);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain, times(1)).doFilter(request, response);
+        verify(dataVersionService, never()).getVersionTag(anyLong());
+    }
+}
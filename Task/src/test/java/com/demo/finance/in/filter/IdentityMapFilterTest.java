@@ -0,0 +1,149 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.app.config.IdentityMap;
+import com.demo.finance.app.config.QueryBudget;
+import com.demo.finance.domain.dto.DashboardDto;
+import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.in.controller.DashboardController;
+import com.demo.finance.out.service.DashboardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class IdentityMapFilterTest {
+
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private FilterChain chain;
+    @Mock
+    private DashboardService dashboardService;
+    private MockHttpServletResponse response;
+    private SimpleMeterRegistry meterRegistry;
+    private IdentityMapFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        response = new MockHttpServletResponse();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdentityMapFilter(new IdentityMap(meterRegistry, true, 256),
+                new QueryBudget(meterRegistry, 10, 1, true, new String[]{"/api/goals=1", "/api/dashboard=1"}));
+    }
+
+    @Test
+    @DisplayName("Request should be handled within a scope that is closed afterwards")
+    void request_ShouldRunWithinScope() throws ServletException, IOException {
+        AtomicReference<IdentityMap.Scope> scope = new AtomicReference<>();
+        doAnswer(invocation -> {
+            scope.set(IdentityMap.currentScope());
+            IdentityMap.executed("SELECT * FROM finance.users WHERE user_id = ?");
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(scope.get()).isNotNull();
+        assertThat(IdentityMap.currentScope()).isNull();
+        assertThat(meterRegistry.get("app.sql.request.queries").summary().totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Failing request should close the scope")
+    void failingRequest_ShouldCloseScope() throws ServletException, IOException {
+        doThrow(new ServletException("boom")).when(chain).doFilter(any(), any());
+
+        assertThatThrownBy(() -> filter.doFilter(request, response, chain)).isInstanceOf(ServletException.class);
+
+        assertThat(IdentityMap.currentScope()).isNull();
+        assertThat(meterRegistry.get("app.sql.request.queries").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Request within the budget of its route should send the buffered response")
+    void requestWithinBudget_ShouldSendBufferedResponse() throws ServletException, IOException {
+        when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/api/goals");
+        doAnswer(invocation -> {
+            IdentityMap.executed("SELECT * FROM finance.goals WHERE user_id = ?");
+            ServletResponse bufferedResponse = invocation.getArgument(1);
+            bufferedResponse.getWriter().write("{\"data\":[]}");
+            bufferedResponse.flushBuffer();
+            assertThat(response.isCommitted()).isFalse();
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("{\"data\":[]}");
+    }
+
+    @Test
+    @DisplayName("Request exceeding the budget of its route should fail and close the scope")
+    void requestExceedingBudget_ShouldFail() throws ServletException, IOException {
+        when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/api/goals");
+        doAnswer(invocation -> {
+            IdentityMap.executed("SELECT * FROM finance.goals WHERE user_id = ?");
+            IdentityMap.executed("SELECT COUNT(*) AS total FROM finance.goals WHERE user_id = ?");
+            ServletResponse bufferedResponse = invocation.getArgument(1);
+            bufferedResponse.getWriter().write("{\"data\":[]}");
+            bufferedResponse.flushBuffer();
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(500);
+        assertThat(response.getContentAsString()).contains("/api/goals").doesNotContain("data");
+        assertThat(IdentityMap.currentScope()).isNull();
+        assertThat(meterRegistry.get("app.sql.request.violations").tag("route", "/api/goals").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Route exceeding its budget through the full filter chain should fail after the body was written")
+    void routeExceedingBudget_ThroughFilterChain_ShouldFail() throws Exception {
+        DashboardDto dashboard = new DashboardDto();
+        dashboard.setUnavailable(List.of());
+        when(dashboardService.getDashboard(1L)).thenAnswer(invocation -> {
+            IdentityMap.executed("SELECT * FROM finance.goals WHERE user_id = ?");
+            IdentityMap.executed("SELECT * FROM finance.budgets WHERE user_id = ?");
+            return dashboard;
+        });
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new DashboardController(dashboardService))
+                .addFilters(new ExceptionHandlerFilter(), filter)
+                .build();
+        UserDto currentUser = new UserDto();
+        currentUser.setUserId(1L);
+
+        mockMvc.perform(get("/api/dashboard").requestAttr("currentUser", currentUser))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error").value("Query budget of route /api/dashboard exceeded"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.domain.dto.UserDto;
+import com.demo.finance.in.filter.RateLimiter.EndpointClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private FilterChain chain;
+    @Mock
+    private RateLimiter rateLimiter;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(rateLimiter, new String[0]);
+    }
+
+    @Test
+    @DisplayName("Authenticated request within budget should be limited per user and passed on")
+    void authenticatedRequest_ShouldUseUserBudget() throws ServletException, IOException {
+        UserDto user = Instancio.create(UserDto.class);
+        user.setUserId(7L);
+        when(rateLimiter.isEnabled()).thenReturn(true);
+        when(request.getAttribute("currentUser")).thenReturn(user);
+        when(request.getRequestURI()).thenReturn("/api/reports/report");
+        when(rateLimiter.tryAcquire(7L, EndpointClass.REPORTS)).thenReturn(0L);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Anonymous request over budget should be limited per IP and rejected with 429")
+    void anonymousRequestOverBudget_ShouldReturn429() throws ServletException, IOException {
+        StringWriter body = new StringWriter();
+        when(rateLimiter.isEnabled()).thenReturn(true);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        when(request.getRequestURI()).thenReturn("/api/users/authenticate");
+        when(rateLimiter.tryAcquire("10.0.0.1", EndpointClass.AUTHENTICATION))
+                .thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+        when(response.getWriter()).thenReturn(new PrintWriter(body));
+
+        filter.doFilter(request, response, chain);
+
+        verify(response).setStatus(429);
+        verify(response).setHeader("Retry-After", "2");
+        assertThat(body.toString()).contains("Too many requests");
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Anonymous request through a trusted proxy should be limited per forwarded client IP")
+    void anonymousRequestThroughTrustedProxy_ShouldUseForwardedClient() throws ServletException, IOException {
+        filter = new RateLimitFilter(rateLimiter, new String[]{"10.0.0.0/8", " ::1"});
+        when(rateLimiter.isEnabled()).thenReturn(true);
+        when(request.getRemoteAddr()).thenReturn("10.1.2.3");
+        when(request.getHeader("X-Forwarded-For")).thenReturn("198.51.100.1, 203.0.113.9, 10.0.0.7");
+        when(request.getRequestURI()).thenReturn("/api/users/authenticate");
+        when(rateLimiter.tryAcquire("203.0.113.9", EndpointClass.AUTHENTICATION)).thenReturn(0L);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Forwarded header should only be followed through trusted proxies")
+    void clientAddress_ShouldOnlyTrustConfiguredProxies() {
+        filter = new RateLimitFilter(rateLimiter, new String[]{"10.0.0.0/8", "192.168.1.1", "::1"});
+        when(request.getHeader("X-Forwarded-For")).thenReturn("203.0.113.9, 10.0.0.7");
+
+        when(request.getRemoteAddr()).thenReturn("192.168.1.2");
+        assertThat(filter.clientAddress(request)).isEqualTo("192.168.1.2");
+        when(request.getRemoteAddr()).thenReturn("11.0.0.1");
+        assertThat(filter.clientAddress(request)).isEqualTo("11.0.0.1");
+        when(request.getRemoteAddr()).thenReturn("0:0:0:0:0:0:0:1");
+        assertThat(filter.clientAddress(request)).isEqualTo("203.0.113.9");
+        when(request.getHeader("X-Forwarded-For")).thenReturn("10.0.0.8, 10.0.0.7");
+        assertThat(filter.clientAddress(request)).isEqualTo("10.0.0.8");
+        when(request.getHeader("X-Forwarded-For")).thenReturn("203.0.113.9, localhost");
+        assertThat(filter.clientAddress(request)).isEqualTo("localhost");
+    }
+
+    @Test
+    @DisplayName("Forwarded header should be ignored without trusted proxies")
+    void clientAddress_ShouldIgnoreForwardedHeaderWithoutTrustedProxies() {
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        when(request.getHeader("X-Forwarded-For")).thenReturn("203.0.113.9");
+
+        assertThat(filter.clientAddress(request)).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("Trusted proxies should be IP addresses or CIDR ranges")
+    void constructor_ShouldRejectInvalidTrustedProxies() {
+        assertThatThrownBy(() -> new RateLimitFilter(rateLimiter, new String[]{"proxy.example.com"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimitFilter(rateLimiter, new String[]{"10.0.0.0/33"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Disabled rate limiter should pass every request on")
+    void disabledRateLimiter_ShouldPassRequest() throws ServletException, IOException {
+        when(rateLimiter.isEnabled()).thenReturn(false);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(rateLimiter, never()).tryAcquire(any(), any());
+    }
+
+    @Test
+    @DisplayName("Classify should recognize authentication and report endpoints")
+    void classify_ShouldRecognizeEndpointClasses() {
+        assertThat(RateLimitFilter.classify("/api/users/authenticate")).isEqualTo(EndpointClass.AUTHENTICATION);
+        assertThat(RateLimitFilter.classify("/api/users/registration")).isEqualTo(EndpointClass.AUTHENTICATION);
+        assertThat(RateLimitFilter.classify("/api/reports")).isEqualTo(EndpointClass.REPORTS);
+        assertThat(RateLimitFilter.classify("/api/reports/expenses-by-category")).isEqualTo(EndpointClass.REPORTS);
+        assertThat(RateLimitFilter.classify("/api/dashboard")).isEqualTo(EndpointClass.REPORTS);
+        assertThat(RateLimitFilter.classify("/api/reportsX")).isEqualTo(EndpointClass.DEFAULT);
+        assertThat(RateLimitFilter.classify("/api/transactions")).isEqualTo(EndpointClass.DEFAULT);
+    }
+}
@@ -0,0 +1,134 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.in.filter.RateLimiter.EndpointClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(true, 10, 20, 1000, 2000, 10, 5, 1, 1000, meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("Try acquire - admits a burst and then rejects with the time until the next token")
+    void testTryAcquire_burstThenReject() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(rateLimiter.tryAcquire(1L, EndpointClass.DEFAULT)).isZero();
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(1L, EndpointClass.DEFAULT);
+
+        assertThat(waitNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(meterRegistry.get("app.ratelimit.throttled").tag("endpoint_class", "default")
+                .tag("scope", "client").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Try acquire - refills tokens over time")
+    void testTryAcquire_refills() {
+        for (int i = 0; i < 20; i++) {
+            rateLimiter.tryAcquire(1L, EndpointClass.DEFAULT);
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(rateLimiter.tryAcquire(1L, EndpointClass.DEFAULT)).isZero();
+        assertThat(rateLimiter.tryAcquire(1L, EndpointClass.DEFAULT)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Try acquire - authentication costs more than other endpoints")
+    void testTryAcquire_authenticationIsCostlier() {
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", EndpointClass.AUTHENTICATION)).isZero();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", EndpointClass.AUTHENTICATION)).isZero();
+
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", EndpointClass.AUTHENTICATION)).isPositive();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", EndpointClass.REPORTS)).isPositive();
+        assertThat(rateLimiter.tryAcquire("10.0.0.2", EndpointClass.AUTHENTICATION)).isZero();
+    }
+
+    @Test
+    @DisplayName("Try acquire - clients have separate budgets")
+    void testTryAcquire_separateClients() {
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.tryAcquire(1L, EndpointClass.REPORTS);
+        }
+
+        assertThat(rateLimiter.tryAcquire(1L, EndpointClass.REPORTS)).isPositive();
+        assertThat(rateLimiter.tryAcquire(2L, EndpointClass.REPORTS)).isZero();
+    }
+
+    @Test
+    @DisplayName("Try acquire - exhausted global budget rejects every client and refunds the client budget")
+    void testTryAcquire_globalLimit() {
+        RateLimiter limiter = new RateLimiter(true, 1000, 2000, 10, 20, 10, 5, 1, 1000, meterRegistry, clock::get);
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire((long) i, EndpointClass.DEFAULT)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire(100L, EndpointClass.DEFAULT)).isPositive();
+        assertThat(meterRegistry.get("app.ratelimit.throttled").tag("endpoint_class", "default")
+                .tag("scope", "global").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Try acquire - client costs double while the global budget is nearly drained")
+    void testTryAcquire_adaptsUnderGlobalPressure() {
+        RateLimiter limiter = new RateLimiter(true, 10, 20, 10, 100, 10, 5, 1, 1000, meterRegistry, clock::get);
+        for (int i = 0; i < 80; i++) {
+            limiter.tryAcquire((long) i, EndpointClass.DEFAULT);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(1000L, EndpointClass.DEFAULT)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1000L, EndpointClass.DEFAULT)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Try acquire - full stripes drop idle buckets and share the overflow bucket")
+    void testTryAcquire_boundedClients() {
+        RateLimiter limiter = new RateLimiter(true, 10, 20, 100000, 200000, 10, 5, 1, 16, meterRegistry,
+                clock::get);
+        for (long client = 0; client < 10000; client++) {
+            limiter.tryAcquire(client, EndpointClass.DEFAULT);
+        }
+
+        assertThat(meterRegistry.get("app.ratelimit.clients").gauge().value()).isLessThanOrEqualTo(16.0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire(20000L, EndpointClass.DEFAULT)).isZero();
+    }
+
+    @Test
+    @DisplayName("Try acquire - disabled limiter admits everything")
+    void testTryAcquire_disabled() {
+        RateLimiter limiter = new RateLimiter(false, 1, 20, 1, 20, 10, 5, 1, 1000, meterRegistry, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire(1L, EndpointClass.AUTHENTICATION)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Constructor - burst smaller than twice the highest cost - throws exception")
+    void testConstructor_burstTooSmall() {
+        assertThatThrownBy(() -> new RateLimiter(true, 10, 15, 1000, 2000, 10, 5, 1, 1000, meterRegistry,
+                clock::get)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.in.filter.RouteTable.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Micro-benchmark comparing the compiled {@link RouteTable} with the previous string and regex checks of
+ * {@link AuthenticationFilter}. Results are logged; nothing about timing is asserted.
+ * <p>
+ * Excluded from the regular {@code test} task; run it with {@code gradle :Task:loadTest}.
+ */
+@Slf4j
+class RouteTableBenchmark {
+
+    private static final String[] PATHS = {
+            "/api/users/authenticate", "/api/transactions", "/api/transactions/42", "/api/goals/7",
+            "/api/reports/report", "/api/budgets/budget", "/api/admin/users/15", "/api/admin/users/block/3",
+            "/swagger-ui/index.html", "/api/notifications/goal"
+    };
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 2_000_000;
+
+    @Test
+    @DisplayName("Route table - resolves policies faster than the previous string checks")
+    void benchmarkResolve() {
+        long legacyNanos = measure(RouteTableBenchmark::legacyPolicy);
+        long trieNanos = measure(AuthenticationFilter.ROUTES::resolve);
+
+        log.info("Legacy checks: {} ns/lookup", (double) legacyNanos / MEASURED_ITERATIONS);
+        log.info("Route table:   {} ns/lookup", (double) trieNanos / MEASURED_ITERATIONS);
+        assertThat(trieNanos).isPositive();
+    }
+
+    private static long measure(Function<String, Policy> resolver) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += resolver.apply(PATHS[i % PATHS.length]).ordinal();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += resolver.apply(PATHS[i % PATHS.length]).ordinal();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isNotNegative();
+        return elapsed;
+    }
+
+    private static Policy legacyPolicy(String requestURI) {
+        boolean isPublic = requestURI.endsWith("/api/users/registration")
+                || requestURI.endsWith("/api/users/authenticate") || requestURI.endsWith("/api/users/logout")
+                || requestURI.startsWith("/swagger-ui/") || requestURI.startsWith("/swagger-ui")
+                || requestURI.equals("/swagger-ui.html") || requestURI.equals("/")
+                || requestURI.startsWith("/v3/api-docs");
+        if (isPublic) {
+            return Policy.PUBLIC;
+        }
+        String path = requestURI.split("\\?")[0];
+        return path.matches("^/api/admin/users(/.*)?$") ? Policy.ADMIN : Policy.USER;
+    }
+}
@@ -0,0 +1,115 @@
+package com.demo.finance.in.filter;
+
+import com.demo.finance.in.filter.RouteTable.Policy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteTableTest {
+
+    private static final List<String> CURRENT_ROUTES = List.of(
+            "/",
+            "/api/users", "/api/users/registration", "/api/users/authenticate", "/api/users/logout",
+            "/api/users/me",
+            "/api/admin/users", "/api/admin/users/1", "/api/admin/users/transactions/1",
+            "/api/admin/users/block/1", "/api/admin/users/role/1",
+            "/api/transactions", "/api/transactions/1",
+            "/api/goals", "/api/goals/1",
+            "/api/budgets", "/api/budgets/budget",
+            "/api/reports/report", "/api/reports/by-date", "/api/reports/expenses-by-category",
+            "/api/notifications/budget", "/api/notifications/goal",
+            "/swagger-ui", "/swagger-ui.html", "/swagger-ui/index.html", "/swagger-ui/swagger-ui.css",
+            "/v3/api-docs", "/v3/api-docs.yaml", "/v3/api-docs/swagger-config");
+
+    @Test
+    @DisplayName("Resolve - agrees with the previous string checks for every route and its variations")
+    void testResolve_matchesLegacyChecksForCurrentRouteSet() {
+        List<String> paths = new ArrayList<>();
+        for (String route : CURRENT_ROUTES) {
+            paths.add(route);
+            if (!route.equals("/")) {
+                paths.add(route + "/");
+                paths.add(route + "/extra");
+                paths.add(route + "/extra/deeper");
+            }
+        }
+
+        for (String path : paths) {
+            assertThat(AuthenticationFilter.ROUTES.resolve(path)).as(path).isEqualTo(legacyPolicy(path));
+        }
+    }
+
+    @Test
+    @DisplayName("Resolve - ignores the query string")
+    void testResolve_ignoresQueryString() {
+        for (String route : CURRENT_ROUTES) {
+            assertThat(AuthenticationFilter.ROUTES.resolve(route + "?page=1&size=10")).as(route)
+                    .isEqualTo(AuthenticationFilter.ROUTES.resolve(route));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/evil/api/users/registration", "/swagger-uiX", "/swagger-ui.htm", "/v3/api-docsX"})
+    @DisplayName("Resolve - no longer treats look-alike paths as public")
+    void testResolve_lookAlikePaths_requireAuthentication(String path) {
+        assertThat(AuthenticationFilter.ROUTES.resolve(path)).isEqualTo(Policy.USER);
+    }
+
+    @Test
+    @DisplayName("Resolve - exact route wins over prefix route and deeper prefix wins over shallower")
+    void testResolve_precedence() {
+        RouteTable table = RouteTable.builder(Policy.USER)
+                .prefix("/a", Policy.ADMIN)
+                .exact("/a", Policy.PUBLIC)
+                .prefix("/a/b", Policy.PUBLIC)
+                .build();
+
+        assertThat(table.resolve("/a")).isEqualTo(Policy.PUBLIC);
+        assertThat(table.resolve("/a/")).isEqualTo(Policy.ADMIN);
+        assertThat(table.resolve("/a/c")).isEqualTo(Policy.ADMIN);
+        assertThat(table.resolve("/a/b/c")).isEqualTo(Policy.PUBLIC);
+        assertThat(table.resolve("/b")).isEqualTo(Policy.USER);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "api/users", "?"})
+    @DisplayName("Resolve - malformed paths resolve to the default policy")
+    void testResolve_malformedPath_returnsDefault(String path) {
+        RouteTable table = RouteTable.builder(Policy.ADMIN).exact("/", Policy.PUBLIC).build();
+
+        assertThat(table.resolve(path)).isEqualTo(Policy.ADMIN);
+        assertThat(table.resolve(null)).isEqualTo(Policy.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Builder - duplicate and invalid routes are rejected")
+    void testBuilder_invalidRoutes_throwException() {
+        RouteTable.Builder builder = RouteTable.builder(Policy.USER).exact("/a", Policy.PUBLIC);
+
+        assertThatThrownBy(() -> builder.exact("/a", Policy.ADMIN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Duplicate exact route: /a");
+        assertThatThrownBy(() -> builder.prefix("a", Policy.ADMIN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid route path: a");
+    }
+
+    private static Policy legacyPolicy(String requestURI) {
+        boolean isPublic = requestURI.endsWith("/api/users/registration")
+                || requestURI.endsWith("/api/users/authenticate") || requestURI.endsWith("/api/users/logout")
+                || requestURI.startsWith("/swagger-ui") || requestURI.equals("/")
+                || requestURI.startsWith("/v3/api-docs");
+        if (isPublic) {
+            return Policy.PUBLIC;
+        }
+        String path = requestURI.split("\\?")[0];
+        return path.matches("^/api/admin/users(/.*)?$") ? Policy.ADMIN : Policy.USER;
+    }
+}
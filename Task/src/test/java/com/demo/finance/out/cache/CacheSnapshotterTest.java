@@ -0,0 +1,172 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.domain.model.Report;
+import com.demo.finance.domain.model.User;
+import com.demo.finance.domain.utils.Role;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheSnapshotterTest {
+
+    private static final List<String> CACHES = List.of("users", "reports", "budgets", "tokens", "invalidTokens");
+    private static final Instant NOW = Instant.parse("2025-01-15T10:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Restart - shutdown snapshot without invalidation bus - restores all caches before the first request")
+    void testRestart_shutdownSnapshot_restoresAllCaches() {
+        CaffeineCacheManager before = cacheManager();
+        User user = new User(1L, "Alice", "alice@example.com", "$2a$10$hash", false, Role.USER, 3L);
+        Report report = new Report(9L, 1L, new BigDecimal("100.00"), new BigDecimal("40.00"),
+                new BigDecimal("60.00"));
+        before.getCache("users").put(1L, user);
+        before.getCache("reports").put(1L, report);
+        before.getCache("budgets").put("1-data-2025-01", Map.of("message", "Budget is not set"));
+        before.getCache("budgets").put(2L, null);
+        before.getCache("tokens").put(1L, "token");
+        before.getCache("invalidTokens").put("revoked", true);
+        CacheSnapshotter snapshotter = snapshotter(before, NOW, false);
+        snapshotter.start();
+        snapshotter.stop();
+
+        CaffeineCacheManager after = cacheManager();
+        snapshotter(after, NOW.plusSeconds(30), false).start();
+
+        assertThat(after.getCache("users").get(1L, User.class))
+                .isEqualTo(new User(1L, "Alice", "alice@example.com", null, false, Role.USER, 3L));
+        assertThat(after.getCache("reports").get(1L, Report.class)).usingRecursiveComparison().isEqualTo(report);
+        Map<?, ?> budget = after.getCache("budgets").get("1-data-2025-01", Map.class);
+        assertThat(budget.get("message")).isEqualTo("Budget is not set");
+        assertThat(after.getCache("budgets").get(2L)).isNotNull();
+        assertThat(after.getCache("tokens").get(1L, String.class)).isEqualTo("token");
+        assertThat(after.getCache("invalidTokens").get("revoked", Boolean.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Restart - shutdown snapshot with invalidation bus - restores only the crash-safe caches")
+    void testRestart_shutdownSnapshotWithInvalidationBus_restoresCrashSafeCachesOnly() {
+        CaffeineCacheManager before = cacheManager();
+        before.getCache("users").put(1L, new User(1L, "Alice", "alice@example.com", null, false, Role.USER, 3L));
+        before.getCache("invalidTokens").put("revoked", true);
+        snapshotter(before, NOW).write(true);
+
+        CaffeineCacheManager after = cacheManager();
+        snapshotter(after, NOW).start();
+
+        assertThat(after.getCache("users").get(1L)).isNull();
+        assertThat(after.getCache("invalidTokens").get("revoked")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Restart - periodic snapshot after a crash - restores only the crash-safe caches")
+    void testRestart_periodicSnapshot_restoresCrashSafeCachesOnly() {
+        CaffeineCacheManager before = cacheManager();
+        before.getCache("tokens").put(1L, "token");
+        before.getCache("invalidTokens").put("revoked", true);
+        CacheSnapshotter snapshotter = snapshotter(before, NOW);
+        snapshotter.start();
+        assertThat(snapshotter.write(false)).isEqualTo(2);
+
+        CaffeineCacheManager after = cacheManager();
+        snapshotter(after, NOW).start();
+
+        assertThat(after.getCache("tokens").get(1L)).isNull();
+        assertThat(after.getCache("invalidTokens").get("revoked")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Restart - shutdown snapshot restored once - a crash afterwards restores crash-safe caches only")
+    void testRestart_restoredSnapshotRewrittenAsPeriodic() {
+        CaffeineCacheManager first = cacheManager();
+        first.getCache("tokens").put(1L, "token");
+        snapshotter(first, NOW, false).write(true);
+        CaffeineCacheManager second = cacheManager();
+        snapshotter(second, NOW, false).start();
+        assertThat(second.getCache("tokens").get(1L)).isNotNull();
+
+        CaffeineCacheManager third = cacheManager();
+        snapshotter(third, NOW, false).start();
+
+        assertThat(third.getCache("tokens").get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Restore - entries past their remaining time-to-live - are discarded")
+    void testRestore_expiredEntries_discarded() {
+        CaffeineCacheManager before = cacheManager();
+        before.getCache("invalidTokens").put("revoked", true);
+        snapshotter(before, NOW).write(true);
+
+        CaffeineCacheManager after = cacheManager();
+
+        assertThat(snapshotter(after, NOW.plus(Duration.ofMinutes(61))).restore()).isZero();
+        assertThat(snapshotter(after, NOW.plus(Duration.ofMinutes(59))).restore()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Restore - corrupted or foreign file - is ignored")
+    void testRestore_corruptedFile_ignored() throws IOException {
+        CaffeineCacheManager before = cacheManager();
+        before.getCache("invalidTokens").put("revoked", true);
+        snapshotter(before, NOW).write(true);
+        byte[] bytes = Files.readAllBytes(path());
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path(), bytes);
+
+        assertThat(snapshotter(cacheManager(), NOW).restore()).isZero();
+
+        Files.writeString(path(), "not a snapshot of the caches at all, just text");
+        assertThat(snapshotter(cacheManager(), NOW).restore()).isZero();
+    }
+
+    @Test
+    @DisplayName("Snapshot - disabled - writes nothing")
+    void testSnapshot_disabled_writesNothing() {
+        CacheSnapshotter snapshotter = new CacheSnapshotter(cacheManager(), false, path(), CACHES,
+                Set.of("invalidTokens"), true, Clock.fixed(NOW, ZoneOffset.UTC));
+        snapshotter.start();
+        snapshotter.snapshot();
+        snapshotter.stop();
+
+        assertThat(path()).doesNotExist();
+    }
+
+    private CacheSnapshotter snapshotter(CaffeineCacheManager cacheManager, Instant now) {
+        return snapshotter(cacheManager, now, true);
+    }
+
+    private CacheSnapshotter snapshotter(CaffeineCacheManager cacheManager, Instant now,
+                                         boolean invalidationEnabled) {
+        return new CacheSnapshotter(cacheManager, true, path(), CACHES, Set.of("invalidTokens"), invalidationEnabled,
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private Path path() {
+        return directory.resolve("caches.snapshot");
+    }
+
+    private static CaffeineCacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CACHES.toArray(String[]::new));
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(500).expireAfterWrite(Duration.ofMinutes(60)));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,87 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.domain.model.Budget;
+import com.demo.finance.domain.model.Report;
+import com.demo.finance.domain.model.User;
+import com.demo.finance.domain.utils.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheValueCodecTest {
+
+    @Test
+    @DisplayName("Encode and decode - report - returns an equal report in a few dozen bytes")
+    void testRoundTrip_report() {
+        Report report = new Report(5L, 1L, new BigDecimal("1500.00"), new BigDecimal("420.50"),
+                new BigDecimal("1079.50"));
+
+        byte[] bytes = CacheValueCodec.encode(report);
+        Report decoded = (Report) decode(bytes);
+
+        assertThat(bytes.length).isLessThan(24);
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(report);
+    }
+
+    @Test
+    @DisplayName("Encode and decode - budget data map - keeps nested maps, order and decimal scales")
+    void testRoundTrip_budgetData() {
+        Map<String, Object> budgetData = Map.of(
+                "formattedBudget", "Budget: 420.50/1000.00 – über",
+                "budgetData", Map.of("monthlyLimit", new BigDecimal("1000.00"),
+                        "currentExpenses", new BigDecimal("420.50")));
+
+        Object decoded = decode(CacheValueCodec.encode(budgetData));
+
+        assertThat(decoded).isEqualTo(budgetData);
+        assertThat(List.copyOf(((Map<?, ?>) decoded).keySet())).isEqualTo(List.copyOf(budgetData.keySet()));
+    }
+
+    @Test
+    @DisplayName("Encode and decode - scalars, lists, budgets, users and large decimals - returns equal values")
+    void testRoundTrip_otherValues() {
+        Budget budget = new Budget(3L, 1L, new BigDecimal("250.00"), null);
+        BigDecimal large = new BigDecimal("123456789012345678901234567890.123456789");
+
+        assertThat(decode(CacheValueCodec.encode(null))).isNull();
+        assertThat(decode(CacheValueCodec.encode(Boolean.TRUE))).isEqualTo(true);
+        assertThat(decode(CacheValueCodec.encode(-7))).isEqualTo(-7);
+        assertThat(decode(CacheValueCodec.encode(Long.MIN_VALUE))).isEqualTo(Long.MIN_VALUE);
+        assertThat(decode(CacheValueCodec.encode("eyJhbGciOiJIUzUxMiJ9.token")))
+                .isEqualTo("eyJhbGciOiJIUzUxMiJ9.token");
+        assertThat(decode(CacheValueCodec.encode(large))).isEqualTo(large);
+        assertThat(decode(CacheValueCodec.encode(List.of(1L, "a", BigDecimal.TEN)))).isEqualTo(List.of(1L, "a",
+                BigDecimal.TEN));
+        assertThat(decode(CacheValueCodec.encode(budget))).usingRecursiveComparison().isEqualTo(budget);
+        User user = new User(1L, "Alice", "alice@example.com", "$2a$10$hash", true, Role.ADMIN, 2L);
+        assertThat(decode(CacheValueCodec.encode(user)))
+                .isEqualTo(new User(1L, "Alice", "alice@example.com", null, true, Role.ADMIN, 2L));
+    }
+
+    @Test
+    @DisplayName("Encode - unsupported type, also nested - returns null")
+    void testEncode_unsupportedType_returnsNull() {
+        assertThat(CacheValueCodec.encode(new Object())).isNull();
+        assertThat(CacheValueCodec.encode(Map.of("user", new Object()))).isNull();
+    }
+
+    @Test
+    @DisplayName("Decode - unknown tag - throws IllegalArgumentException")
+    void testDecode_unknownTag_throws() {
+        assertThatThrownBy(() -> decode(new byte[]{99})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Object decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        Object value = CacheValueCodec.decode(buffer);
+        assertThat(buffer.hasRemaining()).isFalse();
+        return value;
+    }
+}
@@ -0,0 +1,105 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.UnitOfWork;
+import com.demo.finance.out.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryDictionaryTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+    private CategoryDictionary categoryDictionary;
+
+    @BeforeEach
+    void setUp() {
+        categoryDictionary = new CategoryDictionary(categoryRepository, 1000);
+    }
+
+    @Test
+    @DisplayName("ID of - new category - created once and cached")
+    void idOf_newCategory_createdOnce() {
+        when(categoryRepository.findId(USER_ID, "Food")).thenReturn(null);
+        when(categoryRepository.findOrCreate(USER_ID, "Food")).thenReturn(7);
+
+        assertThat(categoryDictionary.idOf(USER_ID, "Food")).isEqualTo(7);
+        assertThat(categoryDictionary.idOf(USER_ID, "Food")).isEqualTo(7);
+        assertThat(categoryDictionary.nameOf(7)).isEqualTo("Food");
+
+        verify(categoryRepository, times(1)).findOrCreate(USER_ID, "Food");
+        verify(categoryRepository, never()).findNameById(7);
+    }
+
+    @Test
+    @DisplayName("Find ID - unknown category - returns null without creating it")
+    void findId_unknownCategory_returnsNull() {
+        when(categoryRepository.findId(USER_ID, "Unknown")).thenReturn(null);
+
+        assertThat(categoryDictionary.findId(USER_ID, "Unknown")).isNull();
+        assertThat(categoryDictionary.findId(USER_ID, "Unknown")).isNull();
+
+        verify(categoryRepository, times(2)).findId(USER_ID, "Unknown");
+        verify(categoryRepository, never()).findOrCreate(USER_ID, "Unknown");
+    }
+
+    @Test
+    @DisplayName("Name of - rows of the same category - share one interned name")
+    void nameOf_sameCategory_returnsSameInstance() {
+        when(categoryRepository.findNameById(3)).thenReturn(new String("Rent"));
+
+        String first = categoryDictionary.nameOf(3);
+        String second = categoryDictionary.nameOf(3);
+
+        assertThat(second).isSameAs(first);
+        verify(categoryRepository, times(1)).findNameById(3);
+    }
+
+    @Test
+    @DisplayName("Preload - loads a user's categories once and answers from the dictionary")
+    void preload_loadsOnce() {
+        when(categoryRepository.findByUserId(USER_ID)).thenReturn(Map.of("Food", 1, "Rent", 2));
+
+        categoryDictionary.preload(USER_ID);
+        categoryDictionary.preload(USER_ID);
+
+        assertThat(categoryDictionary.nameOf(2)).isEqualTo("Rent");
+        assertThat(categoryDictionary.findId(USER_ID, "Food")).isEqualTo(1);
+        assertThat(categoryDictionary.idOf(USER_ID, "Food")).isEqualTo(1);
+        verify(categoryRepository, times(1)).findByUserId(USER_ID);
+        verifyNoMoreInteractions(categoryRepository);
+    }
+
+    @Test
+    @DisplayName("ID of - within a unit of work - not cached until committed")
+    void idOf_withinUnitOfWork_notCached() throws SQLException {
+        DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+        when(dataSourceManager.getConnection()).thenReturn(mock(Connection.class));
+        when(categoryRepository.findId(USER_ID, "Food")).thenReturn(null);
+        when(categoryRepository.findOrCreate(USER_ID, "Food")).thenReturn(7);
+
+        new UnitOfWork(dataSourceManager).execute(() -> categoryDictionary.idOf(USER_ID, "Food"));
+        categoryDictionary.idOf(USER_ID, "Food");
+
+        verify(categoryRepository, times(2)).findOrCreate(USER_ID, "Food");
+    }
+}
@@ -0,0 +1,46 @@
+package com.demo.finance.out.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialCacheTest {
+
+    private final CredentialCache credentialCache = new CredentialCache(true, 60, 100);
+
+    @Test
+    @DisplayName("Is verified - remembered credentials - returns true")
+    void testIsVerified_rememberedCredentials_returnsTrue() {
+        credentialCache.remember("alice@mail.com", "password123", "salt:hash");
+
+        assertThat(credentialCache.isVerified("alice@mail.com", "password123", "salt:hash")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Is verified - different password or stored hash - returns false")
+    void testIsVerified_differentCredentials_returnsFalse() {
+        credentialCache.remember("alice@mail.com", "password123", "salt:hash");
+
+        assertThat(credentialCache.isVerified("alice@mail.com", "password124", "salt:hash")).isFalse();
+        assertThat(credentialCache.isVerified("alice@mail.com", "password123", "salt:newHash")).isFalse();
+        assertThat(credentialCache.isVerified("bob@mail.com", "password123", "salt:hash")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Is verified - shifted boundary between parts - returns false")
+    void testIsVerified_shiftedBoundary_returnsFalse() {
+        credentialCache.remember("alice@mail.com", "password123", "salt:hash");
+
+        assertThat(credentialCache.isVerified("alice@mail.comp", "assword123", "salt:hash")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Is verified - cache disabled - returns false")
+    void testIsVerified_disabled_returnsFalse() {
+        CredentialCache disabled = new CredentialCache(false, 60, 100);
+        disabled.remember("alice@mail.com", "password123", "salt:hash");
+
+        assertThat(disabled.isVerified("alice@mail.com", "password123", "salt:hash")).isFalse();
+    }
+}
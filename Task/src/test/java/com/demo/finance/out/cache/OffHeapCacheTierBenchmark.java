@@ -0,0 +1,121 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.domain.model.Report;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark comparing the garbage collection cost of caching the reports and budget data of many users on-heap only
+ * with a small on-heap cache backed by the {@link OffHeapCacheTier}. For each layout it logs the live heap after a
+ * full collection, the pause of that explicit full collection, and the collection count and time while serving
+ * random reads under allocation pressure. Results are logged; nothing about timing is asserted.
+ * <p>
+ * Both layouts run in the same JVM, so the numbers are indicative only; compare runs with the same heap settings.
+ * Excluded from the regular {@code test} task; run it with {@code gradle :Task:loadTest}.
+ */
+@Slf4j
+class OffHeapCacheTierBenchmark {
+
+    private static final int USERS = 200_000;
+    private static final int HOT_ENTRIES = 2_000;
+    private static final int READS = 2_000_000;
+
+    @Test
+    @DisplayName("Off-heap tier - smaller live heap and GC pauses than on-heap caching of all users")
+    void benchmarkGcImpact() {
+        Result heapOnly = measure(heapCache(USERS * 2L));
+        OffHeapCacheTier tier = new OffHeapCacheTier(new SimpleMeterRegistry(), true, 256L * 1024 * 1024,
+                1024 * 1024, Duration.ofHours(1), Set.of("reports"), System::nanoTime);
+        Result tiered = measure(tier.decorate(heapCache(HOT_ENTRIES)));
+
+        log.info("On-heap only:   {}", heapOnly);
+        log.info("Off-heap tier:  {}", tiered);
+        assertThat(tiered.liveHeapMegabytes()).isPositive();
+    }
+
+    private static Result measure(Cache cache) {
+        for (long userId = 0; userId < USERS; userId++) {
+            cache.put(userId, report(userId));
+            cache.put(userId + "-data", budgetData(userId));
+        }
+        long liveBytes = liveHeapBytes();
+        long fullGcStart = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - fullGcStart) / 1_000_000;
+
+        long collectionsBefore = collections();
+        long gcMillisBefore = collectionMillis();
+        long sink = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < READS; i++) {
+            long userId = random.nextLong(USERS);
+            Object value = cache.get(i % 2 == 0 ? userId : userId + "-data").get();
+            byte[] garbage = new byte[256];
+            sink += garbage.length + (value == null ? 0 : 1);
+        }
+        assertThat(sink).isPositive();
+        Result result = new Result(liveBytes / (1024 * 1024), fullGcMillis, collections() - collectionsBefore,
+                collectionMillis() - gcMillisBefore);
+        cache.clear();
+        return result;
+    }
+
+    private static Cache heapCache(long maxEntries) {
+        return new CaffeineCache("reports", Caffeine.newBuilder().maximumSize(maxEntries).build());
+    }
+
+    private static Report report(long userId) {
+        BigDecimal income = BigDecimal.valueOf(userId % 10_000, 2).add(BigDecimal.valueOf(1000));
+        BigDecimal expense = BigDecimal.valueOf(userId % 5_000, 2);
+        return new Report(userId, userId, income, expense, income.subtract(expense));
+    }
+
+    private static Map<String, Object> budgetData(long userId) {
+        BigDecimal limit = BigDecimal.valueOf(100_000 + userId % 1_000, 2);
+        BigDecimal expenses = BigDecimal.valueOf(userId % 90_000, 2);
+        return Map.of("formattedBudget", String.format("Budget: %.2f/%.2f", expenses, limit),
+                "budgetData", Map.of("monthlyLimit", limit, "currentExpenses", expenses));
+    }
+
+    private static long liveHeapBytes() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long collections() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long collectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    /**
+     * The measurements of one cache layout.
+     *
+     * @param liveHeapMegabytes the heap in use after a full collection
+     * @param fullGcMillis      the duration of an explicit full collection
+     * @param collections       the number of collections while serving reads
+     * @param collectionMillis  the accumulated collection time while serving reads
+     */
+    private record Result(long liveHeapMegabytes, long fullGcMillis, long collections, long collectionMillis) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.domain.model.Report;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapCacheTierTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final OffHeapCacheTier tier = tier(true);
+    private final CaffeineCacheManager heapCacheManager = new CaffeineCacheManager("reports", "tokens", "users");
+
+    @Test
+    @DisplayName("Decorate - only tiered caches of an enabled tier are decorated")
+    void testDecorate_onlyTieredCaches() {
+        Cache users = heapCacheManager.getCache("users");
+        Cache reports = heapCacheManager.getCache("reports");
+
+        assertThat(tier.decorate(users)).isSameAs(users);
+        assertThat(tier.decorate(reports)).isNotSameAs(reports);
+        assertThat(tier.decorate(reports).getNativeCache()).isSameAs(reports.getNativeCache());
+        assertThat(tier(false).decorate(reports)).isSameAs(reports);
+    }
+
+    @Test
+    @DisplayName("Get - evicted from the heap - served off-heap and promoted back to the heap")
+    void testGet_heapMiss_servedOffHeapAndPromoted() {
+        CaffeineCache heap = (CaffeineCache) heapCacheManager.getCache("reports");
+        Cache reports = tier.decorate(heap);
+        Report report = new Report(1L, 7L, new BigDecimal("100.00"), new BigDecimal("40.00"),
+                new BigDecimal("60.00"));
+        reports.put(7L, report);
+        heap.getNativeCache().invalidateAll();
+
+        Report served = reports.get(7L, Report.class);
+
+        assertThat(served).usingRecursiveComparison().isEqualTo(report);
+        assertThat(heap.get(7L)).isNotNull();
+        assertThat(reports.get(8L)).isNull();
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get with loader - miss in both tiers - loads once and writes through")
+    void testGetWithLoader_writesThrough() {
+        CaffeineCache heap = (CaffeineCache) heapCacheManager.getCache("tokens");
+        Cache tokens = tier.decorate(heap);
+
+        assertThat(tokens.get(3L, () -> "token")).isEqualTo("token");
+        heap.clear();
+
+        assertThat(tokens.get(3L, () -> "reloaded")).isEqualTo("token");
+    }
+
+    @Test
+    @DisplayName("Evict, clear and evict if - remove the entries from both tiers")
+    void testEvictAndClear_bothTiers() {
+        Cache reports = tier.decorate(heapCacheManager.getCache("reports"));
+        Cache tokens = tier.decorate(heapCacheManager.getCache("tokens"));
+        reports.put(1L, "report");
+        reports.put("1-data", "data");
+        reports.put("2-data", "data");
+        tokens.put(1L, "token");
+
+        reports.evict(1L);
+        tier.evictIf("reports", key -> "1-data".equals(key));
+        heapCacheManager.getCache("reports").clear();
+
+        assertThat(reports.get(1L)).isNull();
+        assertThat(reports.get("1-data")).isNull();
+        assertThat(reports.get("2-data")).isNotNull();
+        reports.clear();
+        assertThat(reports.get("2-data")).isNull();
+        assertThat(tier.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Evict all - given keys - removes only their off-heap copies")
+    void testEvictAll_givenKeys() {
+        Cache reports = tier.decorate(heapCacheManager.getCache("reports"));
+        reports.put("1-data", "data");
+        reports.put("2-data", "data");
+
+        tier.evictAll("reports", List.of("1-data", "3-data"));
+        tier.evictAll("tokens", List.of("2-data"));
+
+        assertThat(tier.contains("reports", "1-data")).isFalse();
+        assertThat(tier.contains("reports", "2-data")).isTrue();
+        assertThat(tier.contains("users", "2-data")).isFalse();
+        assertThat(tier.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Put - unsupported value type or expired copy - value stays on-heap only")
+    void testPut_unsupportedOrExpired_heapOnly() {
+        CaffeineCache heap = (CaffeineCache) heapCacheManager.getCache("reports");
+        Cache reports = tier.decorate(heap);
+        reports.put(1L, new Object());
+        reports.put(2L, "report");
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(61));
+        heap.clear();
+
+        assertThat(reports.get(1L)).isNull();
+        assertThat(reports.get(2L)).isNull();
+    }
+
+    private OffHeapCacheTier tier(boolean enabled) {
+        return new OffHeapCacheTier(meterRegistry, enabled, 1024 * 1024, 64 * 1024, Duration.ofHours(1),
+                Set.of("reports", "tokens"), nanos::get);
+    }
+
+    private double count(String result) {
+        Counter counter = meterRegistry.find("app.cache.off-heap.requests").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
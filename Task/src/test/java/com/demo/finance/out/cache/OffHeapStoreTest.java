@@ -0,0 +1,87 @@
+package com.demo.finance.out.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapStoreTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final OffHeapStore store = new OffHeapStore(3 * 64, 64, TimeUnit.SECONDS.toNanos(60), nanos::get);
+
+    @Test
+    @DisplayName("Put and get - stores the value off-heap and replaces it on the next put")
+    void testPutAndGet() {
+        store.put("1-data", bytes("first"));
+        store.put("1-data", bytes("second"));
+
+        assertThat(read("1-data")).isEqualTo("second");
+        assertThat(read("2-data")).isNull();
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.allocatedBytes()).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("Put - budget exhausted - reuses the oldest page and evicts its entries")
+    void testPut_budgetExhausted_evictsOldestPage() {
+        for (int key = 0; key < 10; key++) {
+            assertThat(store.put(key, bytes("value-" + key + "-padding-xx"))).isTrue();
+        }
+
+        assertThat(store.allocatedBytes()).isEqualTo(3 * 64);
+        assertThat(read(0)).isNull();
+        assertThat(read(3)).isNull();
+        assertThat(read(4)).isEqualTo("value-4-padding-xx");
+        assertThat(read(9)).isEqualTo("value-9-padding-xx");
+        assertThat(store.evictions()).isEqualTo(4);
+        assertThat(store.size()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Put - value larger than a page - is rejected and drops the previous value")
+    void testPut_tooLarge_rejected() {
+        store.put(1L, bytes("small"));
+
+        assertThat(store.put(1L, new byte[64])).isFalse();
+        assertThat(read(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Get - entry older than the time-to-live - is treated as absent")
+    void testGet_expired_absent() {
+        store.put(1L, bytes("report"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertThat(read(1L)).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Remove and remove if - drop the matching entries only")
+    void testRemove() {
+        store.put(1L, bytes("a"));
+        store.put("1-data", bytes("b"));
+        store.put("2-data", bytes("c"));
+
+        assertThat(store.remove(1L)).isTrue();
+        assertThat(store.remove(1L)).isFalse();
+        store.removeIf(key -> key.toString().startsWith("1-"));
+
+        assertThat(read("1-data")).isNull();
+        assertThat(read("2-data")).isEqualTo("c");
+    }
+
+    private String read(Object key) {
+        return store.get(key, buffer -> StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package com.demo.finance.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshAheadTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+    private final RefreshAhead refreshAhead = refreshAhead(true);
+
+    @Test
+    @DisplayName("Customize - enabled - replaces the reports and budgets caches with loading caches")
+    void testCustomize_enabled_registersLoadingCaches() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("reports", "budgets", "goals");
+
+        refreshAhead.customize(cacheManager);
+
+        assertThat(cacheManager.getCache("reports").getNativeCache()).isInstanceOf(LoadingCache.class);
+        assertThat(cacheManager.getCache("budgets").getNativeCache()).isInstanceOf(LoadingCache.class);
+        assertThat(cacheManager.getCache("goals").getNativeCache()).isNotInstanceOf(LoadingCache.class);
+    }
+
+    @Test
+    @DisplayName("Customize - disabled - keeps the caches of the cache manager")
+    void testCustomize_disabled_keepsCaches() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("reports", "budgets");
+
+        refreshAhead(false).customize(cacheManager);
+
+        assertThat(cacheManager.getCache("reports").getNativeCache()).isNotInstanceOf(LoadingCache.class);
+    }
+
+    @Test
+    @DisplayName("Refresh - entry read after the refresh interval - serves the stale value and reloads it")
+    void testRefresh_staleEntry_servedThenReloaded() {
+        Cache<Object, Object> cache = refreshAhead.buildCache("reports");
+        AtomicInteger version = new AtomicInteger();
+        cache.put(1L, refreshAhead.load("reports", 1L, () -> "v" + version.incrementAndGet()));
+
+        advance(Duration.ofSeconds(299));
+        assertThat(cache.getIfPresent(1L)).isEqualTo("v1");
+        assertThat(version).hasValue(1);
+
+        advance(Duration.ofSeconds(2));
+        assertThat(cache.getIfPresent(1L)).isEqualTo("v1");
+        assertThat(cache.getIfPresent(1L)).isEqualTo("v1");
+        runRefreshes();
+        assertThat(cache.getIfPresent(1L)).isEqualTo("v2");
+        assertThat(version).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Refresh - reload fails - keeps serving the previous value")
+    void testRefresh_reloadFails_keepsPreviousValue() {
+        Cache<Object, Object> cache = refreshAhead.buildCache("reports");
+        AtomicInteger calls = new AtomicInteger();
+        cache.put("1-data", refreshAhead.load("reports", "1-data", () -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return "v1";
+        }));
+
+        advance(Duration.ofSeconds(301));
+        cache.getIfPresent("1-data");
+        runRefreshes();
+
+        assertThat(calls).hasValue(2);
+        assertThat(cache.getIfPresent("1-data")).isEqualTo("v1");
+    }
+
+    @Test
+    @DisplayName("Refresh - unknown or idle key - entry is dropped instead of reloaded")
+    void testRefresh_unknownKey_entryDropped() {
+        Cache<Object, Object> cache = refreshAhead.buildCache("budgets");
+        cache.put(2L, "budget");
+
+        advance(Duration.ofSeconds(301));
+        assertThat(cache.getIfPresent(2L)).isEqualTo("budget");
+        runRefreshes();
+
+        assertThat(cache.getIfPresent(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Load - cache miss - leaves the computation to the caller")
+    void testLoad_cacheMiss_returnsNull() {
+        LoadingCache<Object, Object> cache = (LoadingCache<Object, Object>) refreshAhead.buildCache("reports");
+
+        assertThat(cache.get(3L)).isNull();
+    }
+
+    private RefreshAhead refreshAhead(boolean enabled) {
+        return new RefreshAhead(new SingleFlight(new SimpleMeterRegistry()), enabled, Duration.ofSeconds(300),
+                Duration.ofSeconds(3600), 100, refreshes::add, nanos::get);
+    }
+
+    private void runRefreshes() {
+        Runnable refresh;
+        while ((refresh = refreshes.poll()) != null) {
+            refresh.run();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(TimeUnit.NANOSECONDS.convert(duration));
+    }
+}
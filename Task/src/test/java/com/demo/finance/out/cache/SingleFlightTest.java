@@ -0,0 +1,119 @@
+package com.demo.finance.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(300);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Execute - 300 concurrent callers of one key - loader runs once and all share the result")
+    void testExecute_concurrentCallers_loaderRunsOnce() throws Exception {
+        int callers = 300;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        Object value = new Object();
+
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("reports", 1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return value;
+            })));
+        }
+        waitUntil(() -> count("reports", true) == callers - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(value);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("reports", false)).isEqualTo(1);
+        assertThat(count("reports", true)).isEqualTo(callers - 1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - loader fails - every waiting caller receives the exception")
+    void testExecute_loaderFails_exceptionShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Object> leader = executor.submit(() -> singleFlight.execute("reports", 1L, () -> {
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }));
+        waitUntil(() -> singleFlight.inFlight() == 1);
+        Future<Object> follower = executor.submit(() -> singleFlight.execute("reports", 1L, () -> "unused"));
+        waitUntil(() -> count("reports", true) == 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("database unavailable");
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - sequential calls and distinct keys - each computes its own value")
+    void testExecute_sequentialAndDistinctKeys_notCoalesced() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("reports", 1L, loads::incrementAndGet);
+        singleFlight.execute("reports", 1L, loads::incrementAndGet);
+        singleFlight.execute("reports", 2L, loads::incrementAndGet);
+        singleFlight.execute("budgets", 1L, loads::incrementAndGet);
+        Object nothing = singleFlight.execute("budgets", 3L, () -> null);
+
+        assertThat(loads).hasValue(4);
+        assertThat(nothing).isNull();
+        assertThat(count("reports", true)).isZero();
+        assertThat(count("reports", false)).isEqualTo(3);
+    }
+
+    private double count(String name, boolean coalesced) {
+        Counter counter = meterRegistry.find("app.cache.loads").tag("name", name)
+                .tag("coalesced", Boolean.toString(coalesced)).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.app.config.CacheInvalidationBus;
+import com.demo.finance.domain.model.Transaction;
+import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionAnalyticsCacheTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+    private TransactionAnalyticsCache analyticsCache;
+
+    @BeforeEach
+    void setUp() {
+        analyticsCache = new TransactionAnalyticsCache(transactionRepository, invalidationBus, true, 64, 3600);
+    }
+
+    @Test
+    @DisplayName("Totals - repeated queries - load the history once")
+    void totals_repeatedQueries_loadOnce() {
+        when(transactionRepository.findByUserIdOnPrimary(USER_ID)).thenReturn(List.of(
+                transaction(1L, "2025-03-05", "40.00", Type.EXPENSE)));
+
+        analyticsCache.totals(USER_ID, FROM, TO);
+        TransactionTotals totals = analyticsCache.totals(USER_ID, FROM, TO).orElseThrow();
+
+        assertThat(totals.expense()).isEqualTo(new BigDecimal("40.00"));
+        verify(transactionRepository, times(1)).findByUserIdOnPrimary(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Transaction saved - cached history - updated incrementally and broadcast")
+    void transactionSaved_cachedHistory_updatesIncrementally() {
+        when(transactionRepository.findByUserIdOnPrimary(USER_ID)).thenReturn(new ArrayList<>(List.of(
+                transaction(1L, "2025-03-05", "40.00", Type.EXPENSE))));
+        analyticsCache.totals(USER_ID, FROM, TO);
+
+        analyticsCache.transactionSaved(transaction(2L, "2025-03-06", "60.00", Type.EXPENSE));
+        analyticsCache.transactionDeleted(USER_ID, 1L);
+
+        assertThat(analyticsCache.totals(USER_ID, FROM, TO).orElseThrow().expense())
+                .isEqualTo(new BigDecimal("60.00"));
+        verify(transactionRepository, times(1)).findByUserIdOnPrimary(USER_ID);
+        verify(invalidationBus, times(2)).publish(TransactionAnalyticsCache.TOPIC, "1");
+    }
+
+    @Test
+    @DisplayName("Apply invalidations - changed on another instance - reloads the history")
+    void applyInvalidations_reloadsHistory() {
+        when(transactionRepository.findByUserIdOnPrimary(USER_ID))
+                .thenReturn(List.of(transaction(1L, "2025-03-05", "40.00", Type.EXPENSE)))
+                .thenReturn(List.of(transaction(1L, "2025-03-05", "45.00", Type.EXPENSE)));
+        analyticsCache.totals(USER_ID, FROM, TO);
+
+        analyticsCache.applyInvalidations(List.of("1", "not-a-number"));
+
+        assertThat(analyticsCache.totals(USER_ID, FROM, TO).orElseThrow().expense())
+                .isEqualTo(new BigDecimal("45.00"));
+        verify(transactionRepository, times(2)).findByUserIdOnPrimary(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Totals - unsupported history - returns empty")
+    void totals_unsupportedHistory_returnsEmpty() {
+        when(transactionRepository.findByUserIdOnPrimary(USER_ID)).thenReturn(List.of(
+                transaction(1L, "2025-03-05", "0.005", Type.EXPENSE)));
+
+        assertThat(analyticsCache.totals(USER_ID, FROM, TO)).isEmpty();
+        assertThat(analyticsCache.expensesByCategory(USER_ID, FROM, TO)).isEmpty();
+        verify(transactionRepository, times(1)).findByUserIdOnPrimary(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Disabled - answers nothing and loads nothing")
+    void disabled_returnsEmpty() {
+        TransactionAnalyticsCache disabled =
+                new TransactionAnalyticsCache(transactionRepository, invalidationBus, false, 64, 3600);
+
+        disabled.transactionSaved(transaction(1L, "2025-03-05", "40.00", Type.EXPENSE));
+
+        assertThat(disabled.totals(USER_ID, FROM, TO)).isEmpty();
+        verifyNoInteractions(transactionRepository);
+        verify(invalidationBus, times(0)).publish(any(), any());
+    }
+
+    private static Transaction transaction(Long id, String date, String amount, Type type) {
+        Transaction transaction = new Transaction(USER_ID, new BigDecimal(amount), "Food", LocalDate.parse(date),
+                "description", type);
+        transaction.setTransactionId(id);
+        return transaction;
+    }
+}
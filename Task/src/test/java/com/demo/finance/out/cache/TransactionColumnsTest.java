@@ -0,0 +1,154 @@
+package com.demo.finance.out.cache;
+
+import com.demo.finance.domain.model.Transaction;
+import com.demo.finance.domain.utils.Type;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionColumnsTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2025, 3, 1);
+    private static final LocalDate MARCH_31 = LocalDate.of(2025, 3, 31);
+
+    @Test
+    @DisplayName("Totals - date range - includes both bounds and only matching days")
+    void totals_dateRange_includesBounds() {
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                transaction(1L, "2025-02-28", "10.00", "Food", Type.EXPENSE),
+                transaction(2L, "2025-03-01", "1000.00", "Salary", Type.INCOME),
+                transaction(3L, "2025-03-15", "25.50", "Food", Type.EXPENSE),
+                transaction(4L, "2025-03-31", "4.50", "Transport", Type.EXPENSE),
+                transaction(5L, "2025-04-01", "99.00", "Food", Type.EXPENSE)));
+
+        TransactionTotals totals = columns.totals(MARCH_1, MARCH_31);
+
+        assertThat(totals.income()).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(totals.expense()).isEqualTo(new BigDecimal("30.00"));
+        assertThat(totals.count()).isEqualTo(3);
+        assertThat(columns.totals(null, null).count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Totals - no matching transactions - returns zero totals")
+    void totals_noMatches_returnsZero() {
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                transaction(1L, "2025-01-10", "10.00", "Food", Type.EXPENSE)));
+
+        TransactionTotals totals = columns.totals(MARCH_1, MARCH_31);
+
+        assertThat(totals).isEqualTo(new TransactionTotals(BigDecimal.ZERO, BigDecimal.ZERO, 0));
+    }
+
+    @Test
+    @DisplayName("Expenses by category - groups expenses within the range")
+    void expensesByCategory_groupsExpenses() {
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                transaction(1L, "2025-03-02", "10.00", "Food", Type.EXPENSE),
+                transaction(2L, "2025-03-03", "1000.00", "Salary", Type.INCOME),
+                transaction(3L, "2025-03-04", "5.25", "Food", Type.EXPENSE),
+                transaction(4L, "2025-03-05", "3.00", "Transport", Type.EXPENSE),
+                transaction(5L, "2025-04-05", "7.00", "Rent", Type.EXPENSE)));
+
+        Map<String, BigDecimal> expenses = columns.expensesByCategory(MARCH_1, MARCH_31);
+
+        assertThat(expenses).containsOnly(
+                Map.entry("Food", new BigDecimal("15.25")),
+                Map.entry("Transport", new BigDecimal("3.00")));
+    }
+
+    @Test
+    @DisplayName("Upsert - new and changed transactions - keeps columns sorted and replaces by ID")
+    void upsert_insertsAndReplaces() {
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                transaction(1L, "2025-03-10", "10.00", "Food", Type.EXPENSE)));
+
+        TransactionColumns changed = columns
+                .upsert(transaction(2L, "2025-03-01", "500.00", "Salary", Type.INCOME))
+                .upsert(transaction(1L, "2025-03-10", "12.00", "Groceries", Type.EXPENSE))
+                .upsert(transaction(1L, "2025-03-10", "12.00", "Groceries", Type.EXPENSE));
+
+        assertThat(changed.size()).isEqualTo(2);
+        assertThat(changed.totals(MARCH_1, LocalDate.of(2025, 3, 1)).income()).isEqualTo(new BigDecimal("500.00"));
+        assertThat(changed.expensesByCategory(MARCH_1, MARCH_31))
+                .containsOnly(Map.entry("Groceries", new BigDecimal("12.00")));
+        assertThat(columns.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Remove - existing transaction - drops it and keeps the type of the others")
+    void remove_existingTransaction_dropsIt() {
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                transaction(1L, "2025-03-01", "100.00", "Salary", Type.INCOME),
+                transaction(2L, "2025-03-02", "10.00", "Food", Type.EXPENSE),
+                transaction(3L, "2025-03-03", "50.00", "Bonus", Type.INCOME)));
+
+        TransactionColumns changed = columns.remove(2L);
+
+        assertThat(changed.totals(null, null))
+                .isEqualTo(new TransactionTotals(new BigDecimal("150.00"), BigDecimal.ZERO, 2));
+        assertThat(changed.remove(42L)).isSameAs(changed);
+    }
+
+    @Test
+    @DisplayName("Of - amount with more than two decimals - unsupported")
+    void of_unrepresentableAmount_unsupported() {
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                transaction(1L, "2025-03-01", "0.001", "Food", Type.EXPENSE)));
+
+        assertThat(columns.isSupported()).isFalse();
+        assertThat(TransactionColumns.of(List.of()).upsert(
+                transaction(1L, "2025-03-01", "0.001", "Food", Type.EXPENSE))).isNull();
+    }
+
+    @Test
+    @DisplayName("Totals - sum beyond long minor units - throws ArithmeticException")
+    void totals_overflow_throws() {
+        BigDecimal huge = BigDecimal.valueOf(Long.MAX_VALUE / 100 - 1);
+        TransactionColumns columns = TransactionColumns.of(List.of(
+                transaction(1L, "2025-03-01", huge.toPlainString(), "Food", Type.EXPENSE),
+                transaction(2L, "2025-03-02", huge.toPlainString(), "Food", Type.EXPENSE)));
+
+        assertThatThrownBy(() -> columns.totals(null, null)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Totals - random histories - match aggregating the transactions directly")
+    void totals_randomHistories_matchStreams() {
+        Random random = new Random(42);
+        List<Transaction> transactions = new ArrayList<>();
+        TransactionColumns columns = TransactionColumns.of(List.of());
+        for (long id = 1; id <= 300; id++) {
+            Transaction transaction = transaction(id, MARCH_1.plusDays(random.nextInt(90)).toString(),
+                    BigDecimal.valueOf(random.nextInt(100_000), 2).toPlainString(), "C" + random.nextInt(7),
+                    random.nextBoolean() ? Type.INCOME : Type.EXPENSE);
+            transactions.add(transaction);
+            columns = columns.upsert(transaction);
+        }
+        LocalDate from = MARCH_1.plusDays(20);
+        LocalDate to = MARCH_1.plusDays(50);
+
+        BigDecimal expectedExpense = transactions.stream()
+                .filter(t -> t.getType() == Type.EXPENSE && t.isWithinDateRange(from, to))
+                .map(Transaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(columns.totals(from, to).expense()).isEqualByComparingTo(expectedExpense);
+        assertThat(TransactionColumns.of(transactions).totals(from, to)).isEqualTo(columns.totals(from, to));
+    }
+
+    private static Transaction transaction(Long id, String date, String amount, String category, Type type) {
+        Transaction transaction = new Transaction(1L, new BigDecimal(amount), category, LocalDate.parse(date),
+                "description", type);
+        transaction.setTransactionId(id);
+        return transaction;
+    }
+}
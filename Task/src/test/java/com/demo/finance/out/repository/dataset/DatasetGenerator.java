@@ -0,0 +1,241 @@
+package com.demo.finance.out.repository.dataset;
+
+import com.demo.finance.domain.utils.EnvLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Command line tool loading a {@link SyntheticDataset} into the database of the application, so that benchmarks and
+ * {@code EXPLAIN} plans can be run against production-sized tables.
+ * <p>
+ * The database must have been migrated by Liquibase. Ids are reserved by advancing the sequences of the tables past
+ * the existing rows, and the monthly transaction partitions of the history are created up front. The users are then
+ * loaded in chunks on a pool of threads, every chunk with {@code COPY} on a connection of its own within one
+ * transaction, and the tables are analyzed at the end.
+ * <p>
+ * Options are given as {@code --name=value}: {@code dbUrl}, {@code envPath} (the {@code .env} file with the database
+ * credentials, whose {@code ADMIN_PASSWORD} hash becomes the password of every generated user), {@code users},
+ * {@code transactions}, {@code seed}, {@code endDate}, {@code historyDays}, {@code threads} and {@code chunkUsers}.
+ * The same seed, counts and end date always yield the same rows.
+ */
+@Slf4j
+public class DatasetGenerator {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+    private static final String RESERVE_IDS_SQL = "SELECT setval('finance.%1$s', GREATEST("
+            + "(SELECT COALESCE(MAX(%3$s), 0) FROM finance.%2$s), (SELECT last_value FROM finance.%1$s)) + ?) - ?";
+    private static final String CREATE_PARTITION_SQL = "SELECT finance.create_transactions_partition(?)";
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    /**
+     * Constructs a {@code DatasetGenerator} for a database.
+     *
+     * @param url      the JDBC URL of the database
+     * @param username the database user
+     * @param password the password of the database user
+     */
+    public DatasetGenerator(String url, String username, String password) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Generates the dataset described by the options and loads it.
+     *
+     * @param args the options, each given as {@code --name=value}
+     * @throws Exception if the dataset cannot be loaded
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Malformed option, expected --name=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        Map<String, String> env = EnvLoader.loadEnv(options.getOrDefault("envPath", ".env"));
+        String url = options.getOrDefault("dbUrl", "jdbc:postgresql://localhost:5432/financedb");
+        int users = Integer.parseInt(options.getOrDefault("users", "10000"));
+        long transactions = Long.parseLong(options.getOrDefault("transactions", "1000000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        LocalDate endDate = LocalDate.parse(options.getOrDefault("endDate", LocalDate.now().toString()));
+        int historyDays = Integer.parseInt(options.getOrDefault("historyDays", "730"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int chunkUsers = Integer.parseInt(options.getOrDefault("chunkUsers", "1000"));
+
+        new DatasetGenerator(url, env.get("DB_USERNAME"), env.get("DB_PASSWORD"))
+                .load(seed, users, transactions, endDate, historyDays, env.get("ADMIN_PASSWORD"), threads, chunkUsers);
+    }
+
+    /**
+     * Generates a dataset and loads it.
+     *
+     * @param seed         the seed every row is derived from
+     * @param users        the number of users
+     * @param transactions the number of transactions of all users together
+     * @param endDate      the last day of the transaction histories
+     * @param historyDays  the number of days of the transaction histories
+     * @param passwordHash the stored password hash of every user
+     * @param threads      the number of chunks loaded concurrently
+     * @param chunkUsers   the number of users loaded per chunk
+     * @throws SQLException         if the ids cannot be reserved or a chunk fails to load
+     * @throws InterruptedException if interrupted while waiting for the chunks
+     */
+    public void load(long seed, int users, long transactions, LocalDate endDate, int historyDays,
+                     String passwordHash, int threads, int chunkUsers) throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        SyntheticDataset dataset;
+        try (Connection connection = connect()) {
+            SyntheticDataset.IdBases spans = new SyntheticDataset(seed, users, transactions, endDate, historyDays,
+                    passwordHash, new SyntheticDataset.IdBases(0, 0, 0, 0, 0)).idSpans();
+            SyntheticDataset.IdBases bases = new SyntheticDataset.IdBases(
+                    reserveIds(connection, "users_user_id_seq", "users", "user_id", spans.user()),
+                    reserveIds(connection, "categories_category_id_seq", "categories", "category_id",
+                            spans.category()),
+                    reserveIds(connection, "transactions_transaction_id_seq", "transactions", "transaction_id",
+                            spans.transaction()),
+                    reserveIds(connection, "goals_goal_id_seq", "goals", "goal_id", spans.goal()),
+                    reserveIds(connection, "budgets_budget_id_seq", "budgets", "budget_id", spans.budget()));
+            dataset = new SyntheticDataset(seed, users, transactions, endDate, historyDays, passwordHash, bases);
+            createPartitions(connection, dataset.startDate(), endDate);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int first = 0; first < users; first += chunkUsers) {
+                int from = first;
+                int to = Math.min(users, first + chunkUsers);
+                chunks.add(executor.submit(() -> {
+                    loadChunk(dataset, from, to);
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            throw new SQLException("Failed to load dataset chunk", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE finance.users, finance.categories, finance.transactions, finance.goals, "
+                    + "finance.budgets");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Loaded {} users and {} transactions with seed {} in {} s ({} transactions/s)", users,
+                dataset.transactions(), seed, String.format("%.1f", seconds),
+                String.format("%.0f", dataset.transactions() / seconds));
+    }
+
+    /**
+     * Loads the rows of a range of users within one transaction.
+     */
+    private void loadChunk(SyntheticDataset dataset, int from, int to) throws SQLException {
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            copy(connection, "users (user_id, name, email, password, blocked, role, version)",
+                    dataset::appendUser, from, to);
+            copy(connection, "categories (category_id, user_id, name)", dataset::appendCategories, from, to);
+            copy(connection, "transactions (transaction_id, user_id, amount, category_id, date, description, type)",
+                    dataset::appendTransactions, from, to);
+            copy(connection, "goals (goal_id, user_id, goal_name, target_amount, saved_amount, duration, start_time)",
+                    dataset::appendGoals, from, to);
+            copy(connection, "budgets (budget_id, user_id, monthly_limit, current_expenses)",
+                    dataset::appendBudget, from, to);
+            connection.commit();
+        }
+        log.info("Loaded users {} to {}", from + 1, to);
+    }
+
+    /**
+     * Copies the rows of a range of users into a table, flushing the generated rows every megabyte.
+     */
+    private void copy(Connection connection, String table, BiConsumer<Integer, StringBuilder> rows, int from, int to)
+            throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY finance." + table + " FROM STDIN");
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 4096);
+            for (int user = from; user < to; user++) {
+                rows.accept(user, buffer);
+                if (buffer.length() >= FLUSH_CHARS) {
+                    flush(copyIn, buffer);
+                }
+            }
+            flush(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Advances the sequence of a table past its existing rows and ids by the given number of ids.
+     *
+     * @return the id preceding the reserved ids
+     */
+    private long reserveIds(Connection connection, String sequence, String table, String column, long count)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                String.format(RESERVE_IDS_SQL, sequence, table, column))) {
+            statement.setLong(1, count);
+            statement.setLong(2, count);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Creates the monthly transaction partitions from the month of the first to the month of the last day.
+     */
+    private void createPartitions(Connection connection, LocalDate firstDay, LocalDate lastDay) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CREATE_PARTITION_SQL)) {
+            for (LocalDate month = firstDay.withDayOfMonth(1); !month.isAfter(lastDay); month = month.plusMonths(1)) {
+                statement.setObject(1, month);
+                statement.execute();
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+}
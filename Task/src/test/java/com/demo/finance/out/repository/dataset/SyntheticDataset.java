@@ -0,0 +1,325 @@
+package com.demo.finance.out.repository.dataset;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The {@code SyntheticDataset} class generates the rows of a synthetic dataset of users with skewed transaction
+ * histories, goals and budgets, in the text format of PostgreSQL {@code COPY}.
+ * <p>
+ * The transactions are spread over the users by a Zipf distribution, so that a few users hold most of them, and
+ * every user's transactions are drawn from Zipf distributions over the categories, with the first ones the most
+ * frequent, and over the days of the history, with the most recent ones the most frequent. About one transaction in
+ * ten is the {@code Salary} income, all others are expenses.
+ * <p>
+ * Every row is derived from the seed, the index of its user and its table alone, so the dataset is identical for the
+ * same seed whichever order or thread the users are generated in. Ids are assigned from the given id bases: the
+ * transactions are numbered consecutively, the categories, goals and budgets of a user occupy fixed slots, and
+ * unused slots are left as gaps.
+ */
+public class SyntheticDataset {
+
+    /**
+     * The categories of every user: the income category followed by the expense categories, most frequent first.
+     */
+    static final String[] CATEGORIES = {"Salary", "Groceries", "Restaurants", "Transport", "Utilities", "Shopping",
+            "Entertainment", "Health", "Rent", "Travel", "Education", "Gifts"};
+    /**
+     * The typical amount of every category in minor units.
+     */
+    private static final long[] TYPICAL_CENTS = {250_000, 4_500, 3_500, 2_000, 12_000, 6_000, 3_000, 5_000, 90_000,
+            40_000, 15_000, 5_000};
+    private static final String[] GOAL_NAMES = {"Vacation", "Emergency fund", "New car", "Laptop", "Wedding",
+            "Home deposit"};
+    static final int MAX_GOALS = 3;
+    private static final int INCOME_PERCENT = 10;
+    private static final double USER_EXPONENT = 0.8;
+    private static final double CATEGORY_EXPONENT = 1.0;
+    private static final double DATE_EXPONENT = 0.5;
+    private static final String NULL = "\\N";
+
+    private static final int USERS = 1;
+    private static final int TRANSACTIONS = 2;
+    private static final int GOALS = 3;
+    private static final int BUDGETS = 4;
+    private static final int SHUFFLE = 5;
+
+    private final long seed;
+    private final LocalDate endDate;
+    private final int historyDays;
+    private final String passwordHash;
+    private final IdBases ids;
+    private final long[] firstTransactions;
+    private final ZipfDistribution categories;
+    private final ZipfDistribution days;
+
+    /**
+     * The ids preceding the ids of the generated rows of every table.
+     *
+     * @param user        the id preceding the generated user ids
+     * @param category    the id preceding the generated category ids
+     * @param transaction the id preceding the generated transaction ids
+     * @param goal        the id preceding the generated goal ids
+     * @param budget      the id preceding the generated budget ids
+     */
+    public record IdBases(long user, long category, long transaction, long goal, long budget) {
+    }
+
+    /**
+     * Constructs a {@code SyntheticDataset}.
+     *
+     * @param seed         the seed every row is derived from
+     * @param users        the number of users
+     * @param transactions the number of transactions of all users together
+     * @param endDate      the last day of the transaction histories
+     * @param historyDays  the number of days of the transaction histories
+     * @param passwordHash the stored password hash of every user
+     * @param ids          the ids preceding the generated ids
+     * @throws IllegalArgumentException if there are no users, no history or a negative number of transactions
+     */
+    public SyntheticDataset(long seed, int users, long transactions, LocalDate endDate, int historyDays,
+                            String passwordHash, IdBases ids) {
+        if (users <= 0 || transactions < 0 || historyDays <= 0) {
+            throw new IllegalArgumentException("Dataset needs users, a history and a non-negative transaction count");
+        }
+        this.seed = seed;
+        this.endDate = endDate;
+        this.historyDays = historyDays;
+        this.passwordHash = passwordHash;
+        this.ids = ids;
+        this.firstTransactions = distribute(transactions, users);
+        this.categories = new ZipfDistribution(CATEGORIES.length - 1, CATEGORY_EXPONENT);
+        this.days = new ZipfDistribution(historyDays, DATE_EXPONENT);
+    }
+
+    /**
+     * Returns the number of users.
+     *
+     * @return the number of users
+     */
+    public int users() {
+        return firstTransactions.length - 1;
+    }
+
+    /**
+     * Returns the number of transactions of all users together.
+     *
+     * @return the number of transactions
+     */
+    public long transactions() {
+        return firstTransactions[users()];
+    }
+
+    /**
+     * Returns the number of transactions of a user.
+     *
+     * @param user the index of the user
+     * @return the number of transactions of the user
+     */
+    public long transactionCount(int user) {
+        return firstTransactions[user + 1] - firstTransactions[user];
+    }
+
+    /**
+     * Returns the first day of the transaction histories.
+     *
+     * @return the first day any transaction may fall on
+     */
+    public LocalDate startDate() {
+        return endDate.minusDays(historyDays - 1L);
+    }
+
+    /**
+     * Returns the id ranges of the generated rows of every table, i.e. the number of ids following the id bases.
+     *
+     * @return the number of ids reserved for every table, in the form of id bases
+     */
+    public IdBases idSpans() {
+        return new IdBases(users(), (long) users() * CATEGORIES.length, transactions(),
+                (long) users() * MAX_GOALS, users());
+    }
+
+    /**
+     * Appends the row of a user of {@code finance.users (user_id, name, email, password, blocked, role, version)}.
+     *
+     * @param user the index of the user
+     * @param out  the buffer to append the row to
+     */
+    public void appendUser(int user, StringBuilder out) {
+        SplittableRandom random = random(user, USERS);
+        field(out, ids.user() + user + 1);
+        field(out, "User " + (user + 1));
+        field(out, "user" + (user + 1) + "." + Long.toUnsignedString(seed, 36) + "@dataset.test");
+        field(out, passwordHash);
+        field(out, random.nextInt(100) == 0);
+        field(out, "USER");
+        last(out, 1);
+    }
+
+    /**
+     * Appends the category rows of a user of {@code finance.categories (category_id, user_id, name)}.
+     *
+     * @param user the index of the user
+     * @param out  the buffer to append the rows to
+     */
+    public void appendCategories(int user, StringBuilder out) {
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            field(out, categoryId(user, category));
+            field(out, ids.user() + user + 1);
+            last(out, CATEGORIES[category]);
+        }
+    }
+
+    /**
+     * Appends the transaction rows of a user, oldest first, of
+     * {@code finance.transactions (transaction_id, user_id, amount, category_id, date, description, type)}.
+     *
+     * @param user the index of the user
+     * @param out  the buffer to append the rows to
+     */
+    public void appendTransactions(int user, StringBuilder out) {
+        SplittableRandom random = random(user, TRANSACTIONS);
+        int count = Math.toIntExact(transactionCount(user));
+        int[] daysAgo = new int[count];
+        for (int i = 0; i < count; i++) {
+            daysAgo[i] = days.sample(random);
+        }
+        Arrays.sort(daysAgo);
+        long transactionId = ids.transaction() + firstTransactions[user];
+        for (int i = count - 1; i >= 0; i--) {
+            int category = random.nextInt(100) < INCOME_PERCENT ? 0 : 1 + categories.sample(random);
+            field(out, ++transactionId);
+            field(out, ids.user() + user + 1);
+            amount(out, cents(random, category, category == 0 ? 0.2 : 0.6));
+            out.append('\t');
+            field(out, categoryId(user, category));
+            field(out, endDate.minusDays(daysAgo[i]));
+            field(out, random.nextInt(4) == 0 ? NULL : CATEGORIES[category] + " payment");
+            last(out, category == 0 ? "INCOME" : "EXPENSE");
+        }
+    }
+
+    /**
+     * Appends the goal rows of a user of
+     * {@code finance.goals (goal_id, user_id, goal_name, target_amount, saved_amount, duration, start_time)}.
+     *
+     * @param user the index of the user
+     * @param out  the buffer to append the rows to
+     */
+    public void appendGoals(int user, StringBuilder out) {
+        SplittableRandom random = random(user, GOALS);
+        int count = random.nextInt(MAX_GOALS + 1);
+        for (int goal = 0; goal < count; goal++) {
+            long targetCents = 100 * (500 + random.nextLong(19_501));
+            field(out, ids.goal() + (long) user * MAX_GOALS + goal + 1);
+            field(out, ids.user() + user + 1);
+            field(out, GOAL_NAMES[random.nextInt(GOAL_NAMES.length)]);
+            amount(out, targetCents);
+            out.append('\t');
+            amount(out, (long) (targetCents * random.nextDouble()));
+            out.append('\t');
+            field(out, 3 + random.nextInt(34));
+            last(out, endDate.minusDays(random.nextInt(historyDays)));
+        }
+    }
+
+    /**
+     * Appends the budget row of a user, if the user has a budget, of
+     * {@code finance.budgets (budget_id, user_id, monthly_limit, current_expenses)}.
+     *
+     * @param user the index of the user
+     * @param out  the buffer to append the row to
+     */
+    public void appendBudget(int user, StringBuilder out) {
+        SplittableRandom random = random(user, BUDGETS);
+        if (random.nextInt(10) >= 7) {
+            return;
+        }
+        long limitCents = 100 * (500 + random.nextLong(4_501));
+        field(out, ids.budget() + user + 1);
+        field(out, ids.user() + user + 1);
+        amount(out, limitCents);
+        out.append('\t');
+        amount(out, (long) (limitCents * 1.2 * random.nextDouble()));
+        out.append('\n');
+    }
+
+    /**
+     * Spreads the transactions over the users by a Zipf distribution over a seeded permutation of the users.
+     *
+     * @return the offset of the first transaction of every user, followed by the total
+     */
+    private long[] distribute(long transactions, int users) {
+        int[] ranks = new int[users];
+        for (int user = 0; user < users; user++) {
+            ranks[user] = user;
+        }
+        SplittableRandom random = random(0, SHUFFLE);
+        for (int user = users - 1; user > 0; user--) {
+            int other = random.nextInt(user + 1);
+            int rank = ranks[user];
+            ranks[user] = ranks[other];
+            ranks[other] = rank;
+        }
+        double total = 0;
+        for (int rank = 0; rank < users; rank++) {
+            total += ZipfDistribution.weight(rank, USER_EXPONENT);
+        }
+        long[] counts = new long[users];
+        long assigned = 0;
+        for (int user = 0; user < users; user++) {
+            counts[user] = (long) (transactions * ZipfDistribution.weight(ranks[user], USER_EXPONENT) / total);
+            assigned += counts[user];
+        }
+        long remainder = transactions - assigned;
+        for (int user = 0; user < users; user++) {
+            if (ranks[user] < remainder) {
+                counts[user]++;
+            }
+        }
+        long[] offsets = new long[users + 1];
+        for (int user = 0; user < users; user++) {
+            offsets[user + 1] = offsets[user] + counts[user];
+        }
+        return offsets;
+    }
+
+    private long cents(SplittableRandom random, int category, double spread) {
+        return Math.max(1, Math.round(TYPICAL_CENTS[category] * Math.exp(spread * random.nextGaussian())));
+    }
+
+    private long categoryId(int user, int category) {
+        return ids.category() + (long) user * CATEGORIES.length + category + 1;
+    }
+
+    private SplittableRandom random(int user, int table) {
+        return new SplittableRandom(mix(mix(seed + table) + user));
+    }
+
+    /**
+     * Scrambles a value with the finalizer of MurmurHash3, so that adjacent seeds yield unrelated random streams.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    private static void amount(StringBuilder out, long cents) {
+        out.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    private static void field(StringBuilder out, Object value) {
+        out.append(value).append('\t');
+    }
+
+    private static void last(StringBuilder out, Object value) {
+        out.append(value).append('\n');
+    }
+}
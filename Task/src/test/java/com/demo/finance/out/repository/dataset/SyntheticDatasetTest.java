@@ -0,0 +1,141 @@
+package com.demo.finance.out.repository.dataset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyntheticDatasetTest {
+
+    private static final LocalDate END_DATE = LocalDate.of(2025, 6, 30);
+    private static final SyntheticDataset.IdBases IDS = new SyntheticDataset.IdBases(1, 10, 100, 0, 5);
+
+    @Test
+    @DisplayName("Same seed - generated in any order - yields identical rows")
+    void sameSeed_yieldsIdenticalRows() {
+        SyntheticDataset first = dataset(7L);
+        SyntheticDataset second = dataset(7L);
+
+        StringBuilder forward = new StringBuilder();
+        IntStream.range(0, first.users()).forEach(user -> appendAll(first, user, forward));
+        StringBuilder reversed = new StringBuilder();
+        IntStream.range(0, second.users()).map(user -> second.users() - 1 - user)
+                .forEach(user -> appendAll(second, user, reversed));
+
+        assertThat(sorted(lines(reversed))).isEqualTo(sorted(lines(forward)));
+        assertThat(rows(dataset(8L), SyntheticDataset::appendTransactions).toString())
+                .isNotEqualTo(rows(first, SyntheticDataset::appendTransactions).toString());
+    }
+
+    @Test
+    @DisplayName("Transactions - spread over users - sum to the total with consecutive ids and skewed counts")
+    void transactions_sumToTotalWithConsecutiveIds() {
+        SyntheticDataset dataset = dataset(1L);
+        long[] counts = IntStream.range(0, dataset.users()).mapToLong(dataset::transactionCount).toArray();
+
+        assertThat(Arrays.stream(counts).sum()).isEqualTo(20_000);
+        assertThat(Arrays.stream(counts).max().orElseThrow()).isGreaterThan(5 * 20_000 / dataset.users());
+        String[] rows = lines(rows(dataset, SyntheticDataset::appendTransactions));
+        assertThat(rows).hasSize(20_000);
+        for (int i = 0; i < rows.length; i++) {
+            assertThat(Long.parseLong(rows[i].split("\t")[0])).isEqualTo(IDS.transaction() + i + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Transactions - drawn per user - favour recent days and the first categories")
+    void transactions_favourRecentDaysAndFirstCategories() {
+        SyntheticDataset dataset = dataset(3L);
+        Map<String, Integer> categoryCounts = new HashMap<>();
+        int lastMonth = 0;
+        int firstMonth = 0;
+        for (String row : lines(rows(dataset, SyntheticDataset::appendTransactions))) {
+            String[] fields = row.split("\t");
+            LocalDate date = LocalDate.parse(fields[4]);
+            assertThat(date).isBetween(dataset.startDate(), END_DATE);
+            lastMonth += date.isAfter(END_DATE.minusDays(30)) ? 1 : 0;
+            firstMonth += date.isBefore(dataset.startDate().plusDays(30)) ? 1 : 0;
+            long category = (Long.parseLong(fields[3]) - IDS.category() - 1) % SyntheticDataset.CATEGORIES.length;
+            categoryCounts.merge(fields[6] + category, 1, Integer::sum);
+        }
+
+        assertThat(lastMonth).isGreaterThan(2 * firstMonth);
+        assertThat(categoryCounts.get("EXPENSE1")).isGreaterThan(2 * categoryCounts.get("EXPENSE11"));
+        assertThat(categoryCounts.get("INCOME0")).isBetween(1_000, 3_000);
+        assertThat(categoryCounts).doesNotContainKeys("INCOME1", "EXPENSE0");
+    }
+
+    @Test
+    @DisplayName("Id spans - categories, goals and budgets - cover every generated id")
+    void idSpans_coverGeneratedIds() {
+        SyntheticDataset dataset = dataset(5L);
+        SyntheticDataset.IdBases spans = dataset.idSpans();
+
+        assertThat(maxId(rows(dataset, SyntheticDataset::appendUser))).isEqualTo(IDS.user() + spans.user());
+        assertThat(maxId(rows(dataset, SyntheticDataset::appendCategories)))
+                .isEqualTo(IDS.category() + spans.category());
+        assertThat(maxId(rows(dataset, SyntheticDataset::appendGoals))).isLessThanOrEqualTo(IDS.goal() + spans.goal());
+        assertThat(maxId(rows(dataset, SyntheticDataset::appendBudget)))
+                .isLessThanOrEqualTo(IDS.budget() + spans.budget());
+    }
+
+    @Test
+    @DisplayName("Zipf distribution - sampled - draws low ranks more often and stays in range")
+    void zipfDistribution_drawsLowRanksMoreOften() {
+        ZipfDistribution distribution = new ZipfDistribution(10, 1.0);
+        SplittableRandom random = new SplittableRandom(11L);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(5 * counts[9]);
+        assertThat(counts[9]).isPositive();
+        assertThatThrownBy(() -> new ZipfDistribution(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SyntheticDataset dataset(long seed) {
+        return new SyntheticDataset(seed, 200, 20_000, END_DATE, 365, "salt:hash", IDS);
+    }
+
+    private void appendAll(SyntheticDataset dataset, int user, StringBuilder out) {
+        dataset.appendUser(user, out);
+        dataset.appendCategories(user, out);
+        dataset.appendTransactions(user, out);
+        dataset.appendGoals(user, out);
+        dataset.appendBudget(user, out);
+    }
+
+    private StringBuilder rows(SyntheticDataset dataset, TableRows table) {
+        StringBuilder out = new StringBuilder();
+        for (int user = 0; user < dataset.users(); user++) {
+            table.accept(dataset, user, out);
+        }
+        return out;
+    }
+
+    private long maxId(StringBuilder rows) {
+        return Arrays.stream(lines(rows)).mapToLong(row -> Long.parseLong(row.split("\t")[0])).max().orElseThrow();
+    }
+
+    private String[] sorted(String[] lines) {
+        Arrays.sort(lines);
+        return lines;
+    }
+
+    private String[] lines(StringBuilder rows) {
+        return rows.toString().split("\n");
+    }
+
+    private interface TableRows {
+        void accept(SyntheticDataset dataset, int user, StringBuilder out);
+    }
+}
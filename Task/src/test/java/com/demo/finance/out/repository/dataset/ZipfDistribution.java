@@ -0,0 +1,58 @@
+package com.demo.finance.out.repository.dataset;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code ZipfDistribution} class samples ranks {@code 0..n-1} with probabilities proportional to
+ * {@code 1 / (rank + 1)^exponent}, so that low ranks are drawn far more often than high ones.
+ * <p>
+ * The cumulative weights are computed once, and every sample is a binary search over them.
+ */
+class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * Constructs a {@code ZipfDistribution} over the given number of ranks.
+     *
+     * @param n        the number of ranks
+     * @param exponent the skew of the distribution, {@code 0} for a uniform distribution
+     * @throws IllegalArgumentException if {@code n} is not positive or the exponent is negative
+     */
+    ZipfDistribution(int n, double exponent) {
+        if (n <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("Zipf distribution needs ranks and a non-negative exponent");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += weight(rank, exponent);
+            cumulative[rank] = sum;
+        }
+    }
+
+    /**
+     * Returns the unnormalized weight of a rank.
+     *
+     * @param rank     the rank, starting at {@code 0}
+     * @param exponent the skew of the distribution
+     * @return the weight of the rank
+     */
+    static double weight(int rank, double exponent) {
+        return 1.0 / Math.pow(rank + 1, exponent);
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @param random the source of randomness
+     * @return a rank between {@code 0} and {@code n-1}
+     */
+    int sample(RandomGenerator random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        int rank = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
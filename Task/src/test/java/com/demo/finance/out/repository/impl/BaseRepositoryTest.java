@@ -0,0 +1,108 @@
+package com.demo.finance.out.repository.impl;
+
+import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.IdentityMap;
+import com.demo.finance.app.config.SqlInstrumentation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BaseRepositoryTest {
+
+    private static final String FIND_GOAL_NAMES_SQL = "SELECT goal_name FROM finance.goals WHERE user_id = ?";
+
+    @Mock
+    private DataSourceManager dataSourceManager;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData metaData;
+    private SimpleMeterRegistry meterRegistry;
+    private GoalNameRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new GoalNameRepository(dataSourceManager, new SqlInstrumentation(meterRegistry, 200));
+    }
+
+    @Test
+    @DisplayName("Find records - copied rows read twice - counts the fetched rows once and times every mapping")
+    void findRecords_copiedRows_countsFetchedRows() throws SQLException {
+        when(dataSourceManager.getReadConnection()).thenReturn(connection);
+        when(connection.prepareStatement(FIND_GOAL_NAMES_SQL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("goal_name");
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getObject(1)).thenReturn("Car", "House", "Trip");
+
+        try (IdentityMap.Scope ignored = new IdentityMap(meterRegistry, true, 256).open()) {
+            assertThat(repository.findGoalNames(1L)).containsExactly("Car", "House", "Trip");
+            assertThat(repository.findGoalNames(1L)).containsExactly("Car", "House", "Trip");
+        }
+
+        assertThat(meterRegistry.get("app.sql.rows").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.sql.rows").summary().totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("app.sql.execute").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.sql.map").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Find all records on primary - within scope - reads the primary on every call")
+    void findAllRecordsOnPrimary_withinScope_readsPrimary() throws SQLException {
+        when(dataSourceManager.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(FIND_GOAL_NAMES_SQL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false, true, false);
+        when(resultSet.getString("goal_name")).thenReturn("Car", "House");
+
+        try (IdentityMap.Scope ignored = new IdentityMap(meterRegistry, true, 256).open()) {
+            assertThat(repository.findGoalNamesOnPrimary(1L)).containsExactly("Car");
+            assertThat(repository.findGoalNamesOnPrimary(1L)).containsExactly("House");
+        }
+
+        verify(dataSourceManager, never()).getReadConnection();
+        assertThat(meterRegistry.get("app.sql.execute").timer().count()).isEqualTo(2);
+    }
+
+    /**
+     * A repository reading the names of a user's goals.
+     */
+    private static final class GoalNameRepository extends BaseRepository {
+
+        private GoalNameRepository(DataSourceManager dataSourceManager, SqlInstrumentation sqlInstrumentation) {
+            super(dataSourceManager, sqlInstrumentation);
+        }
+
+        private List<String> findGoalNames(Long userId) {
+            return findAllRecordsByCriteria(FIND_GOAL_NAMES_SQL, List.of(userId), rs -> rs.getString("goal_name"));
+        }
+
+        private List<String> findGoalNamesOnPrimary(Long userId) {
+            return findAllRecordsOnPrimary(FIND_GOAL_NAMES_SQL, List.of(userId), rs -> rs.getString("goal_name"));
+        }
+    }
+}
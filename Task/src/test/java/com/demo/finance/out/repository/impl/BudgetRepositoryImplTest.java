@@ -117,4 +117,22 @@ class BudgetRepositoryImplTest extends AbstractContainerBaseSetup {
         boolean updated = repository.update(nonExistingBudget);
         assertThat(updated).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Upsert budget - new and existing budget - creates once and keeps expenses")
+    void testUpsertBudget() {
+        Long testUserId = 11L;
+        Budget created = repository.upsert(new Budget(testUserId, new BigDecimal("1000.00")));
+        assertThat(created).isNotNull();
+        assertThat(created.getBudgetId()).isNotNull();
+        assertThat(created.getCurrentExpenses()).isEqualByComparingTo(BigDecimal.ZERO);
+
+        created.setCurrentExpenses(new BigDecimal("250.00"));
+        assertThat(repository.update(created)).isTrue();
+
+        Budget updated = repository.upsert(new Budget(testUserId, new BigDecimal("2000.00")));
+        assertThat(updated.getBudgetId()).isEqualTo(created.getBudgetId());
+        assertThat(updated.getMonthlyLimit()).isEqualTo(new BigDecimal("2000.00"));
+        assertThat(updated.getCurrentExpenses()).isEqualTo(new BigDecimal("250.00"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.demo.finance.out.repository.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedRowsTest {
+
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData metaData;
+    private Date date;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        date = Date.valueOf(LocalDate.of(2025, 1, 31));
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(5);
+        when(metaData.getColumnLabel(1)).thenReturn("transaction_id");
+        when(metaData.getColumnLabel(2)).thenReturn("AMOUNT");
+        when(metaData.getColumnLabel(3)).thenReturn("date");
+        when(metaData.getColumnLabel(4)).thenReturn("description");
+        when(metaData.getColumnLabel(5)).thenReturn("blocked");
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(7L, 8L);
+        when(resultSet.getObject(2)).thenReturn(new BigDecimal("12.50"), new BigDecimal("3.00"));
+        when(resultSet.getObject(3)).thenReturn(date, (Object) null);
+        when(resultSet.getObject(4)).thenReturn("Groceries", (Object) null);
+        when(resultSet.getObject(5)).thenReturn(true, false);
+    }
+
+    @Test
+    @DisplayName("Replay - captured rows - returns the values by label and index")
+    void replay_returnsCapturedValues() throws SQLException {
+        CachedRows rows = CachedRows.capture(resultSet);
+
+        ResultSet replayed = rows.replay();
+
+        assertThat(rows.size()).isEqualTo(2);
+        assertThat(replayed.next()).isTrue();
+        assertThat(replayed.getLong("transaction_id")).isEqualTo(7L);
+        assertThat(replayed.getInt(1)).isEqualTo(7);
+        assertThat(replayed.getBigDecimal("amount")).isEqualByComparingTo("12.50");
+        assertThat(replayed.getDate("date").toLocalDate()).isEqualTo(LocalDate.of(2025, 1, 31));
+        assertThat(replayed.getString("description")).isEqualTo("Groceries");
+        assertThat(replayed.getBoolean("blocked")).isTrue();
+        assertThat(replayed.next()).isTrue();
+        assertThat(replayed.getDate("date")).isNull();
+        assertThat(replayed.wasNull()).isTrue();
+        assertThat(replayed.getString("description")).isNull();
+        assertThat(replayed.next()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Replay - mutable values - every replay returns its own copies")
+    void replay_mutableValues_areCopied() throws SQLException {
+        CachedRows rows = CachedRows.capture(resultSet);
+        date.setTime(0L);
+
+        ResultSet first = rows.replay();
+        first.next();
+        first.getDate("date").setTime(0L);
+        ResultSet second = rows.replay();
+        second.next();
+
+        assertThat(second.getDate("date").toLocalDate()).isEqualTo(LocalDate.of(2025, 1, 31));
+    }
+
+    @Test
+    @DisplayName("Replay - unknown column or unsupported accessor - throws SQLException")
+    void replay_unknownColumn_throws() throws SQLException {
+        ResultSet replayed = CachedRows.capture(resultSet).replay();
+
+        assertThatThrownBy(() -> replayed.getLong("user_id")).isInstanceOf(SQLException.class);
+        replayed.next();
+        assertThatThrownBy(() -> replayed.getLong("user_id")).isInstanceOf(SQLException.class);
+        assertThatThrownBy(() -> replayed.getTimestamp("date")).isInstanceOf(SQLFeatureNotSupportedException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.demo.finance.out.repository.impl;
+
+import com.demo.finance.app.config.DataSourceManager;
+import com.demo.finance.app.config.DatabaseConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CategoryRepositoryImplTest extends AbstractContainerBaseSetup {
+
+    private CategoryRepositoryImpl repository;
+
+    @BeforeAll
+    void setupRepository() {
+        DatabaseConfig databaseConfig = new DatabaseConfig();
+        databaseConfig.init();
+        DataSourceManager dataSourceManager = new DataSourceManager(databaseConfig);
+        repository = new CategoryRepositoryImpl(dataSourceManager);
+    }
+
+    @Test
+    @DisplayName("Find or create category - repeated calls - return the same ID")
+    void testFindOrCreate_repeatedCalls_returnSameId() {
+        Integer created = repository.findOrCreate(1L, "Groceries");
+        Integer existing = repository.findOrCreate(1L, "Groceries");
+
+        assertThat(created).isNotNull();
+        assertThat(existing).isEqualTo(created);
+        assertThat(repository.findId(1L, "Groceries")).isEqualTo(created);
+        assertThat(repository.findNameById(created)).isEqualTo("Groceries");
+    }
+
+    @Test
+    @DisplayName("Find or create category - different users - get separate IDs")
+    void testFindOrCreate_differentUsers_separateIds() {
+        Integer first = repository.findOrCreate(2L, "Rent");
+        Integer second = repository.findOrCreate(3L, "Rent");
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("Find category ID - unknown category - returns null")
+    void testFindId_unknownCategory_returnsNull() {
+        assertThat(repository.findId(4L, "Unknown")).isNull();
+        assertThat(repository.findNameById(Integer.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    @DisplayName("Find categories by user ID - returns all categories of the user")
+    void testFindByUserId_returnsUserCategories() {
+        Integer food = repository.findOrCreate(5L, "Food");
+        Integer transport = repository.findOrCreate(5L, "Transport");
+        repository.findOrCreate(6L, "Travel");
+
+        Map<String, Integer> categories = repository.findByUserId(5L);
+
+        assertThat(categories).containsOnly(Map.entry("Food", food), Map.entry("Transport", transport));
+    }
+}
@@ -4,6 +4,7 @@ import com.demo.finance.app.config.DataSourceManager;
 import com.demo.finance.app.config.DatabaseConfig;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.cache.CategoryDictionary;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInstance;
@@ -33,7 +34,8 @@ class TransactionRepositoryImplTest extends AbstractContainerBaseSetup {
         DatabaseConfig databaseConfig = new DatabaseConfig();
         databaseConfig.init();
         DataSourceManager dataSourceManager = new DataSourceManager(databaseConfig);
-        repository = new TransactionRepositoryImpl(dataSourceManager);
+        repository = new TransactionRepositoryImpl(dataSourceManager,
+                new CategoryDictionary(new CategoryRepositoryImpl(dataSourceManager), 1000));
     }
 
     @Test
@@ -211,5 +213,41 @@ class TransactionRepositoryImplTest extends AbstractContainerBaseSetup {
         List<Transaction> result4 = repository.findFiltered(8L, LocalDate.of(2025, 3, 1),
                 LocalDate.of(2025, 3, 10), null, null);
         assertThat(result4).hasSize(2);
+
+        // Case 5: Filter by a category the user never used
+        List<Transaction> result5 = repository.findFiltered(8L, null, null, "Unknown", null);
+        assertThat(result5).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Save, update and delete returning - Success scenario")
+    void testWritesReturning() {
+        transaction.setUserId(9L);
+        transaction.setAmount(new BigDecimal("20.00"));
+        transaction.setCategory("Books");
+        transaction.setDate(LocalDate.of(2025, 4, 1));
+
+        Transaction created = repository.saveAndReturn(transaction);
+        assertThat(created).isNotNull();
+        assertThat(created.getTransactionId()).isNotNull();
+        assertThat(created.getCategory()).isEqualTo("Books");
+
+        Transaction changes = new Transaction();
+        changes.setTransactionId(created.getTransactionId());
+        changes.setUserId(9L);
+        changes.setAmount(new BigDecimal("25.00"));
+        changes.setCategory("Magazines");
+        changes.setDescription("Updated");
+        Transaction updated = repository.updateAndReturn(changes);
+        assertThat(updated.getAmount()).isEqualTo(new BigDecimal("25.00"));
+        assertThat(updated.getCategory()).isEqualTo("Magazines");
+        assertThat(updated.getDate()).isEqualTo(LocalDate.of(2025, 4, 1));
+        assertThat(updated.getType()).isEqualTo(created.getType());
+
+        changes.setUserId(10L);
+        assertThat(repository.updateAndReturn(changes)).isNull();
+        assertThat(repository.deleteByUserIdAndTransactionId(10L, created.getTransactionId())).isFalse();
+        assertThat(repository.deleteByUserIdAndTransactionId(9L, created.getTransactionId())).isTrue();
+        assertThat(repository.findById(created.getTransactionId())).isNull();
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import com.demo.finance.domain.utils.Role;
 import com.demo.finance.exception.custom.OptimisticLockException;
 import com.demo.finance.exception.custom.UserNotFoundException;
 import com.demo.finance.out.repository.UserRepository;
+import com.demo.finance.out.service.DataVersionService;
 import com.demo.finance.out.service.TokenService;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +33,8 @@ class AdminServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private TokenService tokenService;
+    @Mock
+    private DataVersionService dataVersionService;
     @InjectMocks
     private AdminServiceImpl adminService;
     private User user;
@@ -1,10 +1,17 @@
 package com.demo.finance.out.service.impl;
 
+import com.demo.finance.app.config.CacheDependencies;
+import com.demo.finance.app.config.CacheDependencies.Entity;
 import com.demo.finance.domain.model.Budget;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.cache.RefreshAhead;
+import com.demo.finance.out.cache.SingleFlight;
+import com.demo.finance.out.cache.TransactionAnalyticsCache;
 import com.demo.finance.out.repository.BudgetRepository;
 import com.demo.finance.out.repository.TransactionRepository;
+import com.demo.finance.out.service.DataVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -21,6 +29,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,6 +41,15 @@ class BudgetServiceImplTest {
     private BudgetRepository budgetRepository;
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private DataVersionService dataVersionService;
+    @Mock
+    private CacheDependencies cacheDependencies;
+    @Mock
+    private TransactionAnalyticsCache analyticsCache;
+    @Spy
+    private RefreshAhead refreshAhead =
+            new RefreshAhead(new SingleFlight(new SimpleMeterRegistry()), true, 300, 3600, 500, 1, 10);
     @InjectMocks
     private BudgetServiceImpl budgetService;
     private Budget budget;
@@ -54,15 +72,16 @@ class BudgetServiceImplTest {
         Long userId = budget.getUserId();
         BigDecimal limit = budget.getMonthlyLimit();
 
-        when(budgetRepository.findByUserId(userId)).thenReturn(null).thenReturn(budget);
-        when(budgetRepository.save(any(Budget.class))).thenReturn(true);
+        when(budgetRepository.upsert(new Budget(userId, limit))).thenReturn(budget);
         Budget result = budgetService.setMonthlyBudget(userId, limit);
 
         assertThat(result).isNotNull();
         assertThat(result.getUserId()).isEqualTo(userId);
         assertThat(result.getMonthlyLimit()).isEqualTo(limit);
-        verify(budgetRepository, times(2)).findByUserId(userId);
-        verify(budgetRepository, times(1)).save(any(Budget.class));
+        verify(budgetRepository, times(1)).upsert(any(Budget.class));
+        verify(budgetRepository, never()).findByUserId(userId);
+        verify(cacheDependencies, times(1)).changed(Entity.BUDGET, userId);
+        verify(dataVersionService, times(1)).incrementVersion(userId);
     }
 
     @Test
@@ -71,19 +90,17 @@ class BudgetServiceImplTest {
         Long userId = budget.getUserId();
         BigDecimal newLimit = new BigDecimal(1500);
 
-        when(budgetRepository.findByUserId(userId)).thenReturn(budget);
-
         budget.setMonthlyLimit(newLimit);
 
-        when(budgetRepository.update(budget)).thenReturn(true);
-        when(budgetRepository.findByUserId(userId)).thenReturn(budget);
+        when(budgetRepository.upsert(any(Budget.class))).thenReturn(budget);
 
         Budget result = budgetService.setMonthlyBudget(userId, newLimit);
 
         assertThat(result).isNotNull();
         assertThat(result.getMonthlyLimit()).isEqualTo(newLimit);
-        verify(budgetRepository, times(1)).update(budget);
-        verify(budgetRepository, times(2)).findByUserId(userId);
+        verify(budgetRepository, times(1)).upsert(any(Budget.class));
+        verify(budgetRepository, never()).update(any());
+        verify(budgetRepository, never()).findByUserId(userId);
     }
 
     @Test
@@ -0,0 +1,174 @@
+package com.demo.finance.out.service.impl;
+
+import com.demo.finance.app.config.IdentityMap;
+import com.demo.finance.domain.dto.DashboardDto;
+import com.demo.finance.domain.dto.GoalDto;
+import com.demo.finance.domain.dto.ReportDto;
+import com.demo.finance.domain.dto.TransactionDto;
+import com.demo.finance.domain.mapper.ReportMapper;
+import com.demo.finance.domain.model.Report;
+import com.demo.finance.domain.utils.PaginatedResponse;
+import com.demo.finance.out.service.BudgetService;
+import com.demo.finance.out.service.GoalService;
+import com.demo.finance.out.service.NotificationService;
+import com.demo.finance.out.service.ReportService;
+import com.demo.finance.out.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String BUDGET_SQL = "SELECT * FROM finance.budgets WHERE user_id = ?";
+    private static final String GOALS_SQL = "SELECT * FROM finance.goals WHERE user_id = ? LIMIT ? OFFSET ?";
+
+    @Mock
+    private ReportService reportService;
+    @Mock
+    private BudgetService budgetService;
+    @Mock
+    private GoalService goalService;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private TransactionService transactionService;
+    @Mock
+    private ReportMapper reportMapper;
+    private DashboardServiceImpl dashboardService;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardServiceImpl(reportService, budgetService, goalService, notificationService,
+                transactionService, reportMapper, 5, 5, 300, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        dashboardService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Get dashboard - all sections load - returns every section")
+    void testGetDashboard_allSections_returnsEverySection() {
+        Report report = Instancio.create(Report.class);
+        ReportDto reportDto = Instancio.create(ReportDto.class);
+        PaginatedResponse<GoalDto> goals = new PaginatedResponse<>(List.of(), 0, 0, 1, 10);
+        PaginatedResponse<TransactionDto> transactions = new PaginatedResponse<>(List.of(), 0, 0, 1, 10);
+        when(reportService.generateUserReport(USER_ID)).thenReturn(report);
+        when(reportMapper.toDto(report)).thenReturn(reportDto);
+        when(budgetService.getBudgetData(USER_ID)).thenReturn(Map.of("formattedBudget", "Budget: 0.00/100.00"));
+        when(goalService.getPaginatedGoalsForUser(USER_ID, 1, 10)).thenReturn(goals);
+        when(transactionService.getPaginatedTransactionsForUser(USER_ID, 1, 10)).thenReturn(transactions);
+        when(notificationService.fetchBudgetNotification(USER_ID)).thenReturn("Budget is under control.");
+
+        DashboardDto dashboard = dashboardService.getDashboard(USER_ID);
+
+        assertThat(dashboard.getReport()).isEqualTo(reportDto);
+        assertThat(dashboard.getBudget()).containsEntry("formattedBudget", "Budget: 0.00/100.00");
+        assertThat(dashboard.getGoals()).isEqualTo(goals);
+        assertThat(dashboard.getTransactions()).isEqualTo(transactions);
+        assertThat(dashboard.getBudgetNotification()).isEqualTo("Budget is under control.");
+        assertThat(dashboard.getUnavailable()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Get dashboard - slow and failing sections - returns the others within the timeout")
+    void testGetDashboard_slowAndFailingSections_returnsPartialResult() {
+        when(reportService.generateUserReport(USER_ID)).thenReturn(null);
+        when(budgetService.getBudgetData(USER_ID)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Map.of();
+        });
+        when(goalService.getPaginatedGoalsForUser(USER_ID, 1, 10)).thenThrow(new IllegalStateException("boom"));
+        when(transactionService.getPaginatedTransactionsForUser(USER_ID, 1, 10))
+                .thenReturn(new PaginatedResponse<>(List.of(), 0, 0, 1, 10));
+        when(notificationService.fetchBudgetNotification(USER_ID)).thenReturn("");
+
+        long start = System.nanoTime();
+        DashboardDto dashboard = dashboardService.getDashboard(USER_ID);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isLessThan(5_000);
+        assertThat(dashboard.getUnavailable()).containsExactly("budget", "goals");
+        assertThat(dashboard.getReport()).isNull();
+        assertThat(dashboard.getBudgetNotification()).isNull();
+        assertThat(dashboard.getTransactions()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Get dashboard - pool saturated - rejected sections are unavailable")
+    void testGetDashboard_poolSaturated_rejectedSectionsUnavailable() {
+        DashboardServiceImpl saturated = new DashboardServiceImpl(reportService, budgetService, goalService,
+                notificationService, transactionService, reportMapper, 1, 1, 300, 10);
+        when(reportService.generateUserReport(USER_ID)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        });
+        try {
+            DashboardDto dashboard = saturated.getDashboard(USER_ID);
+
+            assertThat(dashboard.getUnavailable())
+                    .containsExactly("report", "budget", "goals", "transactions", "budgetNotification");
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Get dashboard - within a request scope - counts and deduplicates the statements of all sections")
+    void testGetDashboard_withinScope_countsStatementsOfAllSections() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IdentityMap identityMap = new IdentityMap(meterRegistry, true, 256);
+        CountDownLatch budgetRead = new CountDownLatch(1);
+        when(budgetService.getBudgetData(USER_ID)).thenAnswer(invocation -> {
+            Map<String, Object> budget = readBudget();
+            budgetRead.countDown();
+            return budget;
+        });
+        when(notificationService.fetchBudgetNotification(USER_ID)).thenAnswer(invocation -> {
+            budgetRead.await(10, TimeUnit.SECONDS);
+            readBudget();
+            return "Budget is under control.";
+        });
+        when(goalService.getPaginatedGoalsForUser(USER_ID, 1, 10)).thenAnswer(invocation -> {
+            IdentityMap.executed(GOALS_SQL);
+            return new PaginatedResponse<>(List.of(), 0, 0, 1, 10);
+        });
+
+        try (IdentityMap.Scope scope = identityMap.open()) {
+            DashboardDto dashboard = dashboardService.getDashboard(USER_ID);
+
+            assertThat(dashboard.getUnavailable()).isEmpty();
+            assertThat(scope.statementCounts()).containsEntry(BUDGET_SQL, 1).containsEntry(GOALS_SQL, 1);
+            assertThat(scope.collapsedReads()).isEqualTo(1);
+        }
+        assertThat(meterRegistry.get("app.sql.request.queries").summary().totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("app.sql.request.collapsed-reads").summary().totalAmount()).isEqualTo(1.0);
+    }
+
+    private static Map<String, Object> readBudget() {
+        return IdentityMap.read(BUDGET_SQL, USER_ID, List.of(USER_ID), () -> {
+            IdentityMap.executed(BUDGET_SQL);
+            return Map.of("formattedBudget", "Budget: 0.00/100.00");
+        });
+    }
+}
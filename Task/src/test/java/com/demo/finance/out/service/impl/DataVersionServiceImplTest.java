@@ -0,0 +1,106 @@
+package com.demo.finance.out.service.impl;
+
+import com.demo.finance.app.config.CacheInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DataVersionServiceImplTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+    private DataVersionServiceImpl dataVersionService;
+    private Consumer<Collection<String>> remoteIncrements;
+    private Runnable resync;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dataVersionService = new DataVersionServiceImpl(invalidationBus);
+        ArgumentCaptor<Consumer<Collection<String>>> onInvalidation = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<Runnable> onResync = ArgumentCaptor.forClass(Runnable.class);
+        verify(invalidationBus).subscribe(eq("data-version"), onInvalidation.capture(), onResync.capture());
+        remoteIncrements = onInvalidation.getValue();
+        resync = onResync.getValue();
+    }
+
+    @Test
+    @DisplayName("Get version - unknown user - returns zero")
+    void testGetVersion_unknownUser_returnsZero() {
+        assertThat(dataVersionService.getVersion(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Increment version - increments only the given user")
+    void testIncrementVersion_incrementsOnlyGivenUser() {
+        dataVersionService.incrementVersion(1L);
+        dataVersionService.incrementVersion(1L);
+
+        assertThat(dataVersionService.getVersion(1L)).isEqualTo(2L);
+        assertThat(dataVersionService.getVersion(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Increment version - null user - is ignored")
+    void testIncrementVersion_nullUser_isIgnored() {
+        dataVersionService.incrementVersion(null);
+
+        assertThat(dataVersionService.getVersion(null)).isZero();
+        verify(invalidationBus, never()).publish(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Increment version - publishes the increment to other instances")
+    void testIncrementVersion_publishesIncrement() {
+        dataVersionService.incrementVersion(7L);
+
+        verify(invalidationBus).publish("data-version", "7");
+    }
+
+    @Test
+    @DisplayName("Remote increments - increment local versions without publishing")
+    void testRemoteIncrements_incrementLocalVersions() {
+        remoteIncrements.accept(List.of("1", "2"));
+
+        assertThat(dataVersionService.getVersion(1L)).isEqualTo(1L);
+        assertThat(dataVersionService.getVersion(2L)).isEqualTo(1L);
+        verify(invalidationBus, never()).publish(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Resync - changes the version tags of all users")
+    void testResync_changesVersionTags() {
+        String before = dataVersionService.getVersionTag(1L);
+
+        resync.run();
+
+        assertThat(dataVersionService.getVersionTag(1L)).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Get version tag - changes after increment and differs between users")
+    void testGetVersionTag_changesAfterIncrement() {
+        String before = dataVersionService.getVersionTag(1L);
+
+        dataVersionService.incrementVersion(1L);
+
+        assertThat(dataVersionService.getVersionTag(1L)).isNotEqualTo(before).startsWith("1-");
+        assertThat(dataVersionService.getVersionTag(2L)).isNotEqualTo(dataVersionService.getVersionTag(1L));
+    }
+}
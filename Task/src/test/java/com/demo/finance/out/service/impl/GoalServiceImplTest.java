@@ -1,9 +1,12 @@
 package com.demo.finance.out.service.impl;
 
+import com.demo.finance.app.config.CacheDependencies;
+import com.demo.finance.app.config.CacheDependencies.Entity;
 import com.demo.finance.domain.dto.GoalDto;
 import com.demo.finance.domain.mapper.GoalMapper;
 import com.demo.finance.domain.model.Goal;
 import com.demo.finance.out.repository.GoalRepository;
+import com.demo.finance.out.service.DataVersionService;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +34,10 @@ class GoalServiceImplTest {
     private GoalRepository goalRepository;
     @Mock
     private GoalMapper goalMapper;
+    @Mock
+    private DataVersionService dataVersionService;
+    @Mock
+    private CacheDependencies cacheDependencies;
     @InjectMocks
     private GoalServiceImpl goalService;
     private Goal goal;
@@ -65,6 +72,7 @@ class GoalServiceImplTest {
         verify(goalRepository, times(1)).save(argThat(goal ->
                 goal.getGoalName().equals("Car") && goal.getTargetAmount().equals(new BigDecimal(5000))
                         && goal.getSavedAmount().equals(BigDecimal.ZERO) && goal.getUserId().equals(1L)));
+        verify(cacheDependencies, times(1)).changed(Entity.GOAL, 1L);
     }
 
     @Test
@@ -157,5 +165,6 @@ class GoalServiceImplTest {
 
         assertThat(result).isFalse();
         verify(goalRepository, never()).delete(any());
+        verify(cacheDependencies, never()).changed(any(), any());
     }
 }
\ No newline at end of file
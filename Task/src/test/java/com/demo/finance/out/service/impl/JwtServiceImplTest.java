@@ -11,6 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -24,6 +25,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -77,7 +80,9 @@ class JwtServiceImplTest {
             assertEquals(userId, userIdClaim);
         }
 
-        verify(tokenService, times(1)).storeTokenForUser(userId, token);
+        ArgumentCaptor<Long> issuedAt = ArgumentCaptor.forClass(Long.class);
+        verify(tokenService, times(1)).storeTokenForUser(eq(userId), eq(token), issuedAt.capture());
+        assertEquals(issuedAt.getValue(), claims.get("issuedAtMillis", Long.class));
     }
 
     @Test
@@ -88,7 +93,7 @@ class JwtServiceImplTest {
 
         assertThrows(ExpiredJwtException.class, () -> jwtService.validateToken(token));
 
-        verify(tokenService, times(0)).isTokenValid(any());
+        verify(tokenService, times(0)).isTokenValid(any(), any(), anyLong());
     }
 
     @Test
@@ -101,7 +106,7 @@ class JwtServiceImplTest {
 
         assertEquals("Your account was modified. You have to authenticate again.", exception.getMessage());
 
-        verify(tokenService, times(1)).isTokenValid(token);
+        verify(tokenService, times(1)).isTokenValid(eq(token), eq(1L), anyLong());
     }
 
     @Test
@@ -109,7 +114,7 @@ class JwtServiceImplTest {
     void validateToken_ShouldThrow_WhenTokenIsInvalid() {
         assertThrows(IllegalArgumentException.class, () -> jwtService.validateToken("invalid.token.here"));
 
-        verify(tokenService, times(0)).isTokenValid(any());
+        verify(tokenService, times(0)).isTokenValid(any(), any(), anyLong());
     }
 
     @Test
@@ -117,14 +122,14 @@ class JwtServiceImplTest {
     void validateToken_ShouldReturnUser_FromDatabase_WhenFlagTrue() {
         String token = jwtService.generateToken("test@example.com", List.of("USER"), 1L);
 
-        when(tokenService.isTokenValid(token)).thenReturn(true);
+        when(tokenService.isTokenValid(eq(token), eq(1L), anyLong())).thenReturn(true);
 
         UserDto result = jwtService.validateToken(token);
 
         assertNotNull(result);
         assertEquals(1L, result.getUserId());
 
-        verify(tokenService, times(1)).isTokenValid(token);
+        verify(tokenService, times(1)).isTokenValid(eq(token), eq(1L), anyLong());
     }
 
     @Test
@@ -132,7 +137,7 @@ class JwtServiceImplTest {
     void validateToken_ShouldReturnUserDto_FromClaims_WhenFlagFalse() {
         String token = jwtService.generateToken("test@example.com", List.of("USER"), 1L);
 
-        when(tokenService.isTokenValid(token)).thenReturn(true);
+        when(tokenService.isTokenValid(eq(token), eq(1L), anyLong())).thenReturn(true);
 
         UserDto result = jwtService.validateToken(token);
 
@@ -141,6 +146,6 @@ class JwtServiceImplTest {
         assertEquals("test@example.com", result.getEmail());
         assertEquals("USER", result.getRole());
 
-        verify(tokenService, times(1)).isTokenValid(token);
+        verify(tokenService, times(1)).isTokenValid(eq(token), eq(1L), anyLong());
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.demo.finance.domain.model.User;
 import com.demo.finance.domain.utils.Role;
 import com.demo.finance.domain.utils.impl.PasswordUtilsImpl;
 import com.demo.finance.exception.custom.DuplicateEmailException;
+import com.demo.finance.out.cache.CredentialCache;
 import com.demo.finance.out.repository.UserRepository;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +35,8 @@ class RegistrationServiceImplTest {
     private PasswordUtilsImpl passwordUtils;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private CredentialCache credentialCache;
     @InjectMocks
     private RegistrationServiceImpl registrationService;
     private User user;
@@ -89,8 +92,8 @@ class RegistrationServiceImplTest {
     }
 
     @Test
-    @DisplayName("Authenticate - valid credentials - returns true")
-    void testAuthenticate_validCredentials_returnsTrue() {
+    @DisplayName("Authenticate - valid credentials - returns user")
+    void testAuthenticate_validCredentials_returnsUser() {
         dto.setEmail("valid@mail.com");
         dto.setPassword("correctPassword");
         user.setPassword("hashedPassword");
@@ -99,30 +102,48 @@ class RegistrationServiceImplTest {
         when(passwordUtils.checkPassword("correctPassword", "hashedPassword"))
                 .thenReturn(true);
 
-        boolean result = registrationService.authenticate(dto);
+        User result = registrationService.authenticate(dto);
 
-        assertThat(result).isTrue();
+        assertThat(result).isEqualTo(user);
         verify(passwordUtils, times(1))
                 .checkPassword("correctPassword", "hashedPassword");
         verify(userRepository, times(1)).findByEmail("valid@mail.com");
+        verify(credentialCache, times(1)).remember("valid@mail.com", "correctPassword", "hashedPassword");
+    }
+
+    @Test
+    @DisplayName("Authenticate - recently verified credentials - skips password check")
+    void testAuthenticate_recentlyVerified_skipsPasswordCheck() {
+        dto.setEmail("valid@mail.com");
+        dto.setPassword("correctPassword");
+        user.setPassword("hashedPassword");
+
+        when(userRepository.findByEmail("valid@mail.com")).thenReturn(user);
+        when(credentialCache.isVerified("valid@mail.com", "correctPassword", "hashedPassword")).thenReturn(true);
+
+        User result = registrationService.authenticate(dto);
+
+        assertThat(result).isEqualTo(user);
+        verify(passwordUtils, never()).checkPassword(any(), any());
+        verify(credentialCache, never()).remember(any(), any(), any());
     }
 
     @Test
-    @DisplayName("Authenticate - invalid email - returns false")
-    void testAuthenticate_invalidEmail_returnsFalse() {
+    @DisplayName("Authenticate - invalid email - returns null")
+    void testAuthenticate_invalidEmail_returnsNull() {
         dto.setEmail("unknown@mail.com");
 
         when(userRepository.findByEmail("unknown@mail.com")).thenReturn(null);
 
-        boolean result = registrationService.authenticate(dto);
+        User result = registrationService.authenticate(dto);
 
-        assertThat(result).isFalse();
+        assertThat(result).isNull();
         verify(passwordUtils, never()).checkPassword(any(), any());
     }
 
     @Test
-    @DisplayName("Authenticate - invalid password - returns false")
-    void testAuthenticate_invalidPassword_returnsFalse() {
+    @DisplayName("Authenticate - invalid password - returns null")
+    void testAuthenticate_invalidPassword_returnsNull() {
         dto.setEmail("valid@mail.com");
         dto.setPassword("wrongPassword");
         user.setPassword("hashedPassword");
@@ -131,10 +152,11 @@ class RegistrationServiceImplTest {
         when(passwordUtils.checkPassword("wrongPassword", "hashedPassword"))
                 .thenReturn(false);
 
-        boolean result = registrationService.authenticate(dto);
+        User result = registrationService.authenticate(dto);
 
-        assertThat(result).isFalse();
+        assertThat(result).isNull();
         verify(passwordUtils, times(1)).checkPassword(any(), any());
         verify(userRepository, times(1)).findByEmail("valid@mail.com");
+        verify(credentialCache, never()).remember(any(), any(), any());
     }
 }
\ No newline at end of file
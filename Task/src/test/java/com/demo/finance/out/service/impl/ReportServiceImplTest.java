@@ -3,7 +3,13 @@ package com.demo.finance.out.service.impl;
 import com.demo.finance.domain.model.Report;
 import com.demo.finance.domain.model.Transaction;
 import com.demo.finance.domain.utils.Type;
+import com.demo.finance.out.cache.RefreshAhead;
+import com.demo.finance.out.cache.SingleFlight;
+import com.demo.finance.out.cache.TransactionAnalyticsCache;
+import com.demo.finance.out.cache.TransactionTotals;
 import com.demo.finance.out.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,14 +17,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +43,13 @@ class ReportServiceImplTest {
 
     @Mock
     private TransactionRepository transactionRepository;
+    @Mock
+    private TransactionAnalyticsCache analyticsCache;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(meterRegistry);
+    @Spy
+    private RefreshAhead refreshAhead = new RefreshAhead(singleFlight, true, 300, 3600, 500, 1, 10);
     @InjectMocks
     private ReportServiceImpl reportService;
     private Transaction transaction1;
@@ -127,4 +149,65 @@ class ReportServiceImplTest {
         assertThat(result).isEmpty();
         verify(transactionRepository, times(1)).findByUserId(userId);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Generate report by date - totals cached - answers without loading transactions")
+    void testGenerateReportByDate_totalsCached_skipsRepository() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+
+        when(analyticsCache.totals(userId, from, to)).thenReturn(Optional.of(
+                new TransactionTotals(new BigDecimal("1000.00"), new BigDecimal("200.00"), 2)));
+
+        Report report = reportService.generateReportByDate(userId, from, to);
+
+        assertThat(report).isNotNull();
+        assertThat(report.getTotalIncome()).isEqualTo(new BigDecimal("1000.00"));
+        assertThat(report.getTotalExpense()).isEqualTo(new BigDecimal("200.00"));
+        verify(transactionRepository, never()).findByUserId(userId);
+    }
+
+    @Test
+    @DisplayName("Generate user report - no cached transactions - returns null")
+    void testGenerateUserReport_noCachedTransactions_returnsNull() {
+        when(analyticsCache.totals(userId, null, null)).thenReturn(Optional.of(
+                new TransactionTotals(BigDecimal.ZERO, BigDecimal.ZERO, 0)));
+
+        assertThat(reportService.generateUserReport(userId)).isNull();
+        verify(transactionRepository, never()).findByUserId(userId);
+    }
+
+    @Test
+    @DisplayName("Generate user report - 200 concurrent identical requests - one history query")
+    void testGenerateUserReport_concurrentRequests_coalesced() throws Exception {
+        int requests = 200;
+        when(transactionRepository.findByUserId(userId)).thenAnswer(invocation -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (coalescedReports() < requests - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            return List.of(transaction1, transaction2);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Callable<Report>> calls = IntStream.range(0, requests)
+                    .<Callable<Report>>mapToObj(i -> () -> reportService.generateUserReport(userId))
+                    .toList();
+            List<Future<Report>> results = executor.invokeAll(calls, 30, TimeUnit.SECONDS);
+
+            for (Future<Report> result : results) {
+                assertThat(result.get().getTotalIncome()).isEqualByComparingTo("1000");
+            }
+            assertThat(coalescedReports()).isEqualTo(requests - 1);
+            verify(transactionRepository, times(1)).findByUserId(userId);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double coalescedReports() {
+        Counter counter = meterRegistry.find("app.cache.loads").tag("name", "reports").tag("coalesced", "true")
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
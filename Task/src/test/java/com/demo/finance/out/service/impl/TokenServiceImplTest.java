@@ -1,15 +1,25 @@
 package com.demo.finance.out.service.impl;
 
+import com.demo.finance.app.config.CacheInvalidationBus;
+import com.demo.finance.out.repository.TokenRevocationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,17 +31,24 @@ class TokenServiceImplTest {
     private Cache tokensCache;
     @Mock
     private Cache invalidTokensCache;
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+    @Mock
+    private TokenRevocationRepository revocationRepository;
     @InjectMocks
     private TokenServiceImpl tokenService;
 
     private static final Long USER_ID = 123L;
     private static final String VALID_TOKEN = "valid.token.here";
     private static final String INVALID_TOKEN = "invalid.token.here";
+    private static final long ISSUED_AT = 1_700_000_000_000L;
+    private static final long EXPIRATION = 3_600_000L;
 
     @BeforeEach
     void setUp() {
         lenient().when(cacheManager.getCache("tokens")).thenReturn(tokensCache);
         lenient().when(cacheManager.getCache("invalidTokens")).thenReturn(invalidTokensCache);
+        ReflectionTestUtils.setField(tokenService, "jwtExpirationInMs", EXPIRATION);
     }
 
     @Test
@@ -39,19 +56,30 @@ class TokenServiceImplTest {
     void storeTokenForUser_ShouldStoreNewTokenAndBlacklistOldOne() {
         when(tokensCache.get(USER_ID, String.class)).thenReturn(VALID_TOKEN);
 
-        tokenService.storeTokenForUser(USER_ID, INVALID_TOKEN);
+        tokenService.storeTokenForUser(USER_ID, INVALID_TOKEN, ISSUED_AT);
 
         verify(invalidTokensCache, times(1)).put(VALID_TOKEN, true);
         verify(tokensCache, times(1)).put(USER_ID, INVALID_TOKEN);
     }
 
+    @Test
+    @DisplayName("Should revoke the tokens issued to the user before the new one on all instances")
+    void storeTokenForUser_ShouldRevokeEarlierTokensOfUser() {
+        tokenService.storeTokenForUser(USER_ID, VALID_TOKEN, ISSUED_AT);
+
+        verify(revocationRepository, times(1)).save(USER_ID, ISSUED_AT);
+        verify(invalidationBus, times(1)).publish("revoked-token", "user:" + USER_ID + ":" + ISSUED_AT);
+        assert !tokenService.isTokenValid(INVALID_TOKEN, USER_ID, ISSUED_AT - 1);
+        assert tokenService.isTokenValid(VALID_TOKEN, USER_ID, ISSUED_AT);
+    }
+
     @Test
     @DisplayName("Should return false for blacklisted token")
     void isTokenValid_ShouldReturnFalseForBlacklistedToken() {
         Cache.ValueWrapper valueWrapper = mock(Cache.ValueWrapper.class);
         when(invalidTokensCache.get(INVALID_TOKEN)).thenReturn(valueWrapper);
 
-        boolean isValid = tokenService.isTokenValid(INVALID_TOKEN);
+        boolean isValid = tokenService.isTokenValid(INVALID_TOKEN, USER_ID, ISSUED_AT);
 
         assert !isValid;
         verify(invalidTokensCache, times(1)).get(INVALID_TOKEN);
@@ -62,7 +90,7 @@ class TokenServiceImplTest {
     void isTokenValid_ShouldReturnTrueForValidToken() {
         when(invalidTokensCache.get(VALID_TOKEN)).thenReturn(null);
 
-        boolean isValid = tokenService.isTokenValid(VALID_TOKEN);
+        boolean isValid = tokenService.isTokenValid(VALID_TOKEN, USER_ID, ISSUED_AT);
 
         assert isValid;
         verify(invalidTokensCache, times(1)).get(VALID_TOKEN);
@@ -77,20 +105,95 @@ class TokenServiceImplTest {
 
         verify(invalidTokensCache, times(1)).put(VALID_TOKEN, true);
         verify(tokensCache, times(1)).evict(USER_ID);
+        verify(invalidationBus, times(1)).publish("revoked-token", VALID_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should revoke the user even if the token was issued by another instance")
+    void invalidateUserToken_ShouldRevokeTokensIssuedElsewhere() {
+        long before = System.currentTimeMillis();
+
+        tokenService.invalidateUserToken(USER_ID);
+
+        verify(revocationRepository, times(1)).save(eq(USER_ID), longThat(time -> time >= before));
+        verify(invalidationBus, times(1)).publish(eq("revoked-token"), startsWith("user:" + USER_ID + ":"));
+        verify(tokensCache, never()).evict(any());
+        assert !tokenService.isTokenValid(VALID_TOKEN, USER_ID, before - 1);
+        assert tokenService.isTokenValid(VALID_TOKEN, USER_ID + 1, before - 1);
+    }
+
+    @Test
+    @DisplayName("Should blacklist tokens revoked by other instances")
+    @SuppressWarnings("unchecked")
+    void subscribeToRevocations_ShouldBlacklistRemotelyRevokedTokens() {
+        tokenService.subscribeToRevocations();
+        ArgumentCaptor<Consumer<Collection<String>>> onRevocation = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(eq("revoked-token"), onRevocation.capture(), any(Runnable.class));
+
+        onRevocation.getValue().accept(List.of(VALID_TOKEN, INVALID_TOKEN));
+
+        verify(invalidTokensCache, times(1)).put(VALID_TOKEN, true);
+        verify(invalidTokensCache, times(1)).put(INVALID_TOKEN, true);
+        verify(invalidationBus, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of users revoked by other instances")
+    @SuppressWarnings("unchecked")
+    void subscribeToRevocations_ShouldApplyRemoteUserRevocations() {
+        tokenService.subscribeToRevocations();
+        ArgumentCaptor<Consumer<Collection<String>>> onRevocation = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(eq("revoked-token"), onRevocation.capture(), any(Runnable.class));
+
+        onRevocation.getValue().accept(List.of("user:" + USER_ID + ":" + ISSUED_AT, "user:malformed"));
+
+        assert !tokenService.isTokenValid(VALID_TOKEN, USER_ID, ISSUED_AT - 1);
+        assert tokenService.isTokenValid(VALID_TOKEN, USER_ID, ISSUED_AT);
+        verify(invalidTokensCache, never()).put(any(), any());
+        verify(revocationRepository, never()).save(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reload the user revocations missed while the bus was disconnected")
+    void subscribeToRevocations_ShouldReloadUserRevocationsOnResync() {
+        tokenService.subscribeToRevocations();
+        ArgumentCaptor<Runnable> onResync = ArgumentCaptor.forClass(Runnable.class);
+        verify(invalidationBus).subscribe(eq("revoked-token"), any(), onResync.capture());
+        when(revocationRepository.findRevokedSince(anyLong())).thenReturn(Map.of(USER_ID, ISSUED_AT));
+
+        onResync.getValue().run();
+
+        verify(revocationRepository).findRevokedSince(longThat(since ->
+                since <= System.currentTimeMillis() - EXPIRATION));
+        assert !tokenService.isTokenValid(VALID_TOKEN, USER_ID, ISSUED_AT - 1);
+        assert tokenService.isTokenValid(VALID_TOKEN, USER_ID, ISSUED_AT);
+    }
+
+    @Test
+    @DisplayName("Should forget user revocations older than the token lifetime")
+    void purgeRevocations_ShouldForgetExpiredRevocations() {
+        long expired = System.currentTimeMillis() - 2 * EXPIRATION;
+        tokenService.storeTokenForUser(USER_ID, VALID_TOKEN, expired);
+
+        tokenService.purgeRevocations();
+
+        verify(revocationRepository).deleteRevokedBefore(longThat(before -> before > expired));
+        assert tokenService.isTokenValid(VALID_TOKEN, USER_ID, expired - 1);
     }
 
     @Test
     @DisplayName("Should handle null userId when storing token")
     void storeTokenForUser_ShouldHandleNullUserId() {
-        tokenService.storeTokenForUser(null, VALID_TOKEN);
+        tokenService.storeTokenForUser(null, VALID_TOKEN, ISSUED_AT);
         verify(tokensCache, never()).put(any(), any());
         verify(invalidTokensCache, never()).put(any(), any());
+        verify(revocationRepository, never()).save(any(), anyLong());
     }
 
     @Test
     @DisplayName("Should handle null token when storing token")
     void storeTokenForUser_ShouldHandleNullToken() {
-        tokenService.storeTokenForUser(USER_ID, null);
+        tokenService.storeTokenForUser(USER_ID, null, ISSUED_AT);
         verify(tokensCache, never()).put(USER_ID, null);
         verify(invalidTokensCache, never()).put(any(), any());
     }
@@ -98,7 +201,7 @@ class TokenServiceImplTest {
     @Test
     @DisplayName("Should return false when validating null token")
     void isTokenValid_ShouldReturnFalseForNullToken() {
-        boolean isValid = tokenService.isTokenValid(null);
+        boolean isValid = tokenService.isTokenValid(null, USER_ID, ISSUED_AT);
         assert !isValid;
         verify(invalidTokensCache, never()).get(any());
     }
@@ -106,7 +209,7 @@ class TokenServiceImplTest {
     @Test
     @DisplayName("Should return false when validating empty token")
     void isTokenValid_ShouldReturnFalseForEmptyToken() {
-        boolean isValid = tokenService.isTokenValid("");
+        boolean isValid = tokenService.isTokenValid("", USER_ID, ISSUED_AT);
         assert !isValid;
         verify(invalidTokensCache, never()).get(any());
     }
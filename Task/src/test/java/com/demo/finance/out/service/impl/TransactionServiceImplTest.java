@@ -1,14 +1,19 @@
 package com.demo.finance.out.service.impl;
 
+import com.demo.finance.app.config.CacheDependencies;
+import com.demo.finance.app.config.CacheDependencies.Entity;
 import com.demo.finance.domain.dto.TransactionDto;
 import com.demo.finance.domain.mapper.TransactionMapper;
 import com.demo.finance.domain.model.Transaction;
+import com.demo.finance.out.cache.TransactionAnalyticsCache;
 import com.demo.finance.out.repository.TransactionRepository;
+import com.demo.finance.out.service.DataVersionService;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,6 +34,12 @@ class TransactionServiceImplTest {
     private TransactionRepository transactionRepository;
     @Mock
     private TransactionMapper transactionMapper;
+    @Mock
+    private DataVersionService dataVersionService;
+    @Mock
+    private CacheDependencies cacheDependencies;
+    @Mock
+    private TransactionAnalyticsCache analyticsCache;
     @InjectMocks
     private TransactionServiceImpl transactionService;
     private TransactionDto transactionDto;
@@ -46,16 +57,32 @@ class TransactionServiceImplTest {
     }
 
     @Test
-    @DisplayName("Create transaction - valid transaction - returns transaction ID")
-    void testCreateTransaction_validTransaction_returnsTransactionId() {
+    @DisplayName("Create transaction - valid transaction - returns persisted transaction")
+    void testCreateTransaction_validTransaction_returnsPersistedTransaction() {
         when(transactionMapper.toEntity(transactionDto)).thenReturn(transaction);
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(transactionId);
+        when(transactionRepository.saveAndReturn(transaction)).thenReturn(transaction);
 
-        Long result = transactionService.createTransaction(transactionDto, 1L);
+        Transaction result = transactionService.createTransaction(transactionDto, 1L);
 
-        assertThat(result).isEqualTo(transactionId);
+        assertThat(result).isSameAs(transaction);
+        assertThat(transaction.getUserId()).isEqualTo(1L);
         verify(transactionMapper, times(1)).toEntity(transactionDto);
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionRepository, times(1)).saveAndReturn(transaction);
+        verify(analyticsCache, times(1)).transactionSaved(transaction);
+        verify(cacheDependencies, times(1)).changed(Entity.TRANSACTION, 1L);
+        verify(dataVersionService, times(1)).incrementVersion(1L);
+    }
+
+    @Test
+    @DisplayName("Create transaction - save fails - returns null")
+    void testCreateTransaction_saveFails_returnsNull() {
+        when(transactionMapper.toEntity(transactionDto)).thenReturn(transaction);
+        when(transactionRepository.saveAndReturn(transaction)).thenReturn(null);
+
+        assertThat(transactionService.createTransaction(transactionDto, 1L)).isNull();
+        verify(analyticsCache, never()).transactionSaved(any());
+        verify(cacheDependencies, never()).changed(any(), any());
+        verify(dataVersionService, never()).incrementVersion(any());
     }
 
     @Test
@@ -72,15 +99,14 @@ class TransactionServiceImplTest {
     @Test
     @DisplayName("Delete transaction - transaction exists - deletes successfully")
     void testDeleteTransaction_transactionExists_deletesSuccessfully() {
-        when(transactionRepository.findByUserIdAndTransactionId(1L, transactionId)).thenReturn(transaction);
-        when(transactionRepository.delete(transactionId)).thenReturn(true);
+        when(transactionRepository.deleteByUserIdAndTransactionId(1L, transactionId)).thenReturn(true);
 
         boolean result = transactionService.deleteTransaction(1L, transactionId);
 
         assertThat(result).isTrue();
-        verify(transactionRepository, times(1))
-                .findByUserIdAndTransactionId(1L, transactionId);
-        verify(transactionRepository, times(1)).delete(transactionId);
+        verify(transactionRepository, times(1)).deleteByUserIdAndTransactionId(1L, transactionId);
+        verify(transactionRepository, never()).findByUserIdAndTransactionId(any(), any());
+        verify(analyticsCache, times(1)).transactionDeleted(1L, transactionId);
     }
 
     @Test
@@ -98,29 +124,32 @@ class TransactionServiceImplTest {
     @Test
     @DisplayName("Update transaction - transaction exists - updates successfully")
     void testUpdateTransaction_transactionExists_updatesSuccessfully() {
-        when(transactionRepository.findByUserIdAndTransactionId(1L, transactionId)).thenReturn(transaction);
-        when(transactionRepository.update(any(Transaction.class))).thenReturn(true);
-
-        boolean result = transactionService.updateTransaction(transactionDto, 1L);
-
-        assertThat(result).isTrue();
-        assertThat(transaction.getAmount()).isEqualTo(transactionDto.getAmount());
-        assertThat(transaction.getCategory()).isEqualTo(transactionDto.getCategory());
-        assertThat(transaction.getDescription()).isEqualTo(transactionDto.getDescription());
-        verify(transactionRepository, times(1))
-                .findByUserIdAndTransactionId(1L, transactionId);
-        verify(transactionRepository, times(1)).update(transaction);
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        when(transactionRepository.updateAndReturn(captor.capture())).thenReturn(transaction);
+
+        Transaction result = transactionService.updateTransaction(transactionDto, 1L);
+
+        assertThat(result).isSameAs(transaction);
+        Transaction changes = captor.getValue();
+        assertThat(changes.getTransactionId()).isEqualTo(transactionId);
+        assertThat(changes.getUserId()).isEqualTo(1L);
+        assertThat(changes.getAmount()).isEqualTo(transactionDto.getAmount());
+        assertThat(changes.getCategory()).isEqualTo(transactionDto.getCategory());
+        assertThat(changes.getDescription()).isEqualTo(transactionDto.getDescription());
+        verify(transactionRepository, never()).findByUserIdAndTransactionId(any(), any());
+        verify(analyticsCache, times(1)).transactionSaved(transaction);
     }
 
     @Test
-    @DisplayName("Update transaction - transaction doesn't exist - returns false")
-    void testUpdateTransaction_transactionDoesNotExist_returnsFalse() {
-        when(transactionRepository.findByUserIdAndTransactionId(1L, transactionId)).thenReturn(null);
+    @DisplayName("Update transaction - transaction doesn't exist - returns null")
+    void testUpdateTransaction_transactionDoesNotExist_returnsNull() {
+        when(transactionRepository.updateAndReturn(any(Transaction.class))).thenReturn(null);
 
-        boolean result = transactionService.updateTransaction(transactionDto, 1L);
+        Transaction result = transactionService.updateTransaction(transactionDto, 1L);
 
-        assertThat(result).isFalse();
-        verify(transactionRepository, never()).update(any());
+        assertThat(result).isNull();
+        verify(analyticsCache, never()).transactionSaved(any());
+        verify(dataVersionService, never()).incrementVersion(any());
     }
 
     @Test
@@ -129,12 +158,13 @@ class TransactionServiceImplTest {
         Long transactionId = 99L;
         Long userId = 2L;
 
-        when(transactionRepository.findByUserIdAndTransactionId(userId, transactionId)).thenReturn(null);
+        when(transactionRepository.deleteByUserIdAndTransactionId(userId, transactionId)).thenReturn(false);
 
         boolean result = transactionService.deleteTransaction(userId, transactionId);
 
         assertThat(result).isFalse();
-        verify(transactionRepository, never()).delete(any());
+        verify(analyticsCache, never()).transactionDeleted(any(), any());
+        verify(dataVersionService, never()).incrementVersion(any());
     }
 
     @Test
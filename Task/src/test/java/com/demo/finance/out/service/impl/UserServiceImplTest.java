@@ -7,6 +7,7 @@ import com.demo.finance.domain.model.User;
 import com.demo.finance.domain.utils.impl.PasswordUtilsImpl;
 import com.demo.finance.exception.custom.OptimisticLockException;
 import com.demo.finance.out.repository.UserRepository;
+import com.demo.finance.out.service.DataVersionService;
 import com.demo.finance.out.service.TokenService;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,6 +38,8 @@ class UserServiceImplTest {
     private UserMapper userMapper;
     @Mock
     private TokenService tokenService;
+    @Mock
+    private DataVersionService dataVersionService;
     @InjectMocks
     private UserServiceImpl userService;
     private User user;
@@ -0,0 +1,73 @@
+-- Compares a plain heap transactions table with the monthly partitioned one on 100M generated rows.
+-- Run against a scratch database after the Liquibase migrations have been applied:
+--   psql -d financedb -v rows=100000000 -f transactions-partitioning-benchmark.sql
+-- The queries mirror TransactionRepositoryImpl.findFiltered with a one-month date range for a single user.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 100000000
+\endif
+\timing on
+
+DROP TABLE IF EXISTS finance.transactions_heap_benchmark;
+CREATE TABLE finance.transactions_heap_benchmark (LIKE finance.transactions INCLUDING DEFAULTS);
+ALTER TABLE finance.transactions_heap_benchmark ADD PRIMARY KEY (transaction_id);
+CREATE INDEX ON finance.transactions_heap_benchmark (user_id, date);
+
+-- Partitions for five years of data
+SELECT finance.create_transactions_partition((DATE '2021-01-01' + make_interval(months => m))::DATE)
+FROM generate_series(0, 59) AS m;
+
+INSERT INTO finance.transactions_heap_benchmark (transaction_id, user_id, amount, category_id, date, description, type)
+SELECT i,
+       1 + i % 10000,
+       round((random() * 1000)::NUMERIC, 2),
+       1 + i % 5,
+       DATE '2021-01-01' + (i % 1826)::INT,
+       'Generated transaction ' || i,
+       CASE WHEN i % 7 = 0 THEN 'INCOME' ELSE 'EXPENSE' END
+FROM generate_series(1, :rows) AS i;
+
+INSERT INTO finance.transactions (transaction_id, user_id, amount, category_id, date, description, type)
+SELECT transaction_id, user_id, amount, category_id, date, description, type
+FROM finance.transactions_heap_benchmark;
+
+VACUUM ANALYZE finance.transactions_heap_benchmark;
+VACUUM ANALYZE finance.transactions;
+
+-- Date range query with literal bounds: plan-time pruning
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM finance.transactions_heap_benchmark
+WHERE user_id = 42 AND date >= DATE '2024-03-01' AND date <= DATE '2024-03-31';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM finance.transactions
+WHERE user_id = 42 AND date >= DATE '2024-03-01' AND date <= DATE '2024-03-31';
+
+-- Date range query with bind parameters, as issued by the repository: run-time pruning
+PREPARE filtered(BIGINT, DATE, DATE) AS
+    SELECT * FROM finance.transactions WHERE user_id = $1 AND date >= $2 AND date <= $3;
+SET plan_cache_mode = force_generic_plan;
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE filtered(42, '2024-03-01', '2024-03-31');
+RESET plan_cache_mode;
+DEALLOCATE filtered;
+
+-- Monthly aggregation over one month, as used by the reports
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT category_id, SUM(amount) FROM finance.transactions_heap_benchmark
+WHERE date >= DATE '2024-03-01' AND date <= DATE '2024-03-31' GROUP BY category_id;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT category_id, SUM(amount) FROM finance.transactions
+WHERE date >= DATE '2024-03-01' AND date <= DATE '2024-03-31' GROUP BY category_id;
+
+-- Retention: dropping a month of data
+BEGIN;
+DELETE FROM finance.transactions_heap_benchmark WHERE date >= DATE '2021-01-01' AND date < DATE '2021-02-01';
+ROLLBACK;
+BEGIN;
+ALTER TABLE finance.transactions DETACH PARTITION finance.transactions_2021_01;
+ROLLBACK;
+
+DROP TABLE finance.transactions_heap_benchmark;